@@ -0,0 +1,23 @@
+package de.metanome.algorithms.hyfd;
+
+import de.metanome.algorithm_integration.input.InputGenerationException;
+import de.metanome.algorithm_integration.input.RelationalInputGenerator;
+
+/**
+ * An input generator for data that is already available in memory. Instead of
+ * iterating over the records of the input, HyFD builds the position list indexes
+ * directly from the dictionary-encoded columns. The relational input is only used
+ * to determine the relation name and the column names.
+ */
+public interface DictionaryEncodedInputGenerator extends RelationalInputGenerator {
+
+	/**
+	 * Encodes the values of each column as integers, such that equal values in the
+	 * same column have the same id. Null values must be encoded as -1.
+	 * 
+	 * @return the encoded values indexed by [attribute][record]
+	 * @throws InputGenerationException
+	 */
+	public int[][] generateDictionaryEncodedColumns() throws InputGenerationException;
+
+}
@@ -5,6 +5,8 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import de.metanome.algorithm_integration.AlgorithmConfigurationException;
 import de.metanome.algorithm_integration.AlgorithmExecutionException;
@@ -199,8 +201,17 @@ public class HyFD implements FunctionalDependencyAlgorithm, BooleanParameterAlgo
 		// Calculate plis
 		Logger.getInstance().writeln("Reading data and calculating plis ...");
 		PLIBuilder pliBuilder = new PLIBuilder(this.inputRowLimit);
-		List<PositionListIndex> plis = pliBuilder.getPLIs(relationalInput, this.numAttributes, this.valueComparator.isNullEqualNull());
-		this.closeInput(relationalInput);
+		List<PositionListIndex> plis;
+		if (this.inputGenerator instanceof DictionaryEncodedInputGenerator) {
+			// the data is already in memory, so we can build the plis without iterating over the records
+			this.closeInput(relationalInput);
+			int[][] columns = ((DictionaryEncodedInputGenerator) this.inputGenerator).generateDictionaryEncodedColumns();
+			int numRows = columns.length > 0 ? columns[0].length : 0;
+			plis = pliBuilder.getPLIs(columns, numRows, this.valueComparator.isNullEqualNull());
+		} else {
+			plis = pliBuilder.getPLIs(relationalInput, this.numAttributes, this.valueComparator.isNullEqualNull());
+			this.closeInput(relationalInput);
+		}
 
 		final int numRecords = pliBuilder.getNumLastRecords();
 		pliBuilder = null;
@@ -245,19 +256,27 @@ public class HyFD implements FunctionalDependencyAlgorithm, BooleanParameterAlgo
 		// Build the components //
 		//////////////////////////
 
-		// TODO: implement parallel sampling
+		// Sampling and validation share the same executor
+		ExecutorService executor = null;
+		if (this.validateParallel)
+			executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
 		
-		Sampler sampler = new Sampler(negCover, posCover, compressedRecords, plis, this.efficiencyThreshold, this.valueComparator, this.memoryGuardian);
+		Sampler sampler = new Sampler(negCover, posCover, compressedRecords, plis, this.efficiencyThreshold, this.valueComparator, this.memoryGuardian, executor);
 		Inductor inductor = new Inductor(negCover, posCover, this.memoryGuardian);
-		Validator validator = new Validator(negCover, posCover, numRecords, compressedRecords, plis, this.efficiencyThreshold, this.validateParallel, this.memoryGuardian);
+		Validator validator = new Validator(negCover, posCover, numRecords, compressedRecords, plis, this.efficiencyThreshold, executor, this.memoryGuardian);
 		
-		List<IntegerPair> comparisonSuggestions = new ArrayList<>();
-		do {
-			FDList newNonFds = sampler.enrichNegativeCover(comparisonSuggestions);
-			inductor.updatePositiveCover(newNonFds);
-			comparisonSuggestions = validator.validatePositiveCover();
+		try {
+			List<IntegerPair> comparisonSuggestions = new ArrayList<>();
+			do {
+				FDList newNonFds = sampler.enrichNegativeCover(comparisonSuggestions);
+				inductor.updatePositiveCover(newNonFds);
+				comparisonSuggestions = validator.validatePositiveCover();
+			}
+			while (comparisonSuggestions != null);
+		} finally {
+			if (executor != null)
+				executor.shutdownNow();
 		}
-		while (comparisonSuggestions != null);
 		negCover = null;
 		
 		// Output all valid FDs
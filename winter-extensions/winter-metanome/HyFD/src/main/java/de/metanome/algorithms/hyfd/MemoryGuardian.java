@@ -42,6 +42,13 @@ public class MemoryGuardian {
 		return memoryUsage > memory;
 	}
 	
+	/**
+	 * @return true if the guardian is active and the memory usage is above the level to which the data structures would be trimmed
+	 */
+	public boolean isMemoryCritical() {
+		return this.active && this.memoryExhausted(this.trimMemoryUsage);
+	}
+	
 	public void match(FDSet negCover, FDTree posCover, FDList newNonFDs) {
 		if ((!this.active) || (this.allocationEventsSinceLastCheck < this.memoryCheckFrequency))
 			return;
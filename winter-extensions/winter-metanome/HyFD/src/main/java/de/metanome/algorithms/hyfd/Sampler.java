@@ -6,9 +6,13 @@ import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
 import java.util.PriorityQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.apache.lucene.util.OpenBitSet;
 
+import de.metanome.algorithm_integration.AlgorithmExecutionException;
 import de.metanome.algorithms.hyfd.structures.FDList;
 import de.metanome.algorithms.hyfd.structures.FDSet;
 import de.metanome.algorithms.hyfd.structures.FDTree;
@@ -29,8 +33,19 @@ public class Sampler {
 	private List<AttributeRepresentant> attributeRepresentants = null;
 	private PriorityQueue<AttributeRepresentant> queue = null;
 	private MemoryGuardian memoryGuardian;
+	private ExecutorService executor;
+	private int numThreads;
 
 	public Sampler(FDSet negCover, FDTree posCover, int[][] compressedRecords, List<PositionListIndex> plis, float efficiencyThreshold, ValueComparator valueComparator, MemoryGuardian memoryGuardian) {
+		this(negCover, posCover, compressedRecords, plis, efficiencyThreshold, valueComparator, memoryGuardian, null);
+	}
+
+	/**
+	 * If an executor is given, the clusters of different attributes are sampled in parallel. Each task collects its non-FDs in a
+	 * private buffer and only reads the negative cover; the buffers are then merged into the negative cover by the calling thread,
+	 * which is also the only thread that lets the memory guardian trim the covers.
+	 */
+	public Sampler(FDSet negCover, FDTree posCover, int[][] compressedRecords, List<PositionListIndex> plis, float efficiencyThreshold, ValueComparator valueComparator, MemoryGuardian memoryGuardian, ExecutorService executor) {
 		this.negCover = negCover;
 		this.posCover = posCover;
 		this.compressedRecords = compressedRecords;
@@ -38,9 +53,11 @@ public class Sampler {
 		this.efficiencyThreshold = efficiencyThreshold;
 		this.valueComparator = valueComparator;
 		this.memoryGuardian = memoryGuardian;
+		this.executor = executor;
+		this.numThreads = Runtime.getRuntime().availableProcessors();
 	}
 
-	public FDList enrichNegativeCover(List<IntegerPair> comparisonSuggestions) {
+	public FDList enrichNegativeCover(List<IntegerPair> comparisonSuggestions) throws AlgorithmExecutionException {
 		int numAttributes = this.compressedRecords[0].length;
 		
 		Logger.getInstance().writeln("Investigating comparison suggestions ... ");
@@ -63,12 +80,20 @@ public class Sampler {
 			Logger.getInstance().write("Sorting clusters ...");
 			long time = System.currentTimeMillis();
 			ClusterComparator comparator = new ClusterComparator(this.compressedRecords, this.compressedRecords[0].length - 1, 1);
-			for (PositionListIndex pli : this.plis) {
-				for (IntArrayList cluster : pli.getClusters()) {
-					Collections.sort(cluster, comparator);
-				}
+			List<Runnable> sortTasks = new ArrayList<>(this.plis.size());
+			for (final PositionListIndex pli : this.plis) {
+				final ClusterComparator pliComparator = new ClusterComparator(this.compressedRecords, comparator.activeKey1, comparator.activeKey2);
+				sortTasks.add(new Runnable() {
+					@Override
+					public void run() {
+						for (IntArrayList cluster : pli.getClusters()) {
+							Collections.sort(cluster, pliComparator);
+						}
+					}
+				});
 				comparator.incrementActiveKey();
 			}
+			this.runAll(sortTasks);
 			Logger.getInstance().writeln("(" + (System.currentTimeMillis() - time) + "ms)");
 		
 			Logger.getInstance().write("Running initial windows ...");
@@ -77,8 +102,10 @@ public class Sampler {
 			this.queue = new PriorityQueue<AttributeRepresentant>(numAttributes);
 			for (int i = 0; i < numAttributes; i++) {
 				AttributeRepresentant attributeRepresentant = new AttributeRepresentant(this.plis.get(i).getClusters(), this.negCover, this.posCover, this, this.memoryGuardian);
-				attributeRepresentant.runNext(newNonFds, this.compressedRecords);
 				this.attributeRepresentants.add(attributeRepresentant);
+			}
+			this.runNext(this.attributeRepresentants, newNonFds);
+			for (AttributeRepresentant attributeRepresentant : this.attributeRepresentants) {
 				if (attributeRepresentant.getEfficiency() > 0.0f)
 					this.queue.add(attributeRepresentant); // If the efficiency is 0, the algorithm will never schedule a next run for the attribute regardless how low we set the efficiency threshold
 			}
@@ -97,12 +124,17 @@ public class Sampler {
 		Logger.getInstance().writeln("Moving window over clusters ... ");
 		
 		while (!this.queue.isEmpty() && (this.queue.peek().getEfficiency() >= this.efficiencyThreshold)) {
-			AttributeRepresentant attributeRepresentant = this.queue.remove();
+			// In parallel mode, we run the next windows of all attributes that are efficient enough, up to one attribute per thread
+			int batchSize = this.isParallel() ? this.numThreads : 1;
+			List<AttributeRepresentant> batch = new ArrayList<>(batchSize);
+			while (batch.size() < batchSize && !this.queue.isEmpty() && (this.queue.peek().getEfficiency() >= this.efficiencyThreshold))
+				batch.add(this.queue.remove());
 			
-			attributeRepresentant.runNext(newNonFds, this.compressedRecords);
+			this.runNext(batch, newNonFds);
 			
-			if (attributeRepresentant.getEfficiency() > 0.0f)
-				this.queue.add(attributeRepresentant);
+			for (AttributeRepresentant attributeRepresentant : batch)
+				if (attributeRepresentant.getEfficiency() > 0.0f)
+					this.queue.add(attributeRepresentant);
 		}
 		
 		StringBuilder windows = new StringBuilder("Window signature: ");
@@ -113,6 +145,66 @@ public class Sampler {
 		return newNonFds;
 	}
 
+	/**
+	 * Parallel sampling is used if an executor is set and the memory guardian does not report that the memory is almost exhausted,
+	 * because the buffers of the sampling tasks need additional memory.
+	 */
+	private boolean isParallel() {
+		return (this.executor != null) && !this.memoryGuardian.isMemoryCritical();
+	}
+	
+	private void runAll(List<Runnable> tasks) throws AlgorithmExecutionException {
+		if (!this.isParallel() || tasks.size() < 2) {
+			for (Runnable task : tasks)
+				task.run();
+			return;
+		}
+		
+		List<Future<?>> futures = new ArrayList<>(tasks.size());
+		for (Runnable task : tasks)
+			futures.add(this.executor.submit(task));
+		
+		for (Future<?> future : futures) {
+			try {
+				future.get();
+			}
+			catch (ExecutionException | InterruptedException e) {
+				e.printStackTrace();
+				throw new AlgorithmExecutionException(e.getMessage());
+			}
+		}
+	}
+	
+	/**
+	 * Runs the next window of all given attributes and merges the results into the negative cover in the order of the attributes,
+	 * so the covers and the efficiencies are the same as if the attributes had been processed one after the other.
+	 */
+	private void runNext(List<AttributeRepresentant> attributeRepresentants, FDList newNonFds) throws AlgorithmExecutionException {
+		final List<SamplingResult> results = new ArrayList<>(attributeRepresentants.size());
+		List<Runnable> tasks = new ArrayList<>(attributeRepresentants.size());
+		for (int i = 0; i < attributeRepresentants.size(); i++) {
+			final AttributeRepresentant attributeRepresentant = attributeRepresentants.get(i);
+			final int index = i;
+			results.add(null);
+			tasks.add(new Runnable() {
+				@Override
+				public void run() {
+					results.set(index, attributeRepresentant.sample(Sampler.this.compressedRecords));
+				}
+			});
+		}
+		
+		this.runAll(tasks);
+		
+		for (int i = 0; i < attributeRepresentants.size(); i++)
+			attributeRepresentants.get(i).merge(results.get(i), newNonFds);
+	}
+	
+	private class SamplingResult {
+		public List<OpenBitSet> nonFds = new ArrayList<>();
+		public int numComparisons = 0;
+	}
+
 	private class ClusterComparator implements Comparator<Integer> {
 		
 		private int[][] sortKeys;
@@ -215,12 +307,19 @@ public class Sampler {
 		}
 		
 		public void runNext(FDList newNonFds, int[][] compressedRecords) {
+			this.merge(this.sample(compressedRecords), newNonFds);
+		}
+		
+		/**
+		 * Compares the records in the next window of all clusters and collects the non-FDs that are not yet in the negative cover.
+		 * Does not modify the negative cover, so multiple attributes can be sampled at the same time.
+		 */
+		public SamplingResult sample(int[][] compressedRecords) {
 			this.windowDistance++;
-			int numNewNonFds = 0;
-			int numComparisons = 0;
+			SamplingResult result = new SamplingResult();
+			FDSet buffer = new FDSet(this.posCover.getNumAttributes(), this.negCover.getMaxDepth());
 			OpenBitSet equalAttrs = new OpenBitSet(this.posCover.getNumAttributes());
 			
-			int previousNegCoverSize = newNonFds.size();
 			Iterator<IntArrayList> clusterIterator = this.clusters.iterator();
 			while (clusterIterator.hasNext()) {
 				IntArrayList cluster = clusterIterator.next();
@@ -236,21 +335,37 @@ public class Sampler {
 					
 					this.sampler.match(equalAttrs, compressedRecords[recordId], compressedRecords[partnerRecordId]);
 					
-					if (!this.negCover.contains(equalAttrs)) {
+					if (!this.negCover.contains(equalAttrs) && !buffer.contains(equalAttrs)) {
 						OpenBitSet equalAttrsCopy = equalAttrs.clone();
-						this.negCover.add(equalAttrsCopy);
-						newNonFds.add(equalAttrsCopy);
-						
-						this.memoryGuardian.memoryChanged(1);
-						this.memoryGuardian.match(this.negCover, this.posCover, newNonFds);
+						if (buffer.add(equalAttrsCopy))
+							result.nonFds.add(equalAttrsCopy);
 					}
-					numComparisons++;
+					result.numComparisons++;
+				}
+			}
+			
+			return result;
+		}
+		
+		/**
+		 * Adds the non-FDs found by {@link #sample(int[][])} to the negative cover and updates the efficiency of this attribute.
+		 */
+		public void merge(SamplingResult result, FDList newNonFds) {
+			int previousNegCoverSize = newNonFds.size();
+			
+			for (OpenBitSet nonFd : result.nonFds) {
+				if (!this.negCover.contains(nonFd)) {
+					this.negCover.add(nonFd);
+					newNonFds.add(nonFd);
+					
+					this.memoryGuardian.memoryChanged(1);
+					this.memoryGuardian.match(this.negCover, this.posCover, newNonFds);
 				}
 			}
-			numNewNonFds = newNonFds.size() - previousNegCoverSize;
+			int numNewNonFds = newNonFds.size() - previousNegCoverSize;
 			
 			this.numNewNonFds.add(numNewNonFds);
-			this.numComparisons.add(numComparisons);
+			this.numComparisons.add(result.numComparisons);
 		}
 	}
 	
@@ -30,10 +30,19 @@ public class Validator {
 	private float efficiencyThreshold;
 	private MemoryGuardian memoryGuardian;
 	private ExecutorService executor;
+	private boolean ownsExecutor = false;
 	
 	private int level = 0;
 
 	public Validator(FDSet negCover, FDTree posCover, int numRecords, int[][] compressedRecords, List<PositionListIndex> plis, float efficiencyThreshold, boolean parallel, MemoryGuardian memoryGuardian) {
+		this(negCover, posCover, numRecords, compressedRecords, plis, efficiencyThreshold, parallel ? Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors()) : null, memoryGuardian);
+		this.ownsExecutor = parallel;
+	}
+
+	/**
+	 * Creates a validator that uses the given executor, which can be shared with the {@link Sampler}. The executor is not shut down by the validator.
+	 */
+	public Validator(FDSet negCover, FDTree posCover, int numRecords, int[][] compressedRecords, List<PositionListIndex> plis, float efficiencyThreshold, ExecutorService executor, MemoryGuardian memoryGuardian) {
 		this.negCover = negCover;
 		this.posCover = posCover;
 		this.numRecords = numRecords;
@@ -41,11 +50,7 @@ public class Validator {
 		this.compressedRecords = compressedRecords;
 		this.efficiencyThreshold = efficiencyThreshold;
 		this.memoryGuardian = memoryGuardian;
-		
-		if (parallel) {
-			int numThreads = Runtime.getRuntime().availableProcessors();
-			this.executor = Executors.newFixedThreadPool(numThreads);
-		}
+		this.executor = executor;
 	}
 	
 	private class FD {
@@ -269,7 +274,7 @@ public class Validator {
 			previousNumInvalidFds = numInvalidFds;
 		}
 		
-		if (this.executor != null) {
+		if (this.executor != null && this.ownsExecutor) {
 			this.executor.shutdown();
 			try {
 				this.executor.awaitTermination(365, TimeUnit.DAYS);
@@ -94,6 +94,56 @@ public class PLIBuilder {
 		return clustersPerAttribute;
 	}
 	
+	/**
+	 * Builds the position list indexes from dictionary-encoded columns, where null values are encoded as -1.
+	 * 
+	 * @param columns the encoded values indexed by [attribute][record]
+	 * @param numRecords the number of records
+	 * @param isNullEqualNull specifies if null values are treated as equal values
+	 * @return the position list indexes
+	 */
+	public List<PositionListIndex> getPLIs(int[][] columns, int numRecords, boolean isNullEqualNull) {
+		if (this.inputRowLimit > 0)
+			numRecords = Math.min(numRecords, this.inputRowLimit);
+		this.numRecords = numRecords;
+		
+		List<PositionListIndex> clustersPerAttribute = new ArrayList<>();
+		for (int columnId = 0; columnId < columns.length; columnId++) {
+			int[] column = columns[columnId];
+			
+			// count the records per value id, the last slot is used for null values
+			int maxValueId = -1;
+			for (int recordId = 0; recordId < numRecords; recordId++)
+				maxValueId = Math.max(maxValueId, column[recordId]);
+			int nullId = maxValueId + 1;
+			int[] clusterSizes = new int[maxValueId + 2];
+			for (int recordId = 0; recordId < numRecords; recordId++)
+				clusterSizes[column[recordId] < 0 ? nullId : column[recordId]]++;
+			
+			if (!isNullEqualNull)
+				clusterSizes[nullId] = 0;
+			
+			// only clusters with more than one record are part of the pli
+			IntArrayList[] clusterMap = new IntArrayList[clusterSizes.length];
+			List<IntArrayList> clusters = new ArrayList<>();
+			for (int valueId = 0; valueId < clusterSizes.length; valueId++) {
+				if (clusterSizes[valueId] > 1) {
+					clusterMap[valueId] = new IntArrayList(clusterSizes[valueId]);
+					clusters.add(clusterMap[valueId]);
+				}
+			}
+			
+			for (int recordId = 0; recordId < numRecords; recordId++) {
+				IntArrayList cluster = clusterMap[column[recordId] < 0 ? nullId : column[recordId]];
+				if (cluster != null)
+					cluster.add(recordId);
+			}
+			
+			clustersPerAttribute.add(new PositionListIndex(columnId, clusters));
+		}
+		return clustersPerAttribute;
+	}
+	
 	public static List<PositionListIndex> getPLIs(ObjectArrayList<List<String>> records, int numAttributes, boolean isNullEqualNull) throws InputIterationException {
 		if (records.size() > Integer.MAX_VALUE)
 			throw new RuntimeException("PLI encoding into integer based PLIs is not possible, because the number of records in the dataset exceeds Integer.MAX_VALUE. Use long based plis instead! (NumRecords = " + records.size() + " and Integer.MAX_VALUE = " + Integer.MAX_VALUE);
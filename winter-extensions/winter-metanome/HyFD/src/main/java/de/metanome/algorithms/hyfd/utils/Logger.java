@@ -9,18 +9,18 @@ public class Logger {
 	private Logger() {
 	}
 	
-	public static Logger getInstance() {
+	public static synchronized Logger getInstance() {
 		if (instance == null)
 			instance = new Logger();
 		return instance;
 	}
 	
-	public void write(String message) {
+	public synchronized void write(String message) {
 		this.log.append(message);
 		System.out.print(message);
 	}
 	
-	public void writeln(String message) {
+	public synchronized void writeln(String message) {
 		this.log.append(message + "\r\n");
 		System.out.println(message);
 	}
@@ -33,7 +33,7 @@ public class Logger {
 		this.writeln(message.toString());;
 	}
 	
-	public String read() {
+	public synchronized String read() {
 		return this.log.toString();
 	}
 }
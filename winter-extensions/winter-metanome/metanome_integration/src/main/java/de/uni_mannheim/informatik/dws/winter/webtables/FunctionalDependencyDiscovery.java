@@ -40,8 +40,11 @@ import de.metanome.algorithms.hyfd.HyFD;
 // import de.metanome.algorithms.tane.TaneAlgorithm;
 import de.uni_mannheim.informatik.dws.winter.model.Pair;
 import de.uni_mannheim.informatik.dws.winter.utils.StringUtils;
+import de.uni_mannheim.informatik.dws.winter.utils.parallel.Consumer;
+import de.uni_mannheim.informatik.dws.winter.utils.parallel.Parallel;
 import de.uni_mannheim.informatik.dws.winter.utils.query.Q;
 import de.uni_mannheim.informatik.dws.winter.webtables.metanome.WebTableFileInputGenerator;
+import de.uni_mannheim.informatik.dws.winter.webtables.metanome.WebTableInputGenerator;
 import de.uni_mannheim.informatik.dws.winter.webtables.writers.CSVTableWriter;
 
 /**
@@ -190,35 +193,75 @@ public class FunctionalDependencyDiscovery {
 	}
 
 	public static void calculcateFunctionalDependencies(Collection<Table> tables, File csvLocation) throws Exception {
+		calculcateFunctionalDependencies(tables, csvLocation, false);
+	}
+
+	/**
+	 * Calculates the functional dependencies and candidate keys of all tables and stores them in the tables' schemas.
+	 * 
+	 * @param tables the tables
+	 * @param csvLocation the location where the tables are written as CSV files before running HyFD, or null if HyFD should read the tables from memory
+	 * @param parallel specifies if multiple tables should be processed concurrently (using the shared thread pool of {@link Parallel})
+	 * @throws Exception
+	 */
+	public static void calculcateFunctionalDependencies(Collection<Table> tables, File csvLocation, boolean parallel) throws Exception {
 		PrintStream tmp = new PrintStream(new File("HyFD.out"));
 		final PrintStream out = System.out;
 		
 		try {
 			// calculate functional dependencies
-			CSVTableWriter csvWriter = new CSVTableWriter();
-			for(Table t : tables) {
+			final CSVTableWriter csvWriter = new CSVTableWriter();
+			
+			Consumer<Table> calculate = (t) -> {
 				out.println(String.format("[calculcateFunctionalDependencies] calculating functional dependencies for table #%d %s {%s}", 
 						t.getTableId(),
 						t.getPath(),
 						StringUtils.join(Q.project(t.getColumns(), new TableColumn.ColumnHeaderProjection()), ",")));
 				
-				File tableAsCsv = csvWriter.write(t, new File(csvLocation, t.getPath()));
-				
-				System.setOut(tmp);
+				// if the tables are processed concurrently, HyFD does not validate each table in parallel
+				try {
+					Map<Set<TableColumn>, Set<TableColumn>> fds = null;
+					
+					if(csvLocation==null) {
+						fds = calculateFunctionalDependencies(t, new WebTableInputGenerator(t), null, !parallel);
+					} else {
+						File tableAsCsv = csvWriter.write(t, new File(csvLocation, t.getPath()));
+						fds = calculateFunctionalDependencies(t, new WebTableFileInputGenerator(tableAsCsv), null, !parallel);
+					}
+					
+					t.getSchema().setFunctionalDependencies(fds);
+				} catch(Exception e) {
+					throw new RuntimeException(e);
+				}
 				
-				Map<Set<TableColumn>, Set<TableColumn>> fds = calculateFunctionalDependencies(t, tableAsCsv);
-				t.getSchema().setFunctionalDependencies(fds);
 				Set<Set<TableColumn>> candidateKeys = listCandidateKeys(t);
 				
 				if(candidateKeys.size()==0) {
 					candidateKeys.add(new HashSet<>(t.getColumns()));
 				}
 				t.getSchema().setCandidateKeys(candidateKeys);
+			};
+			
+			// the output of HyFD is redirected for all tables (System.out cannot be redirected per thread)
+			System.setOut(tmp);
+			
+			if(parallel) {
+				new Parallel<Table>().foreach(tables, calculate);
+			} else {
+				for(Table t : tables) {
+					calculate.execute(t);
+				}
+			}
+		} catch(RuntimeException e) {
+			// re-throw the exceptions of HyFD and the CSV writer
+			if(e.getCause() instanceof Exception) {
+				throw (Exception)e.getCause();
+			} else {
+				throw e;
 			}
-		} catch(AlgorithmExecutionException e) {
-			throw new Exception(e.getMessage());
 		} finally {
 			System.setOut(out);
+			tmp.close();
 		}
 
 	}
@@ -366,12 +409,38 @@ public class FunctionalDependencyDiscovery {
 	}
 
 	public static Map<Set<TableColumn>, Set<TableColumn>> calculateFunctionalDependencies(final Table t, File tableAsCsv, final Set<Pair<Set<TableColumn>, Set<TableColumn>>> fds) throws Exception {
+		return calculateFunctionalDependencies(t, new WebTableFileInputGenerator(tableAsCsv), fds, true);
+	}
+
+	/**
+	 * Calculates the functional dependencies of a table, which is read directly from memory.
+	 * 
+	 * @param t the table
+	 * @return the functional dependencies
+	 * @throws Exception
+	 */
+	public static Map<Set<TableColumn>, Set<TableColumn>> calculateFunctionalDependencies(final Table t) throws Exception {
+		return calculateFunctionalDependencies(t, (Set<Pair<Set<TableColumn>, Set<TableColumn>>>)null);
+	}
+
+	/**
+	 * Calculates the functional dependencies of a table, which is read directly from memory.
+	 * 
+	 * @param t the table
+	 * @param fds if not null, all discovered functional dependencies are added to this set
+	 * @return the functional dependencies
+	 * @throws Exception
+	 */
+	public static Map<Set<TableColumn>, Set<TableColumn>> calculateFunctionalDependencies(final Table t, final Set<Pair<Set<TableColumn>, Set<TableColumn>>> fds) throws Exception {
+		return calculateFunctionalDependencies(t, new WebTableInputGenerator(t), fds, true);
+	}
+
+	protected static Map<Set<TableColumn>, Set<TableColumn>> calculateFunctionalDependencies(final Table t, RelationalInputGenerator input, final Set<Pair<Set<TableColumn>, Set<TableColumn>>> fds, boolean validateParallel) throws Exception {
 		HyFD dep = new HyFD();
-		dep.setBooleanConfigurationValue(HyFD.Identifier.VALIDATE_PARALLEL.name(), true);
+		dep.setBooleanConfigurationValue(HyFD.Identifier.VALIDATE_PARALLEL.name(), validateParallel);
 		final Map<Set<TableColumn>, Set<TableColumn>> functionalDependencies = new HashMap<>();
 
 		try {		
-			RelationalInputGenerator input = new WebTableFileInputGenerator(tableAsCsv);
 			dep.setRelationalInputConfigurationValue(HyFD.Identifier.INPUT_GENERATOR.name(), input);
 			dep.setResultReceiver(new FunctionalDependencyResultReceiver() {
 				
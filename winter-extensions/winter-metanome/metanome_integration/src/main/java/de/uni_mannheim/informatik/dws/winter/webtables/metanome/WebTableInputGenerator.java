@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2017 Data and Web Science Group, University of Mannheim, Germany (http://dws.informatik.uni-mannheim.de/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package de.uni_mannheim.informatik.dws.winter.webtables.metanome;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+import de.metanome.algorithm_integration.input.InputGenerationException;
+import de.metanome.algorithm_integration.input.RelationalInput;
+import de.metanome.algorithms.hyfd.DictionaryEncodedInputGenerator;
+import de.uni_mannheim.informatik.dws.winter.webtables.ListHandler;
+import de.uni_mannheim.informatik.dws.winter.webtables.Table;
+import de.uni_mannheim.informatik.dws.winter.webtables.TableColumn;
+
+/**
+ * Provides the rows of a {@link Table} as relational input, without writing the table to a file.
+ * 
+ * The values are formatted in the same way as by the {@link de.uni_mannheim.informatik.dws.winter.webtables.writers.CSVTableWriter} and the columns are identified by their position, like in the {@link WebTableFileInputGenerator}.
+ * As the table is already in memory, HyFD can create the position list indexes directly from the dictionary-encoded columns.
+ * 
+ * @author Oliver Lehmberg (oli@dwslab.de)
+ *
+ */
+public class WebTableInputGenerator implements DictionaryEncodedInputGenerator {
+
+	private Table table;
+	private List<TableColumn> columns;
+	private int[][] encodedColumns;
+
+	public WebTableInputGenerator(Table table) {
+		this.table = table;
+		this.columns = new ArrayList<>(table.getColumns());
+	}
+
+	@Override
+	public RelationalInput generateNewCopy() throws InputGenerationException {
+		return new WebTableIterator(table, columns);
+	}
+
+	@Override
+	public int[][] generateDictionaryEncodedColumns() throws InputGenerationException {
+		if(encodedColumns==null) {
+			encodedColumns = new int[columns.size()][table.getRows().size()];
+
+			for(int i = 0; i < columns.size(); i++) {
+				int columnIndex = columns.get(i).getColumnIndex();
+				Map<String, Integer> dictionary = new HashMap<>();
+				int[] encoded = encodedColumns[i];
+
+				for(int row = 0; row < encoded.length; row++) {
+					String value = formatValue(table.getRows().get(row).get(columnIndex));
+
+					if(value==null) {
+						encoded[row] = -1;
+					} else {
+						Integer id = dictionary.get(value);
+						if(id==null) {
+							id = dictionary.size();
+							dictionary.put(value, id);
+						}
+						encoded[row] = id;
+					}
+				}
+			}
+		}
+
+		return encodedColumns;
+	}
+
+	public void close() throws Exception {
+	}
+
+	/**
+	 * Formats a value of the table like the CSVTableWriter does. Empty values are returned as null, as they would be read from a CSV file.
+	 * 
+	 * @param value	the value
+	 * @return the formatted value or null
+	 */
+	public static String formatValue(Object value) {
+		String formatted = null;
+
+		if(value!=null) {
+			if(value.getClass().isArray()) {
+				List<String> listValues = new LinkedList<>();
+				for(Object v : (Object[])value) {
+					if(v!=null) {
+						listValues.add(v.toString());
+					}
+				}
+				formatted = ListHandler.formatList(listValues);
+			} else {
+				formatted = value.toString();
+			}
+		}
+
+		if(formatted!=null && formatted.isEmpty()) {
+			return null;
+		} else {
+			return formatted;
+		}
+	}
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2017 Data and Web Science Group, University of Mannheim, Germany (http://dws.informatik.uni-mannheim.de/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package de.uni_mannheim.informatik.dws.winter.webtables.metanome;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+import de.metanome.algorithm_integration.input.InputIterationException;
+import de.metanome.algorithm_integration.input.RelationalInput;
+import de.uni_mannheim.informatik.dws.winter.webtables.Table;
+import de.uni_mannheim.informatik.dws.winter.webtables.TableColumn;
+import de.uni_mannheim.informatik.dws.winter.webtables.TableRow;
+
+/**
+ * Iterates over the rows of a {@link Table}.
+ * uses column index instead of name as header & identifier (important if headers are empty!)
+ * 
+ * @author Oliver Lehmberg (oli@dwslab.de)
+ *
+ */
+public class WebTableIterator implements RelationalInput {
+
+	private String relationName;
+	private List<TableColumn> columns;
+	private List<String> headerLine;
+	private Iterator<TableRow> rows;
+
+	public WebTableIterator(Table table, List<TableColumn> columns) {
+		this.relationName = table.getPath();
+		this.columns = columns;
+		this.rows = table.getRows().iterator();
+
+		List<String> headerList = new ArrayList<>(columns.size());
+		for(Integer i = 0; i < columns.size(); i++) {
+			headerList.add(i.toString());
+		}
+		this.headerLine = Collections.unmodifiableList(headerList);
+	}
+
+	@Override
+	public boolean hasNext() throws InputIterationException {
+		return rows.hasNext();
+	}
+
+	@Override
+	public List<String> next() throws InputIterationException {
+		if(!rows.hasNext()) {
+			return null;
+		}
+
+		TableRow row = rows.next();
+		List<String> values = new ArrayList<>(columns.size());
+		for(TableColumn c : columns) {
+			values.add(WebTableInputGenerator.formatValue(row.get(c.getColumnIndex())));
+		}
+
+		return Collections.unmodifiableList(values);
+	}
+
+	@Override
+	public int numberOfColumns() {
+		return columns.size();
+	}
+
+	@Override
+	public String relationName() {
+		return relationName;
+	}
+
+	@Override
+	public List<String> columnNames() {
+		return headerLine;
+	}
+
+	public void close() throws Exception {
+	}
+
+}
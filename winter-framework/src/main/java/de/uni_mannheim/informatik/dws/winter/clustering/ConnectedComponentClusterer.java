@@ -11,88 +11,119 @@
  */
 package de.uni_mannheim.informatik.dws.winter.clustering;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
 import de.uni_mannheim.informatik.dws.winter.model.Triple;
 
 /**
- * 
+ *
  * A Clusterer that returns the weakly connected components in the graph formed by the input data.
  *
+ * The nodes are mapped to consecutive ids and the components are maintained in a {@link DisjointSet}, so edges can be added incrementally in nearly constant time.
+ *
  * @author Oliver Lehmberg (oli@dwslab.de)
  *
  */
 public class ConnectedComponentClusterer<T> extends GraphBasedClusteringAlgorithm<T> {
 
-	HashMap<T, Set<T>> clusterAssignment = new HashMap<>();
+	private HashMap<T, Integer> nodeIds = new HashMap<>();
+	private ArrayList<T> nodes = new ArrayList<>();
+	private DisjointSet components = new DisjointSet();
 
 	@Override
 	public Map<Collection<T>, T> cluster(
 			Collection<Triple<T, T, Double>> similarityGraph) {
 
-		clusterAssignment = new HashMap<>();
+		nodeIds = new HashMap<>();
+		nodes = new ArrayList<>();
+		components = new DisjointSet();
 
 		// iterate over all edges
 		for(Triple<T, T, Double> edge : similarityGraph) {
-			
+
 			addEdge(edge);
 
 		}
-		
+
 		return createResult();
 	}
 
-	public void addEdge(Triple<T, T, Double> edge) {
-		// get the clusters to which the nodes belong
-		Set<T> first = clusterAssignment.get(edge.getFirst());
-		Set<T> second = clusterAssignment.get(edge.getSecond());
-		
-		if(first==null && second==null) {
-			// none of the nodes belongs to an existing cluster, create a new cluster
-			Set<T> clu = new HashSet<>();
-			clu.add(edge.getFirst());
-			clu.add(edge.getSecond());
-			
-			clusterAssignment.put(edge.getFirst(), clu);
-			clusterAssignment.put(edge.getSecond(), clu);
-		} else if(first!=null && second==null) {
-			// first node already belongs to a cluster, add second node
-			first.add(edge.getSecond());
-			
-			clusterAssignment.put(edge.getSecond(), first);
-		} else if(first==null && second!=null) {
-			// second node already belongs to a cluster, add first node
-			second.add(edge.getFirst());
-			
-			clusterAssignment.put(edge.getFirst(), second);
-		} else {
-			// both nodes belong to a cluster
-			if(!first.equals(second)) {
-				// if those are two different clusters, merge them
-				for(T node : second) {
-					clusterAssignment.put(node, first);
-				}
-				first.addAll(second);
-			}
+	/**
+	 * Adds a node to the graph, if it does not exist yet. The node forms its own component until it is connected by an edge.
+	 *
+	 * @param node	the node
+	 * @return the id of the node
+	 */
+	public int addNode(T node) {
+		Integer id = nodeIds.get(node);
+
+		if(id==null) {
+			id = components.add();
+			nodeIds.put(node, id);
+			nodes.add(node);
 		}
+
+		return id;
+	}
+
+	public void addEdge(Triple<T, T, Double> edge) {
+		addEdge(edge.getFirst(), edge.getSecond());
+	}
+
+	/**
+	 * Adds an edge to the graph and merges the components of both nodes.
+	 *
+	 * @param firstNode		the first node
+	 * @param secondNode	the second node
+	 * @return true if the edge connected two different components
+	 */
+	public boolean addEdge(T firstNode, T secondNode) {
+		return components.union(addNode(firstNode), addNode(secondNode));
 	}
-	
+
 	public boolean isEdgeAlreadyInCluster(T firstNode, T secondNode) {
-		// get the clusters to which the nodes belong
-		Set<T> first = clusterAssignment.get(firstNode);
-		Set<T> second = clusterAssignment.get(secondNode);
-		
-		return first!=null && second!=null && first.equals(second);
+		// get the components to which the nodes belong
+		Integer first = nodeIds.get(firstNode);
+		Integer second = nodeIds.get(secondNode);
+
+		return first!=null && second!=null && components.isConnected(first, second);
+	}
+
+	/**
+	 * @return the number of connected components
+	 */
+	public int getNumberOfClusters() {
+		return components.getNumberOfSets();
+	}
+
+	/**
+	 * @return the connected components
+	 */
+	public List<Set<T>> getClusters() {
+		int[] clusterIndices = components.getSetIndices();
+
+		List<Set<T>> clusters = new ArrayList<>(components.getNumberOfSets());
+		for(int i = 0; i < components.getNumberOfSets(); i++) {
+			clusters.add(new HashSet<>());
+		}
+
+		for(int i = 0; i < clusterIndices.length; i++) {
+			clusters.get(clusterIndices[i]).add(nodes.get(i));
+		}
+
+		return clusters;
 	}
-	
+
 	public Map<Collection<T>, T> createResult() {
 		// format result
 		Map<Collection<T>, T> result = new HashMap<>();
-		for(Collection<T> cluster : clusterAssignment.values()) {
+		for(Collection<T> cluster : getClusters()) {
 			result.put(cluster, null);
 		}
 		return result;
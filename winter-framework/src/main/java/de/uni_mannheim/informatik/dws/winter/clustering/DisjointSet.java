@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2017 Data and Web Science Group, University of Mannheim, Germany (http://dws.informatik.uni-mannheim.de/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package de.uni_mannheim.informatik.dws.winter.clustering;
+
+import java.util.Arrays;
+
+/**
+ *
+ * A disjoint-set (union-find) data structure over the elements 0 ... size()-1.
+ *
+ * Uses path compression and union by size, so any sequence of operations runs in nearly linear time.
+ *
+ * @author Oliver Lehmberg (oli@dwslab.de)
+ *
+ */
+public class DisjointSet {
+
+	private int[] parent;
+	private int[] size;
+	private int numberOfElements = 0;
+	private int numberOfSets = 0;
+
+	public DisjointSet() {
+		this(16);
+	}
+
+	public DisjointSet(int initialCapacity) {
+		parent = new int[Math.max(initialCapacity, 1)];
+		size = new int[parent.length];
+	}
+
+	/**
+	 * Adds a new element, which forms its own set.
+	 *
+	 * @return the new element
+	 */
+	public int add() {
+		if(numberOfElements==parent.length) {
+			int capacity = parent.length * 2;
+			parent = Arrays.copyOf(parent, capacity);
+			size = Arrays.copyOf(size, capacity);
+		}
+
+		int element = numberOfElements++;
+		parent[element] = element;
+		size[element] = 1;
+		numberOfSets++;
+
+		return element;
+	}
+
+	/**
+	 * @param element	the element
+	 * @return the representative of the set that contains the element
+	 */
+	public int find(int element) {
+		int root = element;
+		while(parent[root]!=root) {
+			root = parent[root];
+		}
+
+		// path compression: point all elements on the path directly to the root
+		while(parent[element]!=root) {
+			int next = parent[element];
+			parent[element] = root;
+			element = next;
+		}
+
+		return root;
+	}
+
+	/**
+	 * Merges the sets that contain the two elements.
+	 *
+	 * @param first		the first element
+	 * @param second	the second element
+	 * @return true if the elements were in different sets before
+	 */
+	public boolean union(int first, int second) {
+		int firstRoot = find(first);
+		int secondRoot = find(second);
+
+		if(firstRoot==secondRoot) {
+			return false;
+		}
+
+		// union by size: attach the smaller tree to the root of the larger one
+		if(size[firstRoot]<size[secondRoot]) {
+			int tmp = firstRoot;
+			firstRoot = secondRoot;
+			secondRoot = tmp;
+		}
+
+		parent[secondRoot] = firstRoot;
+		size[firstRoot] += size[secondRoot];
+		numberOfSets--;
+
+		return true;
+	}
+
+	/**
+	 * @param first		the first element
+	 * @param second	the second element
+	 * @return true if both elements are in the same set
+	 */
+	public boolean isConnected(int first, int second) {
+		return find(first)==find(second);
+	}
+
+	/**
+	 * @param element	the element
+	 * @return the number of elements in the set that contains the element
+	 */
+	public int getSetSize(int element) {
+		return size[find(element)];
+	}
+
+	/**
+	 * @return the number of elements
+	 */
+	public int size() {
+		return numberOfElements;
+	}
+
+	/**
+	 * @return the number of disjoint sets
+	 */
+	public int getNumberOfSets() {
+		return numberOfSets;
+	}
+
+	/**
+	 * Numbers the sets consecutively (in the order of their first element).
+	 *
+	 * @return an array that contains the set number (0 ... getNumberOfSets()-1) for each element
+	 */
+	public int[] getSetIndices() {
+		int[] indices = new int[numberOfElements];
+		int[] rootIndices = new int[numberOfElements];
+		Arrays.fill(rootIndices, -1);
+		int nextIndex = 0;
+
+		for(int i = 0; i < numberOfElements; i++) {
+			int root = find(i);
+			if(rootIndices[root]==-1) {
+				rootIndices[root] = nextIndex++;
+			}
+			indices[i] = rootIndices[root];
+		}
+
+		return indices;
+	}
+}
@@ -25,15 +25,16 @@ import de.uni_mannheim.informatik.dws.winter.processing.Processable;
  */
 public abstract class AttributeFuser<RecordType extends Matchable & Fusible<SchemaElementType>, SchemaElementType extends Matchable> {
 	
-	private AttributeFusionLogger fusionLog;
+	// the fusion log is kept per thread, so record groups can be fused in parallel
+	private ThreadLocal<AttributeFusionLogger> fusionLog = new ThreadLocal<>();
 	private boolean collectDebugResults;
 	
 	public AttributeFusionLogger getFusionLog() {
-		return fusionLog;
+		return fusionLog.get();
 	}
 
 	public void setFusionLog(AttributeFusionLogger fusionLog) {
-		this.fusionLog = fusionLog;
+		this.fusionLog.set(fusionLog);
 	}
 	
 	public boolean isCollectDebugResults() {
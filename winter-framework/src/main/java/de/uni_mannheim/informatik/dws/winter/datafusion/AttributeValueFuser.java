@@ -126,9 +126,8 @@ public abstract class AttributeValueFuser<ValueType, RecordType extends Matchabl
 			// }
 		}
 		
-		Map<Collection<RecordType>, RecordType> clusters = con.createResult();
 		int largestClusterSize = 0;
-		for(Collection<RecordType> cluster : clusters.keySet()) {
+		for(Collection<RecordType> cluster : con.getClusters()) {
 			if(cluster.size()>largestClusterSize) {
 				largestClusterSize = cluster.size();
 			}
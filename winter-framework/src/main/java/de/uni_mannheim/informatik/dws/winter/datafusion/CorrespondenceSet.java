@@ -31,7 +31,6 @@ import de.uni_mannheim.informatik.dws.winter.model.FusibleDataSet;
 import de.uni_mannheim.informatik.dws.winter.model.Matchable;
 import de.uni_mannheim.informatik.dws.winter.model.RecordGroup;
 import de.uni_mannheim.informatik.dws.winter.model.RecordGroupFactory;
-import de.uni_mannheim.informatik.dws.winter.model.Triple;
 import de.uni_mannheim.informatik.dws.winter.processing.Processable;
 import de.uni_mannheim.informatik.dws.winter.utils.WinterLogManager;
 import de.uni_mannheim.informatik.dws.winter.utils.query.Q;
@@ -187,13 +186,12 @@ public class CorrespondenceSet<RecordType extends Matchable & Fusible<SchemaElem
 		
 		ConnectedComponentClusterer<RecordType> clu = new ConnectedComponentClusterer<>();
 		for(Correspondence<RecordType, Matchable> cor : correspondences.get()) {
-			clu.addEdge(new Triple<RecordType, RecordType, Double>(cor.getFirstRecord(), cor.getSecondRecord(), cor.getSimilarityScore()));
+			clu.addEdge(cor.getFirstRecord(), cor.getSecondRecord());
 			idToDataSet.put(cor.getFirstRecord().getIdentifier(), first);
 			idToDataSet.put(cor.getSecondRecord().getIdentifier(), second);
 		}
-		Map<Collection<RecordType>, RecordType> clusters = clu.createResult();
 		
-		for(Collection<RecordType> cluster : clusters.keySet()) {
+		for(Collection<RecordType> cluster : clu.getClusters()) {
 			RecordGroup<RecordType, SchemaElementType> grp = groupFactory.createRecordGroup();
 			
 			for(RecordType r : cluster) {
@@ -15,9 +15,13 @@ import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -33,6 +37,9 @@ import de.uni_mannheim.informatik.dws.winter.model.RecordGroup;
 import de.uni_mannheim.informatik.dws.winter.processing.Processable;
 import de.uni_mannheim.informatik.dws.winter.utils.ProgressReporter;
 import de.uni_mannheim.informatik.dws.winter.utils.WinterLogManager;
+import de.uni_mannheim.informatik.dws.winter.utils.parallel.Consumer;
+import de.uni_mannheim.informatik.dws.winter.utils.parallel.Parallel;
+import de.uni_mannheim.informatik.dws.winter.utils.parallel.ThreadBoundObject;
 import de.uni_mannheim.informatik.dws.winter.utils.query.Q;
 
 /**
@@ -47,6 +54,7 @@ public class DataFusionEngine<RecordType extends Matchable & Fusible<SchemaEleme
 
 	private DataFusionStrategy<RecordType, SchemaElementType> strategy;
 	private static final Logger logger = WinterLogManager.getLogger();
+	private boolean parallel = false;
 
 	/**
 	 * @return the strategy
@@ -63,6 +71,23 @@ public class DataFusionEngine<RecordType extends Matchable & Fusible<SchemaEleme
 	public DataFusionEngine(DataFusionStrategy<RecordType, SchemaElementType> strategy) {
 		this.strategy = strategy;
 	}
+	
+	/**
+	 * @return true if the record groups are processed in parallel
+	 */
+	public boolean isParallel() {
+		return parallel;
+	}
+	
+	/**
+	 * Specifies if the record groups should be processed in parallel. The result (including the debug report) is the same as for sequential processing,
+	 * but the fusers, conflict resolution functions and evaluation rules of the strategy must be thread-safe.
+	 * 
+	 * @param parallel	the parallel to set
+	 */
+	public void setParallel(boolean parallel) {
+		this.parallel = parallel;
+	}
 
 	/**
 	 * Runs the data fusion process on the provided set of correspondences and returns a fused data set
@@ -76,28 +101,174 @@ public class DataFusionEngine<RecordType extends Matchable & Fusible<SchemaEleme
 			CorrespondenceSet<RecordType, SchemaElementType> correspondences,
 			Processable<Correspondence<SchemaElementType, Matchable>> schemaCorrespondences) {
 		FusibleDataSet<RecordType, SchemaElementType> fusedDataSet = strategy.createFusedDataSet();
+		
+		// index the schema correspondences once for all record groups
+		DataFusionPlan<RecordType, SchemaElementType> plan = strategy.createFusionPlan(schemaCorrespondences);
+
+		if(parallel) {
+			runParallel(correspondences, plan, fusedDataSet);
+		} else {
+			// iterate over all correspondence groups (all records mapped to the same target)
+			for (RecordGroup<RecordType, SchemaElementType> clu : correspondences.getRecordGroups()) {
+				
+				// apply the data fusion strategy
+				RecordType fusedRecord = strategy.apply(clu, plan);
+				
+				// add the fused record to the fused dataset
+				addFusedRecord(fusedDataSet, clu, fusedRecord);
+			}
+		}
+		
+		if(strategy.isDebugReportActive()){
+			strategy.writeDebugDataFusionResultsToFile();
+			strategy.calculateRecordLevelDebugResultsAndWriteToFile(fusedDataSet);
+		}
 
-		// iterate over all correspondence groups (all records mapped to the same target)
-		for (RecordGroup<RecordType, SchemaElementType> clu : correspondences.getRecordGroups()) {
+		return fusedDataSet;
+	}
+	
+	/**
+	 * Applies the data fusion strategy to all record groups in parallel. The fused records and the fusion logs are added to the results in the order of the record groups.
+	 * If the size of the debug report is limited, the fusion logs of a group are only created if the groups before it can still leave space in the debug report.
+	 */
+	protected void runParallel(
+			CorrespondenceSet<RecordType, SchemaElementType> correspondences,
+			DataFusionPlan<RecordType, SchemaElementType> plan,
+			FusibleDataSet<RecordType, SchemaElementType> fusedDataSet) {
+		
+		final List<RecordGroup<RecordType, SchemaElementType>> groups = new ArrayList<>(correspondences.getRecordGroups());
+		final List<RecordType> fusedRecords = new ArrayList<>(Collections.<RecordType>nCopies(groups.size(), null));
+		
+		// each thread collects the fusion logs of its record groups, together with the index of the group
+		ThreadBoundObject<List<Pair<Integer, AttributeFusionLogger>>> fusionLogs = new ThreadBoundObject<>((t)->new ArrayList<>());
+		final FusionLogBudget budget = new FusionLogBudget(groups.size(), strategy.isDebugReportActive() ? strategy.getRemainingFusionLogs() : -1);
+		
+		runParallel(groups.size(), (i)-> {
+			List<AttributeFusionLogger> groupLogs = budget.isOpen() ? new ArrayList<>() : null;
 			
 			// apply the data fusion strategy
-			RecordType fusedRecord = strategy.apply(clu, schemaCorrespondences);
+			fusedRecords.set(i, strategy.apply(groups.get(i), plan, groupLogs));
+			
+			if(groupLogs==null) {
+				return;
+			}
+			budget.finished(i, groupLogs.size());
 			
+			List<Pair<Integer, AttributeFusionLogger>> threadLogs = fusionLogs.get();
+			for(AttributeFusionLogger log : groupLogs) {
+				threadLogs.add(new Pair<>(i, log));
+			}
+		}, "Fusing record groups");
+		
+		for(int i = 0; i < groups.size(); i++) {
 			// add the fused record to the fused dataset
-			fusedDataSet.add(fusedRecord);
+			addFusedRecord(fusedDataSet, groups.get(i), fusedRecords.get(i));
+		}
+		
+		if(strategy.isDebugReportActive()) {
+			// merge the fusion logs in the order of the record groups
+			List<Pair<Integer, AttributeFusionLogger>> allLogs = new ArrayList<>();
+			for(List<Pair<Integer, AttributeFusionLogger>> threadLogs : fusionLogs.getAll()) {
+				allLogs.addAll(threadLogs);
+			}
+			Collections.sort(allLogs, (p1,p2)->Integer.compare(p1.getFirst(), p2.getFirst()));
+			
+			List<AttributeFusionLogger> logs = new ArrayList<>(allLogs.size());
+			for(Pair<Integer, AttributeFusionLogger> p : allLogs) {
+				logs.add(p.getSecond());
+			}
+			strategy.addFusionLogs(logs);
+		}
+	}
+	
+	/**
+	 * Keeps track of the number of fusion logs that were created by the first record groups.
+	 * The debug report is filled with the first fusion logs in the order of the record groups, like in sequential processing.
+	 * Once the groups before a group have created enough fusion logs, the fusion logs of this group cannot be part of the debug report and don't have to be created.
+	 */
+	private static class FusionLogBudget {
+
+		private int size;
+		private int[] logsPerGroup;
+		private int finishedGroups = 0;
+		private int finishedLogs = 0;
+
+		/**
+		 * @param groups	the number of record groups
+		 * @param size		the number of fusion logs that are added to the debug report or -1 if it is not limited
+		 */
+		public FusionLogBudget(int groups, int size) {
+			this.size = size;
+			if(size != -1) {
+				logsPerGroup = new int[groups];
+				Arrays.fill(logsPerGroup, -1);
+			}
+		}
+
+		/**
+		 * @return false if the groups before all unfinished groups have created enough fusion logs
+		 */
+		public synchronized boolean isOpen() {
+			return size == -1 || finishedLogs < size;
+		}
 
-			// keep track of record provenance
-			for (RecordType record : clu.getRecords()) {
-				fusedDataSet.addOriginalId(fusedRecord, record.getIdentifier());
+		/**
+		 * Records the number of fusion logs that a record group has created.
+		 */
+		public synchronized void finished(int group, int logs) {
+			if(size == -1) {
+				return;
+			}
+			logsPerGroup[group] = logs;
+			// count the fusion logs of all finished groups at the start, only these are known to be part of the debug report
+			while(finishedGroups < logsPerGroup.length && logsPerGroup[finishedGroups] != -1) {
+				finishedLogs += logsPerGroup[finishedGroups++];
 			}
 		}
+	}
+
+	protected void addFusedRecord(FusibleDataSet<RecordType, SchemaElementType> fusedDataSet, RecordGroup<RecordType, SchemaElementType> group, RecordType fusedRecord) {
+		fusedDataSet.add(fusedRecord);
+
+		// keep track of record provenance
+		for (RecordType record : group.getRecords()) {
+			fusedDataSet.addOriginalId(fusedRecord, record.getIdentifier());
+		}
+	}
+	
+	/**
+	 * Calculates the attribute consistencies for each record group, in parallel if {@link #isParallel()} is true.
+	 * 
+	 * @return the attribute consistencies in the order of the record groups
+	 */
+	protected List<Map<String, Double>> getAttributeConsistenciesPerGroup(
+			List<RecordGroup<RecordType, SchemaElementType>> groups,
+			Processable<Correspondence<SchemaElementType, Matchable>> schemaCorrespondences) {
+		DataFusionPlan<RecordType, SchemaElementType> plan = strategy.createFusionPlan(schemaCorrespondences);
+		List<Map<String, Double>> result = new ArrayList<>(Collections.<Map<String, Double>>nCopies(groups.size(), null));
 		
-		if(strategy.isDebugReportActive()){
-			strategy.writeDebugDataFusionResultsToFile();
-			strategy.calculateRecordLevelDebugResultsAndWriteToFile(fusedDataSet);
+		if(parallel) {
+			runParallel(groups.size(), (i)->result.set(i, strategy.getAttributeConsistency(groups.get(i), plan)), "Calculating consistencies");
+		} else {
+			ProgressReporter progress = new ProgressReporter(groups.size(), "Calculating consistencies");
+			
+			for(int i = 0; i < groups.size(); i++) {
+				result.set(i, strategy.getAttributeConsistency(groups.get(i), plan));
+				
+				progress.incrementProgress();
+				progress.report();
+			}
+		}
+		
+		return result;
+	}
+	
+	private void runParallel(int size, Consumer<Integer> body, String message) {
+		try {
+			Parallel.forLoop(0, size, body, message);
+		} catch (Exception e) {
+			throw new RuntimeException(e);
 		}
-
-		return fusedDataSet;
 	}
 
 	/**
@@ -114,17 +285,12 @@ public class DataFusionEngine<RecordType extends Matchable & Fusible<SchemaEleme
 		Map<String, Double> consistencySums = new HashMap<>(); // = sum of consistency values
 		Map<String, Integer> consistencyCounts = new HashMap<>(); // = number of instances
 
-		ProgressReporter progress = new ProgressReporter(correspondences.getRecordGroups().size(), "Calculating consistencies");
-		
 		// changed to calculation as follows:
 		// degree of consistency per instance = percentage of most frequent value
 		// consistency = average of degree of consistency per instance
 		
 		// for each record group (=instance in the target dataset), calculate the degree of consistency for each attribute
-		for (RecordGroup<RecordType, SchemaElementType> clu : correspondences.getRecordGroups()) {
-
-			Map<String, Double> values = strategy
-					.getAttributeConsistency(clu, schemaCorrespondences);
+		for (Map<String, Double> values : getAttributeConsistenciesPerGroup(new ArrayList<>(correspondences.getRecordGroups()), schemaCorrespondences)) {
 
 			for (String att : values.keySet()) {
 				Double consistencyValue = values.get(att);
@@ -143,9 +309,6 @@ public class DataFusionEngine<RecordType extends Matchable & Fusible<SchemaEleme
 					consistencySums.put(att, sum + consistencyValue);
 				}
 			}
-
-			progress.incrementProgress();
-			progress.report();
 		}
 
 		Map<String, Double> result = new HashMap<>();
@@ -173,21 +336,18 @@ public class DataFusionEngine<RecordType extends Matchable & Fusible<SchemaEleme
 	public Set<Pair<RecordGroup<RecordType, SchemaElementType>,Double>> getRecordGroupConsistencies(
 			CorrespondenceSet<RecordType, SchemaElementType> correspondences,
 			Processable<Correspondence<SchemaElementType, Matchable>> schemaCorrespondences) {
-		Map<String, Double> consistencySums = new HashMap<>(); // = sum of consistency values
-		Map<String, Integer> consistencyCounts = new HashMap<>(); // = number of instances
-
-		ProgressReporter progress = new ProgressReporter(correspondences.getRecordGroups().size(), "Calculating consistencies");
-		
 		// changed to calculation as follows:
 		// degree of consistency per instance = percentage of most frequent value
 		// consistency = average of degree of consistency per instance
 		
 		Set<Pair<RecordGroup<RecordType, SchemaElementType>,Double>> result = new HashSet<>();
 		
-		for (RecordGroup<RecordType, SchemaElementType> clu : correspondences.getRecordGroups()) {
-
-			Map<String, Double> values = strategy
-					.getAttributeConsistency(clu, schemaCorrespondences);
+		List<RecordGroup<RecordType, SchemaElementType>> groups = new ArrayList<>(correspondences.getRecordGroups());
+		List<Map<String, Double>> consistencies = getAttributeConsistenciesPerGroup(groups, schemaCorrespondences);
+		
+		for (int i = 0; i < groups.size(); i++) {
+			RecordGroup<RecordType, SchemaElementType> clu = groups.get(i);
+			Map<String, Double> values = consistencies.get(i);
 
 			double count=0.0, sum=0.0;
 
@@ -203,9 +363,6 @@ public class DataFusionEngine<RecordType extends Matchable & Fusible<SchemaEleme
 			double consistency = sum / count;
 
 			result.add(new Pair<>(clu, consistency));
-
-			progress.incrementProgress();
-			progress.report();
 		}
 
 		return result;
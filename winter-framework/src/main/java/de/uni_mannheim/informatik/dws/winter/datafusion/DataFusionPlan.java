@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2017 Data and Web Science Group, University of Mannheim, Germany (http://dws.informatik.uni-mannheim.de/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package de.uni_mannheim.informatik.dws.winter.datafusion;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import de.uni_mannheim.informatik.dws.winter.model.Correspondence;
+import de.uni_mannheim.informatik.dws.winter.model.Fusible;
+import de.uni_mannheim.informatik.dws.winter.model.Matchable;
+import de.uni_mannheim.informatik.dws.winter.processing.Processable;
+import de.uni_mannheim.informatik.dws.winter.processing.ProcessableCollection;
+
+/**
+ * The fusion tasks of a {@link DataFusionStrategy} for a given set of schema correspondences.
+ *
+ * The schema correspondences are indexed once by the element of the target schema, so the plan can be re-used for all record groups.
+ * Create it via {@link DataFusionStrategy#createFusionPlan(Processable)}.
+ *
+ * @author Oliver Lehmberg (oli@dwslab.de)
+ *
+ */
+public class DataFusionPlan<RecordType extends Matchable & Fusible<SchemaElementType>, SchemaElementType extends Matchable> {
+
+	private Processable<Correspondence<SchemaElementType, Matchable>> schemaCorrespondences;
+	private List<AttributeFusionTask<RecordType, SchemaElementType>> tasks = new ArrayList<>();
+	private Map<SchemaElementType, Processable<Correspondence<SchemaElementType, Matchable>>> correspondencesByTarget = new HashMap<>();
+
+	/**
+	 * Creates the plan for the given attribute fusers and schema correspondences.
+	 *
+	 * @param attributeFusers			the attribute fusers for the elements of the target schema
+	 * @param evaluationRules			the evaluation rules for the elements of the target schema
+	 * @param schemaCorrespondences		the schema correspondences or null if all attribute fusers should be used
+	 */
+	protected DataFusionPlan(
+			Map<SchemaElementType, AttributeFuser<RecordType, SchemaElementType>> attributeFusers,
+			Map<SchemaElementType, EvaluationRule<RecordType, SchemaElementType>> evaluationRules,
+			Processable<Correspondence<SchemaElementType, Matchable>> schemaCorrespondences) {
+		this.schemaCorrespondences = schemaCorrespondences;
+
+		// if schema correspondences are passed, then we use them
+		if(schemaCorrespondences!=null) {
+			// collect all correspondences for each element of the target schema
+			for(Correspondence<SchemaElementType, Matchable> cor : schemaCorrespondences.get()) {
+
+				Processable<Correspondence<SchemaElementType, Matchable>> cors = correspondencesByTarget.get(cor.getSecondRecord());
+
+				if(cors==null) {
+					cors = new ProcessableCollection<>();
+					correspondencesByTarget.put(cor.getSecondRecord(), cors);
+				}
+
+				cors.add(cor);
+			}
+
+			for(SchemaElementType elem : correspondencesByTarget.keySet()) {
+				AttributeFusionTask<RecordType, SchemaElementType> t = new AttributeFusionTask<>();
+				t.setSchemaElement(elem);
+				t.setFuser(attributeFusers.get(elem));
+				t.setCorrespondences(correspondencesByTarget.get(elem));
+				t.setEvaluationRule(evaluationRules.get(elem));
+				tasks.add(t);
+			}
+		} else {
+			// if no schema correspondences are available (null - not if just no correspondences were generated), we use all available fusers
+			for(SchemaElementType elem : attributeFusers.keySet()) {
+				AttributeFusionTask<RecordType, SchemaElementType> t = new AttributeFusionTask<>();
+				t.setSchemaElement(elem);
+				t.setFuser(attributeFusers.get(elem));
+				t.setEvaluationRule(evaluationRules.get(elem));
+				tasks.add(t);
+			}
+		}
+	}
+
+	/**
+	 * @return the schema correspondences that were used to create the plan
+	 */
+	public Processable<Correspondence<SchemaElementType, Matchable>> getSchemaCorrespondences() {
+		return schemaCorrespondences;
+	}
+
+	/**
+	 * @return the fusion tasks, which are shared by all record groups
+	 */
+	public List<AttributeFusionTask<RecordType, SchemaElementType>> getAttributeFusionTasks() {
+		return Collections.unmodifiableList(tasks);
+	}
+
+	/**
+	 * @param targetSchemaElement	the element of the target schema
+	 * @return all schema correspondences for the element of the target schema or null if there are none
+	 */
+	public Processable<Correspondence<SchemaElementType, Matchable>> getCorrespondences(SchemaElementType targetSchemaElement) {
+		return correspondencesByTarget.get(targetSchemaElement);
+	}
+}
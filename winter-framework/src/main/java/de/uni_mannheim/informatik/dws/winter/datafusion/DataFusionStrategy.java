@@ -22,7 +22,6 @@ import de.uni_mannheim.informatik.dws.winter.model.defaultmodel.Attribute;
 import de.uni_mannheim.informatik.dws.winter.model.defaultmodel.Record;
 import de.uni_mannheim.informatik.dws.winter.model.defaultmodel.RecordCSVFormatter;
 import de.uni_mannheim.informatik.dws.winter.processing.Processable;
-import de.uni_mannheim.informatik.dws.winter.processing.ProcessableCollection;
 import de.uni_mannheim.informatik.dws.winter.utils.WinterLogManager;
 
 /**
@@ -46,6 +45,7 @@ public class DataFusionStrategy<RecordType extends Matchable & Fusible<SchemaEle
 	
 	private String filePathDebugResults;
 	private int	maxDebugLogSize;
+	// the number of fusion logs that were created by parallel calls to apply() but not yet added to the debug results
 	
 	
 	private static final Logger logger = WinterLogManager.getLogger();
@@ -157,6 +157,16 @@ public class DataFusionStrategy<RecordType extends Matchable & Fusible<SchemaEle
 		evaluationRules.put(schemaElement, rule);
 	}
 
+	/**
+	 * Creates the fusion plan for the given schema correspondences, which can be re-used for all record groups that are fused with these schema correspondences.
+	 * 
+	 * @param schemaCorrespondences	the schema correspondences
+	 * @return the fusion plan
+	 */
+	public DataFusionPlan<RecordType, SchemaElementType> createFusionPlan(Processable<Correspondence<SchemaElementType, Matchable>> schemaCorrespondences) {
+		return new DataFusionPlan<>(attributeFusers, evaluationRules, schemaCorrespondences);
+	}
+
 	/**
 	 * Applies the strategy (i.e. all specified fusers) to the given group of
 	 * records
@@ -166,12 +176,65 @@ public class DataFusionStrategy<RecordType extends Matchable & Fusible<SchemaEle
 	 * @return The fused record
 	 */
 	public RecordType apply(RecordGroup<RecordType, SchemaElementType> group, Processable<Correspondence<SchemaElementType, Matchable>> schemaCorrespondences) {
+		return apply(group, createFusionPlan(schemaCorrespondences));
+	}
+
+	/**
+	 * Applies the strategy (i.e. all specified fusers) to the given group of
+	 * records
+	 * 
+	 * @param group		the group of records to fused
+	 * @param plan		the fusion plan for the schema correspondences
+	 * @return The fused record
+	 */
+	public RecordType apply(RecordGroup<RecordType, SchemaElementType> group, DataFusionPlan<RecordType, SchemaElementType> plan) {
 		RecordType fusedRecord = factory.createInstanceForFusion(group);
 
-		for (AttributeFusionTask<RecordType, SchemaElementType> t : getAttributeFusers(group, schemaCorrespondences)) {
+		for (AttributeFusionTask<RecordType, SchemaElementType> t : plan.getAttributeFusionTasks()) {
 			t.execute(group, fusedRecord);
 			if(this.collectDebugResults){
-				fillFusionLog(t, group, schemaCorrespondences, fusedRecord);
+				fillFusionLog(t, group, plan.getSchemaCorrespondences(), fusedRecord);
+			}
+		}
+
+		return fusedRecord;
+	}
+
+	/**
+	 * Applies the strategy (i.e. all specified fusers) to the given group of
+	 * records. Instead of adding them to the debug results, the fusion logs
+	 * are added to the provided collection, which allows for fusing multiple
+	 * groups in parallel. Use {@link #addFusionLogs(Collection)} to add them to
+	 * the debug results.
+	 * 
+	 * @param group					the group of records to fused
+	 * @param schemaCorrespondences	the schema correspondences
+	 * @param fusionLogs			the collection that receives the fusion logs (only if the debug report is active)
+	 * @return The fused record
+	 */
+	public RecordType apply(RecordGroup<RecordType, SchemaElementType> group, Processable<Correspondence<SchemaElementType, Matchable>> schemaCorrespondences, Collection<AttributeFusionLogger> fusionLogs) {
+		return apply(group, createFusionPlan(schemaCorrespondences), fusionLogs);
+	}
+
+	/**
+	 * Applies the strategy (i.e. all specified fusers) to the given group of
+	 * records and adds the fusion logs to the provided collection (see {@link #apply(RecordGroup, Processable, Collection)}).
+	 * 
+	 * @param group			the group of records to fused
+	 * @param plan			the fusion plan for the schema correspondences
+	 * @param fusionLogs	the collection that receives the fusion logs (only if the debug report is active) or null if no fusion logs should be created for this group
+	 * @return The fused record
+	 */
+	public RecordType apply(RecordGroup<RecordType, SchemaElementType> group, DataFusionPlan<RecordType, SchemaElementType> plan, Collection<AttributeFusionLogger> fusionLogs) {
+		RecordType fusedRecord = factory.createInstanceForFusion(group);
+
+		for (AttributeFusionTask<RecordType, SchemaElementType> t : plan.getAttributeFusionTasks()) {
+			t.execute(group, fusedRecord);
+			if(this.collectDebugResults && fusionLogs!=null){
+				AttributeFusionLogger record = createFusionLog(t, group, plan.getSchemaCorrespondences(), fusedRecord);
+				if(record!=null) {
+					fusionLogs.add(record);
+				}
 			}
 		}
 
@@ -185,45 +248,7 @@ public class DataFusionStrategy<RecordType extends Matchable & Fusible<SchemaEle
 	 * @return a list of fusion tasks
 	 */
 	public List<AttributeFusionTask<RecordType, SchemaElementType>> getAttributeFusers(RecordGroup<RecordType, SchemaElementType> group, Processable<Correspondence<SchemaElementType, Matchable>> schemaCorrespondences) {
-		List<AttributeFusionTask<RecordType, SchemaElementType>> fusers = new ArrayList<>();
-
-		// if schema correspondences are passed, then we use them
-		if(schemaCorrespondences!=null) {
-			// collect all correspondences for each element of the target schema 
-			Map<SchemaElementType, Processable<Correspondence<SchemaElementType, Matchable>>> byTargetSchema = new HashMap<>();
-			
-			for(Correspondence<SchemaElementType, Matchable> cor : schemaCorrespondences.get()) {
-				
-				Processable<Correspondence<SchemaElementType, Matchable>> cors = byTargetSchema.get(cor.getSecondRecord());
-				
-				if(cors==null) {
-					cors = new ProcessableCollection<>();
-					byTargetSchema.put(cor.getSecondRecord(), cors);
-				}
-				
-				cors.add(cor);			
-			}
-			
-			for(SchemaElementType elem : byTargetSchema.keySet()) {
-				AttributeFusionTask<RecordType, SchemaElementType> t = new AttributeFusionTask<>();
-				t.setSchemaElement(elem);
-				t.setFuser(attributeFusers.get(elem));
-				t.setCorrespondences(byTargetSchema.get(elem));
-				t.setEvaluationRule(evaluationRules.get(elem));
-				fusers.add(t);
-			}
-		} else {
-			// if no schema correspondences are available (null - not if just no correspondences were generated), we use all available fusers
-			for(SchemaElementType elem : attributeFusers.keySet()) {
-				AttributeFusionTask<RecordType, SchemaElementType> t = new AttributeFusionTask<>();
-				t.setSchemaElement(elem);
-				t.setFuser(attributeFusers.get(elem));
-				t.setEvaluationRule(evaluationRules.get(elem));
-				fusers.add(t);
-			}
-		}
-		
-		return fusers;
+		return new ArrayList<>(createFusionPlan(schemaCorrespondences).getAttributeFusionTasks());
 	}
 
 	/**
@@ -236,11 +261,22 @@ public class DataFusionStrategy<RecordType extends Matchable & Fusible<SchemaEle
 	 */
 	public Map<String, Double> getAttributeConsistency(
 			RecordGroup<RecordType, SchemaElementType> group, Processable<Correspondence<SchemaElementType, Matchable>> schemaCorrespondences) {
+		return getAttributeConsistency(group, createFusionPlan(schemaCorrespondences));
+	}
+
+	/**
+	 * calculates the number of non-conflicting values for the given group of
+	 * records, according the fusers of this strategy
+	 * 
+	 * @param group		the group of records
+	 * @param plan		the fusion plan for the schema correspondences
+	 * @return A map with the attribute consistency values
+	 */
+	public Map<String, Double> getAttributeConsistency(
+			RecordGroup<RecordType, SchemaElementType> group, DataFusionPlan<RecordType, SchemaElementType> plan) {
 		Map<String, Double> consistencies = new HashMap<>();
-		
-		List<AttributeFusionTask<RecordType, SchemaElementType>> tasks = getAttributeFusers(group, schemaCorrespondences);
 
-		for (AttributeFusionTask<RecordType, SchemaElementType> fuserTask : tasks) {
+		for (AttributeFusionTask<RecordType, SchemaElementType> fuserTask : plan.getAttributeFusionTasks()) {
 			
 			AttributeFuser<RecordType, SchemaElementType> fuser = fuserTask.getFuser();
 			
@@ -411,48 +447,83 @@ public class DataFusionStrategy<RecordType extends Matchable & Fusible<SchemaEle
 	 * Add log entry to debug results log.
 	 */
 	protected void fillFusionLog(AttributeFusionTask<RecordType, SchemaElementType> t, RecordGroup<RecordType, SchemaElementType> group, Processable<Correspondence<SchemaElementType, Matchable>> schemaCorrespondences, RecordType fusedRecord){
-		//for(AttributeFuser<RecordType, SchemaElementType> attFuser : this.attributeFusers.values()){
-			AttributeFuser<RecordType, SchemaElementType> attFuser = t.getFuser();
-			if(attFuser.getFusionLog() != null && (this.maxDebugLogSize == -1 || this.debugFusionResults.size() < this.maxDebugLogSize)){
-				AttributeFusionLogger record = attFuser.getFusionLog();
-				record.setAttributeName(t.getSchemaElement().getIdentifier());
-				Double consistency = attFuser.getConsistency(group, t.getEvaluationRule(), schemaCorrespondences, t.getSchemaElement());
-				if(consistency!=null) {
-					record.setConsistency(consistency);
+		if(this.maxDebugLogSize == -1 || this.debugFusionResults.size() < this.maxDebugLogSize){
+			AttributeFusionLogger record = createFusionLog(t, group, schemaCorrespondences, fusedRecord);
+			if(record!=null) {
+				this.debugFusionResults.add(record);
+			}
+		}
+	}
+	
+	/**
+	 * @return the number of log entries that can still be added to the debug results log or -1 if its size is not limited
+	 */
+	protected int getRemainingFusionLogs() {
+		if(this.maxDebugLogSize == -1) {
+			return -1;
+		}
+		return Math.max(0, this.maxDebugLogSize - this.debugFusionResults.size());
+	}
+	
+	/**
+	 * Adds log entries that were collected by {@link #apply(RecordGroup, Processable, Collection)} to the debug results log.
+	 */
+	protected void addFusionLogs(Collection<AttributeFusionLogger> fusionLogs) {
+		for(AttributeFusionLogger record : fusionLogs) {
+			if(this.maxDebugLogSize != -1 && this.debugFusionResults.size() >= this.maxDebugLogSize) {
+				break;
+			}
+			this.debugFusionResults.add(record);
+		}
+	}
+	
+	/**
+	 * Creates the log entry for the last execution of the given fusion task.
+	 * 
+	 * @return the log entry or null if the fuser did not create a log
+	 */
+	protected AttributeFusionLogger createFusionLog(AttributeFusionTask<RecordType, SchemaElementType> t, RecordGroup<RecordType, SchemaElementType> group, Processable<Correspondence<SchemaElementType, Matchable>> schemaCorrespondences, RecordType fusedRecord){
+		AttributeFuser<RecordType, SchemaElementType> attFuser = t.getFuser();
+		if(attFuser.getFusionLog() == null) {
+			return null;
+		}
+		AttributeFusionLogger record = attFuser.getFusionLog();
+		record.setAttributeName(t.getSchemaElement().getIdentifier());
+		Double consistency = attFuser.getConsistency(group, t.getEvaluationRule(), schemaCorrespondences, t.getSchemaElement());
+		if(consistency!=null) {
+			record.setConsistency(consistency);
+		}
+		if(goldStandardForDebug!=null) {
+			RecordType fusedInGs = null;
+			for (RecordType recordGs : goldStandardForDebug.get()) {
+				// Check for record with fused Record ID in Goldstandard
+				if(recordGs.getIdentifier().equals(fusedRecord.getIdentifier())){
+						fusedInGs = recordGs;
+						break;
 				}
-				if(goldStandardForDebug!=null) {
-					RecordType fusedInGs = null;
-					for (RecordType recordGs : goldStandardForDebug.get()) {
-						// Check for record with fused Record ID in Goldstandard
-						if(recordGs.getIdentifier().equals(fusedRecord.getIdentifier())){
-								fusedInGs = recordGs;
-								break;
-						}
-						else{
-							// Check for record with one Record ID from the group of Input Records in Goldstandard
-							for(String inputRecordId: group.getRecordIds()){
-								if(recordGs.getIdentifier().equals(inputRecordId)){
-									fusedInGs = recordGs;
-									break;
-								}
-							}
-							if(fusedInGs != null){
-								break;
-							}
+				else{
+					// Check for record with one Record ID from the group of Input Records in Goldstandard
+					for(String inputRecordId: group.getRecordIds()){
+						if(recordGs.getIdentifier().equals(inputRecordId)){
+							fusedInGs = recordGs;
+							break;
 						}
 					}
-					if(fusedInGs!=null) {
-						record.setIsCorrect(t.getEvaluationRule().isEqual(fusedRecord, fusedInGs, t.getSchemaElement()));
-						if(attFuser instanceof AttributeValueFuser) {
-							AttributeValueFuser avf = (AttributeValueFuser)attFuser;
-							Object value = avf.getValue(fusedInGs, null);
-							record.setCorrectValue(value);
-						}
+					if(fusedInGs != null){
+						break;
 					}
 				}
-				this.debugFusionResults.add(record);
 			}
-		//}
+			if(fusedInGs!=null) {
+				record.setIsCorrect(t.getEvaluationRule().isEqual(fusedRecord, fusedInGs, t.getSchemaElement()));
+				if(attFuser instanceof AttributeValueFuser) {
+					AttributeValueFuser avf = (AttributeValueFuser)attFuser;
+					Object value = avf.getValue(fusedInGs, null);
+					record.setCorrectValue(value);
+				}
+			}
+		}
+		return record;
 	}
 	
 
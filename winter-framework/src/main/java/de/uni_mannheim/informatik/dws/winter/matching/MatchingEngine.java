@@ -24,6 +24,7 @@ import de.uni_mannheim.informatik.dws.winter.matching.blockers.AbstractBlocker;
 import de.uni_mannheim.informatik.dws.winter.matching.blockers.Blocker;
 import de.uni_mannheim.informatik.dws.winter.matching.blockers.BlockingKeyIndexer.VectorCreationMethod;
 import de.uni_mannheim.informatik.dws.winter.matching.blockers.NoSchemaBlocker;
+import de.uni_mannheim.informatik.dws.winter.matching.blockers.StreamingBlocker;
 import de.uni_mannheim.informatik.dws.winter.matching.blockers.SymmetricBlocker;
 import de.uni_mannheim.informatik.dws.winter.matching.blockers.generators.BlockingKeyGenerator;
 import de.uni_mannheim.informatik.dws.winter.matching.rules.AggregateByFirstRecordRule;
@@ -154,9 +155,46 @@ public class MatchingEngine<RecordType extends Matchable, SchemaElementType exte
 			MatchingRule<RecordType, SchemaElementType> rule,
 			Blocker<RecordType, SchemaElementType, RecordType, SchemaElementType> blocker) {
 
+		return runIdentityResolution(dataset1, dataset2, schemaCorrespondences, rule, blocker, false);
+	}
+
+	/**
+	 * Runs identity resolution on the given data sets using the provided
+	 * matching rule and blocker. If streamBlockedPairs is true and the blocker
+	 * is a {@link StreamingBlocker}, the blocked pairs are scored by the
+	 * matching rule as soon as they are created and pairs which do not reach
+	 * the final threshold are discarded immediately, so the candidate pairs are
+	 * never materialised.
+	 * 
+	 * @param dataset1
+	 *            The first data set
+	 * @param dataset2
+	 *            The second data set
+	 * @param schemaCorrespondences
+	 *            (Optional) Schema correspondences between the data sets that
+	 *            tell the matching rule which attribute combinations to
+	 *            compare.
+	 * @param rule
+	 *            The {@link MatchingRule} that is used to compare the records.
+	 * @param blocker
+	 *            The {@link AbstractBlocker} that generates the pairs, which
+	 *            are then checked by the {@link MatchingRule}.
+	 * @param streamBlockedPairs
+	 *            Specifies whether the blocked pairs are passed to the
+	 *            matching rule as soon as they are created.
+	 * @return A list of correspondences
+	 */
+	public Processable<Correspondence<RecordType, SchemaElementType>> runIdentityResolution(
+			DataSet<RecordType, SchemaElementType> dataset1, DataSet<RecordType, SchemaElementType> dataset2,
+			Processable<? extends Correspondence<SchemaElementType, ? extends Matchable>> schemaCorrespondences,
+			MatchingRule<RecordType, SchemaElementType> rule,
+			Blocker<RecordType, SchemaElementType, RecordType, SchemaElementType> blocker,
+			boolean streamBlockedPairs) {
+
 		RuleBasedMatchingAlgorithm<RecordType, SchemaElementType, SchemaElementType> algorithm = new RuleBasedMatchingAlgorithm<>(
 				dataset1, dataset2, Correspondence.toMatchable(schemaCorrespondences), rule, blocker);
 		algorithm.setTaskName("Identity Resolution");
+		algorithm.setStreamBlockedPairs(streamBlockedPairs);
 
 		algorithm.run();
 
@@ -11,6 +11,13 @@
  */
 package de.uni_mannheim.informatik.dws.winter.matching.aggregators;
 
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
 import de.uni_mannheim.informatik.dws.winter.model.Correspondence;
 import de.uni_mannheim.informatik.dws.winter.model.Matchable;
 import de.uni_mannheim.informatik.dws.winter.model.Pair;
@@ -22,6 +29,10 @@ import de.uni_mannheim.informatik.dws.winter.processing.ProcessableCollection;
  * 
  * An aggregation function that keeps the k correspondences with the highest similarity score.
  * 
+ * The correspondences are collected in a bounded min-heap (the state of the aggregation), which always contains the k best correspondences seen so far.
+ * If two correspondences have the same similarity score, the one with the smaller identifiers (first record, then second record) is preferred, which makes the result reproducible.
+ * The final result is sorted by descending similarity score.
+ * 
  * @author Oliver Lehmberg (oli@dwslab.de)
  *
  */
@@ -37,12 +48,54 @@ public class TopKAggregator<TypeA extends Matchable, TypeB extends Matchable, Ke
 		this.k = k;
 	}
 	
+	/**
+	 * Orders correspondences from worst to best, i.e., by ascending similarity score and descending identifiers.
+	 */
+	protected static class RankComparator<TypeA extends Matchable, TypeB extends Matchable> implements Comparator<Correspondence<TypeA, TypeB>>, Serializable {
+
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		public int compare(Correspondence<TypeA, TypeB> o1, Correspondence<TypeA, TypeB> o2) {
+			int comp = Double.compare(o1.getSimilarityScore(), o2.getSimilarityScore());
+			
+			if(comp==0) {
+				comp = -compareIdentifiers(o1.getFirstRecord(), o2.getFirstRecord());
+			}
+			if(comp==0) {
+				comp = -compareIdentifiers(o1.getSecondRecord(), o2.getSecondRecord());
+			}
+			
+			return comp;
+		}
+		
+		private int compareIdentifiers(Matchable m1, Matchable m2) {
+			String id1 = m1 == null ? null : m1.getIdentifier();
+			String id2 = m2 == null ? null : m2.getIdentifier();
+			
+			if(id1==null) {
+				return id2 == null ? 0 : -1;
+			} else if(id2==null) {
+				return 1;
+			} else {
+				return id1.compareTo(id2);
+			}
+		}
+	}
+	
+	private RankComparator<TypeA, TypeB> comparator = new RankComparator<>();
+	
 	/* (non-Javadoc)
 	 * @see de.uni_mannheim.informatik.wdi.processing.DataAggregator#initialise(java.lang.Object)
 	 */
 	@Override
 	public Pair<Processable<Correspondence<TypeA, TypeB>>, Object> initialise(KeyType keyValue) {
-		return stateless(new ProcessableCollection<>());
+		if(k>0) {
+			// the result is created from the heap in createFinalValue
+			return state(null, new PriorityQueue<Correspondence<TypeA, TypeB>>(k + 1, comparator));
+		} else {
+			return stateless(new ProcessableCollection<>());
+		}
 	}
 
 	/* (non-Javadoc)
@@ -52,16 +105,14 @@ public class TopKAggregator<TypeA extends Matchable, TypeB extends Matchable, Ke
 	public Pair<Processable<Correspondence<TypeA, TypeB>>, Object> aggregate(Processable<Correspondence<TypeA, TypeB>> previousResult,
 			Correspondence<TypeA, TypeB> record, Object state) {
 
-		previousResult.add(record);
-		
 		if(k>0) {
-			// first create a fixed order for the input data to make this step reproducible (in cases where two correspondences have the same similarity value)
-			// then sort by similarity score
-			
-			previousResult = previousResult.sort((r)->r.getIdentifiers()).sort((r)->r.getSimilarityScore(), false).take(k);
+			PriorityQueue<Correspondence<TypeA, TypeB>> heap = getHeap(state);
+			offer(heap, record);
+			return state(previousResult, heap);
+		} else {
+			previousResult.add(record);
+			return stateless(previousResult);
 		}
-		
-		return stateless(previousResult);
 	}
 
 	/* (non-Javadoc)
@@ -71,6 +122,46 @@ public class TopKAggregator<TypeA extends Matchable, TypeB extends Matchable, Ke
 	public Pair<Processable<Correspondence<TypeA, TypeB>>, Object> merge(
 			Pair<Processable<Correspondence<TypeA, TypeB>>, Object> intermediateResult1,
 			Pair<Processable<Correspondence<TypeA, TypeB>>, Object> intermediateResult2) {
-		return stateless(intermediateResult1.getFirst().append(intermediateResult2.getFirst()).sort((r)->r.getIdentifiers()).sort((r)->r.getSimilarityScore(), false).take(k));
+		if(k>0) {
+			PriorityQueue<Correspondence<TypeA, TypeB>> heap = getHeap(intermediateResult1.getSecond());
+			for(Correspondence<TypeA, TypeB> cor : getHeap(intermediateResult2.getSecond())) {
+				offer(heap, cor);
+			}
+			return state(null, heap);
+		} else {
+			return stateless(intermediateResult1.getFirst().append(intermediateResult2.getFirst()));
+		}
+	}
+	
+	/* (non-Javadoc)
+	 * @see de.uni_mannheim.informatik.dws.winter.processing.DataAggregator#createFinalValue(java.lang.Object, java.lang.Object, java.lang.Object)
+	 */
+	@Override
+	public Processable<Correspondence<TypeA, TypeB>> createFinalValue(KeyType keyValue,
+			Processable<Correspondence<TypeA, TypeB>> result, Object state) {
+		if(k>0) {
+			List<Correspondence<TypeA, TypeB>> sorted = new ArrayList<>(getHeap(state));
+			Collections.sort(sorted, Collections.reverseOrder(comparator));
+			return new ProcessableCollection<>(sorted);
+		} else {
+			return result;
+		}
+	}
+	
+	@SuppressWarnings("unchecked")
+	private PriorityQueue<Correspondence<TypeA, TypeB>> getHeap(Object state) {
+		return (PriorityQueue<Correspondence<TypeA, TypeB>>)state;
+	}
+	
+	/**
+	 * Adds the correspondence to the heap if it contains less than k correspondences or if the correspondence is better than the worst correspondence in the heap.
+	 */
+	private void offer(PriorityQueue<Correspondence<TypeA, TypeB>> heap, Correspondence<TypeA, TypeB> record) {
+		if(heap.size()<k) {
+			heap.add(record);
+		} else if(comparator.compare(record, heap.peek())>0) {
+			heap.poll();
+			heap.add(record);
+		}
 	}
 }
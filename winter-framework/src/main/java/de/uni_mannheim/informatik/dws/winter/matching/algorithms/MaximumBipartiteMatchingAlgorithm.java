@@ -11,8 +11,12 @@
  */
 package de.uni_mannheim.informatik.dws.winter.matching.algorithms;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -23,12 +27,14 @@ import org.jgrapht.alg.matching.MaximumWeightBipartiteMatching;
 import org.jgrapht.graph.DefaultWeightedEdge;
 import org.jgrapht.graph.SimpleWeightedGraph;
 
+import de.uni_mannheim.informatik.dws.winter.clustering.ConnectedComponentClusterer;
 import de.uni_mannheim.informatik.dws.winter.model.Correspondence;
 import de.uni_mannheim.informatik.dws.winter.model.Matchable;
 import de.uni_mannheim.informatik.dws.winter.model.Pair;
 import de.uni_mannheim.informatik.dws.winter.processing.DataIterator;
 import de.uni_mannheim.informatik.dws.winter.processing.Group;
 import de.uni_mannheim.informatik.dws.winter.processing.Processable;
+import de.uni_mannheim.informatik.dws.winter.processing.ProcessableCollection;
 import de.uni_mannheim.informatik.dws.winter.processing.RecordKeyValueMapper;
 import de.uni_mannheim.informatik.dws.winter.processing.RecordMapper;
 import de.uni_mannheim.informatik.dws.winter.utils.WinterLogManager;
@@ -100,7 +106,23 @@ public class MaximumBipartiteMatchingAlgorithm<TypeA extends Matchable, TypeB ex
 			
 		});
 		
-		result = grouped.map(new RecordMapper<Group<Pair<Integer,Integer>,Correspondence<TypeA,TypeB>>, Correspondence<TypeA,TypeB>>() {
+		// the maximum matching of a graph is the union of the maximum matchings of its connected components,
+		// so we split each group into its connected components, which can be solved independently
+		Processable<Group<Pair<Integer,Integer>, Correspondence<TypeA,TypeB>>> components = grouped.map(new RecordMapper<Group<Pair<Integer,Integer>,Correspondence<TypeA,TypeB>>, Group<Pair<Integer,Integer>,Correspondence<TypeA,TypeB>>>() {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			public void mapRecord(Group<Pair<Integer, Integer>, Correspondence<TypeA, TypeB>> record,
+					DataIterator<Group<Pair<Integer, Integer>, Correspondence<TypeA, TypeB>>> resultCollector) {
+				for(Collection<Correspondence<TypeA, TypeB>> component : getConnectedComponents(record.getRecords().get())) {
+					resultCollector.next(new Group<>(record.getKey(), new ProcessableCollection<>(component)));
+				}
+			}
+		});
+		
+		// the components are solved independently, in parallel if the input is processed in parallel
+		result = correspondences.createProcessableFromCollection(components.get()).map(new RecordMapper<Group<Pair<Integer,Integer>,Correspondence<TypeA,TypeB>>, Correspondence<TypeA,TypeB>>() {
 
 			private static final long serialVersionUID = 1L;
 
@@ -108,16 +130,32 @@ public class MaximumBipartiteMatchingAlgorithm<TypeA extends Matchable, TypeB ex
 			public void mapRecord(Group<Pair<Integer, Integer>, Correspondence<TypeA, TypeB>> record,
 					DataIterator<Correspondence<TypeA, TypeB>> resultCollector) {
 				
+				Collection<Correspondence<TypeA, TypeB>> component = record.getRecords().get();
+				
+				// if all correspondences share one record (one-to-one or one-to-many), the maximum matching is the correspondence with the highest score
+				Correspondence<TypeA, TypeB> best = getBestCorrespondenceIfStar(component);
+				if(best!=null) {
+					resultCollector.next(best);
+					if(logger.isTraceEnabled()) {
+						logger.trace(String.format("Group %d/%d: %d correspondences, trivial result:\n\t%.6f\t%s <-> %s", record.getKey().getFirst(), record.getKey().getSecond(), component.size(), best.getSimilarityScore(), best.getFirstRecord(), best.getSecondRecord()));
+					}
+					return;
+				}
+				
+				boolean trace = logger.isTraceEnabled();
+				
 				// create the graph and the two partitions
 				WeightedGraph<TypeA, DefaultWeightedEdge> graph = new SimpleWeightedGraph<>(DefaultWeightedEdge.class);
 				Set<TypeA> partition1 = new HashSet<>();
 				Set<TypeA> partition2 = new HashSet<>();
 				Map<DefaultWeightedEdge, Correspondence<TypeA, TypeB>> edgeToCorrespondence = new HashMap<>();
 				
-				StringBuilder sb = new StringBuilder();
-				sb.append(String.format("Group %d/%d\n", record.getKey().getFirst(), record.getKey().getSecond()));
+				StringBuilder sb = trace ? new StringBuilder() : null;
+				if(trace) {
+					sb.append(String.format("Group %d/%d\n", record.getKey().getFirst(), record.getKey().getSecond()));
+				}
 				
-				for(Correspondence<TypeA, TypeB> cor : record.getRecords().get()) {
+				for(Correspondence<TypeA, TypeB> cor : component) {
 					partition1.add(cor.getFirstRecord());
 					partition2.add(cor.getSecondRecord());
 					
@@ -127,8 +165,10 @@ public class MaximumBipartiteMatchingAlgorithm<TypeA extends Matchable, TypeB ex
 					if(edge!=null) {
 						graph.setEdgeWeight(edge,(int)( cor.getSimilarityScore() * 1000000)); // MaximumWeightBipartiteMatching only accepts integer weights ...
 						edgeToCorrespondence.put(edge, cor);
-						sb.append(String.format("\t%.6f\t%s <-> %s\n", cor.getSimilarityScore(), cor.getFirstRecord(), cor.getSecondRecord()));
-					} else {
+						if(trace) {
+							sb.append(String.format("\t%.6f\t%s <-> %s\n", cor.getSimilarityScore(), cor.getFirstRecord(), cor.getSecondRecord()));
+						}
+					} else if(trace) {
 						sb.append(String.format("\t%.6f\t%s <-> %s (skipped)\n", cor.getSimilarityScore(), cor.getFirstRecord(), cor.getSecondRecord()));
 					}
 					
@@ -138,21 +178,99 @@ public class MaximumBipartiteMatchingAlgorithm<TypeA extends Matchable, TypeB ex
 				MaximumWeightBipartiteMatching<TypeA, DefaultWeightedEdge> matching = new MaximumWeightBipartiteMatching<>(graph, partition1, partition2);
 				Matching<DefaultWeightedEdge> matchingResult = matching.computeMatching();
 				
-				sb.append("* result:\n");
+				if(trace) {
+					sb.append("* result:\n");
+				}
 				
 				// add the results
 				for(DefaultWeightedEdge edge : matchingResult.getEdges()) {
 					Correspondence<TypeA, TypeB> cor = edgeToCorrespondence.get(edge);
 					resultCollector.next(cor);
 					
-					sb.append(String.format("\t%.6f\t%s <-> %s\n", cor.getSimilarityScore(), cor.getFirstRecord(), cor.getSecondRecord()));
+					if(trace) {
+						sb.append(String.format("\t%.6f\t%s <-> %s\n", cor.getSimilarityScore(), cor.getFirstRecord(), cor.getSecondRecord()));
+					}
 				}
 				
+				if(trace) {
 					logger.trace(sb.toString());
+				}
 			}
 		});
 
 	}
+	
+	/**
+	 * Splits the correspondences into the connected components of the graph that they form.
+	 * 
+	 * @param correspondences	the correspondences
+	 * @return the correspondences of each connected component
+	 */
+	protected Collection<Collection<Correspondence<TypeA, TypeB>>> getConnectedComponents(Collection<Correspondence<TypeA, TypeB>> correspondences) {
+		ConnectedComponentClusterer<TypeA> clusterer = new ConnectedComponentClusterer<>();
+		for(Correspondence<TypeA, TypeB> cor : correspondences) {
+			clusterer.addEdge(cor.getFirstRecord(), cor.getSecondRecord());
+		}
+		
+		List<Set<TypeA>> clusters = clusterer.getClusters();
+		if(clusters.size()==1) {
+			return Collections.singletonList(correspondences);
+		}
+		
+		Map<TypeA, Collection<Correspondence<TypeA, TypeB>>> recordToComponent = new HashMap<>();
+		List<Collection<Correspondence<TypeA, TypeB>>> components = new ArrayList<>(clusters.size());
+		for(Set<TypeA> cluster : clusters) {
+			Collection<Correspondence<TypeA, TypeB>> component = new ArrayList<>();
+			components.add(component);
+			for(TypeA node : cluster) {
+				recordToComponent.put(node, component);
+			}
+		}
+		
+		for(Correspondence<TypeA, TypeB> cor : correspondences) {
+			recordToComponent.get(cor.getFirstRecord()).add(cor);
+		}
+		
+		return components;
+	}
+	
+	/**
+	 * If all correspondences share the same record on the left-hand side or on the right-hand side, only one of them can be part of the matching.
+	 * 
+	 * @param component	the correspondences of a connected component
+	 * @return the correspondence with the highest similarity score if the component is such a star, null otherwise
+	 */
+	protected Correspondence<TypeA, TypeB> getBestCorrespondenceIfStar(Collection<Correspondence<TypeA, TypeB>> component) {
+		TypeA left = null;
+		TypeA right = null;
+		boolean sameLeft = true;
+		boolean sameRight = true;
+		Correspondence<TypeA, TypeB> best = null;
+		
+		for(Correspondence<TypeA, TypeB> cor : component) {
+			if(best==null) {
+				left = cor.getFirstRecord();
+				right = cor.getSecondRecord();
+				best = cor;
+			} else {
+				sameLeft &= left.equals(cor.getFirstRecord());
+				sameRight &= right.equals(cor.getSecondRecord());
+				if(!sameLeft && !sameRight) {
+					return null;
+				}
+				if(cor.getSimilarityScore()>best.getSimilarityScore()) {
+					best = cor;
+				}
+			}
+		}
+		
+		// a record that is matched to itself cannot be represented in the graph
+		if(best!=null && left.equals(right)) {
+			return null;
+		}
+		
+		return best;
+	}
 
 	/* (non-Javadoc)
 	 * @see de.uni_mannheim.informatik.dws.winter.matching.algorithms.MatchingAlgorithm#getResult()
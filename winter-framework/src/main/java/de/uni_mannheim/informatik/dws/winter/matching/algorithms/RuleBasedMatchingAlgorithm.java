@@ -18,6 +18,7 @@ import org.apache.commons.lang3.time.DurationFormatUtils;
 import org.slf4j.Logger;
 
 import de.uni_mannheim.informatik.dws.winter.matching.blockers.Blocker;
+import de.uni_mannheim.informatik.dws.winter.matching.blockers.StreamingBlocker;
 import de.uni_mannheim.informatik.dws.winter.matching.rules.MatchingRule;
 import de.uni_mannheim.informatik.dws.winter.model.Correspondence;
 import de.uni_mannheim.informatik.dws.winter.model.DataSet;
@@ -41,6 +42,7 @@ public class RuleBasedMatchingAlgorithm<RecordType extends Matchable, SchemaElem
 	private Blocker<RecordType, SchemaElementType, RecordType, CorrespondenceType> blocker;
 	private Processable<Correspondence<RecordType, CorrespondenceType>> result;
 	private String taskName = "Matching";
+	private boolean streamBlockedPairs = false;
 	private static final Logger logger = WinterLogManager.getLogger();
 	
 	/**
@@ -88,6 +90,18 @@ public class RuleBasedMatchingAlgorithm<RecordType extends Matchable, SchemaElem
 	public void setTaskName(String taskName) {
 		this.taskName = taskName;
 	}
+	public boolean isStreamBlockedPairs() {
+		return streamBlockedPairs;
+	}
+	/**
+	 * Specifies whether the blocked pairs are passed to the matching rule as soon as they are created.
+	 * If set to true and the blocker is a {@link StreamingBlocker}, the candidate pairs are never materialised and only correspondences which pass the matching rule are kept in memory.
+	 * 
+	 * @param streamBlockedPairs	true, if the blocked pairs should be streamed to the matching rule
+	 */
+	public void setStreamBlockedPairs(boolean streamBlockedPairs) {
+		this.streamBlockedPairs = streamBlockedPairs;
+	}
 	@Override
 	public Processable<Correspondence<RecordType, CorrespondenceType>> getResult() {
 		return result;
@@ -125,6 +139,22 @@ public class RuleBasedMatchingAlgorithm<RecordType extends Matchable, SchemaElem
 		return pairs;
 	}
 	
+	protected Processable<Correspondence<RecordType, CorrespondenceType>> runStreamingMatching() {
+		StreamingBlocker<RecordType, SchemaElementType, RecordType, CorrespondenceType> streamingBlocker = (StreamingBlocker<RecordType, SchemaElementType, RecordType, CorrespondenceType>)blocker;
+		
+		logger.info(String.format("Blocking and matching %,d x %,d elements", getDataset1().size(), getDataset2().size()));
+		
+		Processable<Correspondence<RecordType, CorrespondenceType>> result = streamingBlocker.runBlocking(getDataset1(), getDataset2(), getCorrespondences(), rule);
+		
+		logger.info(String.format("Reduction ratio: %s", Double.toString(getReductionRatio())));
+		
+		if(blocker.isMeasureBlockSizes()){
+			blocker.writeDebugBlockingResultsToFile();
+		}
+		
+		return result;
+	}
+	
 	public double getReductionRatio() {
 		return getBlocker().getReductionRatio();
 	}
@@ -132,11 +162,18 @@ public class RuleBasedMatchingAlgorithm<RecordType extends Matchable, SchemaElem
 	public void run() {
 		LocalDateTime start = LocalDateTime.now();
 		
-		// use the blocker to generate pairs
-		Processable<Correspondence<RecordType, CorrespondenceType>> allPairs = runBlocking(getDataset1(), getDataset2(), getCorrespondences());
+		Processable<Correspondence<RecordType, CorrespondenceType>> result = null;
 		
-		// compare the pairs using the matching rule
-		Processable<Correspondence<RecordType, CorrespondenceType>> result = allPairs.map(rule);
+		if(streamBlockedPairs && blocker instanceof StreamingBlocker) {
+			// use the blocker to generate pairs and compare them using the matching rule immediately
+			result = runStreamingMatching();
+		} else {
+			// use the blocker to generate pairs
+			Processable<Correspondence<RecordType, CorrespondenceType>> allPairs = runBlocking(getDataset1(), getDataset2(), getCorrespondences());
+			
+			// compare the pairs using the matching rule
+			result = allPairs.map(rule);
+		}
 		
 		// report total matching time
 		LocalDateTime end = LocalDateTime.now();
@@ -146,7 +183,7 @@ public class RuleBasedMatchingAlgorithm<RecordType extends Matchable, SchemaElem
 				getTaskName(), DurationFormatUtils.formatDurationHMS(Duration.between(start, end).toMillis()), result.size()));
 		
 		if(rule.isDebugReportActive()){
-			rule.writeDebugMatchingResultsToFile();
+			rule.writeDebugMatchingResultsToFileAsync();
 		}
 		
 		this.result = result;
@@ -127,11 +127,28 @@ public abstract class AbstractBlocker<RecordType extends Matchable, BlockedType
 	protected void calculatePerformance(Processable<? extends Matchable> dataset1,
 			Processable<? extends Matchable> dataset2,
 			Processable<? extends Correspondence<? extends Matchable, ? extends Matchable>> blocked) {
+		calculatePerformance(dataset1, dataset2, blocked.size());
+	}
+
+	/**
+	 * Calculates the reduction ratio from the number of blocked pairs. Can be
+	 * used instead of calculatePerformance(Processable, Processable,
+	 * Processable) if the blocked pairs are not materialised.
+	 * 
+	 * @param dataset1
+	 *            the first data set (must not be null)
+	 * @param dataset2
+	 *            the second data set (must not be null)
+	 * @param numberOfBlockedPairs
+	 *            the number of pairs that resulted from the blocking
+	 */
+	protected void calculatePerformance(Processable<? extends Matchable> dataset1,
+			Processable<? extends Matchable> dataset2, long numberOfBlockedPairs) {
 		long size1 = (long) dataset1.size();
 		long size2 = (long) dataset2.size();
 		long maxPairs = size1 * size2;
 
-		reductionRatio = 1.0 - ((double) blocked.size() / (double) maxPairs);
+		reductionRatio = 1.0 - ((double) numberOfBlockedPairs / (double) maxPairs);
 	}
 
 	public Processable<Pair<RecordType, Processable<Correspondence<CorrespondenceType, Matchable>>>> combineDataWithCorrespondences(
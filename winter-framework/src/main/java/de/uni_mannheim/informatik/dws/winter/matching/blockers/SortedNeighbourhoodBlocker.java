@@ -12,9 +12,12 @@
 package de.uni_mannheim.informatik.dws.winter.matching.blockers;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
 import de.uni_mannheim.informatik.dws.winter.matching.blockers.generators.BlockingKeyGenerator;
 import de.uni_mannheim.informatik.dws.winter.model.AbstractRecord;
@@ -23,16 +26,32 @@ import de.uni_mannheim.informatik.dws.winter.model.DataSet;
 import de.uni_mannheim.informatik.dws.winter.model.Matchable;
 import de.uni_mannheim.informatik.dws.winter.model.Pair;
 import de.uni_mannheim.informatik.dws.winter.model.defaultmodel.Record;
+import de.uni_mannheim.informatik.dws.winter.processing.DataIterator;
 import de.uni_mannheim.informatik.dws.winter.processing.Processable;
 import de.uni_mannheim.informatik.dws.winter.processing.ProcessableCollection;
+import de.uni_mannheim.informatik.dws.winter.processing.ProcessableCollector;
+import de.uni_mannheim.informatik.dws.winter.processing.RecordMapper;
+import de.uni_mannheim.informatik.dws.winter.processing.parallel.ThreadSafeProcessableCollector;
+import de.uni_mannheim.informatik.dws.winter.utils.parallel.Consumer;
+import de.uni_mannheim.informatik.dws.winter.utils.parallel.Parallel;
 
 /**
  * Implementation of the Sorted-Neighbourhood {@link AbstractBlocker}, which
  * based on the blocking key of the {@link BlockingKeyGenerator} compares only
  * the surrounding {@link AbstractRecord}s.
  * 
- * Only supports single-threaded execution. Does not consider data source
- * identifiers.
+ * By default, a single blocking key is used and the blocking runs
+ * single-threaded. If the blocker is created with several blocking functions,
+ * multi-pass sorted neighbourhood is used: the records are sorted and windowed
+ * once per blocking function and a pair that was already created in an
+ * earlier pass is not created again. If {@link #setParallel(boolean)} is set,
+ * the blocking keys are created and sorted in parallel, and the window is
+ * moved over overlapping ranges of the sorted keys concurrently. In both
+ * cases, when blocking two data sets, each record of the first data set is
+ * combined with the next windowSize-1 records of the second data set (instead
+ * of the next windowSize-1 records with a different provenance).
+ * 
+ * Does not consider data source identifiers.
  * 
  * @author Robert Meusel (robert@dwslab.de)
  * @author Oliver Lehmberg (oli@dwslab.de)
@@ -49,17 +68,60 @@ import de.uni_mannheim.informatik.dws.winter.processing.ProcessableCollection;
 public class SortedNeighbourhoodBlocker<RecordType extends Matchable, SchemaElementType extends Matchable, CorrespondenceType extends Matchable>
 		extends AbstractBlocker<RecordType, SchemaElementType, CorrespondenceType>
 		implements Blocker<RecordType, SchemaElementType, RecordType, CorrespondenceType>,
+		StreamingBlocker<RecordType, SchemaElementType, RecordType, CorrespondenceType>,
 		SymmetricBlocker<RecordType, SchemaElementType, RecordType, CorrespondenceType> {
 
+	// the number of sorted keys that are processed as one unit of work in parallel mode
+	private static final int RANGE_SIZE = 10000;
+
 	private BlockingKeyGenerator<RecordType, CorrespondenceType, RecordType> blockingFunction;
+	private List<BlockingKeyGenerator<RecordType, CorrespondenceType, RecordType>> blockingFunctions;
 	private int windowSize;
+	private boolean parallel = false;
 
 	public SortedNeighbourhoodBlocker(BlockingKeyGenerator<RecordType, CorrespondenceType, RecordType> blockingFunction,
 			int windowSize) {
 		this.blockingFunction = blockingFunction;
+		this.blockingFunctions = Arrays.asList(blockingFunction);
+		this.windowSize = windowSize;
+	}
+
+	/**
+	 * Creates a multi-pass sorted neighbourhood blocker, which runs one pass
+	 * per blocking function. Pairs are only created in the first pass in which
+	 * they appear in the same window.
+	 * 
+	 * @param blockingFunctions
+	 *            the blocking functions
+	 * @param windowSize
+	 *            the size of the window
+	 */
+	public SortedNeighbourhoodBlocker(
+			List<BlockingKeyGenerator<RecordType, CorrespondenceType, RecordType>> blockingFunctions, int windowSize) {
+		this.blockingFunction = blockingFunctions.get(0);
+		this.blockingFunctions = blockingFunctions;
 		this.windowSize = windowSize;
 	}
 
+	/**
+	 * @return true if the blocking runs in parallel
+	 */
+	public boolean isParallel() {
+		return parallel;
+	}
+
+	/**
+	 * Specifies if the blocking keys should be created and sorted in parallel
+	 * and if the pairs should be created concurrently. In this case, the order
+	 * of the resulting pairs is not deterministic.
+	 * 
+	 * @param parallel
+	 *            the parallel to set
+	 */
+	public void setParallel(boolean parallel) {
+		this.parallel = parallel;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * 
@@ -79,6 +141,13 @@ public class SortedNeighbourhoodBlocker<RecordType extends Matchable, SchemaElem
 				dataset, schemaCorrespondences,
 				(r, c) -> c.next(new Pair<>(r.getFirstRecord().getDataSourceIdentifier(), r)));
 
+		if (parallel || blockingFunctions.size() > 1) {
+			AtomicLong generatedPairs = new AtomicLong();
+			result = runMultiPassBlocking(new ArrayList<>(ds.get()), -1, null, generatedPairs);
+			calculatePerformance(dataset, dataset, result);
+			return result;
+		}
+
 		// add all instances to one list, and compute the keys
 		Processable<Pair<String, Pair<RecordType, Processable<Correspondence<CorrespondenceType, Matchable>>>>> blockingKeys = ds
 				.map(blockingFunction);
@@ -158,7 +227,28 @@ public class SortedNeighbourhoodBlocker<RecordType extends Matchable, SchemaElem
 	public Processable<Correspondence<RecordType, CorrespondenceType>> runBlocking(
 			DataSet<RecordType, SchemaElementType> dataset1, DataSet<RecordType, SchemaElementType> dataset2,
 			Processable<Correspondence<CorrespondenceType, Matchable>> schemaCorrespondences) {
+		return runBlocking(dataset1, dataset2, schemaCorrespondences, null);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * de.uni_mannheim.informatik.dws.winter.matching.blockers.StreamingBlocker#runBlocking(de.
+	 * uni_mannheim.informatik.dws.winter.model.DataSet,
+	 * de.uni_mannheim.informatik.dws.winter.model.DataSet,
+	 * de.uni_mannheim.informatik.dws.winter.processing.Processable,
+	 * de.uni_mannheim.informatik.dws.winter.processing.RecordMapper)
+	 */
+	@Override
+	public Processable<Correspondence<RecordType, CorrespondenceType>> runBlocking(
+			DataSet<RecordType, SchemaElementType> dataset1, DataSet<RecordType, SchemaElementType> dataset2,
+			Processable<Correspondence<CorrespondenceType, Matchable>> schemaCorrespondences,
+			RecordMapper<Correspondence<RecordType, CorrespondenceType>, Correspondence<RecordType, CorrespondenceType>> pairMapper) {
 		Processable<Correspondence<RecordType, CorrespondenceType>> result = new ProcessableCollection<>();
+		ProcessableCollector<Correspondence<RecordType, CorrespondenceType>> collector = new ProcessableCollector<>();
+		collector.setResult(result);
+		long generatedPairs = 0;
 
 		Processable<Pair<RecordType, Processable<Correspondence<CorrespondenceType, Matchable>>>> ds1 = combineDataWithCorrespondences(
 				dataset1, schemaCorrespondences,
@@ -167,6 +257,16 @@ public class SortedNeighbourhoodBlocker<RecordType extends Matchable, SchemaElem
 				dataset2, schemaCorrespondences,
 				(r, c) -> c.next(new Pair<>(r.getFirstRecord().getDataSourceIdentifier(), r)));
 
+		if (parallel || blockingFunctions.size() > 1) {
+			List<Pair<RecordType, Processable<Correspondence<CorrespondenceType, Matchable>>>> records = new ArrayList<>(ds1.get());
+			int secondDataSetStart = records.size();
+			records.addAll(ds2.get());
+			AtomicLong pairs = new AtomicLong();
+			result = runMultiPassBlocking(records, secondDataSetStart, pairMapper, pairs);
+			calculatePerformance(dataset1, dataset2, pairs.get());
+			return result;
+		}
+
 		// add all instances to one list, and compute the keys
 		Processable<Pair<String, Pair<RecordType, Processable<Correspondence<CorrespondenceType, Matchable>>>>> blocked1 = ds1
 				.map(blockingFunction);
@@ -215,8 +315,14 @@ public class SortedNeighbourhoodBlocker<RecordType extends Matchable, SchemaElem
 							.get(++j).getSecond();
 					// check if they belong *not* to the same dataset
 					if (!p2.getFirst().getProvenance().equals(p1.getFirst().getProvenance())) {
-						result.add(new Correspondence<RecordType, CorrespondenceType>(p1.getFirst(), p2.getFirst(), 1.0,
-								createCausalCorrespondences(p1, p2)));
+						Correspondence<RecordType, CorrespondenceType> pair = new Correspondence<RecordType, CorrespondenceType>(
+								p1.getFirst(), p2.getFirst(), 1.0, createCausalCorrespondences(p1, p2));
+						generatedPairs++;
+						if (pairMapper == null) {
+							result.add(pair);
+						} else {
+							pairMapper.mapRecord(pair, collector);
+						}
 						counter++;
 					}
 				}
@@ -244,11 +350,272 @@ public class SortedNeighbourhoodBlocker<RecordType extends Matchable, SchemaElem
 			}
 		}
 		
-		calculatePerformance(dataset1, dataset2, result);
+		calculatePerformance(dataset1, dataset2, generatedPairs);
 		return result;
 	}
 
+	/**
+	 * A blocking key together with the index of the record it was created for
+	 */
+	private static class BlockingKeyEntry<T> {
+		String key;
+		int record;
+		T element;
+
+		public BlockingKeyEntry(String key, int record, T element) {
+			this.key = key;
+			this.record = record;
+			this.element = element;
+		}
+	}
+
+	/**
+	 * The result of a single pass: the sorted blocking keys and the positions
+	 * of each record in the sorted keys
+	 */
+	private static class SortedPass<T> {
+		BlockingKeyEntry<T>[] entries;
+		// the positions of record r are positions[positionsStart[r]] to positions[positionsStart[r+1]-1]
+		int[] positionsStart;
+		int[] positions;
+		// the number of entries of the second data set before each position
+		int[] secondDataSetCounts;
+	}
+
+	/**
+	 * Runs one pass per blocking function and creates all pairs which have not
+	 * been created in an earlier pass.
+	 * 
+	 * @param records
+	 *            the records and their correspondences
+	 * @param secondDataSetStart
+	 *            the index of the first record of the second data set or -1 if
+	 *            only a single data set is blocked
+	 * @param pairMapper
+	 *            the mapper that is applied to every created pair (can be null)
+	 * @param generatedPairs
+	 *            counts the created pairs
+	 * @return the created pairs or the output of the pairMapper
+	 */
+	protected Processable<Correspondence<RecordType, CorrespondenceType>> runMultiPassBlocking(
+			List<Pair<RecordType, Processable<Correspondence<CorrespondenceType, Matchable>>>> records,
+			int secondDataSetStart,
+			RecordMapper<Correspondence<RecordType, CorrespondenceType>, Correspondence<RecordType, CorrespondenceType>> pairMapper,
+			AtomicLong generatedPairs) {
+
+		ProcessableCollector<Correspondence<RecordType, CorrespondenceType>> collector = parallel
+				? new ThreadSafeProcessableCollector<>() : new ProcessableCollector<>();
+		collector.setResult(new ProcessableCollection<>());
+		collector.initialise();
+
+		List<SortedPass<Pair<RecordType, Processable<Correspondence<CorrespondenceType, Matchable>>>>> passes = new ArrayList<>(blockingFunctions.size());
+
+		for (BlockingKeyGenerator<RecordType, CorrespondenceType, RecordType> function : blockingFunctions) {
+			SortedPass<Pair<RecordType, Processable<Correspondence<CorrespondenceType, Matchable>>>> pass = createSortedPass(records, secondDataSetStart, function);
+			BlockingKeyEntry<Pair<RecordType, Processable<Correspondence<CorrespondenceType, Matchable>>>>[] entries = pass.entries;
+
+			// each range starts the window at the positions of the range, but can read the following positions
+			forEachRange(entries.length, (from, to) -> {
+				for (int i = from; i < to; i++) {
+					BlockingKeyEntry<Pair<RecordType, Processable<Correspondence<CorrespondenceType, Matchable>>>> e1 = entries[i];
+
+					if (secondDataSetStart < 0) {
+						for (int j = i + 1; ((j - i) < windowSize) && (j < entries.length); j++) {
+							createPair(e1, entries[j], passes, secondDataSetStart, pairMapper, collector, generatedPairs);
+						}
+					} else if (e1.record < secondDataSetStart) {
+						int counter = 1;
+						for (int j = i + 1; (counter < windowSize) && (j < entries.length); j++) {
+							if (entries[j].record >= secondDataSetStart) {
+								createPair(e1, entries[j], passes, secondDataSetStart, pairMapper, collector, generatedPairs);
+								counter++;
+							}
+						}
+					}
+				}
+			}, "Creating pairs");
+
+			if (isMeasureBlockSizes()) {
+				// the keys are sorted, so the frequency of a key is the length of its run
+				int start = 0;
+				for (int i = 1; i <= entries.length; i++) {
+					if (i == entries.length || !entries[i].key.equals(entries[start].key)) {
+						Record model = new Record(entries[start].key);
+						model.setValue(AbstractBlocker.blockingKeyValue, entries[start].key);
+						model.setValue(AbstractBlocker.frequency, Integer.toString(i - start));
+						this.appendBlockingResult(model);
+						start = i;
+					}
+				}
+			}
+
+			passes.add(pass);
+		}
+
+		collector.finalise();
+		return collector.getResult();
+	}
+
+	private void createPair(
+			BlockingKeyEntry<Pair<RecordType, Processable<Correspondence<CorrespondenceType, Matchable>>>> e1,
+			BlockingKeyEntry<Pair<RecordType, Processable<Correspondence<CorrespondenceType, Matchable>>>> e2,
+			List<SortedPass<Pair<RecordType, Processable<Correspondence<CorrespondenceType, Matchable>>>>> previousPasses,
+			int secondDataSetStart,
+			RecordMapper<Correspondence<RecordType, CorrespondenceType>, Correspondence<RecordType, CorrespondenceType>> pairMapper,
+			DataIterator<Correspondence<RecordType, CorrespondenceType>> collector,
+			AtomicLong generatedPairs) {
+
+		// skip the pair if it was already created in an earlier pass
+		for (SortedPass<?> pass : previousPasses) {
+			if (isInWindow(pass, e1.record, e2.record, secondDataSetStart)) {
+				return;
+			}
+		}
+
+		Correspondence<RecordType, CorrespondenceType> pair = new Correspondence<RecordType, CorrespondenceType>(
+				e1.element.getFirst(), e2.element.getFirst(), 1.0, createCausalCorrespondences(e1.element, e2.element));
+		generatedPairs.incrementAndGet();
+
+		if (pairMapper == null) {
+			collector.next(pair);
+		} else {
+			pairMapper.mapRecord(pair, collector);
+		}
+	}
+
+	/**
+	 * Checks if two records were in the same window in the given pass
+	 */
+	private boolean isInWindow(SortedPass<?> pass, int record1, int record2, int secondDataSetStart) {
+		for (int x = pass.positionsStart[record1]; x < pass.positionsStart[record1 + 1]; x++) {
+			int p1 = pass.positions[x];
+			for (int y = pass.positionsStart[record2]; y < pass.positionsStart[record2 + 1]; y++) {
+				int p2 = pass.positions[y];
+
+				if (secondDataSetStart < 0) {
+					if (p1 != p2 && Math.abs(p1 - p2) < windowSize) {
+						return true;
+					}
+				} else if (p1 < p2 && pass.secondDataSetCounts[p2 + 1] - pass.secondDataSetCounts[p1 + 1] < windowSize) {
+					// record2 is one of the next windowSize-1 records of the second data set after record1
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	@SuppressWarnings("unchecked")
+	private SortedPass<Pair<RecordType, Processable<Correspondence<CorrespondenceType, Matchable>>>> createSortedPass(
+			List<Pair<RecordType, Processable<Correspondence<CorrespondenceType, Matchable>>>> records,
+			int secondDataSetStart, BlockingKeyGenerator<RecordType, CorrespondenceType, RecordType> function) {
+
+		// create the blocking keys per range, so the order of the keys does not depend on the execution order
+		int ranges = getNumberOfRanges(records.size());
+		List<BlockingKeyEntry<Pair<RecordType, Processable<Correspondence<CorrespondenceType, Matchable>>>>>[] keysPerRange = new List[ranges];
+		forEachRange(records.size(), (from, to) -> {
+			List<BlockingKeyEntry<Pair<RecordType, Processable<Correspondence<CorrespondenceType, Matchable>>>>> keys = new ArrayList<>(to - from);
+			for (int i = from; i < to; i++) {
+				final int record = i;
+				function.mapRecord(records.get(i), new DataIterator<Pair<String, Pair<RecordType, Processable<Correspondence<CorrespondenceType, Matchable>>>>>() {
+					private static final long serialVersionUID = 1L;
+
+					@Override
+					public void initialise() {
+					}
+
+					@Override
+					public void next(Pair<String, Pair<RecordType, Processable<Correspondence<CorrespondenceType, Matchable>>>> key) {
+						keys.add(new BlockingKeyEntry<>(key.getFirst(), record, key.getSecond()));
+					}
+
+					@Override
+					public void finalise() {
+					}
+				});
+			}
+			keysPerRange[from / RANGE_SIZE] = keys;
+		}, "Creating blocking keys");
+
+		int size = 0;
+		for (List<?> keys : keysPerRange) {
+			size += keys.size();
+		}
+		SortedPass<Pair<RecordType, Processable<Correspondence<CorrespondenceType, Matchable>>>> pass = new SortedPass<>();
+		pass.entries = new BlockingKeyEntry[size];
+		int index = 0;
+		for (List<BlockingKeyEntry<Pair<RecordType, Processable<Correspondence<CorrespondenceType, Matchable>>>>> keys : keysPerRange) {
+			for (BlockingKeyEntry<Pair<RecordType, Processable<Correspondence<CorrespondenceType, Matchable>>>> key : keys) {
+				pass.entries[index++] = key;
+			}
+		}
+
+		// sort by key, both sorts are stable
+		Comparator<BlockingKeyEntry<?>> keyComparator = (e1, e2) -> e1.key.compareTo(e2.key);
+		if (parallel) {
+			Arrays.parallelSort(pass.entries, keyComparator);
+		} else {
+			Arrays.sort(pass.entries, keyComparator);
+		}
+
+		// index the positions of the records, which are used to check if a pair was created in this pass
+		pass.positionsStart = new int[records.size() + 1];
+		for (BlockingKeyEntry<?> e : pass.entries) {
+			pass.positionsStart[e.record + 1]++;
+		}
+		for (int i = 0; i < records.size(); i++) {
+			pass.positionsStart[i + 1] += pass.positionsStart[i];
+		}
+		pass.positions = new int[size];
+		int[] next = Arrays.copyOf(pass.positionsStart, records.size());
+		pass.secondDataSetCounts = new int[size + 1];
+		for (int i = 0; i < size; i++) {
+			int record = pass.entries[i].record;
+			pass.positions[next[record]++] = i;
+			pass.secondDataSetCounts[i + 1] = pass.secondDataSetCounts[i]
+					+ (secondDataSetStart >= 0 && record >= secondDataSetStart ? 1 : 0);
+		}
+
+		return pass;
+	}
+
+	private interface RangeConsumer {
+		void execute(int from, int to);
+	}
+
+	private int getNumberOfRanges(int size) {
+		return (size + RANGE_SIZE - 1) / RANGE_SIZE;
+	}
+
+	/**
+	 * Splits the indices from 0 to size into ranges, which are processed in
+	 * parallel if {@link #isParallel()} is true.
+	 */
+	private void forEachRange(int size, RangeConsumer body, String message) {
+		Consumer<Integer> rangeBody = (range) -> body.execute(range * RANGE_SIZE,
+				Math.min(size, (range + 1) * RANGE_SIZE));
+
+		if (parallel) {
+			try {
+				Parallel.forLoop(0, getNumberOfRanges(size), rangeBody, message);
+			} catch (Exception e) {
+				throw new RuntimeException(e);
+			}
+		} else {
+			for (int range = 0; range < getNumberOfRanges(size); range++) {
+				rangeBody.execute(range);
+			}
+		}
+	}
+
 	public BlockingKeyGenerator<RecordType, CorrespondenceType, RecordType> getBlockingFunction() {
 		return blockingFunction;
 	}
+
+	/**
+	 * @return the blocking functions, one for each pass
+	 */
+	public List<BlockingKeyGenerator<RecordType, CorrespondenceType, RecordType>> getBlockingFunctions() {
+		return blockingFunctions;
+	}
 }
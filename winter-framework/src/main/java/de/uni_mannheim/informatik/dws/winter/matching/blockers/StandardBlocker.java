@@ -14,6 +14,7 @@ package de.uni_mannheim.informatik.dws.winter.matching.blockers;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.slf4j.Logger;
 
@@ -56,6 +57,7 @@ import de.uni_mannheim.informatik.dws.winter.utils.query.Q;
 public class StandardBlocker<RecordType extends Matchable, SchemaElementType extends Matchable, BlockedType extends Matchable, CorrespondenceType extends Matchable>
 		extends AbstractBlocker<RecordType, BlockedType, CorrespondenceType>
 		implements Blocker<RecordType, SchemaElementType, BlockedType, CorrespondenceType>,
+		StreamingBlocker<RecordType, SchemaElementType, BlockedType, CorrespondenceType>,
 		SymmetricBlocker<RecordType, SchemaElementType, BlockedType, CorrespondenceType> {
 
 	private BlockingKeyGenerator<RecordType, CorrespondenceType, BlockedType> blockingFunction;
@@ -164,6 +166,24 @@ public class StandardBlocker<RecordType extends Matchable, SchemaElementType ext
 	public Processable<Correspondence<BlockedType, CorrespondenceType>> runBlocking(
 			DataSet<RecordType, SchemaElementType> dataset1, DataSet<RecordType, SchemaElementType> dataset2,
 			Processable<Correspondence<CorrespondenceType, Matchable>> schemaCorrespondences) {
+		return runBlocking(dataset1, dataset2, schemaCorrespondences, null);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * de.uni_mannheim.informatik.dws.winter.matching.blockers.StreamingBlocker#runBlocking(de.
+	 * uni_mannheim.informatik.dws.winter.model.DataSet,
+	 * de.uni_mannheim.informatik.dws.winter.model.DataSet,
+	 * de.uni_mannheim.informatik.dws.winter.processing.Processable,
+	 * de.uni_mannheim.informatik.dws.winter.processing.RecordMapper)
+	 */
+	@Override
+	public Processable<Correspondence<BlockedType, CorrespondenceType>> runBlocking(
+			DataSet<RecordType, SchemaElementType> dataset1, DataSet<RecordType, SchemaElementType> dataset2,
+			Processable<Correspondence<CorrespondenceType, Matchable>> schemaCorrespondences,
+			RecordMapper<Correspondence<BlockedType, CorrespondenceType>, Correspondence<BlockedType, CorrespondenceType>> pairMapper) {
 
 		// Processable<Pair<String, Distribution<Pair<BlockedType, Processable<Correspondence<CorrespondenceType, Matchable>>>>>> grouped1 = this.grouped1;
 		// Processable<Pair<String, Distribution<Pair<BlockedType, Processable<Correspondence<CorrespondenceType, Matchable>>>>>> grouped2 = this.grouped2;
@@ -335,6 +355,7 @@ public class StandardBlocker<RecordType extends Matchable, SchemaElementType ext
 
 		// transform the blocks into pairs of records
 		logger.trace(String.format("Creating candidate record pairs from %d blocks", blockedData.size()));
+		final AtomicLong generatedPairs = new AtomicLong();
 		Processable<Correspondence<BlockedType, CorrespondenceType>> result = blockedData.map(
 				new RecordMapper<Pair<Pair<String, Distribution<Pair<BlockedType, Processable<Correspondence<CorrespondenceType, Matchable>>>>>, Pair<String, Distribution<Pair<BlockedType, Processable<Correspondence<CorrespondenceType, Matchable>>>>>>, Correspondence<BlockedType, CorrespondenceType>>() {
 					private static final long serialVersionUID = 1L;
@@ -342,7 +363,30 @@ public class StandardBlocker<RecordType extends Matchable, SchemaElementType ext
 					@Override
 					public void mapRecord(
 							Pair<Pair<String, Distribution<Pair<BlockedType, Processable<Correspondence<CorrespondenceType, Matchable>>>>>, Pair<String, Distribution<Pair<BlockedType, Processable<Correspondence<CorrespondenceType, Matchable>>>>>> record,
-							DataIterator<Correspondence<BlockedType, CorrespondenceType>> resultCollector) {
+							DataIterator<Correspondence<BlockedType, CorrespondenceType>> blockCollector) {
+
+						// count the generated pairs and, in streaming mode, pass them to the pairMapper immediately
+						DataIterator<Correspondence<BlockedType, CorrespondenceType>> resultCollector = new DataIterator<Correspondence<BlockedType, CorrespondenceType>>() {
+							private static final long serialVersionUID = 1L;
+
+							@Override
+							public void initialise() {
+							}
+
+							@Override
+							public void next(Correspondence<BlockedType, CorrespondenceType> pair) {
+								generatedPairs.incrementAndGet();
+								if(pairMapper==null) {
+									blockCollector.next(pair);
+								} else {
+									pairMapper.mapRecord(pair, blockCollector);
+								}
+							}
+
+							@Override
+							public void finalise() {
+							}
+						};
 
 						// iterate over the left pairs [blocked
 						// element],[correspondences]
@@ -394,10 +438,11 @@ public class StandardBlocker<RecordType extends Matchable, SchemaElementType ext
 		if (deduplicatePairs) {
 			// use .distinct() to remove correspondences that are found in
 			// multiple blocks
+			// in streaming mode, pairs that are found in multiple blocks are passed to the pairMapper for each block
 			result = result.distinct();
 		}
 
-		calculatePerformance(dataset1, dataset2, result);
+		calculatePerformance(dataset1, dataset2, pairMapper==null ? result.size() : generatedPairs.get());
 
 		return result;
 	}
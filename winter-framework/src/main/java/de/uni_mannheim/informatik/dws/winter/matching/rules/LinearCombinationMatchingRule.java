@@ -13,8 +13,10 @@ package de.uni_mannheim.informatik.dws.winter.matching.rules;
 
 import java.io.File;
 import java.io.IOException;
-import java.util.LinkedList;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
 import de.uni_mannheim.informatik.dws.winter.matching.rules.comparators.Comparator;
 import de.uni_mannheim.informatik.dws.winter.matching.rules.comparators.ComparatorLogger;
@@ -55,6 +57,9 @@ public class LinearCombinationMatchingRule<RecordType extends Matchable, SchemaE
 	private static final long serialVersionUID = 1L;
 	private List<Pair<Comparator<RecordType, SchemaElementType>, Double>> comparators;
 	private double offset;
+	private boolean pruneComparisons = false;
+	private transient volatile int[] evaluationOrder;
+	private final AtomicLong prunedComparisons = new AtomicLong();
 
 	/**
 	 * Initializes the rule. The finalThreshold determines the matching
@@ -65,7 +70,7 @@ public class LinearCombinationMatchingRule<RecordType extends Matchable, SchemaE
 	 */
 	public LinearCombinationMatchingRule(double finalThreshold) {
 		super(finalThreshold);
-		comparators = new LinkedList<>();
+		comparators = new ArrayList<>();
 	}
 
 	/**
@@ -82,6 +87,41 @@ public class LinearCombinationMatchingRule<RecordType extends Matchable, SchemaE
 		this.offset = offset;
 	}
 
+	/**
+	 * Specifies whether the evaluation of a pair can stop before all
+	 * comparators were applied. If set to true, the comparators are evaluated
+	 * in the order of their weight per estimated cost (see
+	 * {@link Comparator#getEstimatedCost()}) and the evaluation stops as soon
+	 * as the final threshold cannot be reached anymore, even if all remaining
+	 * comparators return a similarity of 1.0. Pruned pairs are returned with
+	 * the similarity that was calculated until the evaluation stopped.
+	 * 
+	 * Requires that all comparators return similarity values in the range
+	 * [0,1]. Pruning is not applied while the debug report is active.
+	 * 
+	 * @param pruneComparisons
+	 *            true, if pairs which cannot reach the final threshold should
+	 *            be pruned
+	 */
+	public void setPruneComparisons(boolean pruneComparisons) {
+		this.pruneComparisons = pruneComparisons;
+	}
+
+	/**
+	 * @return true, if pairs which cannot reach the final threshold are pruned
+	 */
+	public boolean isPruneComparisons() {
+		return pruneComparisons;
+	}
+
+	/**
+	 * @return the number of pairs for which the evaluation stopped before all
+	 *         comparators were applied
+	 */
+	public long getNumberOfPrunedComparisons() {
+		return prunedComparisons.get();
+	}
+
 	/**
 	 * Adds a comparator with the specified weight to this rule.
 	 * 
@@ -95,6 +135,7 @@ public class LinearCombinationMatchingRule<RecordType extends Matchable, SchemaE
 	public void addComparator(Comparator<RecordType, SchemaElementType> comparator, double weight) throws Exception {
 		if (weight > 0.0) {
 			comparators.add(new Pair<Comparator<RecordType, SchemaElementType>, Double>(comparator, weight));
+			evaluationOrder = null;
 			if (this.isDebugReportActive()) {
 				comparator.setComparisonLog(new ComparatorLogger());
 				addComparatorToLog(comparator);
@@ -112,18 +153,88 @@ public class LinearCombinationMatchingRule<RecordType extends Matchable, SchemaE
 		for (Pair<Comparator<RecordType, SchemaElementType>, Double> pair : comparators) {
 			sum += pair.getSecond();
 		}
-		List<Pair<Comparator<RecordType, SchemaElementType>, Double>> normComparators = new LinkedList<>();
+		List<Pair<Comparator<RecordType, SchemaElementType>, Double>> normComparators = new ArrayList<>();
 		for (Pair<Comparator<RecordType, SchemaElementType>, Double> pair : comparators) {
 			normComparators.add(new Pair<Comparator<RecordType, SchemaElementType>, Double>(pair.getFirst(),
 					(pair.getSecond() / sum)));
 		}
 		comparators = normComparators;
+		evaluationOrder = null;
+	}
+
+	/**
+	 * @return the indices of the comparators, sorted by weight per estimated
+	 *         cost in descending order
+	 */
+	protected int[] getEvaluationOrder() {
+		int[] order = evaluationOrder;
+		if (order == null) {
+			Integer[] indices = new Integer[comparators.size()];
+			double[] benefit = new double[comparators.size()];
+			for (int i = 0; i < indices.length; i++) {
+				Pair<Comparator<RecordType, SchemaElementType>, Double> pair = comparators.get(i);
+				indices[i] = i;
+				benefit[i] = pair.getSecond() / Math.max(pair.getFirst().getEstimatedCost(), Double.MIN_VALUE);
+			}
+			// stable sort, so comparators with equal benefit keep the order in which they were added
+			Arrays.sort(indices, (i1, i2) -> Double.compare(benefit[i2], benefit[i1]));
+
+			order = new int[indices.length];
+			for (int i = 0; i < indices.length; i++) {
+				order[i] = indices[i];
+			}
+			evaluationOrder = order;
+		}
+		return order;
+	}
+
+	/**
+	 * Applies the comparators in the order of their weight per cost and stops
+	 * as soon as the final threshold cannot be reached anymore.
+	 */
+	protected Correspondence<RecordType, SchemaElementType> applyWithPruning(RecordType record1, RecordType record2,
+			Processable<Correspondence<SchemaElementType, Matchable>> schemaCorrespondences) {
+
+		int[] order = getEvaluationOrder();
+
+		// the maximum score that the remaining comparators can add
+		double remaining = 0.0;
+		for (Pair<Comparator<RecordType, SchemaElementType>, Double> pair : comparators) {
+			remaining += pair.getSecond();
+		}
+
+		double sum = 0.0;
+		for (int k = 0; k < order.length; k++) {
+			Pair<Comparator<RecordType, SchemaElementType>, Double> pair = comparators.get(order[k]);
+
+			Comparator<RecordType, SchemaElementType> comp = pair.getFirst();
+
+			Correspondence<SchemaElementType, Matchable> correspondence = getCorrespondenceForComparator(
+					schemaCorrespondences, record1, record2, comp);
+
+			double similarity = comp.compare(record1, record2, correspondence);
+			double weight = pair.getSecond();
+			sum += (similarity * weight);
+			remaining -= weight;
+
+			if (k < order.length - 1 && offset + sum + remaining < getFinalThreshold()) {
+				// even if all remaining comparators return 1.0, the pair cannot reach the final threshold
+				prunedComparisons.incrementAndGet();
+				break;
+			}
+		}
+
+		return new Correspondence<RecordType, SchemaElementType>(record1, record2, offset + sum, schemaCorrespondences);
 	}
 
 	@Override
 	public Correspondence<RecordType, SchemaElementType> apply(RecordType record1, RecordType record2,
 			Processable<Correspondence<SchemaElementType, Matchable>> schemaCorrespondences) {
 
+		if (pruneComparisons && !this.isDebugReportActive()) {
+			return applyWithPruning(record1, record2, schemaCorrespondences);
+		}
+
 		// double similarity = compare(record1, record2, null);
 		double sum = 0.0;
 		Record debug = null;
@@ -146,7 +257,7 @@ public class LinearCombinationMatchingRule<RecordType extends Matchable, SchemaE
 			double weight = pair.getSecond();
 			sum += (similarity * weight);
 
-			if (this.isDebugReportActive() && this.continueCollectDebugResults()) {
+			if (debug != null) {
 				debug = fillDebugRecord(debug, comp, i);
 				addDebugRecordShort(record1, record2, comp, i);
 			}
@@ -156,7 +267,7 @@ public class LinearCombinationMatchingRule<RecordType extends Matchable, SchemaE
 		// if a normalised score in the range [0,1] is desired, users should
 		// call normaliseWeights()
 		double similarity = offset + sum;
-		if (this.isDebugReportActive() && this.continueCollectDebugResults()) {
+		if (debug != null) {
 			fillSimilarity(debug, similarity);
 		}
 
@@ -217,7 +328,7 @@ public class LinearCombinationMatchingRule<RecordType extends Matchable, SchemaE
 			}
 			model.setValue(att, Double.toString(similarity));
 
-			if (this.isDebugReportActive() && this.continueCollectDebugResults()) {
+			if (debug != null) {
 				debug = fillDebugRecord(debug, comp, i);
 				addDebugRecordShort(record1, record2, comp, i);
 			}
@@ -225,7 +336,7 @@ public class LinearCombinationMatchingRule<RecordType extends Matchable, SchemaE
 		}
 
 		double similarity = offset + sum;
-		if (this.isDebugReportActive() && this.continueCollectDebugResults()) {
+		if (debug != null) {
 			fillSimilarity(debug, similarity);
 		}
 
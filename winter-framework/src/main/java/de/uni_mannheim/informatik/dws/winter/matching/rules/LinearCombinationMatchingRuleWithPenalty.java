@@ -179,7 +179,7 @@ public class LinearCombinationMatchingRuleWithPenalty<RecordType extends Matchab
 				sum += (similarity * weight);
 			}
 
-			if (this.isDebugReportActive() && this.continueCollectDebugResults()) {
+			if (debug != null) {
 				debug = fillDebugRecord(debug, comp, i);
 				addDebugRecordShort(record1, record2, comp, i);
 			}
@@ -189,7 +189,7 @@ public class LinearCombinationMatchingRuleWithPenalty<RecordType extends Matchab
 		// if a normalised score in the range [0,1] is desired, users should
 		// call normaliseWeights()
 		double similarity = this.offset + sum - penaltyScore;
-		if (this.isDebugReportActive() && this.continueCollectDebugResults()) {
+		if (debug != null) {
 			fillSimilarity(debug, similarity);
 		}
 
@@ -250,7 +250,7 @@ public class LinearCombinationMatchingRuleWithPenalty<RecordType extends Matchab
 			}
 			model.setValue(att, Double.toString(similarity));
 
-			if (this.isDebugReportActive() && this.continueCollectDebugResults()) {
+			if (debug != null) {
 				debug = fillDebugRecord(debug, comp, i);
 				addDebugRecordShort(record1, record2, comp, i);
 			}
@@ -260,7 +260,7 @@ public class LinearCombinationMatchingRuleWithPenalty<RecordType extends Matchab
 		// if a normalised score in the range [0,1] is desired, users should
 		// call normaliseWeights()
 		double similarity = offset + sum;
-		if (this.isDebugReportActive() && this.continueCollectDebugResults()) {
+		if (debug != null) {
 			fillSimilarity(debug, similarity);
 		}
 
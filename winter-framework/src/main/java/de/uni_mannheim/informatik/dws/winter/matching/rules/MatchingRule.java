@@ -13,6 +13,7 @@ package de.uni_mannheim.informatik.dws.winter.matching.rules;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
@@ -32,6 +33,9 @@ import de.uni_mannheim.informatik.dws.winter.model.defaultmodel.RecordCSVFormatt
 import de.uni_mannheim.informatik.dws.winter.processing.Processable;
 import de.uni_mannheim.informatik.dws.winter.processing.RecordMapper;
 import de.uni_mannheim.informatik.dws.winter.utils.WinterLogManager;
+import de.uni_mannheim.informatik.dws.winter.utils.parallel.Parallel;
+import de.uni_mannheim.informatik.dws.winter.utils.parallel.ReservoirSampler;
+import de.uni_mannheim.informatik.dws.winter.utils.parallel.ThreadBoundObject;
 
 /**
  * Super class for all matching rules.
@@ -62,6 +66,11 @@ public abstract class MatchingRule<RecordType extends Matchable, SchemaElementTy
 	private int	maxDebugLogSize;
 	private MatchingGoldStandard debugGoldStandard;
 
+	// the sampled debug results: the record of the long log with the records of the short log
+	private ReservoirSampler<Pair<Record, List<Record>>> debugResults;
+	private ThreadBoundObject<DebugBuffer> debugBuffers;
+	private Thread debugResultsWriter;
+
 	private ComparatorLogger comparisonLog;
 
 	private static final Logger logger = WinterLogManager.getLogger();
@@ -72,6 +81,14 @@ public abstract class MatchingRule<RecordType extends Matchable, SchemaElementTy
 	public final Attribute TOTALSIMILARITY = new Attribute("TotalSimilarity");
 	public final Attribute ATTRIBUTE_IS_MATCH = new Attribute("IsMatch");
 
+	/**
+	 * The debug records of the current thread, which have not been added to the sample yet
+	 */
+	private static class DebugBuffer {
+		List<Record> shortRecords = new LinkedList<>();
+		Record lastRecord;
+	}
+
 	public double getFinalThreshold() {
 		return finalThreshold;
 	}
@@ -94,17 +111,14 @@ public abstract class MatchingRule<RecordType extends Matchable, SchemaElementTy
 	}
 	
 	/**
-	 * Continue to collect debug results if result log shorter than maxDebugLogSize
-	 * 
+	 * Decides if the debug results for the current candidate pair are collected. Must be called once per candidate pair before its debug record is created.
+	 * The debug results are a uniform sample of maxDebugLogSize candidate pairs, which every thread collects without synchronisation.
+	 *
 	 * @return
 	 */
 	protected boolean continueCollectDebugResults() {
-		if(this.maxDebugLogSize == -1 || this.comparatorLog.size() < this.maxDebugLogSize){
-			return true;
-		}
-		else{
-			return false;
-		}
+		this.debugBuffers.get().shortRecords.clear();
+		return this.debugResults.sample();
 	}
 
 	/**
@@ -113,9 +127,37 @@ public abstract class MatchingRule<RecordType extends Matchable, SchemaElementTy
 	 * @return
 	 */
 	public FusibleHashedDataSet<Record, Attribute> getComparatorLog(){
+		if(this.debugResults != null) {
+			collectDebugResults();
+		}
 		return this.comparatorLog;
 	}
 
+	/**
+	 * Merges the sampled debug results of all threads into the comparator logs (long/short).
+	 */
+	protected synchronized void collectDebugResults() {
+		FusibleHashedDataSet<Record, Attribute> log = new FusibleHashedDataSet<Record, Attribute>();
+		FusibleHashedDataSet<Record, Attribute> logShort = new FusibleHashedDataSet<Record, Attribute>();
+		for (Attribute att : this.comparatorLog.getSchema().get()) {
+			log.addAttribute(att);
+		}
+		for (Attribute att : this.comparatorLogShort.getSchema().get()) {
+			logShort.addAttribute(att);
+		}
+
+		for (Pair<Record, List<Record>> result : this.debugResults.getSample()) {
+			log.add(result.getFirst());
+			for (Record debug : result.getSecond()) {
+				logShort.add(debug);
+			}
+		}
+
+		// replace the logs instead of clearing them, as a previous log might still be written to a file
+		this.comparatorLog = log;
+		this.comparatorLogShort = logShort;
+	}
+
 	/**
 	 * Set switch to collect debug results and initialize corresponding schema.
 	 */
@@ -213,6 +255,8 @@ public abstract class MatchingRule<RecordType extends Matchable, SchemaElementTy
 		this.resultToComparatorLog = new HashMap<Attribute, Attribute>();
 		this.comparatorToResultLog = new HashMap<String, Attribute>();
 
+		this.debugResults = new ReservoirSampler<>(this.maxDebugLogSize);
+		this.debugBuffers = new ThreadBoundObject<>((t)->new DebugBuffer());
 	}
 
 	/**
@@ -328,8 +372,9 @@ public abstract class MatchingRule<RecordType extends Matchable, SchemaElementTy
 			debug.setValue(ComparatorLogger.RECORD2PREPROCESSEDVALUE, compLog.getRecord2PreprocessedValue());
 			debug.setValue(ComparatorLogger.SIMILARITY, compLog.getPostprocessedSimilarity());
 			debug.setValue(ComparatorLogger.POSTPROCESSEDSIMILARITY, compLog.getPostprocessedSimilarity());
-			
-			this.comparatorLogShort.add(debug);
+
+			// the short records are added to the sample together with the long record of the same candidate pair
+			this.debugBuffers.get().shortRecords.add(debug);
 			
 		} else {
 			logger.error("A comparator's log is not defined!");
@@ -350,8 +395,9 @@ public abstract class MatchingRule<RecordType extends Matchable, SchemaElementTy
 	 */
 	protected void fillSimilarity(RecordType record1, RecordType record2, double similarity) {
 		String identifier = record1.getIdentifier() + "-" + record2.getIdentifier();
-		Record debug = this.comparatorLog.getRecord(identifier);
-		if(debug != null){
+		// the debug record was created by the same thread for the same candidate pair
+		Record debug = this.debugBuffers.get().lastRecord;
+		if(debug != null && debug.getIdentifier().equals(identifier)){
 			debug.setValue(TOTALSIMILARITY, Double.toString(similarity));
 		}
 	}
@@ -391,10 +437,10 @@ public abstract class MatchingRule<RecordType extends Matchable, SchemaElementTy
 	}
 
 	/**
-	 * Fills the similarity value of a debug record. This debug record is added to the list of
-	 * debug results if the list's length does not exceed the maximum number of result entries yet.
-	 * Additionally, the filling status is measured in percentage to be more restricted when adding new entry over time.
-	 * 
+	 * Fills the similarity value of a debug record. This debug record and the short debug records
+	 * of the same candidate pair are added to the sample of debug results if
+	 * {@link #continueCollectDebugResults()} selected the candidate pair.
+	 *
 	 * @param debug
 	 *            Debug record
 	 * @param similarity
@@ -404,9 +450,11 @@ public abstract class MatchingRule<RecordType extends Matchable, SchemaElementTy
 		if (similarity != null) {
 			debug.setValue(TOTALSIMILARITY, Double.toString(similarity));
 		}
-		
-		this.comparatorLog.add(debug);
-		
+
+		DebugBuffer buffer = this.debugBuffers.get();
+		buffer.lastRecord = debug;
+		this.debugResults.add(new Pair<>(debug, new ArrayList<>(buffer.shortRecords)));
+		buffer.shortRecords.clear();
 	}
 
 	/**
@@ -414,32 +462,70 @@ public abstract class MatchingRule<RecordType extends Matchable, SchemaElementTy
 	 * {@link #setCollectDebugResults(boolean) setCollectDebugResults}
 	 */
 	public void writeDebugMatchingResultsToFile(){
-		if(this.debugGoldStandard != null){
-			addGoldstandardToDebugResults();
-		}
-		if (this.comparatorLog != null && this.comparatorLogShort != null
-				&& this.filePathDebugResults != null && this.filePathDebugResults.endsWith(".csv")) {
+		Thread writer = writeDebugMatchingResultsToFileAsync();
+		if(writer != null) {
 			try {
-				new RecordCSVFormatter().writeCSV(new File(this.filePathDebugResults), this.comparatorLog, this.headerDebugResults);
-			logger.info("Debug results written to file: " + this.filePathDebugResults);
-
+				writer.join();
+			} catch (InterruptedException e) {
+				logger.error("Interrupted while writing debug results to file: " + this.filePathDebugResults);
+			}
+		}
+	}
 
-			} catch (IOException e) {
-				logger.error("Debug results could not be written to file: " + this.filePathDebugResults);
+	/**
+	 * Write data matching debug results to file in a background thread if logging was enabled via
+	 * {@link #setCollectDebugResults(boolean) setCollectDebugResults}.
+	 * The debug results are collected before this method returns, so the matching can continue while the files are written.
+	 *
+	 * @return the thread that writes the files or null if no debug results are written
+	 */
+	public synchronized Thread writeDebugMatchingResultsToFileAsync(){
+		if (this.debugResults != null && this.filePathDebugResults != null && this.filePathDebugResults.endsWith(".csv")) {
+			collectDebugResults();
+			if(this.debugGoldStandard != null){
+				addGoldstandardToDebugResults();
 			}
 
-			String filePathShortDebugResults = this.filePathDebugResults.replaceAll(".csv$", "_short.csv");
+			final FusibleHashedDataSet<Record, Attribute> log = this.comparatorLog;
+			final FusibleHashedDataSet<Record, Attribute> logShort = this.comparatorLogShort;
+			final List<Attribute> header = new ArrayList<>(this.headerDebugResults);
+			final List<Attribute> headerShort = new ArrayList<>(this.headerDebugResultsShort);
+			final String filePath = this.filePathDebugResults;
+			final Thread previousWriter = this.debugResultsWriter;
+
+			Runnable writer = ()->{
+				// make sure that a previous report for the same file is not written after this one
+				if(previousWriter != null) {
+					try {
+						previousWriter.join();
+					} catch (InterruptedException e) {
+						return;
+					}
+				}
 
-			try{
-				new RecordCSVFormatter().writeCSV(new File(filePathShortDebugResults), this.comparatorLogShort,
-					this.headerDebugResultsShort);
-				logger.info("Short debug results written to file: " + filePathShortDebugResults);
-			} catch (IOException e) {
-				logger.error("Short debug results could not be written to file: " + filePathShortDebugResults);
-			}
+				try {
+					new RecordCSVFormatter().writeCSV(new File(filePath), log, header);
+					logger.info("Debug results written to file: " + filePath);
+				} catch (IOException e) {
+					logger.error("Debug results could not be written to file: " + filePath);
+				}
+
+				String filePathShortDebugResults = filePath.replaceAll(".csv$", "_short.csv");
+
+				try{
+					new RecordCSVFormatter().writeCSV(new File(filePathShortDebugResults), logShort, headerShort);
+					logger.info("Short debug results written to file: " + filePathShortDebugResults);
+				} catch (IOException e) {
+					logger.error("Short debug results could not be written to file: " + filePathShortDebugResults);
+				}
+			};
+
+			this.debugResultsWriter = Parallel.run(writer);
+			return this.debugResultsWriter;
 		} else {
 			logger.error("No debug results found!");
 			logger.error("Is logging enabled?");
+			return null;
 		}
 	}
 
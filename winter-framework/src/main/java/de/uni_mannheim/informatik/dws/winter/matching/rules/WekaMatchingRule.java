@@ -27,10 +27,12 @@ import java.io.ObjectOutputStream;
 import java.io.UnsupportedEncodingException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
 
 import de.uni_mannheim.informatik.dws.winter.matching.rules.comparators.Comparator;
 import de.uni_mannheim.informatik.dws.winter.matching.rules.comparators.ComparatorLogger;
@@ -54,8 +56,10 @@ import de.uni_mannheim.informatik.dws.winter.model.defaultmodel.Attribute;
 import de.uni_mannheim.informatik.dws.winter.model.defaultmodel.FeatureVectorDataSet;
 import de.uni_mannheim.informatik.dws.winter.model.defaultmodel.Record;
 import de.uni_mannheim.informatik.dws.winter.model.defaultmodel.RecordCSVFormatter;
+import de.uni_mannheim.informatik.dws.winter.processing.DataIterator;
 import de.uni_mannheim.informatik.dws.winter.processing.Processable;
 import de.uni_mannheim.informatik.dws.winter.utils.WinterLogManager;
+import de.uni_mannheim.informatik.dws.winter.utils.parallel.ThreadBoundObject;
 import de.uni_mannheim.informatik.dws.winter.utils.query.Q;
 import de.uni_mannheim.informatik.dws.winter.utils.weka.EvaluationWithBalancing;
 import weka.attributeSelection.AttributeSelection;
@@ -63,6 +67,7 @@ import weka.attributeSelection.GreedyStepwise;
 import weka.attributeSelection.WrapperSubsetEval;
 import weka.classifiers.Classifier;
 import weka.classifiers.evaluation.Evaluation;
+import weka.core.BatchPredictor;
 import weka.core.DenseInstance;
 import weka.core.Instance;
 import weka.core.Instances;
@@ -100,6 +105,40 @@ public class WekaMatchingRule<RecordType extends Matchable, SchemaElementType ex
 	public final String trainingSet = "trainingSet";
 	public final String matchSet = "matchSet";
 
+	// cached Weka headers for classification, one per distinct list of feature names
+	private transient volatile Map<String, ClassificationHeader> classificationHeaders;
+
+	/**
+	 * The Weka header that is used to classify candidate pairs and the
+	 * per-thread buffers that are used with it. Created once and re-used for
+	 * all pairs with the same feature names.
+	 */
+	private static class ClassificationHeader {
+		Instances header;
+		// the comparator that calculates each attribute of the header (the
+		// attribute order is determined by the schema of the feature vectors
+		// and does not necessarily match the order of the comparators)
+		int[] attributeComparators;
+		int positiveClassIndex;
+		ThreadBoundObject<InstanceBuffer> instances;
+	}
+
+	/**
+	 * A Weka instance and its attribute values. The instance is created with
+	 * the values array, so any change to the array changes the instance
+	 * without creating a copy (as setValue(...) would do).
+	 */
+	private static class InstanceBuffer {
+		double[] values;
+		DenseInstance instance;
+
+		public InstanceBuffer(Instances dataset) {
+			values = new double[dataset.numAttributes()];
+			instance = new DenseInstance(1.0, values);
+			instance.setDataset(dataset);
+		}
+	}
+
 	// TODO Discuss finalThreshold --> Can be set via options -C <confidence
 	// factor for pruning>
 	/**
@@ -123,7 +162,7 @@ public class WekaMatchingRule<RecordType extends Matchable, SchemaElementType ex
 		this.initialiseClassifier(classifierName, parameters);
 
 		// create list for comparators
-		this.comparators = new LinkedList<>();
+		this.comparators = new ArrayList<>();
 	}
 
 	/**
@@ -140,7 +179,7 @@ public class WekaMatchingRule<RecordType extends Matchable, SchemaElementType ex
 		super(finalThreshold);
 
 		// create list for comparators
-		this.comparators = new LinkedList<>();
+		this.comparators = new ArrayList<>();
 	}
 
 	public String[] getparameters() {
@@ -157,6 +196,7 @@ public class WekaMatchingRule<RecordType extends Matchable, SchemaElementType ex
 
 	public void setClassifier(Classifier classifier) {
 		this.classifier = classifier;
+		this.classificationHeaders = null;
 	}
 
 	public void initialiseClassifier(String classifierName, String parameters[]) {
@@ -179,6 +219,7 @@ public class WekaMatchingRule<RecordType extends Matchable, SchemaElementType ex
 
 	public void addComparator(Comparator<RecordType, SchemaElementType> comparator) {
 		comparators.add(comparator);
+		this.classificationHeaders = null;
 		if (this.isDebugReportActive()) {
 			comparator.setComparisonLog(new ComparatorLogger());
 			addComparatorToLog(comparator);
@@ -264,6 +305,7 @@ public class WekaMatchingRule<RecordType extends Matchable, SchemaElementType ex
 				}
 
 				this.classifier.buildClassifier(trainingData);
+				this.classificationHeaders = null;
 
 				int positiveClassIndex = trainingData.attribute(trainingData.classIndex()).indexOfValue("1");
 
@@ -431,13 +473,13 @@ public class WekaMatchingRule<RecordType extends Matchable, SchemaElementType ex
 			}
 			model.setValue(att, Double.toString(similarity));
 
-			if (this.isDebugReportActive() && this.continueCollectDebugResults()) {
+			if (debug != null) {
 				debug = fillDebugRecord(debug, comp, i);
 				addDebugRecordShort(record1, record2, comp, i);
 			}
 		}
 
-		if (this.isDebugReportActive() && this.continueCollectDebugResults()) {
+		if (debug != null) {
 			fillSimilarity(debug, null);
 		}
 
@@ -446,9 +488,10 @@ public class WekaMatchingRule<RecordType extends Matchable, SchemaElementType ex
 	}
 
 	/**
-	 * Apply trained model to a candidate record-pair. Therefore a new
-	 * FeatureDataSet is created, which is afterwards classified as match or
-	 * non-match
+	 * Apply trained model to a candidate record-pair. The features are
+	 * calculated directly into a re-used Weka instance, which is then
+	 * classified as match or non-match. If the debug report is active, a
+	 * FeatureVectorDataSet is created for every pair instead.
 	 * 
 	 * @param record1
 	 *            the first record (must not be null)
@@ -469,46 +512,303 @@ public class WekaMatchingRule<RecordType extends Matchable, SchemaElementType ex
 		if (this.classifier == null) {
 			logger.error("Please initialise a classifier!");
 			return null;
+		} else if (this.isDebugReportActive()) {
+			return applyWithFeatureVector(record1, record2, schemaCorrespondences);
 		} else {
-			FeatureVectorDataSet matchSet = this.initialiseFeatures(record1, record2, schemaCorrespondences);
-			Record matchRecord = generateFeatures(record1, record2, schemaCorrespondences, matchSet);
-
-			// transform entry for classification.
-			matchSet.add(matchRecord);
-			Instances matchInstances = this.transformToWeka(matchSet, this.matchSet);
-
-			// reduce dimensions if feature subset selection was applied before.
-			if ((this.backwardSelection || this.forwardSelection) && this.fs != null)
-				try {
-					Remove removeFilter = new Remove();
-					removeFilter.setAttributeIndicesArray(this.fs.selectedAttributes());
-					removeFilter.setInvertSelection(true);
-					removeFilter.setInputFormat(matchInstances);
-					matchInstances = Filter.useFilter(matchInstances, removeFilter);
-				} catch (Exception e1) {
-					e1.printStackTrace();
-				}
-			// Apply matching rule
-			try {
-				double[] distribution = this.classifier.distributionForInstance(matchInstances.firstInstance());
-				int positiveClassIndex = matchInstances.attribute(matchInstances.classIndex()).indexOfValue("1");
-				double matchConfidence = distribution[positiveClassIndex];
-				if (this.isDebugReportActive()) {
-					fillSimilarity(record1, record2, matchConfidence);
-				}
-				return new Correspondence<RecordType, SchemaElementType>(record1, record2, matchConfidence,
-						schemaCorrespondences);
+			@SuppressWarnings("unchecked")
+			Correspondence<SchemaElementType, Matchable>[] comparatorCorrespondences = new Correspondence[comparators.size()];
+			ClassificationHeader header = getClassificationHeader(record1, record2, schemaCorrespondences, comparatorCorrespondences);
+			InstanceBuffer buffer = header.instances.get();
 
-				
+			try {
+				fillInstance(buffer.values, header, record1, record2, comparatorCorrespondences);
+				double[] distribution = this.classifier.distributionForInstance(buffer.instance);
+				return new Correspondence<RecordType, SchemaElementType>(record1, record2,
+						distribution[header.positiveClassIndex], schemaCorrespondences);
 			} catch (Exception e) {
 				e.printStackTrace();
-				logger.error(String.format("Classifier Exception for Record '%s': %s",
-						matchRecord == null ? "null" : matchRecord.toString(), e.getMessage()));
+				logger.error(String.format("Classifier Exception for Records '%s' and '%s': %s",
+						record1.getIdentifier(), record2.getIdentifier(), e.getMessage()));
 			}
 			return null;
 		}
 	}
 
+	/**
+	 * Applies the trained model to a list of candidate record-pairs. The pairs
+	 * are classified in bulk, which is more efficient than calling apply(...)
+	 * for each pair if the classifier supports batch prediction (see
+	 * {@link BatchPredictor}).
+	 * 
+	 * @param pairs
+	 *            the candidate record-pairs
+	 * @return the resulting correspondences in the same order as the pairs (an
+	 *         element is null if the pair could not be classified)
+	 */
+	public List<Correspondence<RecordType, SchemaElementType>> applyBatch(
+			List<Correspondence<RecordType, SchemaElementType>> pairs) {
+		List<Correspondence<RecordType, SchemaElementType>> result = new ArrayList<>(pairs.size());
+
+		if (this.classifier == null) {
+			logger.error("Please initialise a classifier!");
+			for (int i = 0; i < pairs.size(); i++) {
+				result.add(null);
+			}
+			return result;
+		} else if (this.isDebugReportActive() || !(this.classifier instanceof BatchPredictor)
+				|| !((BatchPredictor) this.classifier).implementsMoreEfficientBatchPrediction()) {
+			for (Correspondence<RecordType, SchemaElementType> pair : pairs) {
+				result.add(apply(pair.getFirstRecord(), pair.getSecondRecord(), pair.getCausalCorrespondences()));
+			}
+			return result;
+		}
+
+		// group the pairs by their header, in most cases all pairs use the same header
+		Map<ClassificationHeader, List<Integer>> pairsByHeader = new HashMap<>();
+		Map<ClassificationHeader, Instances> instancesByHeader = new HashMap<>();
+		for (int i = 0; i < pairs.size(); i++) {
+			Correspondence<RecordType, SchemaElementType> pair = pairs.get(i);
+			@SuppressWarnings("unchecked")
+			Correspondence<SchemaElementType, Matchable>[] comparatorCorrespondences = new Correspondence[comparators.size()];
+			ClassificationHeader header = getClassificationHeader(pair.getFirstRecord(), pair.getSecondRecord(),
+					pair.getCausalCorrespondences(), comparatorCorrespondences);
+
+			Instances instances = instancesByHeader.get(header);
+			if (instances == null) {
+				instances = new Instances(header.header, pairs.size());
+				instancesByHeader.put(header, instances);
+				pairsByHeader.put(header, new ArrayList<>());
+			}
+
+			InstanceBuffer buffer = new InstanceBuffer(header.header);
+			fillInstance(buffer.values, header, pair.getFirstRecord(), pair.getSecondRecord(), comparatorCorrespondences);
+			instances.add(buffer.instance);
+			pairsByHeader.get(header).add(i);
+			result.add(null);
+		}
+
+		for (ClassificationHeader header : pairsByHeader.keySet()) {
+			List<Integer> indices = pairsByHeader.get(header);
+			try {
+				double[][] distributions = ((BatchPredictor) this.classifier)
+						.distributionsForInstances(instancesByHeader.get(header));
+				for (int i = 0; i < indices.size(); i++) {
+					Correspondence<RecordType, SchemaElementType> pair = pairs.get(indices.get(i));
+					result.set(indices.get(i), new Correspondence<RecordType, SchemaElementType>(pair.getFirstRecord(),
+							pair.getSecondRecord(), distributions[i][header.positiveClassIndex],
+							pair.getCausalCorrespondences()));
+				}
+			} catch (Exception e) {
+				e.printStackTrace();
+				logger.error(String.format("Classifier Exception for %d pairs: %s", indices.size(), e.getMessage()));
+			}
+		}
+
+		return result;
+	}
+
+	/**
+	 * Applies the trained model to all candidate record-pairs, which are
+	 * classified in blocks of the given size. Only correspondences which reach
+	 * the final threshold are returned.
+	 * 
+	 * @param pairs
+	 *            the candidate record-pairs
+	 * @param batchSize
+	 *            the number of pairs that are classified together
+	 * @return the correspondences which reach the final threshold
+	 */
+	public Processable<Correspondence<RecordType, SchemaElementType>> applyBatch(
+			Processable<Correspondence<RecordType, SchemaElementType>> pairs, int batchSize) {
+		List<List<Correspondence<RecordType, SchemaElementType>>> batches = new ArrayList<>();
+		List<Correspondence<RecordType, SchemaElementType>> batch = null;
+		for (Correspondence<RecordType, SchemaElementType> pair : pairs.get()) {
+			if (batch == null || batch.size() >= batchSize) {
+				batch = new ArrayList<>(batchSize);
+				batches.add(batch);
+			}
+			batch.add(pair);
+		}
+
+		return pairs.createProcessableFromCollection(batches).map(
+				(List<Correspondence<RecordType, SchemaElementType>> b, DataIterator<Correspondence<RecordType, SchemaElementType>> resultCollector) -> {
+					for (Correspondence<RecordType, SchemaElementType> cor : applyBatch(b)) {
+						if (cor != null && cor.getSimilarityScore() > 0.0
+								&& cor.getSimilarityScore() >= getFinalThreshold()) {
+							resultCollector.next(cor);
+						}
+					}
+				});
+	}
+
+	/**
+	 * Returns the cached Weka header for the features of the given records.
+	 * Also determines the schema correspondence for each comparator.
+	 */
+	private ClassificationHeader getClassificationHeader(RecordType record1, RecordType record2,
+			Processable<Correspondence<SchemaElementType, Matchable>> schemaCorrespondences,
+			Correspondence<SchemaElementType, Matchable>[] comparatorCorrespondences) {
+
+		// the feature names only depend on the schema correspondences, so
+		// without schema correspondences all pairs share the same header
+		String key = "";
+		if (schemaCorrespondences != null) {
+			StringBuilder sb = new StringBuilder();
+			for (int i = 0; i < comparators.size(); i++) {
+				Comparator<RecordType, SchemaElementType> comp = comparators.get(i);
+				comparatorCorrespondences[i] = getCorrespondenceForComparator(schemaCorrespondences, record1, record2,
+						comp);
+				sb.append(comp.getName(comparatorCorrespondences[i])).append('\t');
+			}
+			key = sb.toString();
+		}
+
+		Map<String, ClassificationHeader> headers = classificationHeaders;
+		if (headers == null) {
+			synchronized (this) {
+				if (classificationHeaders == null) {
+					classificationHeaders = new ConcurrentHashMap<>();
+				}
+				headers = classificationHeaders;
+			}
+		}
+
+		ClassificationHeader header = headers.get(key);
+		if (header == null) {
+			header = createClassificationHeader(record1, record2, schemaCorrespondences);
+			ClassificationHeader existing = headers.putIfAbsent(key, header);
+			if (existing != null) {
+				header = existing;
+			}
+		}
+
+		return header;
+	}
+
+	/**
+	 * Creates the Weka header, including the dimension reduction of the
+	 * feature subset selection (if it was applied during training).
+	 */
+	private ClassificationHeader createClassificationHeader(RecordType record1, RecordType record2,
+			Processable<Correspondence<SchemaElementType, Matchable>> schemaCorrespondences) {
+		ClassificationHeader result = new ClassificationHeader();
+
+		FeatureVectorDataSet features = initialiseFeatures(record1, record2, schemaCorrespondences);
+		Instances header = defineDataset(features, this.matchSet);
+
+		if ((this.backwardSelection || this.forwardSelection) && this.fs != null) {
+			try {
+				Remove removeFilter = new Remove();
+				removeFilter.setAttributeIndicesArray(this.fs.selectedAttributes());
+				removeFilter.setInvertSelection(true);
+				removeFilter.setInputFormat(header);
+				header = Filter.useFilter(header, removeFilter);
+			} catch (Exception e1) {
+				e1.printStackTrace();
+			}
+		}
+
+		// map the attributes of the header to the comparators via the feature
+		// names, which contain the index of the comparator
+		Map<String, Integer> featureIndices = new HashMap<>();
+		for (Attribute att : features.getSchema().get()) {
+			if (!att.equals(FeatureVectorDataSet.ATTRIBUTE_LABEL)) {
+				featureIndices.put(att.getIdentifier(), Integer.parseInt(
+						att.getIdentifier().substring(1, att.getIdentifier().indexOf(']'))));
+			}
+		}
+		result.attributeComparators = new int[header.numAttributes()];
+		for (int i = 0; i < header.numAttributes(); i++) {
+			if (i == header.classIndex()) {
+				result.attributeComparators[i] = -1;
+			} else {
+				result.attributeComparators[i] = featureIndices.get(header.attribute(i).name());
+			}
+		}
+
+		result.header = header;
+		result.positiveClassIndex = header.attribute(header.classIndex()).indexOfValue("1");
+
+		final Instances dataset = header;
+		result.instances = new ThreadBoundObject<>((t) -> new InstanceBuffer(dataset));
+
+		return result;
+	}
+
+	/**
+	 * Calculates the features for the given records and writes them into the
+	 * attribute values of an instance. Only the features which are part of
+	 * the header (i.e., were selected during training) are calculated.
+	 */
+	private void fillInstance(double[] values, ClassificationHeader header, RecordType record1,
+			RecordType record2, Correspondence<SchemaElementType, Matchable>[] comparatorCorrespondences) {
+		for (int i = 0; i < values.length; i++) {
+			int idx = header.attributeComparators[i];
+			if (idx == -1) {
+				values[i] = Utils.missingValue();
+			} else {
+				values[i] = comparators.get(idx).compare(record1, record2, comparatorCorrespondences[idx]);
+			}
+		}
+	}
+
+	/**
+	 * Apply trained model to a candidate record-pair. Therefore a new
+	 * FeatureDataSet is created, which is afterwards classified as match or
+	 * non-match
+	 * 
+	 * @param record1
+	 *            the first record (must not be null)
+	 * @param record2
+	 *            the second record (must not be null)
+	 * @param schemaCorrespondences
+	 *            the schema correspondences between the first and the second
+	 *            records
+	 * @return A correspondence holding the input parameters plus the
+	 *         classification´s result, which is either match (1.0) or
+	 *         non-match(0.0).
+	 */
+	protected Correspondence<RecordType, SchemaElementType> applyWithFeatureVector(RecordType record1, RecordType record2,
+			Processable<Correspondence<SchemaElementType, Matchable>> schemaCorrespondences) {
+
+		FeatureVectorDataSet matchSet = this.initialiseFeatures(record1, record2, schemaCorrespondences);
+		Record matchRecord = generateFeatures(record1, record2, schemaCorrespondences, matchSet);
+
+		// transform entry for classification.
+		matchSet.add(matchRecord);
+		Instances matchInstances = this.transformToWeka(matchSet, this.matchSet);
+
+		// reduce dimensions if feature subset selection was applied before.
+		if ((this.backwardSelection || this.forwardSelection) && this.fs != null)
+			try {
+				Remove removeFilter = new Remove();
+				removeFilter.setAttributeIndicesArray(this.fs.selectedAttributes());
+				removeFilter.setInvertSelection(true);
+				removeFilter.setInputFormat(matchInstances);
+				matchInstances = Filter.useFilter(matchInstances, removeFilter);
+			} catch (Exception e1) {
+				e1.printStackTrace();
+			}
+		// Apply matching rule
+		try {
+			double[] distribution = this.classifier.distributionForInstance(matchInstances.firstInstance());
+			int positiveClassIndex = matchInstances.attribute(matchInstances.classIndex()).indexOfValue("1");
+			double matchConfidence = distribution[positiveClassIndex];
+			if (this.isDebugReportActive()) {
+				fillSimilarity(record1, record2, matchConfidence);
+			}
+			return new Correspondence<RecordType, SchemaElementType>(record1, record2, matchConfidence,
+					schemaCorrespondences);
+
+			
+		} catch (Exception e) {
+			e.printStackTrace();
+			logger.error(String.format("Classifier Exception for Record '%s': %s",
+					matchRecord == null ? "null" : matchRecord.toString(), e.getMessage()));
+		}
+		return null;
+	}
+
 	/**
 	 * Store model in file system
 	 * 
@@ -667,6 +967,7 @@ public class WekaMatchingRule<RecordType extends Matchable, SchemaElementType ex
 
 	public void setForwardSelection(boolean forwardSelection) {
 		this.forwardSelection = forwardSelection;
+		this.classificationHeaders = null;
 	}
 
 	public boolean isBackwardSelection() {
@@ -675,6 +976,7 @@ public class WekaMatchingRule<RecordType extends Matchable, SchemaElementType ex
 
 	public void setBackwardSelection(boolean backwardSelection) {
 		this.backwardSelection = backwardSelection;
+		this.classificationHeaders = null;
 	}
 
 	public void setBalanceTrainingData(boolean balanceTrainingData) {
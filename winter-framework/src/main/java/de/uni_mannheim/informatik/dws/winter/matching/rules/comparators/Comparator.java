@@ -69,6 +69,17 @@ public interface Comparator<RecordType extends Matchable, SchemaElementType exte
 	default boolean hasMissingValue(RecordType record1, RecordType record2,
 				   Correspondence<SchemaElementType, Matchable> schemaCorrespondence) { return false; };
 
+	/**
+	 * Returns the estimated cost of a single call to compare(...), relative to
+	 * a simple comparator with cost 1.0. Matching rules can use this value to
+	 * decide in which order the comparators are evaluated.
+	 * 
+	 * @return the estimated cost of a comparison
+	 */
+	default double getEstimatedCost() {
+		return 1.0;
+	}
+
 	/**
 	 * @return Returns the schema element which is the first argument to this
 	 *         comparator and determines which value of the first record to
@@ -1,7 +1,5 @@
 package de.uni_mannheim.informatik.dws.winter.matching.rules.comparators;
 
-import java.util.concurrent.ConcurrentHashMap;
-
 import de.uni_mannheim.informatik.dws.winter.model.defaultmodel.Attribute;
 import de.uni_mannheim.informatik.dws.winter.model.defaultmodel.Record;
 
@@ -9,49 +7,51 @@ import de.uni_mannheim.informatik.dws.winter.model.defaultmodel.Record;
  * @author Alexander Brinkmann (albrinkm@mail.uni-mannheim.de)
  *
  *	Logs the comparison logs per comparator and per thread if logging is activated.
+ *	Each thread reads and writes its own log, which is created by {@link #initialise()} before each comparison.
  *
  */
 public class ComparatorLogger {
 
-	private ConcurrentHashMap<Long,Record> comparatatorLogPerThread = new ConcurrentHashMap<Long, Record>();
+	// the log of a thread is released together with the thread or this logger
+	private ThreadLocal<Record> comparatorLogPerThread = new ThreadLocal<>();
 	
 	public void initialise(){
 		 Thread currThread = Thread.currentThread();
-		 comparatatorLogPerThread.put(currThread.getId(), new Record(Long.toString(currThread.getId())));
+		 comparatorLogPerThread.set(new Record(Long.toString(currThread.getId())));
 	}
 
 	public String getComparatorName() {
-		Record currRecord = comparatatorLogPerThread.get(Thread.currentThread().getId());
+		Record currRecord = comparatorLogPerThread.get();
 		return currRecord.getValue(COMPARATORNAME);
 	}
 
 	public void setComparatorName(String comparatorName) {
-		Record currRecord = comparatatorLogPerThread.get(Thread.currentThread().getId());
+		Record currRecord = comparatorLogPerThread.get();
 		currRecord.setValue(COMPARATORNAME, comparatorName);
 	}
 
 	public String getRecord1Value() {
-		Record currRecord = comparatatorLogPerThread.get(Thread.currentThread().getId());
+		Record currRecord = comparatorLogPerThread.get();
 		return currRecord.getValue(RECORD1VALUE);
 	}
 
 	public void setRecord1Value(String record1Value) {
-		Record currRecord = comparatatorLogPerThread.get(Thread.currentThread().getId());
+		Record currRecord = comparatorLogPerThread.get();
 		currRecord.setValue(RECORD1VALUE, record1Value);
 	}
 
 	public String getRecord2Value() {
-		Record currRecord = comparatatorLogPerThread.get(Thread.currentThread().getId());
+		Record currRecord = comparatorLogPerThread.get();
 		return currRecord.getValue(RECORD2VALUE);
 	}
 
 	public void setRecord2Value(String record2Value) {
-		Record currRecord = comparatatorLogPerThread.get(Thread.currentThread().getId());
+		Record currRecord = comparatorLogPerThread.get();
 		currRecord.setValue(RECORD2VALUE, record2Value);
 	}
 
 	public String getRecord1PreprocessedValue() {
-		Record currRecord = comparatatorLogPerThread.get(Thread.currentThread().getId());
+		Record currRecord = comparatorLogPerThread.get();
 		String Record1PreprocessedValue = currRecord.getValue(RECORD1PREPROCESSEDVALUE);
 		if (Record1PreprocessedValue == null) {
 			return getRecord1Value();
@@ -60,12 +60,12 @@ public class ComparatorLogger {
 	}
 
 	public void setRecord1PreprocessedValue(String record1PreprocessedValue) {
-		Record currRecord = comparatatorLogPerThread.get(Thread.currentThread().getId());
+		Record currRecord = comparatorLogPerThread.get();
 		currRecord.setValue(RECORD1PREPROCESSEDVALUE, record1PreprocessedValue);
 	}
 
 	public String getRecord2PreprocessedValue() {
-		Record currRecord = comparatatorLogPerThread.get(Thread.currentThread().getId());
+		Record currRecord = comparatorLogPerThread.get();
 		String Record2PreprocessedValue = currRecord.getValue(RECORD2PREPROCESSEDVALUE);
 		if (Record2PreprocessedValue == null) {
 			return getRecord2Value();
@@ -74,22 +74,22 @@ public class ComparatorLogger {
 	}
 
 	public void setRecord2PreprocessedValue(String record2PreprocessedValue) {
-		Record currRecord = comparatatorLogPerThread.get(Thread.currentThread().getId());
+		Record currRecord = comparatorLogPerThread.get();
 		currRecord.setValue(RECORD2PREPROCESSEDVALUE, record2PreprocessedValue);
 	}
 
 	public String getSimilarity() {
-		Record currRecord = comparatatorLogPerThread.get(Thread.currentThread().getId());
+		Record currRecord = comparatorLogPerThread.get();
 		return currRecord.getValue(SIMILARITY);
 	}
 
 	public void setSimilarity(String similarity) {
-		Record currRecord = comparatatorLogPerThread.get(Thread.currentThread().getId());
+		Record currRecord = comparatorLogPerThread.get();
 		currRecord.setValue(SIMILARITY, similarity);
 	}
 
 	public String getPostprocessedSimilarity() {
-		Record currRecord = comparatatorLogPerThread.get(Thread.currentThread().getId());
+		Record currRecord = comparatorLogPerThread.get();
 		String postprocessedSimilarity = currRecord.getValue(POSTPROCESSEDSIMILARITY);
 		if (postprocessedSimilarity == null) {
 			return getSimilarity();
@@ -98,12 +98,12 @@ public class ComparatorLogger {
 	}
 
 	public void setPostprocessedSimilarity(String postprocessedSimilarity) {
-		Record currRecord = comparatatorLogPerThread.get(Thread.currentThread().getId());
+		Record currRecord = comparatorLogPerThread.get();
 		currRecord.setValue(POSTPROCESSEDSIMILARITY, postprocessedSimilarity);
 	}
 	
 	public String getValue(Attribute attribute) {
-		Record currRecord = comparatatorLogPerThread.get(Thread.currentThread().getId());
+		Record currRecord = comparatorLogPerThread.get();
 		return currRecord.getValue(attribute);
 	}
 
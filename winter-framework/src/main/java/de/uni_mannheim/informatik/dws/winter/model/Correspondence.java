@@ -17,7 +17,7 @@ import java.io.IOException;
 import java.io.Serializable;
 import java.util.Collection;
 import java.util.Comparator;
-import java.util.Map;
+import java.util.HashSet;
 import java.util.Set;
 
 import org.apache.commons.lang3.StringUtils;
@@ -526,12 +526,10 @@ public class Correspondence<RecordType extends Matchable, CausalType extends Mat
 		ConnectedComponentClusterer<Integer> clusterer = new ConnectedComponentClusterer<>();
 		
 		for(CorT cor : correspondences.get()) {
-			clusterer.addEdge(new Triple<Integer, Integer, Double>(cor.getFirstRecord().getDataSourceIdentifier(), cor.getSecondRecord().getDataSourceIdentifier(), cor.getSimilarityScore()));
+			clusterer.addEdge(cor.getFirstRecord().getDataSourceIdentifier(), cor.getSecondRecord().getDataSourceIdentifier());
 		}
 		
-		Map<Collection<Integer>, Integer> clustering = clusterer.createResult();
-		
-		return clustering.keySet();
+		return new HashSet<>(clusterer.getClusters());
 	}
 	
 	public static <T extends Matchable, U extends Matchable> Graph<T, Correspondence<T, U>> toGraph(Collection<Correspondence<T, U>> correspondences) {
@@ -548,10 +546,10 @@ public class Correspondence<RecordType extends Matchable, CausalType extends Mat
 		ConnectedComponentClusterer<T> clusterer = new ConnectedComponentClusterer<>();
 		
 		for(Correspondence<T, U> cor : correspondences) {
-			clusterer.addEdge(new Triple<T, T, Double>(cor.getFirstRecord(), cor.getSecondRecord(), cor.getSimilarityScore()));
+			clusterer.addEdge(cor.getFirstRecord(), cor.getSecondRecord());
 		}
 		
-		return clusterer.createResult().keySet();
+		return new HashSet<>(clusterer.getClusters());
 	}
 	
 	public static <T extends Matchable, U extends Matchable> Distribution<Integer> getLHSFrequencyDistribution(Collection<Correspondence<T, U>> correspondences) {
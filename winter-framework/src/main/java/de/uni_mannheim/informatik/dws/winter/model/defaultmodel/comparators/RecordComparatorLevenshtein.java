@@ -32,6 +32,23 @@ public class RecordComparatorLevenshtein extends StringComparator {
 		super(attributeRecord1, attributeRecord2);
 	}
 
+	/**
+	 * Creates a comparator that returns 0.0 for all similarities below the
+	 * threshold. The edit distance is only calculated as long as the
+	 * threshold can still be reached.
+	 * 
+	 * @param attributeRecord1
+	 *            the attribute of the first record
+	 * @param attributeRecord2
+	 *            the attribute of the second record
+	 * @param threshold
+	 *            the minimum similarity
+	 */
+	public RecordComparatorLevenshtein(Attribute attributeRecord1, Attribute attributeRecord2, double threshold) {
+		super(attributeRecord1, attributeRecord2);
+		this.sim = new LevenshteinSimilarity(threshold);
+	}
+
 	private static final long serialVersionUID = 1L;
 	private LevenshteinSimilarity sim = new LevenshteinSimilarity();
 	private ComparatorLogger comparisonLog;
@@ -66,6 +83,12 @@ public class RecordComparatorLevenshtein extends StringComparator {
 		return similarity;
 	}
 
+	@Override
+	public double getEstimatedCost() {
+		// the edit distance is quadratic in the length of the values
+		return 10.0;
+	}
+
 	@Override
 	public ComparatorLogger getComparisonLog() {
 		return this.comparisonLog;
@@ -12,8 +12,8 @@
 package de.uni_mannheim.informatik.dws.winter.model.io;
 
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.io.Writer;
 
 import au.com.bytecode.opencsv.CSVWriter;
 import de.uni_mannheim.informatik.dws.winter.model.Correspondence;
@@ -34,6 +34,17 @@ public class CSVCorrespondenceFormatter {
 				Double.toString(record.getSimilarityScore()) };
 	}
 
+	private boolean parallel = false;
+
+	/**
+	 * Specifies if the correspondences are formatted in parallel. The output is the same as for sequential formatting.
+	 * 
+	 * @param parallel	the parallel to set
+	 */
+	public void setParallel(boolean parallel) {
+		this.parallel = parallel;
+	}
+
 	/**
 	 * Writes the data set to a CSV file
 	 * 
@@ -43,15 +54,31 @@ public class CSVCorrespondenceFormatter {
 	 */
 	public <TypeA extends Matchable, TypeB extends Matchable> void writeCSV(File file,
 			Processable<Correspondence<TypeA, TypeB>> dataset) throws IOException {
-		CSVWriter writer = new CSVWriter(new FileWriter(file));
+		writeCSV(file, dataset, false);
+	}
 
-		for (Correspondence<TypeA, TypeB> record : dataset.get()) {
-			String[] values = format(record);
+	/**
+	 * Writes the data set to a (GZIP compressed) CSV file
+	 * 
+	 * @param file
+	 * @param dataset
+	 * @param gzip
+	 * 			specifies if the file is compressed with GZIP
+	 * @throws IOException
+	 */
+	public <TypeA extends Matchable, TypeB extends Matchable> void writeCSV(File file,
+			Processable<Correspondence<TypeA, TypeB>> dataset, boolean gzip) throws IOException {
+		try (Writer out = ChunkedWriter.createWriter(file, gzip)) {
+			new ChunkedWriter<Correspondence<TypeA, TypeB>>((chunk, w) -> {
+				CSVWriter writer = new CSVWriter(w);
+				for (Correspondence<TypeA, TypeB> record : chunk) {
+					String[] values = format(record);
 
-			writer.writeNext(values);
+					writer.writeNext(values);
+				}
+				writer.flush();
+			}, parallel).write(dataset.get(), out);
 		}
-
-		writer.close();
 	}
 
 }
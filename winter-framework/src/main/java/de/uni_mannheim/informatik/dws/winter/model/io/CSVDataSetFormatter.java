@@ -12,8 +12,8 @@
 package de.uni_mannheim.informatik.dws.winter.model.io;
 
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.io.Writer;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
@@ -37,6 +37,17 @@ public abstract class CSVDataSetFormatter<RecordType extends Matchable, SchemaEl
 	public abstract String[] format(RecordType record, DataSet<RecordType, SchemaElementType> dataset,
 			List<SchemaElementType> orderedHeader);
 
+	private boolean parallel = false;
+
+	/**
+	 * Specifies if the records are formatted in parallel. The output is the same as for sequential formatting, but {@link #format(Matchable, DataSet, List)} must be thread-safe.
+	 * 
+	 * @param parallel	the parallel to set
+	 */
+	public void setParallel(boolean parallel) {
+		this.parallel = parallel;
+	}
+
 	/**
 	 * Writes the data set to a CSV file
 	 * 
@@ -47,28 +58,48 @@ public abstract class CSVDataSetFormatter<RecordType extends Matchable, SchemaEl
 	 */
 	public void writeCSV(File file, DataSet<RecordType, SchemaElementType> dataset, List<SchemaElementType> orderedHeader)
 			throws IOException {
-		CSVWriter writer = new CSVWriter(new FileWriter(file));
-		
-		String[] headers = null;
-		if(orderedHeader != null){
-			headers = getHeader(orderedHeader);
-		}
-		else{
-			headers = getHeader(sortAttributesAlphabetically(dataset));
-		}
-		
-
-		if (headers != null) {
-			writer.writeNext(headers);
-		}
-
-		for (RecordType record : dataset.get()) {
-			String[] values = format(record, dataset, orderedHeader);
+		writeCSV(file, dataset, orderedHeader, false);
+	}
 
-			writer.writeNext(values);
+	/**
+	 * Writes the data set to a (GZIP compressed) CSV file
+	 * 
+	 * @param file
+	 * @param dataset
+	 * @param orderedHeader
+	 * @param gzip
+	 * 			specifies if the file is compressed with GZIP
+	 * @throws IOException
+	 */
+	public void writeCSV(File file, DataSet<RecordType, SchemaElementType> dataset, List<SchemaElementType> orderedHeader, boolean gzip)
+			throws IOException {
+		try (Writer out = ChunkedWriter.createWriter(file, gzip)) {
+			CSVWriter writer = new CSVWriter(out);
+			
+			String[] headers = null;
+			if(orderedHeader != null){
+				headers = getHeader(orderedHeader);
+			}
+			else{
+				headers = getHeader(sortAttributesAlphabetically(dataset));
+			}
+			
+	
+			if (headers != null) {
+				writer.writeNext(headers);
+				writer.flush();
+			}
+	
+			new ChunkedWriter<RecordType>((chunk, w) -> {
+				CSVWriter chunkWriter = new CSVWriter(w);
+				for (RecordType record : chunk) {
+					String[] values = format(record, dataset, orderedHeader);
+	
+					chunkWriter.writeNext(values);
+				}
+				chunkWriter.flush();
+			}, parallel).write(dataset.get(), out);
 		}
-
-		writer.close();
 	}
 	
 	/**
@@ -12,8 +12,8 @@
 package de.uni_mannheim.informatik.dws.winter.model.io;
 
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.io.Writer;
 import au.com.bytecode.opencsv.CSVWriter;
 import de.uni_mannheim.informatik.dws.winter.processing.Processable;
 
@@ -30,6 +30,17 @@ public abstract class CSVFormatter<RecordType> {
 
 	public abstract String[] format(RecordType record);
 
+	private boolean parallel = false;
+
+	/**
+	 * Specifies if the records are formatted in parallel. The output is the same as for sequential formatting, but {@link #format(Object)} must be thread-safe.
+	 * 
+	 * @param parallel	the parallel to set
+	 */
+	public void setParallel(boolean parallel) {
+		this.parallel = parallel;
+	}
+
 	/**
 	 * Writes the data set to a CSV file
 	 * 
@@ -38,20 +49,38 @@ public abstract class CSVFormatter<RecordType> {
 	 * @throws IOException
 	 */
 	public void writeCSV(File file, Processable<RecordType> dataset) throws IOException {
-		CSVWriter writer = new CSVWriter(new FileWriter(file));
+		writeCSV(file, dataset, false);
+	}
 
-		String[] headers = getHeader();
-		if (headers != null) {
-			writer.writeNext(headers);
-		}
+	/**
+	 * Writes the data set to a (GZIP compressed) CSV file
+	 * 
+	 * @param file
+	 * @param dataset
+	 * @param gzip
+	 * 			specifies if the file is compressed with GZIP
+	 * @throws IOException
+	 */
+	public void writeCSV(File file, Processable<RecordType> dataset, boolean gzip) throws IOException {
+		try (Writer out = ChunkedWriter.createWriter(file, gzip)) {
+			CSVWriter writer = new CSVWriter(out);
 
-		for (RecordType record : dataset.get()) {
-			String[] values = format(record);
+			String[] headers = getHeader();
+			if (headers != null) {
+				writer.writeNext(headers);
+				writer.flush();
+			}
 
-			writer.writeNext(values);
-		}
+			new ChunkedWriter<RecordType>((chunk, w) -> {
+				CSVWriter chunkWriter = new CSVWriter(w);
+				for (RecordType record : chunk) {
+					String[] values = format(record);
 
-		writer.close();
+					chunkWriter.writeNext(values);
+				}
+				chunkWriter.flush();
+			}, parallel).write(dataset.get(), out);
+		}
 	}
 
 }
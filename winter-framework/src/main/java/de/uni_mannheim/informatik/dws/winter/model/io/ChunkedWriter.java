@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2017 Data and Web Science Group, University of Mannheim, Germany (http://dws.informatik.uni-mannheim.de/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package de.uni_mannheim.informatik.dws.winter.model.io;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import de.uni_mannheim.informatik.dws.winter.utils.parallel.Parallel;
+
+/**
+ * Writes records to a {@link Writer} in chunks. If parallel output is enabled, several chunks are formatted at the same time and are then written in the order of the records.
+ *
+ * @author Oliver Lehmberg (oli@dwslab.de)
+ *
+ */
+class ChunkedWriter<RecordType> {
+
+	public static final int DEFAULT_CHUNK_SIZE = 1000;
+
+	/**
+	 * Formats a chunk of records.
+	 */
+	public interface ChunkFormatter<RecordType> {
+		void format(List<RecordType> chunk, Writer out) throws Exception;
+	}
+
+	private ChunkFormatter<RecordType> formatter;
+	private boolean parallel;
+	private int chunkSize = DEFAULT_CHUNK_SIZE;
+
+	/**
+	 * @param formatter	formats the records of a chunk, must be thread-safe for parallel output
+	 * @param parallel	specifies if the chunks are formatted in parallel
+	 */
+	public ChunkedWriter(ChunkFormatter<RecordType> formatter, boolean parallel) {
+		this.formatter = formatter;
+		this.parallel = parallel;
+	}
+
+	/**
+	 * Creates a buffered UTF-8 writer for the file.
+	 *
+	 * @param file	the file
+	 * @param gzip	specifies if the file is compressed with GZIP
+	 * @return the writer
+	 * @throws IOException
+	 */
+	public static Writer createWriter(File file, boolean gzip) throws IOException {
+		OutputStream out = new FileOutputStream(file);
+		if(gzip) {
+			out = new GZIPOutputStream(out, 1 << 16);
+		}
+		return new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 1 << 16);
+	}
+
+	/**
+	 * Formats all records and writes them to the writer.
+	 *
+	 * @param records	the records
+	 * @param out		the writer
+	 * @throws IOException
+	 */
+	public void write(Iterable<RecordType> records, Writer out) throws IOException {
+		// the number of chunks that are formatted at the same time
+		int chunksPerWindow = parallel ? Math.max(1, Runtime.getRuntime().availableProcessors()) : 1;
+
+		List<List<RecordType>> window = new ArrayList<>(chunksPerWindow);
+		List<RecordType> chunk = new ArrayList<>(chunkSize);
+
+		for(RecordType record : records) {
+			chunk.add(record);
+
+			if(chunk.size()>=chunkSize) {
+				window.add(chunk);
+				chunk = new ArrayList<>(chunkSize);
+
+				if(window.size()>=chunksPerWindow) {
+					writeWindow(window, out);
+					window.clear();
+				}
+			}
+		}
+
+		if(chunk.size()>0) {
+			window.add(chunk);
+		}
+		writeWindow(window, out);
+	}
+
+	private void writeWindow(List<List<RecordType>> window, Writer out) throws IOException {
+		try {
+			if(window.size()>1) {
+				String[] formatted = new String[window.size()];
+
+				Parallel.forLoop(0, window.size(), (i) -> {
+					StringWriter w = new StringWriter();
+					try {
+						formatter.format(window.get(i), w);
+					} catch(RuntimeException e) {
+						throw e;
+					} catch(Exception e) {
+						throw new RuntimeException(e);
+					}
+					formatted[i] = w.toString();
+				});
+
+				for(String s : formatted) {
+					out.write(s);
+				}
+			} else {
+				for(List<RecordType> chunk : window) {
+					formatter.format(chunk, out);
+				}
+			}
+		} catch(IOException | RuntimeException e) {
+			throw e;
+		} catch(Exception e) {
+			throw new IOException(e);
+		}
+	}
+}
@@ -12,23 +12,25 @@
 package de.uni_mannheim.informatik.dws.winter.model.io;
 
 import java.io.File;
-import java.io.FileReader;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.zip.GZIPInputStream;
 
-import org.apache.jena.query.Query;
-import org.apache.jena.query.QueryExecution;
-import org.apache.jena.query.QueryExecutionFactory;
-import org.apache.jena.query.QueryFactory;
 import org.apache.jena.query.QuerySolution;
 import org.apache.jena.query.ResultSet;
-import org.apache.jena.rdf.model.Model;
-import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.rdf.model.RDFNode;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFLanguages;
 
 import de.uni_mannheim.informatik.dws.winter.model.DataSet;
 import de.uni_mannheim.informatik.dws.winter.model.Matchable;
+import de.uni_mannheim.informatik.dws.winter.utils.rdf.RDFProjection;
+import de.uni_mannheim.informatik.dws.winter.utils.rdf.SparqlSelect;
 
 /**
  * @author Oliver Lehmberg (oli@dwslab.de)
@@ -37,54 +39,99 @@ import de.uni_mannheim.informatik.dws.winter.model.Matchable;
 public abstract class RDFMatchableReader<RecordType extends Matchable, SchemaElementType extends Matchable> {
 
 	public void loadFromRDF(File file, String sparqlQuery, DataSet<RecordType, SchemaElementType> dataset) throws IOException {
-		
+		loadFromRDF(file, sparqlQuery, dataset, null);
+	}
 
-		// create an empty model
-		Model model = ModelFactory.createDefaultModel();
+	/**
+	 * Loads the result of a SPARQL query on an RDF/XML file.
+	 * 
+	 * @param file
+	 * @param sparqlQuery
+	 * @param dataset
+	 * @param tdbDirectory
+	 *            the directory of a disk-backed TDB store into which the file is loaded or null to load the file into memory. See {@link SparqlSelect#setTdbDirectory(File)}.
+	 * @throws IOException
+	 */
+	public void loadFromRDF(File file, String sparqlQuery, DataSet<RecordType, SchemaElementType> dataset, File tdbDirectory) throws IOException {
+		SparqlSelect select = new SparqlSelect(sparqlQuery);
+		select.setTdbDirectory(tdbDirectory);
 
-		// read the RDF/XML file
-		model.read(new FileReader(file), null);
+		try (InputStream in = new FileInputStream(file)) {
+			select.execute(in, Lang.RDFXML, (results) -> readResults(file, results, dataset));
+		}
+	}
 
+	private void readResults(File file, ResultSet results, DataSet<RecordType, SchemaElementType> dataset) {
 		// read data
 		Map<String, Integer> attributes = new HashMap<>();
 		
 		int rowNumber = 0;
-		// execute the query
-		Query query = QueryFactory.create(sparqlQuery);
-		try (QueryExecution qexec = QueryExecutionFactory.create(query, model)) {
-			ResultSet results = qexec.execSelect();
-			for (; results.hasNext();) {
-				QuerySolution soln = results.nextSolution();
+		for (; results.hasNext();) {
+			QuerySolution soln = results.nextSolution();
 
-				Iterator<String> attributeNames = soln.varNames();
-				while(attributeNames.hasNext()) {
-					String att = attributeNames.next();
-					if(!attributes.containsKey(att)) {
-						attributes.put(att, attributes.size());
-					}
+			Iterator<String> attributeNames = soln.varNames();
+			while(attributeNames.hasNext()) {
+				String att = attributeNames.next();
+				if(!attributes.containsKey(att)) {
+					attributes.put(att, attributes.size());
 				}
-				
-				String[] values = new String[attributes.size()];
-				
-				if(rowNumber==0) {
-					// add attribute names
-					for(Map.Entry<String, Integer> attribute : attributes.entrySet()) {
-						values[attribute.getValue()] = attribute.getKey();
-					}
-					readLine(file, rowNumber++, values, dataset);
-				}
-				
-				// add values
-				for(String att : attributes.keySet()) {
-					values[attributes.get(att)] = soln.get(att).toString();
+			}
+			
+			String[] values = new String[attributes.size()];
+			
+			if(rowNumber==0) {
+				// add attribute names
+				for(Map.Entry<String, Integer> attribute : attributes.entrySet()) {
+					values[attribute.getValue()] = attribute.getKey();
 				}
 				readLine(file, rowNumber++, values, dataset);
 			}
 			
-			qexec.close();
+			// add values
+			for(String att : attributes.keySet()) {
+				values[attributes.get(att)] = soln.get(att).toString();
+			}
+			readLine(file, rowNumber++, values, dataset);
 		}
 	}
 	
+	/**
+	 * Loads a subject-centric projection of an RDF file without loading the complete graph into memory. See {@link RDFProjection} for the values that are kept while the file is parsed.
+	 * The syntax is determined by the file extension (RDF/XML by default), files ending with .gz are decompressed.
+	 * Properties that do not exist for a subject are passed as empty strings to {@link #readLine(File, int, String[], DataSet)}.
+	 * 
+	 * @param file
+	 * @param projection
+	 * @param dataset
+	 * @throws IOException
+	 */
+	public void loadFromRDFStream(File file, RDFProjection projection, DataSet<RecordType, SchemaElementType> dataset) throws IOException {
+		String fileName = file.getName();
+		InputStream in = new FileInputStream(file);
+		if (fileName.endsWith(".gz")) {
+			in = new GZIPInputStream(in);
+			fileName = fileName.substring(0, fileName.length() - 3);
+		}
+		Lang lang = RDFLanguages.filenameToLang(fileName, Lang.RDFXML);
+
+		List<String> variables = projection.getVariables();
+		readLine(file, 0, variables.toArray(new String[variables.size()]), dataset);
+
+		int[] rowNumber = new int[] { 1 };
+		try {
+			projection.execute(in, lang, (row) -> {
+				String[] values = new String[row.length];
+				for (int i = 0; i < row.length; i++) {
+					RDFNode value = row[i];
+					values[i] = value == null ? "" : value.toString();
+				}
+				readLine(file, rowNumber[0]++, values, dataset);
+			});
+		} finally {
+			in.close();
+		}
+	}
+
 	protected abstract void readLine(File file, int rowNumber, String[] values, DataSet<RecordType, SchemaElementType> dataset);
 	
 }
@@ -14,10 +14,15 @@ package de.uni_mannheim.informatik.dws.winter.model.io;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.Writer;
 
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
 import javax.xml.transform.OutputKeys;
 import javax.xml.transform.Transformer;
 import javax.xml.transform.TransformerException;
@@ -25,8 +30,12 @@ import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.dom.DOMSource;
 import javax.xml.transform.stream.StreamResult;
 
+import org.w3c.dom.Attr;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
 
 import de.uni_mannheim.informatik.dws.winter.model.HashedDataSet;
 import de.uni_mannheim.informatik.dws.winter.processing.Processable;
@@ -41,6 +50,17 @@ import de.uni_mannheim.informatik.dws.winter.processing.Processable;
  */
 public abstract class XMLFormatter<RecordType> {
 
+	private boolean parallel = false;
+
+	/**
+	 * Specifies if the records are formatted in parallel by {@link #writeXMLStream(File, Processable, boolean)}. The output is the same as for sequential formatting, but {@link #createElementFromRecord(Object, Document)} must be thread-safe.
+	 * 
+	 * @param parallel	the parallel to set
+	 */
+	public void setParallel(boolean parallel) {
+		this.parallel = parallel;
+	}
+
 	/**
 	 * Creates the root element for a collection of records
 	 * 
@@ -113,4 +133,131 @@ public abstract class XMLFormatter<RecordType> {
 		transformer.transform(source, result);
 
 	}
+
+	/**
+	 * Writes dataset to an XML file using this specified formatter. 
+	 * In contrast to {@link #writeXML(File, Processable)}, the records are written to the file one after another and the complete document is never created in memory.
+	 * 
+	 * @param outputFile
+	 * @param dataset
+	 * @param gzip
+	 * 			specifies if the file is compressed with GZIP
+	 * @throws ParserConfigurationException
+	 * @throws XMLStreamException
+	 * @throws IOException
+	 */
+	public void writeXMLStream(File outputFile, Processable<RecordType> dataset, boolean gzip)
+			throws ParserConfigurationException, XMLStreamException, IOException {
+
+		DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+		XMLOutputFactory outputFactory = XMLOutputFactory.newInstance();
+
+		try (Writer out = ChunkedWriter.createWriter(outputFile, gzip)) {
+			XMLStreamWriter writer = outputFactory.createXMLStreamWriter(out);
+
+			Document doc = factory.newDocumentBuilder().newDocument();
+			Element root = createRootElement(doc);
+
+			writer.writeStartDocument("UTF-8", "1.0");
+			writer.writeCharacters("\n");
+			writer.writeStartElement(root.getTagName());
+			writeAttributes(root, writer);
+			// make sure the start tag is closed before the records are written
+			writer.writeCharacters("");
+			writer.flush();
+
+			new ChunkedWriter<RecordType>((chunk, w) -> {
+				// the elements of each chunk are created in a separate document, as DOM documents are not thread-safe
+				Document chunkDoc;
+				synchronized (factory) {
+					chunkDoc = factory.newDocumentBuilder().newDocument();
+				}
+				XMLStreamWriter chunkWriter = outputFactory.createXMLStreamWriter(w);
+
+				for (RecordType record : chunk) {
+					writeNode(createElementFromRecord(record, chunkDoc), chunkWriter, 1);
+				}
+
+				// closes the start tag if the last element is empty
+				chunkWriter.writeCharacters("");
+				chunkWriter.flush();
+			}, parallel).write(dataset.get(), out);
+
+			writer.writeCharacters("\n");
+			writer.writeEndElement();
+			writer.writeEndDocument();
+			writer.flush();
+			writer.close();
+		}
+	}
+
+	private void writeNode(Node node, XMLStreamWriter writer, int depth) throws XMLStreamException {
+		switch (node.getNodeType()) {
+		case Node.ELEMENT_NODE:
+			Element elem = (Element) node;
+			NodeList children = elem.getChildNodes();
+			boolean hasElements = false;
+			for (int i = 0; i < children.getLength(); i++) {
+				if (children.item(i).getNodeType() == Node.ELEMENT_NODE) {
+					hasElements = true;
+					break;
+				}
+			}
+
+			writeIndentation(writer, depth);
+			if (children.getLength() == 0) {
+				writer.writeEmptyElement(elem.getTagName());
+				writeAttributes(elem, writer);
+			} else {
+				writer.writeStartElement(elem.getTagName());
+				writeAttributes(elem, writer);
+				for (int i = 0; i < children.getLength(); i++) {
+					Node child = children.item(i);
+					if (hasElements && child.getNodeType() == Node.TEXT_NODE
+							&& child.getNodeValue().trim().isEmpty()) {
+						// the indentation is created by the writer
+						continue;
+					}
+					writeNode(child, writer, hasElements ? depth + 1 : -1);
+				}
+				if (hasElements) {
+					writeIndentation(writer, depth);
+				}
+				writer.writeEndElement();
+			}
+			break;
+		case Node.TEXT_NODE:
+			writer.writeCharacters(node.getNodeValue());
+			break;
+		case Node.CDATA_SECTION_NODE:
+			writer.writeCData(node.getNodeValue());
+			break;
+		case Node.COMMENT_NODE:
+			writeIndentation(writer, depth);
+			writer.writeComment(node.getNodeValue());
+			break;
+		default:
+			break;
+		}
+	}
+
+	private void writeAttributes(Element elem, XMLStreamWriter writer) throws XMLStreamException {
+		NamedNodeMap attributes = elem.getAttributes();
+		for (int i = 0; i < attributes.getLength(); i++) {
+			Attr attr = (Attr) attributes.item(i);
+			writer.writeAttribute(attr.getName(), attr.getValue());
+		}
+	}
+
+	private void writeIndentation(XMLStreamWriter writer, int depth) throws XMLStreamException {
+		// a negative depth means that the node is part of mixed content, which is not indented
+		if (depth >= 0) {
+			StringBuilder sb = new StringBuilder(1 + depth * 2);
+			sb.append('\n');
+			for (int i = 0; i < depth; i++) {
+				sb.append("  ");
+			}
+			writer.writeCharacters(sb.toString());
+		}
+	}
 }
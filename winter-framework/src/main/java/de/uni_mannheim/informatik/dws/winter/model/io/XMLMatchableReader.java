@@ -11,14 +11,21 @@
  */
 package de.uni_mannheim.informatik.dws.winter.model.io;
 
+import java.io.BufferedInputStream;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
 
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import javax.xml.xpath.XPath;
 import javax.xml.xpath.XPathConstants;
 import javax.xml.xpath.XPathExpression;
@@ -27,6 +34,7 @@ import javax.xml.xpath.XPathFactory;
 
 import org.slf4j.Logger;
 import org.w3c.dom.Document;
+import org.w3c.dom.Element;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
 import org.xml.sax.SAXException;
@@ -34,10 +42,14 @@ import org.xml.sax.SAXException;
 import de.uni_mannheim.informatik.dws.winter.model.DataSet;
 import de.uni_mannheim.informatik.dws.winter.model.Matchable;
 import de.uni_mannheim.informatik.dws.winter.utils.WinterLogManager;
+import de.uni_mannheim.informatik.dws.winter.utils.parallel.Parallel;
 
 /**
  * Super class for reading records from XML
  * 
+ * The records can be loaded with {@link #loadFromXML(File, String, DataSet)}, which parses the whole file into a DOM and selects the records with an XPath,
+ * or with {@link #loadFromXMLStream(File, String, DataSet, int)}, which reads the file as a stream and only creates a DOM for one record at a time.
+ * 
  * @author Oliver Lehmberg (oli@dwslab.de)
  * 
  * @param <RecordType>
@@ -46,6 +58,8 @@ public abstract class XMLMatchableReader<RecordType extends Matchable, SchemaEle
 	
 	private static final Logger logger = WinterLogManager.getLogger();
 	
+	private static final String REPORT_CDATA_EVENT = "http://java.sun.com/xml/stream/properties/report-cdata-event";
+	
 	/**
 	 * creates a RecordType record from an XML node
 	 * 
@@ -253,4 +267,253 @@ public abstract class XMLMatchableReader<RecordType extends Matchable, SchemaEle
 			}
 		}
 	}
+
+	/**
+	 * Loads a data set from an XML file without parsing the whole file into a DOM.
+	 * 
+	 * @param dataSource
+	 *            the XML file containing the data
+	 * @param recordPath
+	 *            the path to the XML elements representing the entries
+	 * @param dataset
+	 * 			  the dataset to fill
+	 * @throws ParserConfigurationException
+	 * @throws IOException
+	 * @throws XMLStreamException
+	 * @see #loadFromXMLStream(File, String, DataSet, int)
+	 */
+	public void loadFromXMLStream(File dataSource,
+			String recordPath,
+			DataSet<RecordType, SchemaElementType> dataset)
+			throws ParserConfigurationException, IOException, XMLStreamException {
+		loadFromXMLStream(dataSource, recordPath, dataset, 1);
+	}
+	
+	/**
+	 * Loads a data set from an XML file without parsing the whole file into a DOM.
+	 * 
+	 * The file is read with a StAX parser and a small DOM is created for each element that matches the record path, which is then passed to {@link #createModelFromElement(Node, String)}.
+	 * The record path must be a simple absolute path of element names, such as /movies/movie, where * matches any element name.
+	 * 
+	 * If batchSize is larger than 1, the records are created in parallel in batches of this size. They are still added to the dataset by the reading thread and in the order of the file.
+	 * 
+	 * @param dataSource
+	 *            the XML file containing the data
+	 * @param recordPath
+	 *            the path to the XML elements representing the entries
+	 * @param dataset
+	 * 			  the dataset to fill
+	 * @param batchSize
+	 * 			  the number of records that are created in parallel, 1 to create all records in the reading thread
+	 * @throws ParserConfigurationException
+	 * @throws IOException
+	 * @throws XMLStreamException
+	 */
+	public void loadFromXMLStream(File dataSource,
+			String recordPath,
+			DataSet<RecordType, SchemaElementType> dataset,
+			int batchSize)
+			throws ParserConfigurationException, IOException, XMLStreamException {
+		
+		String[] steps = parseRecordPath(recordPath);
+		
+		// initialise the dataset
+		initialiseDataset(dataset);
+		
+		DocumentBuilder builder = DocumentBuilderFactory.newInstance().newDocumentBuilder();
+		XMLInputFactory factory = XMLInputFactory.newInstance();
+		factory.setProperty(XMLInputFactory.IS_COALESCING, false);
+		// the JDK parser reports CDATA sections as text unless this property is set
+		if(factory.isPropertySupported(REPORT_CDATA_EVENT)) {
+			factory.setProperty(REPORT_CDATA_EVENT, true);
+		}
+		
+		List<Node> batch = new ArrayList<>(Math.max(1, batchSize));
+		int count = 0;
+		
+		try(InputStream in = new BufferedInputStream(new FileInputStream(dataSource))) {
+			XMLStreamReader reader = factory.createXMLStreamReader(in);
+			
+			try {
+				// the depth of the current element and the number of its ancestors (including itself) that match the record path
+				int depth = 0;
+				int matched = 0;
+				
+				while(reader.hasNext()) {
+					int event = reader.next();
+					
+					if(event==XMLStreamConstants.START_ELEMENT) {
+						depth++;
+						
+						if(matched==depth-1 && depth<=steps.length && matchesStep(steps[depth-1], getQualifiedName(reader))) {
+							matched = depth;
+						}
+						
+						if(matched==steps.length && depth==steps.length) {
+							// reads the element until its end tag
+							batch.add(readElement(reader, builder.newDocument()));
+							depth--;
+							matched--;
+							count++;
+							
+							if(batch.size()>=batchSize) {
+								createRecords(batch, dataSource.getName(), dataset);
+								batch.clear();
+							}
+						}
+					} else if(event==XMLStreamConstants.END_ELEMENT) {
+						if(matched==depth) {
+							matched--;
+						}
+						depth--;
+					}
+				}
+			} finally {
+				reader.close();
+			}
+		}
+		
+		createRecords(batch, dataSource.getName(), dataset);
+		
+		if (count == 0) {
+			logger.error("No elements matching the path ("
+					+ recordPath + ") found in the input file "
+					+ dataSource.getAbsolutePath());
+		} else {
+			logger.info(String.format("Loaded %d elements from %s",
+					count, dataSource.getName()));
+		}
+	}
+	
+	private String[] parseRecordPath(String recordPath) {
+		if(!recordPath.startsWith("/") || recordPath.startsWith("//") || recordPath.length()==1) {
+			throw new IllegalArgumentException(String.format("Record path '%s' is not a simple absolute path", recordPath));
+		}
+		
+		String[] steps = recordPath.substring(1).split("/", -1);
+		
+		for(String step : steps) {
+			if(step.isEmpty() || step.matches(".*[\\[\\]@()=\"'].*")) {
+				throw new IllegalArgumentException(String.format("Record path '%s' is not a simple absolute path", recordPath));
+			}
+		}
+		
+		return steps;
+	}
+	
+	private boolean matchesStep(String step, String name) {
+		return "*".equals(step) || step.equals(name);
+	}
+	
+	private String getQualifiedName(XMLStreamReader reader) {
+		String prefix = reader.getPrefix();
+		if(prefix==null || prefix.isEmpty()) {
+			return reader.getLocalName();
+		} else {
+			return prefix + ":" + reader.getLocalName();
+		}
+	}
+	
+	/**
+	 * Creates a DOM element from the current start element and all its content. Names are not namespace aware, as in a DOM created by {@link #loadFromXML(File, String, DataSet)}.
+	 */
+	private Element readElement(XMLStreamReader reader, Document doc) throws XMLStreamException {
+		Element root = createElement(reader, doc);
+		doc.appendChild(root);
+		
+		Node current = root;
+		
+		while(current!=null) {
+			int event = reader.next();
+			
+			switch (event) {
+			case XMLStreamConstants.START_ELEMENT:
+				Element child = createElement(reader, doc);
+				current.appendChild(child);
+				current = child;
+				break;
+			case XMLStreamConstants.END_ELEMENT:
+				current = current == root ? null : current.getParentNode();
+				break;
+			case XMLStreamConstants.CHARACTERS:
+			case XMLStreamConstants.SPACE:
+				// the parser can report a text in several parts, but the DOM contains a single text node
+				Node last = current.getLastChild();
+				if(last!=null && last.getNodeType()==Node.TEXT_NODE) {
+					last.setNodeValue(last.getNodeValue() + reader.getText());
+				} else {
+					current.appendChild(doc.createTextNode(reader.getText()));
+				}
+				break;
+			case XMLStreamConstants.CDATA:
+				current.appendChild(doc.createCDATASection(reader.getText()));
+				break;
+			case XMLStreamConstants.COMMENT:
+				current.appendChild(doc.createComment(reader.getText()));
+				break;
+			case XMLStreamConstants.PROCESSING_INSTRUCTION:
+				current.appendChild(doc.createProcessingInstruction(reader.getPITarget(), reader.getPIData()));
+				break;
+			default:
+				break;
+			}
+		}
+		
+		return root;
+	}
+	
+	private Element createElement(XMLStreamReader reader, Document doc) {
+		Element element = doc.createElement(getQualifiedName(reader));
+		
+		for(int i = 0; i < reader.getNamespaceCount(); i++) {
+			String prefix = reader.getNamespacePrefix(i);
+			element.setAttribute(prefix==null || prefix.isEmpty() ? "xmlns" : "xmlns:" + prefix, reader.getNamespaceURI(i));
+		}
+		
+		for(int i = 0; i < reader.getAttributeCount(); i++) {
+			String prefix = reader.getAttributePrefix(i);
+			String name = prefix==null || prefix.isEmpty() ? reader.getAttributeLocalName(i) : prefix + ":" + reader.getAttributeLocalName(i);
+			element.setAttribute(name, reader.getAttributeValue(i));
+		}
+		
+		return element;
+	}
+	
+	/**
+	 * Creates the records for all nodes in the batch (in parallel if the batch contains more than one node) and adds them to the dataset in the order of the batch.
+	 */
+	private void createRecords(List<Node> batch, String provenanceInfo, DataSet<RecordType, SchemaElementType> dataset) {
+		List<RecordType> records = new ArrayList<>(batch.size());
+		
+		if(batch.size()>1) {
+			for(int i = 0; i < batch.size(); i++) {
+				records.add(null);
+			}
+			
+			try {
+				Parallel.forLoop(0, batch.size(), (i) -> records.set(i, createModelFromElement(batch.get(i), provenanceInfo)));
+			} catch(RuntimeException e) {
+				throw e;
+			} catch(Exception e) {
+				throw new RuntimeException(e);
+			}
+		} else {
+			for(Node node : batch) {
+				records.add(createModelFromElement(node, provenanceInfo));
+			}
+		}
+		
+		for(int i = 0; i < batch.size(); i++) {
+			RecordType record = records.get(i);
+			
+			if (record != null) {
+				// add it to the data set
+				dataset.add(record);
+			} else {
+				logger.info(String.format(
+						"Could not generate entry for %s", batch.get(i)
+								.getTextContent()));
+			}
+		}
+	}
 }
@@ -0,0 +1,332 @@
+/*
+ * Copyright (c) 2017 Data and Web Science Group, University of Mannheim, Germany (http://dws.informatik.uni-mannheim.de/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package de.uni_mannheim.informatik.dws.winter.preprocessing.datatypes;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import de.uni_mannheim.informatik.dws.winter.model.Pair;
+
+/**
+ * Recognises the date format of a string in a single pass without using regular expressions or exceptions.
+ *
+ * The string is split into runs of digits, runs of letters and single other characters. The sequence of these tokens (the signature) selects the candidate formats,
+ * which are then checked for the lengths of the runs. The formats are created from the simple regular expressions used by {@link DateJavaTime},
+ * which may only consist of \d, [a-z] (with quantifiers), \s and literal characters. The first matching format (in the order of the input) is returned.
+ *
+ * @author Oliver Lehmberg (oli@dwslab.de)
+ *
+ */
+public class DateFormatRecognizer {
+
+	private static final char DIGITS = 'd';
+	private static final char LETTERS = 'a';
+	private static final char WHITESPACE = ' ';
+
+	/**
+	 * A part of a format, which matches a single token
+	 */
+	private static class Element {
+		char type;
+		int min = 1;
+		int max = 1;
+		// the lower-case letter for literal letters
+		char letter;
+	}
+
+	private static class Template {
+		Element[] elements;
+		String format;
+		// the pattern field (i.e. 'MM') for each element or null if the format cannot be aligned with the elements
+		String[] fields;
+	}
+
+	/**
+	 * The result of {@link DateFormatRecognizer#recognize(String)}
+	 */
+	public static class RecognizedDate {
+		private String value;
+		private Template template;
+		private int[] tokens;
+
+		private RecognizedDate(String value, Template template, int[] tokens) {
+			this.value = value;
+			this.template = template;
+			this.tokens = tokens;
+		}
+
+		/**
+		 * @return the DateTimeFormatter pattern of the value
+		 */
+		public String getFormat() {
+			return template.format;
+		}
+
+		/**
+		 * Returns the numeric value of a pattern field, i.e., getValue('M') returns the month if the format contains 'MM' or 'M'.
+		 *
+		 * @param patternLetter	the pattern letter of the field
+		 * @return the value or -1 if the format does not contain the field as a number
+		 */
+		public int getValue(char patternLetter) {
+			if(template.fields!=null) {
+				for(int i = 0; i < template.fields.length; i++) {
+					String field = template.fields[i];
+					if(field!=null && field.charAt(0)==patternLetter && template.elements[i].type==DIGITS) {
+						int result = 0;
+						for(int j = tokens[2*i]; j < tokens[2*i+1]; j++) {
+							result = result * 10 + (value.charAt(j) - '0');
+						}
+						return result;
+					}
+				}
+			}
+			return -1;
+		}
+	}
+
+	private Map<String, List<Template>> templatesBySignature = new HashMap<>();
+	private int maxTokens = 0;
+
+	/**
+	 * Creates a recogniser for the given formats.
+	 *
+	 * @param formats	pairs of case-insensitive regular expressions and the corresponding DateTimeFormatter pattern
+	 */
+	public DateFormatRecognizer(Collection<Pair<Pattern, String>> formats) {
+		for(Pair<Pattern, String> format : formats) {
+			Template t = new Template();
+			t.elements = compile(format.getFirst());
+			t.format = format.getSecond();
+			t.fields = align(t.elements, t.format);
+
+			StringBuilder signature = new StringBuilder(t.elements.length);
+			for(Element e : t.elements) {
+				signature.append(e.type);
+			}
+
+			List<Template> templates = templatesBySignature.get(signature.toString());
+			if(templates==null) {
+				templates = new ArrayList<>();
+				templatesBySignature.put(signature.toString(), templates);
+			}
+			templates.add(t);
+			maxTokens = Math.max(maxTokens, t.elements.length);
+		}
+	}
+
+	/**
+	 * Determines the format of the given value.
+	 *
+	 * @param value	the value
+	 * @return the recognised date or null if the format is unknown
+	 */
+	public RecognizedDate recognize(String value) {
+		if(value==null || value.isEmpty()) {
+			return null;
+		}
+
+		// start and end index of each token
+		int[] tokens = new int[2 * Math.min(value.length(), maxTokens)];
+		StringBuilder signature = new StringBuilder(maxTokens);
+		char last = 0;
+
+		for(int i = 0; i < value.length(); i++) {
+			char type = getType(value.charAt(i));
+
+			if((type==DIGITS || type==LETTERS) && type==last) {
+				// extend the current run
+				tokens[2*(signature.length()-1)+1] = i+1;
+			} else {
+				if(signature.length()==maxTokens) {
+					// more tokens than any known format
+					return null;
+				}
+				tokens[2*signature.length()] = i;
+				tokens[2*signature.length()+1] = i+1;
+				signature.append(type);
+			}
+
+			last = type;
+		}
+
+		List<Template> templates = templatesBySignature.get(signature.toString());
+
+		if(templates!=null) {
+			for(Template t : templates) {
+				if(matches(value, t, tokens)) {
+					return new RecognizedDate(value, t, tokens);
+				}
+			}
+		}
+
+		return null;
+	}
+
+	private boolean matches(String value, Template t, int[] tokens) {
+		for(int i = 0; i < t.elements.length; i++) {
+			Element e = t.elements[i];
+			int length = tokens[2*i+1] - tokens[2*i];
+
+			if(length<e.min || length>e.max) {
+				return false;
+			}
+			if(e.letter!=0 && Character.toLowerCase(value.charAt(tokens[2*i]))!=e.letter) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static char getType(char c) {
+		if(c>='0' && c<='9') {
+			return DIGITS;
+		} else if((c>='a' && c<='z') || (c>='A' && c<='Z')) {
+			return LETTERS;
+		} else if(c==' ' || c=='\t' || c=='\n' || c=='\u000B' || c=='\f' || c=='\r') {
+			// the characters matched by \s
+			return WHITESPACE;
+		} else {
+			return c;
+		}
+	}
+
+	private static Element[] compile(Pattern pattern) {
+		String p = pattern.pattern();
+
+		if((pattern.flags() & Pattern.CASE_INSENSITIVE)==0) {
+			throw new IllegalArgumentException(String.format("Pattern '%s' is not case-insensitive", p));
+		}
+
+		List<Element> elements = new ArrayList<>();
+		int i = p.startsWith("^") ? 1 : 0;
+
+		while(i < p.length()) {
+			char c = p.charAt(i);
+			Element e = new Element();
+
+			if(c=='$' && i==p.length()-1) {
+				break;
+			} else if(c=='\\' && i+1 < p.length()) {
+				char escaped = p.charAt(i+1);
+				i += 2;
+				if(escaped=='d') {
+					e.type = DIGITS;
+				} else if(escaped=='s') {
+					e.type = WHITESPACE;
+				} else if(getType(escaped)==escaped) {
+					e.type = escaped;
+				} else {
+					throw new IllegalArgumentException(String.format("Unsupported escape sequence in pattern '%s'", p));
+				}
+			} else if(p.startsWith("[a-z]", i)) {
+				e.type = LETTERS;
+				i += 5;
+			} else if("()[]{}|?*+.".indexOf(c)>=0 || getType(c)==WHITESPACE) {
+				throw new IllegalArgumentException(String.format("Unsupported pattern '%s'", p));
+			} else {
+				e.type = getType(c);
+				if(e.type==LETTERS) {
+					e.letter = Character.toLowerCase(c);
+				}
+				i++;
+			}
+
+			// quantifier for character classes
+			if(e.letter==0 && (e.type==DIGITS || e.type==LETTERS) && i < p.length() && p.charAt(i)=='{') {
+				int end = p.indexOf('}', i);
+				String[] bounds = p.substring(i+1, end).split(",", -1);
+				e.min = Integer.parseInt(bounds[0]);
+				if(bounds.length==1) {
+					e.max = e.min;
+				} else if(bounds[1].isEmpty()) {
+					e.max = Integer.MAX_VALUE;
+				} else {
+					e.max = Integer.parseInt(bounds[1]);
+				}
+				i = end + 1;
+			}
+
+			if(!elements.isEmpty()) {
+				Element previous = elements.get(elements.size()-1);
+				if((e.type==DIGITS || e.type==LETTERS) && previous.type==e.type) {
+					throw new IllegalArgumentException(String.format("Adjacent character classes are not supported in pattern '%s'", p));
+				}
+			}
+
+			elements.add(e);
+		}
+
+		return elements.toArray(new Element[elements.size()]);
+	}
+
+	/**
+	 * Assigns the fields of the DateTimeFormatter pattern to the elements of the template.
+	 *
+	 * @return the field for each element or null if the format does not align with the elements
+	 */
+	private static String[] align(Element[] elements, String format) {
+		String[] fields = new String[elements.length];
+		int element = 0;
+		int i = 0;
+
+		while(i < format.length()) {
+			char c = format.charAt(i);
+			boolean isField = false;
+			int end = i + 1;
+
+			if(c=='\'') {
+				// quoted literal
+				end = format.indexOf('\'', i + 1);
+				if(end<0) {
+					return null;
+				}
+				for(int j = i + 1; j < Math.max(end, i + 2); j++) {
+					if(element>=elements.length || (elements[element].letter==0 && (elements[element].type==DIGITS || elements[element].type==LETTERS))) {
+						return null;
+					}
+					element++;
+				}
+				end++;
+			} else if((c>='a' && c<='z') || (c>='A' && c<='Z')) {
+				isField = true;
+				while(end < format.length() && format.charAt(end)==c) {
+					end++;
+				}
+			}
+
+			if(isField) {
+				if(c=='X' && end==format.length()) {
+					// the zone offset consists of multiple tokens
+					return fields;
+				}
+				if(element>=elements.length || elements[element].letter!=0 || (elements[element].type!=DIGITS && elements[element].type!=LETTERS)) {
+					return null;
+				}
+				fields[element++] = format.substring(i, end);
+			} else if(c!='\'') {
+				if(element>=elements.length || elements[element].type==DIGITS || (elements[element].type==LETTERS && elements[element].letter==0)) {
+					return null;
+				}
+				element++;
+			}
+
+			i = end;
+		}
+
+		return element==elements.length ? fields : null;
+	}
+}
@@ -21,9 +21,12 @@ import java.time.temporal.ChronoField;
 import java.util.Collection;
 import java.util.LinkedList;
 import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
 
 import de.uni_mannheim.informatik.dws.winter.model.Pair;
+import de.uni_mannheim.informatik.dws.winter.preprocessing.datatypes.DateFormatRecognizer.RecognizedDate;
 
 /**
  * @author Alexander Brinkmann (albrinkm@mail.uni-mannheim.de)
@@ -144,6 +147,12 @@ public class DateJavaTime {
 		// put("^\\d{2}$", "yy");
 	}
 
+	// determines the format without evaluating the regular expressions one after another
+	private static final DateFormatRecognizer DATE_FORMAT_RECOGNIZER = new DateFormatRecognizer(DATE_FORMAT_REGEXPS);
+
+	// DateTimeFormatter is immutable, so the formatters can be shared among threads
+	private static final Map<String, DateTimeFormatter> FORMATTERS = new ConcurrentHashMap<>();
+
 	/**
 	 * Parse the given date string to date object and return a localDateTime
 	 * instance based on the given date string. This makes use of the
@@ -164,54 +173,168 @@ public class DateJavaTime {
 			return null;
 		}
 		// check Double
-		try {
-			double possibleHeight = Double.parseDouble(dateString);
-			if (possibleHeight > 1.5 && possibleHeight < 2.5) {
-				return null;
+		if (isNumber(dateString)) {
+			try {
+				double possibleHeight = Double.parseDouble(dateString);
+				if (possibleHeight > 1.5 && possibleHeight < 2.5) {
+					return null;
+				}
+			} catch (Exception e) {
 			}
-		} catch (Exception e) {
 		}
 		// simple parse
-		try {
-			return LocalDateTime.parse(dateString);
+		if (isIsoLocalDateTime(dateString)) {
+			try {
+				return LocalDateTime.parse(dateString);
+			} catch (DateTimeParseException e) {
+			}
+		}
 
-		} catch (DateTimeParseException e) {
+		// detect pattern and parse
+		RecognizedDate recognized = DATE_FORMAT_RECOGNIZER.recognize(dateString);
+		if (recognized == null) {
+			throw new ParseException("Unknown date format.", 0);
+			// return null;
+		}
+		String dateFormat = recognized.getFormat();
+		if (dateString.contains("-##")) {
+			dateString = dateString.replace("-##", "");
+		}
+		LocalDateTime d = null;
+		// if (dateFormat.equals("MM/dd/yyyy"))
+		if (dateFormat.contains("MM") && dateFormat.contains("dd")) {
+			String util = dateFormat.replace("MM", "XX");
+			util = util.replace("dd", "MM");
+			util = util.replace("XX", "dd");
 
-			// detect pattern and parse
-			String dateFormat = determineDateFormat(dateString);
-			if (dateFormat == null) {
-				throw new ParseException("Unknown date format.", 0);
-				// return null;
+			// if the month is known to be invalid, directly try the swapped format
+			int month = recognized.getValue('M');
+			if (month == 0 || month > 12) {
+				d = tryParse(dateString, util);
+			} else {
+				d = tryParse(dateString, dateFormat);
+				if (d == null) {
+					d = tryParse(dateString, util);
+				}
 			}
-			if (dateString.contains("-##")) {
-				dateString = dateString.replace("-##", "");
+			return d;
+		}
+		d = tryParse(dateString, dateFormat);
+
+		if (d != null && (d.getYear() < 0 || d.getYear() > 2100)) {
+			return null;
+		}
+		return d;
+	}
+
+	private static LocalDateTime tryParse(String dateString, String dateFormat) {
+		try {
+			return parse(dateString, dateFormat);
+		} catch (Exception e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Checks if the value can be parsed by Double.parseDouble (decimal notation only)
+	 */
+	private static boolean isNumber(String value) {
+		String s = value.trim();
+		int i = 0;
+		if (i < s.length() && (s.charAt(i) == '+' || s.charAt(i) == '-')) {
+			i++;
+		}
+		if (s.startsWith("0x", i) || s.startsWith("0X", i)) {
+			// hexadecimal notation, let Double.parseDouble decide
+			return true;
+		}
+		int digits = 0;
+		boolean point = false;
+		for (; i < s.length(); i++) {
+			char c = s.charAt(i);
+			if (c >= '0' && c <= '9') {
+				digits++;
+			} else if (c == '.' && !point) {
+				point = true;
+			} else {
+				break;
 			}
-			LocalDateTime d = null;
-			// if (dateFormat.equals("MM/dd/yyyy"))
-			if (dateFormat.contains("MM") && dateFormat.contains("dd")) {
-				try {
-					d = parse(dateString, dateFormat);
-				} catch (Exception e1) {
-					String util = dateFormat.replace("MM", "XX");
-					util = util.replace("dd", "MM");
-					util = util.replace("XX", "dd");
-					try {
-						d = parse(dateString, util);
-					} catch (Exception e2) {
-					}
-				}
-				return d;
+		}
+		if (digits == 0) {
+			return false;
+		}
+		if (i < s.length() && (s.charAt(i) == 'e' || s.charAt(i) == 'E')) {
+			i++;
+			if (i < s.length() && (s.charAt(i) == '+' || s.charAt(i) == '-')) {
+				i++;
 			}
-			try {
-				d = parse(dateString, dateFormat);
-			} catch (Exception e3) {
+			int exponentDigits = 0;
+			while (i < s.length() && s.charAt(i) >= '0' && s.charAt(i) <= '9') {
+				i++;
+				exponentDigits++;
+			}
+			if (exponentDigits == 0) {
+				return false;
 			}
+		}
+		if (i < s.length() && "fFdD".indexOf(s.charAt(i)) >= 0) {
+			i++;
+		}
+		return i == s.length();
+	}
 
-			if (d != null && (d.getYear() < 0 || d.getYear() > 2100)) {
-				return null;
+	/**
+	 * Checks if the value has the structure of {@link DateTimeFormatter#ISO_LOCAL_DATE_TIME}, i.e., 2017-07-14T13:12:53.167
+	 */
+	private static boolean isIsoLocalDateTime(String value) {
+		int i = 0;
+		if (i < value.length() && (value.charAt(i) == '+' || value.charAt(i) == '-')) {
+			i++;
+		}
+		int start = i;
+		while (i < value.length() && Character.isDigit(value.charAt(i))) {
+			i++;
+		}
+		if (i - start < 4) {
+			return false;
+		}
+		i = skipField(value, i, '-', 2);
+		i = skipField(value, i, '-', 2);
+		i = skipField(value, i, 'T', 2);
+		i = skipField(value, i, ':', 2);
+		if (i == value.length()) {
+			return true;
+		}
+		i = skipField(value, i, ':', 2);
+		if (i == value.length()) {
+			return true;
+		}
+		if (i < 0 || value.charAt(i) != '.') {
+			return false;
+		}
+		for (i++; i < value.length(); i++) {
+			if (!Character.isDigit(value.charAt(i))) {
+				return false;
 			}
-			return d;
 		}
+		return true;
+	}
+
+	/**
+	 * Checks for the separator followed by the given number of digits
+	 * 
+	 * @return the index after the digits or -1 if the value does not match
+	 */
+	private static int skipField(String value, int i, char separator, int digits) {
+		if (i < 0 || i + digits >= value.length() || Character.toUpperCase(value.charAt(i)) != separator) {
+			return -1;
+		}
+		for (int j = i + 1; j <= i + digits; j++) {
+			if (!Character.isDigit(value.charAt(j))) {
+				return -1;
+			}
+		}
+		return i + digits + 1;
 	}
 
 	/**
@@ -230,13 +353,13 @@ public class DateJavaTime {
 	 * @see SimpleDateFormat
 	 */
 	public static LocalDateTime parse(String dateString, String dateFormat) throws ParseException {
-		DateTimeFormatter formatter = new DateTimeFormatterBuilder()
+		DateTimeFormatter formatter = FORMATTERS.computeIfAbsent(dateFormat, (format) -> new DateTimeFormatterBuilder()
 				.parseCaseInsensitive()
-				.appendPattern(dateFormat)
+				.appendPattern(format)
 				.parseDefaulting(ChronoField.YEAR_OF_ERA, 1).parseDefaulting(ChronoField.MONTH_OF_YEAR, 1)
 				.parseDefaulting(ChronoField.DAY_OF_MONTH, 1).parseDefaulting(ChronoField.CLOCK_HOUR_OF_DAY, 0)
 				.parseDefaulting(ChronoField.MINUTE_OF_HOUR, 0).parseDefaulting(ChronoField.SECOND_OF_MINUTE, 0)
-				.toFormatter(Locale.ENGLISH);
+				.toFormatter(Locale.ENGLISH));
 
 		return LocalDateTime.parse(dateString, formatter);
 	}
@@ -255,10 +378,9 @@ public class DateJavaTime {
 	 * @see SimpleDateFormat
 	 */
 	public static String determineDateFormat(String dateString) {
-		for (Pair<Pattern,String> regexp : DATE_FORMAT_REGEXPS) {
-			if (regexp.getFirst().matcher(dateString).matches()) {
-				return regexp.getSecond();
-			}
+		RecognizedDate recognized = DATE_FORMAT_RECOGNIZER.recognize(dateString);
+		if (recognized != null) {
+			return recognized.getFormat();
 		}
 		return null; // Unknown format.
 	}
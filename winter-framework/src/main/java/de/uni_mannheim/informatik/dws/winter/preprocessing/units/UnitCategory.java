@@ -1,12 +1,17 @@
 package de.uni_mannheim.informatik.dws.winter.preprocessing.units;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class UnitCategory {
 
     private String name;
     private List<Unit> units = new ArrayList<>();
+    // maps the names and abbreviations to the position of the first unit that uses them
+    private volatile Map<String, Integer> lookup;
+    private volatile int lookupSize = -1;
     
     public UnitCategory(String name){
     	this.name = name;
@@ -37,6 +42,7 @@ public class UnitCategory {
 	 */
 	public void setUnits(List<Unit> units) {
 		this.units = units;
+		this.lookupSize = -1;
 	}
 	
 	/**
@@ -45,5 +51,57 @@ public class UnitCategory {
 	 */
 	public void addUnit(Unit unit) {
 		this.units.add(unit);
+		this.lookupSize = -1;
+	}
+
+	/**
+	 * Returns the first unit of this category with the given name or abbreviation.
+	 * 
+	 * @param nameOrAbbreviation the (lower case) name or abbreviation
+	 * @return the unit or null if no unit has this name or abbreviation
+	 */
+	public Unit getUnit(String nameOrAbbreviation) {
+		int index = getUnitIndex(nameOrAbbreviation);
+		return index == -1 ? null : units.get(index);
+	}
+
+	/**
+	 * @param nameOrAbbreviation the (lower case) name or abbreviation
+	 * @return the position of the first unit with the given name or abbreviation or -1
+	 */
+	int getUnitIndex(String nameOrAbbreviation) {
+		// the size is written after the map, so it must be read first
+		int size = lookupSize;
+		Map<String, Integer> map = lookup;
+
+		// the lookup is re-created if units were added to the list
+		if (map == null || size != units.size()) {
+			map = createLookup();
+		}
+
+		Integer index = map.get(nameOrAbbreviation);
+		return index == null ? -1 : index;
+	}
+
+	private Map<String, Integer> createLookup() {
+		List<Unit> snapshot = units;
+		int size = snapshot.size();
+		Map<String, Integer> map = new HashMap<>();
+
+		for (int i = 0; i < size; i++) {
+			Unit unit = snapshot.get(i);
+			if (unit.getName() != null) {
+				map.putIfAbsent(unit.getName(), i);
+			}
+			if (unit.getAbbreviations() != null) {
+				for (String abbreviation : unit.getAbbreviations()) {
+					map.putIfAbsent(abbreviation, i);
+				}
+			}
+		}
+
+		lookup = map;
+		lookupSize = size;
+		return map;
 	}
 }
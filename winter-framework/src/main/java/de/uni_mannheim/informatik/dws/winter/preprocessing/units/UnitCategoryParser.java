@@ -36,9 +36,11 @@ import java.text.NumberFormat;
 import java.text.ParseException;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -58,6 +60,10 @@ public class UnitCategoryParser {
 
 	private static final Logger logger = WinterLogManager.getLogger();
 
+	// maps the quantity abbreviations to the position of the first quantity that uses them
+	private static volatile Map<String, Integer> quantityLookup;
+	private static volatile int quantityLookupSize = -1;
+
 	/**
 	 * @return the unit categories
 	 */
@@ -93,22 +99,49 @@ public class UnitCategoryParser {
 		return null;
 	}
 
+	/**
+	 * @param abbreviation
+	 *            the (lower case) abbreviation
+	 * @return the position of the first quantity with the abbreviation or -1
+	 */
+	private static int getQuantityIndex(String abbreviation) {
+		// the size is written after the map, so it must be read first
+		int size = quantityLookupSize;
+		Map<String, Integer> lookup = quantityLookup;
+
+		if (lookup == null || size != quantities.size()) {
+			List<Quantity> snapshot = quantities;
+			size = snapshot.size();
+			lookup = new HashMap<>();
+			for (int i = 0; i < size; i++) {
+				for (String abbr : snapshot.get(i).getAbbreviations()) {
+					lookup.putIfAbsent(abbr, i);
+				}
+			}
+			quantityLookup = lookup;
+			quantityLookupSize = size;
+		}
+
+		Integer index = lookup.get(abbreviation);
+		return index == null ? -1 : index;
+	}
+
 	public static Double transform(String value, Unit unit, Quantity quantity) throws ParseException {
 
 		String reducedValue = value;
 		// Remove quantity description
 		if (quantity != null) {
-			reducedValue = value.replace(quantity.getName(), "");
+			reducedValue = removeAll(value, quantity.getName());
 			for (String abbr : quantity.getAbbreviations()) {
-				reducedValue = reducedValue.replace(abbr, "");
+				reducedValue = removeAll(reducedValue, abbr);
 			}
 		}
 
 		// Remove unit description
 		if (unit != null) {
-			reducedValue = value.replace(unit.getName(), "");
+			reducedValue = removeAll(value, unit.getName());
 			for (String abbr : unit.getAbbreviations()) {
-				reducedValue = reducedValue.replace(abbr, "");
+				reducedValue = removeAll(reducedValue, abbr);
 			}
 		}
 
@@ -127,37 +160,58 @@ public class UnitCategoryParser {
 
 	public static Unit checkUnit(String value, UnitCategory unitCategory) {
 		if (unitCategory != null) {
-			Quantity quantity = checkQuantity(value);
+			String nonNumberPart = getUnitPart(value);
 
-			if (quantity != null) {
-				try {
-					value = transformQuantity(value, quantity);
-				} catch (ParseException e) {
-					logger.trace("Could not transform " + value + "!");
-					return null;
-				}
+			if (nonNumberPart != null) {
+				return unitCategory.getUnit(nonNumberPart);
 			}
+		}
+		return null;
+	}
 
-			for (Unit unit : unitCategory.getUnits()) {
-				String nonNumberPart = value.replaceAll("^[0-9\\,\\.\\-Ee\\+]*", "");
-				nonNumberPart = nonNumberPart.trim();
-				if (nonNumberPart.toLowerCase().equals(unit.getName())
-						|| unit.getAbbreviations().contains(nonNumberPart.toLowerCase())) {
-					return unit;
-				}
+	/**
+	 * Removes the number and the quantity (if any) from the value.
+	 * 
+	 * @param value
+	 *            the value
+	 * @return the remaining part of the value in lower case, which can be
+	 *         compared to the unit names and abbreviations, or null if the
+	 *         value contains a quantity but no number
+	 */
+	private static String getUnitPart(String value) {
+		Quantity quantity = checkQuantity(value);
+
+		if (quantity != null) {
+			String reducedValue = removeNonNumericCharacters(value);
+			double transformedValue;
+			try {
+				transformedValue = normalizeNumeric(reducedValue) * quantity.getFactor();
+			} catch (ParseException e) {
+				logger.trace("Could not transform " + value + "!");
+				return null;
+			}
+
+			value = removeAll(value, quantity.getName());
+			value = removeAll(value, reducedValue);
+
+			// the transformed number consists of numeric characters only,
+			// unless it is infinite or NaN
+			if (Double.isInfinite(transformedValue) || Double.isNaN(transformedValue)) {
+				value = transformedValue + value;
 			}
 		}
-		return null;
+
+		return removeNumericPrefix(value).trim().toLowerCase();
 	}
 
 	public static String transformQuantity(String value, Quantity quantity) throws ParseException {
-		String reducedValue = value.replaceAll("[^0-9\\,\\.\\-Ee\\+]", "");
+		String reducedValue = removeNonNumericCharacters(value);
 
 		Double valueBeforeTransformation = normalizeNumeric(reducedValue);
 		Double transformedValue = valueBeforeTransformation * quantity.getFactor();
 
-		value = value.replaceAll(quantity.getName(), "");
-		value = value.replaceAll(reducedValue, "");
+		value = removeAll(value, quantity.getName());
+		value = removeAll(value, reducedValue);
 
 		value = transformedValue + value;
 
@@ -165,24 +219,33 @@ public class UnitCategoryParser {
 	}
 
 	public static Quantity checkQuantity(String value) {
-		for (Quantity quantity : quantities) {
+		String nonNumberPart = removeNumericCharacters(value).trim().toLowerCase();
+
+		List<Quantity> quantities = UnitCategoryParser.quantities;
+		int index = getQuantityIndex(nonNumberPart);
 
-			String nonNumberPart = value.replaceAll("[0-9\\,\\.\\-Ee\\+]", "");
-			nonNumberPart = nonNumberPart.trim();
-			if (nonNumberPart.toLowerCase().contains(quantity.getName())
-					|| quantity.getAbbreviations().contains(nonNumberPart.toLowerCase())) {
+		// a quantity with a lower position can still match if its name is contained in the value
+		int end = index == -1 ? quantities.size() : index;
+		for (int i = 0; i < end; i++) {
+			Quantity quantity = quantities.get(i);
+			if (nonNumberPart.contains(quantity.getName())) {
 				return quantity;
 			}
 		}
-		return null;
+
+		return index == -1 ? null : quantities.get(index);
 	}
 
 	public static UnitCategory checkUnitCategory(String value) {
 
-		for (UnitCategory category : categories) {
-			Unit unit = checkUnit(value, category);
-			if (unit != null) {
-				return unit.getUnitCategory();
+		String nonNumberPart = getUnitPart(value);
+
+		if (nonNumberPart != null) {
+			for (UnitCategory category : categories) {
+				Unit unit = category.getUnit(nonNumberPart);
+				if (unit != null) {
+					return unit.getUnitCategory();
+				}
 			}
 		}
 
@@ -190,28 +253,157 @@ public class UnitCategoryParser {
 
 	}
 
+	/**
+	 * Parses the numeric characters of the value in the same way as
+	 * {@link NumberFormat#parse(String)} with {@link Locale#US}: all other
+	 * characters are removed and the longest prefix that forms a number (with
+	 * grouping separators, decimal point and exponent) is parsed.
+	 * 
+	 * @param value
+	 *            the value
+	 * @return the parsed number
+	 * @throws ParseException
+	 *             if the numeric characters do not start with a number
+	 */
 	public static Double normalizeNumeric(String value) throws ParseException {
-		String reducedValue = value.replaceAll("[^0-9\\,\\.\\-Ee\\+]", "");
+		String reducedValue = removeNonNumericCharacters(value);
+
+		// the digits without grouping separators, which are parsed by Double.parseDouble
+		StringBuilder number = new StringBuilder(reducedValue.length() + 1);
+		int position = 0;
+		int length = reducedValue.length();
+		boolean sawDigit = false;
+		boolean sawDecimal = false;
+
+		if (position < length && reducedValue.charAt(position) == '-') {
+			number.append('-');
+			position++;
+		}
 
-		NumberFormat format = NumberFormat.getInstance(Locale.US);
-		Number number = format.parse(reducedValue);
-		return number.doubleValue();
+		while (position < length) {
+			char c = reducedValue.charAt(position);
+
+			if (c >= '0' && c <= '9') {
+				number.append(c);
+				sawDigit = true;
+			} else if (c == ',' && !sawDecimal) {
+				// grouping separator
+			} else if (c == '.' && !sawDecimal) {
+				number.append(c);
+				sawDecimal = true;
+			} else if (c == 'E') {
+				// the exponent is only used if it has at least one digit
+				int exponentEnd = position + 1;
+				if (exponentEnd < length && reducedValue.charAt(exponentEnd) == '-') {
+					exponentEnd++;
+				}
+				int digitsStart = exponentEnd;
+				while (exponentEnd < length && Character.isDigit(reducedValue.charAt(exponentEnd))) {
+					exponentEnd++;
+				}
+				if (exponentEnd > digitsStart && exponentEnd - digitsStart <= 18) {
+					number.append(reducedValue, position, exponentEnd);
+				}
+				break;
+			} else {
+				break;
+			}
+
+			position++;
+		}
+
+		if (!sawDigit) {
+			throw new ParseException("Unparseable number: \"" + reducedValue + "\"", 0);
+		}
+
+		return Double.parseDouble(number.toString());
+	}
+
+	/**
+	 * Characters that can be part of a number: digits, grouping separators,
+	 * decimal point, sign and exponent.
+	 */
+	private static boolean isNumericCharacter(char c) {
+		return (c >= '0' && c <= '9') || c == ',' || c == '.' || c == '-' || c == 'E' || c == 'e' || c == '+';
+	}
+
+	private static String removeNumericPrefix(String value) {
+		int i = 0;
+		while (i < value.length() && isNumericCharacter(value.charAt(i))) {
+			i++;
+		}
+		return value.substring(i);
+	}
+
+	private static String removeNumericCharacters(String value) {
+		StringBuilder sb = new StringBuilder(value.length());
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			if (!isNumericCharacter(c)) {
+				sb.append(c);
+			}
+		}
+		return sb.toString();
+	}
+
+	private static String removeNonNumericCharacters(String value) {
+		StringBuilder sb = new StringBuilder(value.length());
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			if (isNumericCharacter(c)) {
+				sb.append(c);
+			}
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Removes all occurrences of part from value, like
+	 * {@link String#replace(CharSequence, CharSequence)} but without creating
+	 * a pattern.
+	 */
+	private static String removeAll(String value, String part) {
+		if (part.isEmpty()) {
+			return value;
+		}
+
+		int index = value.indexOf(part);
+		if (index == -1) {
+			return value;
+		}
+
+		StringBuilder sb = new StringBuilder(value.length());
+		int start = 0;
+		while (index != -1) {
+			sb.append(value, start, index);
+			start = index + part.length();
+			index = value.indexOf(part, start);
+		}
+		sb.append(value, start, value.length());
+		return sb.toString();
 	}
 
 	private static Pattern unitInHeaderPattern = Pattern.compile(".*\\((.*)\\).*");
 	private static Pattern dotPattern = Pattern.compile("\\.");
 
 	public static Unit parseUnitFromHeader(String header) {
+		if (header.isEmpty()) {
+			return null;
+		}
+
 		String unitName = extractUnitAbbrFromHeader(header).toLowerCase();
+		String lowerCaseHeader = header.toLowerCase();
 
 		for (UnitCategory category : categories) {
-			for (Unit unit : category.getUnits()) {
-				if (!header.isEmpty()) {
-					if (header.toLowerCase().equals(unit.getName())
-							|| unit.getAbbreviations().contains(header.toLowerCase()) || unitName.equals(unit.getName())
-							|| unit.getAbbreviations().contains(unitName)) {
-						return unit;
-					}
+			// the first unit of the category that matches either the header or the extracted unit
+			int headerIndex = category.getUnitIndex(lowerCaseHeader);
+			int unitIndex = category.getUnitIndex(unitName);
+
+			if (headerIndex != -1 || unitIndex != -1) {
+				if (headerIndex == -1 || (unitIndex != -1 && unitIndex < headerIndex)) {
+					return category.getUnits().get(unitIndex);
+				} else {
+					return category.getUnits().get(headerIndex);
 				}
 			}
 		}
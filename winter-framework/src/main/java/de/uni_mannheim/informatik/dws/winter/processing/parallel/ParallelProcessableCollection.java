@@ -12,11 +12,10 @@
 package de.uni_mannheim.informatik.dws.winter.processing.parallel;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.HashMap;
-import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentLinkedQueue;
@@ -48,6 +47,24 @@ import de.uni_mannheim.informatik.dws.winter.utils.query.Q;
 public class ParallelProcessableCollection<RecordType> extends ProcessableCollection<RecordType> {
 	
 	private static final long serialVersionUID = 1L;
+	
+	private int numberOfThreads = 0;
+	
+	/**
+	 * @return the number of threads used to process this collection (0 means the default number of threads is used)
+	 */
+	public int getNumberOfThreads() {
+		return numberOfThreads;
+	}
+	
+	/**
+	 * Sets the number of threads that are used to process this collection. The setting is passed on to all collections which are created from this collection.
+	 * 
+	 * @param numberOfThreads	the number of threads (0 means the default number of threads is used)
+	 */
+	public void setNumberOfThreads(int numberOfThreads) {
+		this.numberOfThreads = numberOfThreads;
+	}
 
 	public ParallelProcessableCollection() {
 		super(new ConcurrentLinkedQueue<RecordType>());
@@ -66,7 +83,9 @@ public class ParallelProcessableCollection<RecordType> extends ProcessableCollec
 	 */
 	@Override
 	public  <OutputRecordType> Processable<OutputRecordType> createProcessable(OutputRecordType dummyForTypeInference) {
-		return new ParallelProcessableCollection<>();
+		ParallelProcessableCollection<OutputRecordType> result = new ParallelProcessableCollection<>();
+		result.setNumberOfThreads(numberOfThreads);
+		return result;
 	}
 	
 	/* (non-Javadoc)
@@ -75,7 +94,9 @@ public class ParallelProcessableCollection<RecordType> extends ProcessableCollec
 	@Override
 	public <OutputRecordType> Processable<OutputRecordType> createProcessableFromCollection(
 			Collection<OutputRecordType> data) {
-		return new ParallelProcessableCollection<>(data);
+		ParallelProcessableCollection<OutputRecordType> result = new ParallelProcessableCollection<>(data);
+		result.setNumberOfThreads(numberOfThreads);
+		return result;
 	}
 	
 	/* (non-Javadoc)
@@ -85,7 +106,7 @@ public class ParallelProcessableCollection<RecordType> extends ProcessableCollec
 	public void foreach(final DataIterator<RecordType> iterator) {
 		iterator.initialise();
 		
-		new Parallel<RecordType>().tryForeach(get(), new Consumer<RecordType>() {
+		new Parallel<RecordType>(numberOfThreads).tryForeach(get(), new Consumer<RecordType>() {
 
 			@Override
 			public void execute(RecordType parameter) {
@@ -97,28 +118,41 @@ public class ParallelProcessableCollection<RecordType> extends ProcessableCollec
 	
 	@Override
 	public void foreach(Action<RecordType> action) {
-		new Parallel<RecordType>().tryForeach(get(), (r)->action.execute(r));
+		new Parallel<RecordType>(numberOfThreads).tryForeach(get(), (r)->action.execute(r));
+	}
+	
+	/**
+	 * Copies all records into a single array, which is used as read-only snapshot by the parallel operations.
+	 * 
+	 * @return an array-backed list containing all records
+	 */
+	@SuppressWarnings("unchecked")
+	protected List<RecordType> toArrayList() {
+		return Arrays.asList((RecordType[])get().toArray());
 	}
 	
+	/**
+	 * Splits the records into contiguous index ranges of a single array. The partitions are views on this array, so no records are copied into per-partition lists.
+	 * 
+	 * @return the partitions
+	 */
 	public Collection<Collection<RecordType>> partitionRecords() {
+		List<RecordType> records = toArrayList();
+		
 		// create more partitions than available threads so we can compensate for partitions which create less workload than others (so no thread runs idle)
 		int numPartitions = (Runtime.getRuntime().availableProcessors() * 10);		
-		numPartitions = Math.min(size(), numPartitions);
-
-		List<Collection<RecordType>> partitions = new LinkedList<>();
-		for(int i = 0; i < numPartitions; i++) {
-			partitions.add(new LinkedList<>());
-		}
-		int pIdx = 0;
+		numPartitions = Math.min(records.size(), numPartitions);
 
-		Iterator<RecordType> it = get().iterator();
+		List<Collection<RecordType>> partitions = new ArrayList<>(numPartitions);
 		
-		while(it.hasNext()) {
-			partitions.get(pIdx++).add(it.next());
-			
-			if(pIdx==numPartitions) {
-				pIdx=0;
-			}
+		// distribute the remainder over the first partitions, so partition sizes differ by at most one
+		int partitionSize = numPartitions==0 ? 0 : records.size() / numPartitions;
+		int remainder = numPartitions==0 ? 0 : records.size() % numPartitions;
+		int from = 0;
+		for(int i = 0; i < numPartitions; i++) {
+			int to = from + partitionSize + (i < remainder ? 1 : 0);
+			partitions.add(records.subList(from, to));
+			from = to;
 		}
 		
 		return partitions;
@@ -135,7 +169,7 @@ public class ParallelProcessableCollection<RecordType> extends ProcessableCollec
 		
 		resultCollector.initialise();
 		
-		new Parallel<Collection<RecordType>>().tryForeach(partitionRecords(), new Consumer<Collection<RecordType>>() {
+		new Parallel<Collection<RecordType>>(numberOfThreads).tryForeach(partitionRecords(), new Consumer<Collection<RecordType>>() {
 
 			@Override
 			public void execute(Collection<RecordType> parameter) {
@@ -162,7 +196,7 @@ public class ParallelProcessableCollection<RecordType> extends ProcessableCollec
 		
 		groupCollector.initialise();
 		
-		new Parallel<Collection<RecordType>>().tryForeach(partitionRecords(), new Consumer<Collection<RecordType>>() {
+		new Parallel<Collection<RecordType>>(numberOfThreads).tryForeach(partitionRecords(), new Consumer<Collection<RecordType>>() {
 
 			@Override
 			public void execute(Collection<RecordType> parameter) {
@@ -190,7 +224,7 @@ public class ParallelProcessableCollection<RecordType> extends ProcessableCollec
 		aggregateCollector.setAggregator(aggregator);
 		aggregateCollector.initialise();
 		
-		new Parallel<Collection<RecordType>>().tryForeach(partitionRecords(), new Consumer<Collection<RecordType>>() {
+		new Parallel<Collection<RecordType>>(numberOfThreads).tryForeach(partitionRecords(), new Consumer<Collection<RecordType>>() {
 
 			@Override
 			public void execute(Collection<RecordType> parameter) {
@@ -263,7 +297,7 @@ public class ParallelProcessableCollection<RecordType> extends ProcessableCollec
 		collector.setResult(createProcessable((Pair<RecordType, RecordType>)null));
 		collector.initialise();
 		
-		List<Pair<List<RecordType>, Integer[]>> tasks = new LinkedList<>();
+		List<Pair<List<RecordType>, Integer[]>> tasks = new ArrayList<>();
 		int idx = 0;
 		for(List<RecordType> block : Q.sort(joinKeys.values(), new Comparator<List<RecordType>>() {
 
@@ -299,7 +333,7 @@ public class ParallelProcessableCollection<RecordType> extends ProcessableCollec
 			}
 		}
 		
-		new Parallel<Pair<List<RecordType>, Integer[]>>().tryForeach(tasks, new Consumer<Pair<List<RecordType>, Integer[]>>() {
+		new Parallel<Pair<List<RecordType>, Integer[]>>(numberOfThreads).tryForeach(tasks, new Consumer<Pair<List<RecordType>, Integer[]>>() {
 
 			@Override
 			public void execute(Pair<List<RecordType>, Integer[]> task) {
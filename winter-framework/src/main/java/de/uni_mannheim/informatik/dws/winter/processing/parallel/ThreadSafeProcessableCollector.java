@@ -1,5 +1,7 @@
 package de.uni_mannheim.informatik.dws.winter.processing.parallel;
 
+import java.util.ArrayList;
+
 import de.uni_mannheim.informatik.dws.winter.processing.Processable;
 import de.uni_mannheim.informatik.dws.winter.processing.ProcessableCollection;
 import de.uni_mannheim.informatik.dws.winter.processing.ProcessableCollector;
@@ -15,7 +17,7 @@ public class ThreadSafeProcessableCollector<RecordType> extends ProcessableColle
 	public void initialise() {
 		super.initialise();
 		
-		intermediateResults = new ThreadBoundObject<>((t)->new ProcessableCollection<>());
+		intermediateResults = new ThreadBoundObject<>((t)->new ProcessableCollection<>(new ArrayList<>()));
 	}
 	
 	@Override
@@ -31,8 +33,9 @@ public class ThreadSafeProcessableCollector<RecordType> extends ProcessableColle
 	public void finalise() {
 		Processable<RecordType> result = getResult();
 		
+		// add all partial results to the existing result instead of creating a new copy for every partial result
 		for(Processable<RecordType> partialResult : intermediateResults.getAll()) {
-			result = result.append(partialResult);
+			result.addAll(partialResult.get());
 		}
 		
 		setResult(result);
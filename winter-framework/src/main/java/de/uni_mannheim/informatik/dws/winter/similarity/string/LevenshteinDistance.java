@@ -0,0 +1,242 @@
+/*
+ * Copyright (c) 2017 Data and Web Science Group, University of Mannheim, Germany (http://dws.informatik.uni-mannheim.de/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package de.uni_mannheim.informatik.dws.winter.similarity.string;
+
+/**
+ * Calculates the Levenshtein (unit cost) edit distance between two strings.
+ * Like the SecondString implementation, characters are compared case-insensitively (see {@link Character#toLowerCase(char)}).
+ *
+ * If the shorter string has at most 64 characters, Myers' bit-parallel algorithm is used, which processes one column of the distance matrix per character.
+ * Otherwise, the distance matrix is calculated row by row. If a maximum distance is known, only a band of the matrix around its diagonal is calculated and the calculation stops as soon as the maximum distance is exceeded.
+ *
+ * The scratch buffers are re-used by all calls in the same thread.
+ *
+ * @author Oliver Lehmberg (oli@dwslab.de)
+ *
+ */
+public final class LevenshteinDistance {
+
+	private static final int MAX_PATTERN_LENGTH = 64;
+
+	private static final ThreadLocal<Buffers> buffers = ThreadLocal.withInitial(Buffers::new);
+
+	private LevenshteinDistance() {
+	}
+
+	/**
+	 * @param first		the first string
+	 * @param second	the second string
+	 * @return the edit distance between both strings
+	 */
+	public static int distance(String first, String second) {
+		return distance(first, second, Integer.MAX_VALUE - 1);
+	}
+
+	/**
+	 * Calculates the edit distance if it does not exceed the maximum distance.
+	 *
+	 * @param first			the first string
+	 * @param second		the second string
+	 * @param maxDistance	the maximum distance that is of interest
+	 * @return the edit distance between both strings or maxDistance + 1 if the distance is larger than maxDistance
+	 */
+	public static int distance(String first, String second, int maxDistance) {
+		if(maxDistance < 0) {
+			return 0;
+		}
+
+		// the pattern is the shorter string
+		String pattern = first.length() <= second.length() ? first : second;
+		String text = pattern == first ? second : first;
+
+		if(text.length() - pattern.length() > maxDistance) {
+			return maxDistance + 1;
+		} else if(pattern.length() == 0) {
+			return text.length();
+		} else if(pattern.length() <= MAX_PATTERN_LENGTH) {
+			return bitParallel(pattern, text, maxDistance);
+		} else {
+			return banded(pattern, text, maxDistance);
+		}
+	}
+
+	/**
+	 * Myers' bit-parallel algorithm in the formulation of Hyyrö for the edit distance between two strings.
+	 * The vertical deltas of the current column are stored as bit vectors (one bit per character of the pattern).
+	 */
+	private static int bitParallel(String pattern, String text, int maxDistance) {
+		Buffers b = buffers.get();
+		int m = pattern.length();
+		int n = text.length();
+
+		b.setPattern(pattern);
+
+		long last = 1L << (m - 1);
+		long pv = -1L;
+		long mv = 0L;
+		int score = m;
+
+		for(int j = 0; j < n; j++) {
+			long eq = b.getMask(Character.toLowerCase(text.charAt(j)));
+			long xv = eq | mv;
+			long xh = (((eq & pv) + pv) ^ pv) | eq;
+			long ph = mv | ~(xh | pv);
+			long mh = pv & xh;
+
+			if((ph & last) != 0) {
+				score++;
+			} else if((mh & last) != 0) {
+				score--;
+			}
+
+			// the distance can decrease by at most one per remaining character of the text
+			if(score - (n - j - 1) > maxDistance) {
+				b.clearPattern(pattern);
+				return maxDistance + 1;
+			}
+
+			ph = (ph << 1) | 1L;
+			mh = mh << 1;
+			pv = mh | ~(xv | ph);
+			mv = ph & xv;
+		}
+
+		b.clearPattern(pattern);
+
+		return Math.min(score, maxDistance + 1);
+	}
+
+	/**
+	 * Calculates the distance matrix row by row, restricted to the cells that are at most maxDistance away from the diagonal.
+	 */
+	private static int banded(String first, String second, int maxDistance) {
+		int m = first.length();
+		int n = second.length();
+		int k = Math.min(maxDistance, Math.max(m, n));
+		int inf = k + 1;
+
+		Buffers b = buffers.get();
+		int[] previous = b.getRow(0, n + 1);
+		int[] current = b.getRow(1, n + 1);
+
+		int end = Math.min(n, k);
+		for(int j = 0; j <= end; j++) {
+			previous[j] = j;
+		}
+		if(end < n) {
+			previous[end + 1] = inf;
+		}
+
+		for(int i = 1; i <= m; i++) {
+			int from = Math.max(1, i - k);
+			int to = Math.min(n, i + k);
+			char c = Character.toLowerCase(first.charAt(i - 1));
+
+			current[from - 1] = from == 1 ? Math.min(i, inf) : inf;
+			int rowMin = current[from - 1];
+
+			for(int j = from; j <= to; j++) {
+				int value = previous[j - 1] + (c == Character.toLowerCase(second.charAt(j - 1)) ? 0 : 1);
+				value = Math.min(value, current[j - 1] + 1);
+				value = Math.min(value, previous[j] + 1);
+				value = Math.min(value, inf);
+
+				current[j] = value;
+				rowMin = Math.min(rowMin, value);
+			}
+			if(to < n) {
+				current[to + 1] = inf;
+			}
+
+			// the values in the following rows cannot be smaller than the minimum of this row
+			if(rowMin > k) {
+				return maxDistance + 1;
+			}
+
+			int[] tmp = previous;
+			previous = current;
+			current = tmp;
+		}
+
+		return previous[n] > maxDistance ? maxDistance + 1 : previous[n];
+	}
+
+	/**
+	 * The per-thread scratch buffers.
+	 */
+	private static class Buffers {
+
+		// the match masks of the (lower-cased) pattern characters, directly indexed for latin-1 characters
+		private long[] latinMasks = new long[256];
+		private char[] otherCharacters = new char[MAX_PATTERN_LENGTH];
+		private long[] otherMasks = new long[MAX_PATTERN_LENGTH];
+		private int otherCount = 0;
+
+		private int[][] rows = new int[2][0];
+
+		public void setPattern(String pattern) {
+			otherCount = 0;
+
+			for(int i = 0; i < pattern.length(); i++) {
+				char c = Character.toLowerCase(pattern.charAt(i));
+				long bit = 1L << i;
+
+				if(c < 256) {
+					latinMasks[c] |= bit;
+				} else {
+					int idx = indexOf(c);
+					if(idx == -1) {
+						idx = otherCount++;
+						otherCharacters[idx] = c;
+						otherMasks[idx] = 0L;
+					}
+					otherMasks[idx] |= bit;
+				}
+			}
+		}
+
+		public void clearPattern(String pattern) {
+			for(int i = 0; i < pattern.length(); i++) {
+				char c = Character.toLowerCase(pattern.charAt(i));
+				if(c < 256) {
+					latinMasks[c] = 0L;
+				}
+			}
+			otherCount = 0;
+		}
+
+		public long getMask(char c) {
+			if(c < 256) {
+				return latinMasks[c];
+			} else {
+				int idx = indexOf(c);
+				return idx == -1 ? 0L : otherMasks[idx];
+			}
+		}
+
+		private int indexOf(char c) {
+			for(int i = 0; i < otherCount; i++) {
+				if(otherCharacters[i] == c) {
+					return i;
+				}
+			}
+			return -1;
+		}
+
+		public int[] getRow(int index, int length) {
+			if(rows[index].length < length) {
+				rows[index] = new int[Math.max(length, rows[index].length * 2)];
+			}
+			return rows[index];
+		}
+	}
+}
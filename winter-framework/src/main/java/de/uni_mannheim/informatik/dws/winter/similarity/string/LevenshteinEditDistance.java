@@ -19,8 +19,7 @@ public class LevenshteinEditDistance extends SimilarityMeasure<String> {
         if (first == null || second == null) {
             return -1.0;
         } else {
-            Levenstein l = new Levenstein();
-            return Math.abs(l.score(first, second));
+            return LevenshteinDistance.distance(first, second);
         }
     }
 
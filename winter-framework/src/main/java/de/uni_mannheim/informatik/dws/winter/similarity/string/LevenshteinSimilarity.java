@@ -11,32 +11,67 @@
  */
 package de.uni_mannheim.informatik.dws.winter.similarity.string;
 
-import com.wcohen.ss.Levenstein;
-
 import de.uni_mannheim.informatik.dws.winter.similarity.SimilarityMeasure;
 
 /**
  * {@link SimilarityMeasure}, that calculates the Levenshtein similarity between
  * two strings.
  * 
+ * If a threshold is specified, all similarities below the threshold are
+ * reported as 0.0, which allows to stop the calculation of the edit distance
+ * as soon as the threshold can no longer be reached.
+ * 
  * @author Oliver Lehmberg (oli@dwslab.de)
  * 
+ * @see LevenshteinDistance
  */
 public class LevenshteinSimilarity extends SimilarityMeasure<String> {
 
 	private static final long serialVersionUID = 1L;
 
+	private double threshold = 0.0;
+
+	public LevenshteinSimilarity() {
+	}
+
+	/**
+	 * @param threshold
+	 *            the minimum similarity, smaller similarities are reported as
+	 *            0.0
+	 */
+	public LevenshteinSimilarity(double threshold) {
+		this.threshold = threshold;
+	}
+
+	/**
+	 * @return the minimum similarity
+	 */
+	public double getThreshold() {
+		return threshold;
+	}
+
 	@Override
 	public double calculate(String first, String second) {
 		if (first == null || second == null) {
 			return 0.0;
 		} else {
-			Levenstein l = new Levenstein();
+			int length = Math.max(first.length(), second.length());
+
+			if (length == 0) {
+				return 1.0;
+			}
+
+			// the largest distance that still results in a similarity above the threshold
+			int maxDistance = (int) Math.floor((1.0 - threshold) * length + 1e-9);
 
-			double score = Math.abs(l.score(first, second));
-			score = score / Math.max(first.length(), second.length());
+			double score = LevenshteinDistance.distance(first, second, maxDistance);
+			score = 1 - score / length;
 
-			return 1 - score;
+			if (score < threshold) {
+				return 0.0;
+			} else {
+				return score;
+			}
 		}
 	}
 
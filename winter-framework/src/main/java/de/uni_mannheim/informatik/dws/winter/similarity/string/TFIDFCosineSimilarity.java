@@ -16,16 +16,23 @@ import de.uni_mannheim.informatik.dws.winter.model.*;
 import de.uni_mannheim.informatik.dws.winter.similarity.SimilarityMeasure;
 import de.uni_mannheim.informatik.dws.winter.similarity.string.generator.TFIDFGenerator;
 import de.uni_mannheim.informatik.dws.winter.similarity.string.generator.TokenGenerator;
+import de.uni_mannheim.informatik.dws.winter.similarity.vectorspace.SparseVector;
 import de.uni_mannheim.informatik.dws.winter.similarity.vectorspace.VectorSpaceCosineSimilarity;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * {@link SimilarityMeasure}, that calculates the TF-IDF similarity between two
  * strings.
  * 
+ * If the strings are values of records, use {@link #calculate(Matchable, String, Matchable, String)}: the
+ * normalised TF-IDF vector of each record's value is created only once and stored in an index by the record's identifier,
+ * so the similarity is calculated as the dot product of two sparse vectors.
+ * 
  * @author Alexander Brinkmann (alex.brinkmann@informatik.uni-mannheim.de)
  * 
  */
@@ -35,6 +42,7 @@ public class TFIDFCosineSimilarity<RecordType extends Matchable, SchemaElementTy
 	private VectorSpaceCosineSimilarity vectorSpaceCosineSimilarity = new VectorSpaceCosineSimilarity();
 	private TFIDFGenerator<RecordType,SchemaElementType,CorrespondenceType> tfidfGenerator;
 	private TokenGenerator<RecordType, CorrespondenceType> tokenizer;
+	private Map<String, Pair<String, SparseVector>> vectorIndex = new ConcurrentHashMap<>();
 
 	public TFIDFCosineSimilarity(DataSet<RecordType, SchemaElementType> datasetLeft,
 								 DataSet<RecordType, SchemaElementType> datasetRight,
@@ -93,4 +101,77 @@ public class TFIDFCosineSimilarity<RecordType extends Matchable, SchemaElementTy
 
 	}
 
+	/**
+	 * Calculates the similarity between the values of two records. The TF-IDF vectors are created when a record is seen for the first time
+	 * and are re-used for all further comparisons, as long as the value of the record does not change.
+	 * 
+	 * @param record1
+	 * 			the first record
+	 * @param first
+	 * 			the value of the first record (can be null)
+	 * @param record2
+	 * 			the second record
+	 * @param second
+	 * 			the value of the second record (can be null)
+	 * @return the similarity score between the first and second value
+	 */
+	public double calculate(RecordType record1, String first, RecordType record2, String second) {
+		return calculate(getVector(record1, first), getVector(record2, second));
+	}
+
+	/**
+	 * Calculates the cosine similarity of two normalised TF-IDF vectors.
+	 * 
+	 * @param first
+	 * 			the first vector
+	 * @param second
+	 * 			the second vector
+	 * @return the similarity score, which is 0 if any vector has no dimensions
+	 */
+	public double calculate(SparseVector first, SparseVector second) {
+		return first.dot(second);
+	}
+
+	/**
+	 * Creates the normalised TF-IDF vector for a string.
+	 * 
+	 * @param value
+	 * 			the string (can be null)
+	 * @return the vector
+	 */
+	public SparseVector createVector(String value) {
+		if(value==null || value.isEmpty()) {
+			return new SparseVector(new int[0], new double[0]);
+		} else {
+			return this.tfidfGenerator.createTFIDFVector(this.tokenizer.tokenizeString(value));
+		}
+	}
+
+	/**
+	 * Returns the TF-IDF vector of a record's value from the index, or creates it if the record is not in the index or has a different value.
+	 * 
+	 * @param record
+	 * 			the record
+	 * @param value
+	 * 			the value of the record
+	 * @return the vector
+	 */
+	public SparseVector getVector(RecordType record, String value) {
+		Pair<String, SparseVector> entry = this.vectorIndex.get(record.getIdentifier());
+
+		if(entry==null || !(value==null ? entry.getFirst()==null : value.equals(entry.getFirst()))) {
+			entry = new Pair<>(value, createVector(value));
+			this.vectorIndex.put(record.getIdentifier(), entry);
+		}
+
+		return entry.getSecond();
+	}
+
+	/**
+	 * Removes all vectors from the index.
+	 */
+	public void clearVectorIndex() {
+		this.vectorIndex.clear();
+	}
+
 }
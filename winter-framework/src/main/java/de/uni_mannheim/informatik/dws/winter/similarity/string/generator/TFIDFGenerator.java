@@ -6,14 +6,19 @@ import de.uni_mannheim.informatik.dws.winter.model.HashedDataSet;
 import de.uni_mannheim.informatik.dws.winter.model.Matchable;
 import de.uni_mannheim.informatik.dws.winter.model.Pair;
 import de.uni_mannheim.informatik.dws.winter.processing.Processable;
+import de.uni_mannheim.informatik.dws.winter.similarity.vectorspace.SparseVector;
 import de.uni_mannheim.informatik.dws.winter.similarity.vectorspace.VectorSpaceCosineSimilarity;
 
+import java.util.Arrays;
 import java.util.HashMap;
 
 public class TFIDFGenerator<RecordType extends Matchable, SchemaElementType extends Matchable, CorrespondenceType extends Matchable> {
 
     private TokenGenerator<RecordType, CorrespondenceType> tokenizer;
     private HashMap<String, Double> inverseDocumentFrequencies = new HashMap<>();
+    // the tokens with an IDF score are interned to integer ids, which are the dimensions of the TF-IDF vectors
+    private HashMap<String, Integer> termIds = new HashMap<>();
+    private double[] idfScores = new double[0];
 
 
     public TFIDFGenerator(TokenGenerator<RecordType, CorrespondenceType> tokenizer){
@@ -43,6 +48,61 @@ public class TFIDFGenerator<RecordType extends Matchable, SchemaElementType exte
                 blockingKeyIndexer.calculateInverseDocumentFrequencies(dataSet, this.tokenizer);
 
         inverseDocumentFrequencies.foreach((c) -> this.inverseDocumentFrequencies.put(c.getFirst(), c.getSecond()));
+
+        this.termIds = new HashMap<>();
+        this.idfScores = new double[this.inverseDocumentFrequencies.size()];
+        for (String token : this.inverseDocumentFrequencies.keySet()) {
+            int id = this.termIds.size();
+            this.termIds.put(token, id);
+            this.idfScores[id] = this.inverseDocumentFrequencies.get(token);
+        }
+    }
+
+    /**
+     * Creates the L2-normalised TF-IDF vector for the given tokens. The dimensions of the vector are the ids of the tokens.
+     * Tokens without IDF score have a TF-IDF score of 0 and are not part of the vector.
+     *
+     * @param tokens    the tokens
+     * @return the normalised TF-IDF vector
+     */
+    public SparseVector createTFIDFVector(String[] tokens){
+        // map the tokens to their ids and sort them, so equal tokens are next to each other
+        int[] ids = new int[tokens.length];
+        int numIds = 0;
+        for (String token : tokens){
+            Integer id = this.termIds.get(token);
+            if(id != null){
+                ids[numIds++] = id;
+            }
+        }
+        Arrays.sort(ids, 0, numIds);
+
+        // the term frequency is the number of occurrences of the same id
+        int[] dimensions = new int[numIds];
+        double[] values = new double[numIds];
+        int size = 0;
+        for (int i = 0; i < numIds; i++){
+            if(size > 0 && dimensions[size - 1] == ids[i]){
+                values[size - 1]++;
+            } else {
+                dimensions[size] = ids[i];
+                values[size] = 1.0;
+                size++;
+            }
+        }
+
+        // calculate the TF-IDF scores and skip all dimensions with a score of 0
+        int nonZero = 0;
+        for (int i = 0; i < size; i++){
+            double tfIdfValue = values[i] * this.idfScores[dimensions[i]];
+            if(tfIdfValue != 0.0){
+                dimensions[nonZero] = dimensions[i];
+                values[nonZero] = tfIdfValue;
+                nonZero++;
+            }
+        }
+
+        return new SparseVector(Arrays.copyOf(dimensions, nonZero), Arrays.copyOf(values, nonZero)).normalise();
     }
 
     public HashMap<String, Double> calculateTermFrequencies(String[] tokens){
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2017 Data and Web Science Group, University of Mannheim, Germany (http://dws.informatik.uni-mannheim.de/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package de.uni_mannheim.informatik.dws.winter.similarity.vectorspace;
+
+import java.io.Serializable;
+
+/**
+ *
+ * A sparse vector with integer dimensions, which are stored in ascending order.
+ *
+ * @author Oliver Lehmberg (oli@dwslab.de)
+ *
+ */
+public class SparseVector implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private final int[] dimensions;
+	private final double[] values;
+
+	/**
+	 * @param dimensions	the dimensions with a value in ascending order
+	 * @param values		the values for the dimensions
+	 */
+	public SparseVector(int[] dimensions, double[] values) {
+		this.dimensions = dimensions;
+		this.values = values;
+	}
+
+	/**
+	 * @return the dimensions with a value in ascending order
+	 */
+	public int[] getDimensions() {
+		return dimensions;
+	}
+
+	/**
+	 * @return the values for the dimensions
+	 */
+	public double[] getValues() {
+		return values;
+	}
+
+	/**
+	 * @return the number of dimensions with a value
+	 */
+	public int size() {
+		return dimensions.length;
+	}
+
+	/**
+	 * @return the euclidean (L2) length of the vector
+	 */
+	public double getLength() {
+		double length = 0.0;
+		for(double v : values) {
+			length += v * v;
+		}
+		return Math.sqrt(length);
+	}
+
+	/**
+	 * @return a vector with the same direction and length 1 or the vector itself if its length is 0
+	 */
+	public SparseVector normalise() {
+		double length = getLength();
+
+		if(length==0.0) {
+			return this;
+		}
+
+		double[] normalised = new double[values.length];
+		for(int i = 0; i < values.length; i++) {
+			normalised[i] = values[i] / length;
+		}
+
+		return new SparseVector(dimensions, normalised);
+	}
+
+	/**
+	 * Calculates the dot product by merging the sorted dimensions of both vectors.
+	 * For normalised vectors, this is the cosine similarity.
+	 *
+	 * @param other	the other vector
+	 * @return the dot product
+	 */
+	public double dot(SparseVector other) {
+		double result = 0.0;
+		int i = 0;
+		int j = 0;
+
+		while(i < dimensions.length && j < other.dimensions.length) {
+			if(dimensions[i] < other.dimensions[j]) {
+				i++;
+			} else if(dimensions[i] > other.dimensions[j]) {
+				j++;
+			} else {
+				result += values[i] * other.values[j];
+				i++;
+				j++;
+			}
+		}
+
+		return result;
+	}
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2017 Data and Web Science Group, University of Mannheim, Germany (http://dws.informatik.uni-mannheim.de/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package de.uni_mannheim.informatik.dws.winter.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * An {@link InputStream} that encodes the characters of a {@link Reader} while they are read, so the characters never have to be in memory at once.
+ *
+ * @author Oliver Lehmberg (oli@dwslab.de)
+ *
+ */
+public class ReaderInputStream extends InputStream {
+
+	private Reader reader;
+	private CharsetEncoder encoder;
+	private CharBuffer chars;
+	private ByteBuffer bytes;
+	private boolean endOfInput = false;
+	private boolean finished = false;
+
+	/**
+	 * Encodes the characters as UTF-8.
+	 *
+	 * @param reader
+	 *            the reader that provides the characters
+	 */
+	public ReaderInputStream(Reader reader) {
+		this(reader, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * @param reader
+	 *            the reader that provides the characters
+	 * @param charset
+	 *            the charset that is used to encode the characters
+	 */
+	public ReaderInputStream(Reader reader, Charset charset) {
+		this.reader = reader;
+		this.encoder = charset.newEncoder()
+				.onMalformedInput(CodingErrorAction.REPLACE)
+				.onUnmappableCharacter(CodingErrorAction.REPLACE);
+		// both buffers start empty and in read mode
+		this.chars = CharBuffer.allocate(4096);
+		this.chars.flip();
+		this.bytes = ByteBuffer.allocate(8192);
+		this.bytes.flip();
+	}
+
+	/**
+	 * Encodes the next characters if all encoded bytes were read.
+	 *
+	 * @return false if all characters were encoded and read
+	 */
+	private boolean fill() throws IOException {
+		while (!bytes.hasRemaining()) {
+			if (finished) {
+				return false;
+			}
+
+			bytes.clear();
+
+			if (!endOfInput) {
+				// keep characters that could not be encoded yet, i.e., the first half of a surrogate pair or characters that did not fit into the byte buffer
+				chars.compact();
+				if (reader.read(chars) == -1) {
+					endOfInput = true;
+				}
+				chars.flip();
+			}
+
+			encoder.encode(chars, bytes, endOfInput);
+
+			if (endOfInput && !chars.hasRemaining()) {
+				encoder.flush(bytes);
+				finished = true;
+			}
+
+			bytes.flip();
+		}
+
+		return true;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.io.InputStream#read()
+	 */
+	@Override
+	public int read() throws IOException {
+		if (!fill()) {
+			return -1;
+		}
+		return bytes.get() & 0xFF;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.io.InputStream#read(byte[], int, int)
+	 */
+	@Override
+	public int read(byte[] b, int off, int len) throws IOException {
+		if (len == 0) {
+			return 0;
+		}
+		if (!fill()) {
+			return -1;
+		}
+		int length = Math.min(len, bytes.remaining());
+		bytes.get(b, off, length);
+		return length;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.io.InputStream#close()
+	 */
+	@Override
+	public void close() throws IOException {
+		reader.close();
+	}
+
+}
@@ -17,17 +17,95 @@
  */
 package de.uni_mannheim.informatik.dws.winter.utils.mining;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import de.uni_mannheim.informatik.dws.winter.model.Pair;
+import de.uni_mannheim.informatik.dws.winter.utils.parallel.Parallel;
+import de.uni_mannheim.informatik.dws.winter.utils.parallel.ThreadBoundObject;
+
 /**
  * @author Oliver Lehmberg (oli@dwslab.de)
  *
  */
 public class AssociationRuleMiner<TItem> {
 
+	private boolean parallel = false;
+	
+	/**
+	 * @return true if the rules are created in parallel
+	 */
+	public boolean isParallel() {
+		return parallel;
+	}
+	
+	/**
+	 * @param parallel specifies if the rules are created in parallel
+	 */
+	public void setParallel(boolean parallel) {
+		this.parallel = parallel;
+	}
+	
+	/**
+	 * Creates all association rules with a single item in the consequent and at least the given confidence.
+	 * The item sets must contain all subsets of each item set, which is the case for the result of {@link FrequentItemSetMiner#calculateFrequentItemSets(java.util.Collection)}.
+	 * 
+	 * @param itemSets		the frequent item sets and the number of transactions that contain them
+	 * @param minConfidence	the minimum confidence of a rule
+	 * @return the rules (condition, consequent) and their confidence
+	 */
+	public Map<Pair<Set<TItem>, Set<TItem>>, Double> calculateAssociationRules(Map<Set<TItem>, Integer> itemSets, double minConfidence) {
+		final List<Set<TItem>> candidates = new ArrayList<>();
+		for(Set<TItem> itemset : itemSets.keySet()) {
+			if(itemset.size()>1) {
+				candidates.add(itemset);
+			}
+		}
+		
+		ThreadBoundObject<Map<Pair<Set<TItem>, Set<TItem>>, Double>> threadRules = new ThreadBoundObject<>((t) -> new HashMap<>());
+		
+		if(parallel) {
+			try {
+				Parallel.forLoop(0, candidates.size(), (i) -> createRules(candidates.get(i), itemSets, minConfidence, threadRules.get()), "Creating association rules");
+			} catch (Exception e) {
+				throw new RuntimeException(e);
+			}
+		} else {
+			for(Set<TItem> itemset : candidates) {
+				createRules(itemset, itemSets, minConfidence, threadRules.get());
+			}
+		}
+		
+		Map<Pair<Set<TItem>, Set<TItem>>, Double> rules = new HashMap<>();
+		for(Map<Pair<Set<TItem>, Set<TItem>>, Double> r : threadRules.getAll()) {
+			rules.putAll(r);
+		}
+		return rules;
+	}
+	
+	protected void createRules(Set<TItem> itemset, Map<Set<TItem>, Integer> itemSets, double minConfidence, Map<Pair<Set<TItem>, Set<TItem>>, Double> rules) {
+		// move each item from the condition to the consequent, step by step
+		for(TItem item : itemset) {
+			Set<TItem> condition = new HashSet<>(itemset);
+			condition.remove(item);
+			
+			Integer conditionSupport = itemSets.get(condition);
+			if(conditionSupport!=null) {
+				double confidence = (double)itemSets.get(itemset) / (double)conditionSupport;
+				
+				if(confidence>=minConfidence) {
+					Set<TItem> consequent = new HashSet<>();
+					consequent.add(item);
+					rules.put(new Pair<>(condition, consequent), confidence);
+				}
+			}
+		}
+	}
+
 	public Map<Set<TItem>, Set<TItem>> calculateAssociationRulesForColumnPositions(Map<Set<TItem>, Integer> itemSets) {
 
 		// create association rules
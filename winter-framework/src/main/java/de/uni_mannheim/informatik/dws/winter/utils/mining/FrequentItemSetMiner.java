@@ -17,111 +17,165 @@
  */
 package de.uni_mannheim.informatik.dws.winter.utils.mining;
 
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import de.uni_mannheim.informatik.dws.winter.model.Pair;
 import de.uni_mannheim.informatik.dws.winter.utils.Distribution;
 import de.uni_mannheim.informatik.dws.winter.utils.MapUtils;
-import de.uni_mannheim.informatik.dws.winter.utils.query.Q;
+import de.uni_mannheim.informatik.dws.winter.utils.parallel.Parallel;
+import de.uni_mannheim.informatik.dws.winter.utils.parallel.ThreadBoundObject;
 import de.uni_mannheim.informatik.dws.winter.webtables.Table;
 
 /**
+ * Mines frequent item sets using the Eclat algorithm: the transactions that contain an item set are represented as a bitset of transaction ids (tid-list),
+ * and the item sets are extended depth-first by intersecting the tid-lists of item sets that share the same prefix.
+ * Item sets with a support below {@link #getMinSupport()} are pruned, together with all their supersets.
+ * 
  * @author Oliver Lehmberg (oli@dwslab.de)
  *
  */
 public class FrequentItemSetMiner<TItem> {
 
-	public Map<Set<TItem>, Integer> calculateFrequentItemSetsOfColumnPositions(Collection<Table> tables, Set<Collection<TItem>> transactions) {
-
+	private int minSupport = 1;
+	private boolean parallel = false;
+	
+	/**
+	 * @return the minimum number of transactions that must contain an item set
+	 */
+	public int getMinSupport() {
+		return minSupport;
+	}
+	
+	/**
+	 * @param minSupport the minimum number of transactions that must contain an item set
+	 */
+	public void setMinSupport(int minSupport) {
+		this.minSupport = Math.max(1, minSupport);
+	}
+	
+	/**
+	 * @return true if the item sets are mined in parallel
+	 */
+	public boolean isParallel() {
+		return parallel;
+	}
+	
+	/**
+	 * @param parallel specifies if the item sets are mined in parallel
+	 */
+	public void setParallel(boolean parallel) {
+		this.parallel = parallel;
+	}
+	
+	/**
+	 * Calculates all item sets that are contained in at least {@link #getMinSupport()} transactions.
+	 * 
+	 * @param transactions	the transactions
+	 * @return the frequent item sets and the number of transactions that contain them
+	 */
+	public Map<Set<TItem>, Integer> calculateFrequentItemSets(Collection<? extends Collection<TItem>> transactions) {
+		
+		// create the tid-list of each item
+		Map<TItem, BitSet> tidLists = new HashMap<>();
+		int tid = 0;
+		for(Collection<TItem> transaction : transactions) {
+			for(TItem item : transaction) {
+				MapUtils.getFast(tidLists, item, (i) -> new BitSet()).set(tid);
+			}
+			tid++;
+		}
+		
+		// the frequent 1-item sets, with increasing support, which keeps the intersections small
+		final List<Pair<TItem, BitSet>> items = new ArrayList<>();
+		for(Map.Entry<TItem, BitSet> e : tidLists.entrySet()) {
+			if(e.getValue().cardinality()>=minSupport) {
+				items.add(new Pair<>(e.getKey(), e.getValue()));
+			}
+		}
+		Collections.sort(items, (p1,p2)->Integer.compare(p1.getSecond().cardinality(), p2.getSecond().cardinality()));
+		
 		Map<Set<TItem>, Integer> itemSets = new HashMap<>();
 		
-		// index transactions by item
-		Map<TItem, Set<Collection<TItem>>> transactionIndex = new HashMap<>();
+		if(parallel) {
+			// each item and its extensions with the following items are an independent sub-problem
+			ThreadBoundObject<Map<Set<TItem>, Integer>> threadResults = new ThreadBoundObject<>((t) -> new HashMap<>());
+			try {
+				Parallel.forLoop(0, items.size(), (i) -> mine(new ArrayList<>(), items, i, threadResults.get()), "Mining frequent item sets");
+			} catch (Exception e) {
+				throw new RuntimeException(e);
+			}
+			for(Map<Set<TItem>, Integer> result : threadResults.getAll()) {
+				itemSets.putAll(result);
+			}
+		} else {
+			for(int i = 0; i < items.size(); i++) {
+				mine(new ArrayList<>(), items, i, itemSets);
+			}
+		}
 		
-		// create all 1-item sets
+		return itemSets;
+	}
+	
+	/**
+	 * Adds the item set consisting of the prefix and the item at the given index, and recursively all its frequent extensions with the following items.
+	 */
+	protected void mine(List<TItem> prefix, List<Pair<TItem, BitSet>> items, int index, Map<Set<TItem>, Integer> itemSets) {
+		Pair<TItem, BitSet> item = items.get(index);
+		
+		List<TItem> itemSet = new ArrayList<>(prefix);
+		itemSet.add(item.getFirst());
+		itemSets.put(new HashSet<>(itemSet), item.getSecond().cardinality());
+		
+		// create the tid-lists of all extensions of the new item set
+		List<Pair<TItem, BitSet>> extensions = new ArrayList<>();
+		for(int j = index + 1; j < items.size(); j++) {
+			Pair<TItem, BitSet> other = items.get(j);
+			BitSet tids = (BitSet)item.getSecond().clone();
+			tids.and(other.getSecond());
+			if(tids.cardinality()>=minSupport) {
+				extensions.add(new Pair<>(other.getFirst(), tids));
+			}
+		}
+		
+		for(int j = 0; j < extensions.size(); j++) {
+			mine(itemSet, extensions, j, itemSets);
+		}
+	}
+	
+	/**
+	 * Calculates all item sets that are contained in at least {@link #getMinSupport()} transactions.
+	 * The frequency of the 1-item sets is the number of occurrences of the item in all transactions, for all other item sets it is the number of transactions that contain the item set.
+	 * 
+	 * @param tables		not used
+	 * @param transactions	the transactions
+	 * @return the frequent item sets and their frequencies
+	 */
+	public Map<Set<TItem>, Integer> calculateFrequentItemSetsOfColumnPositions(Collection<Table> tables, Set<Collection<TItem>> transactions) {
+
+		Map<Set<TItem>, Integer> itemSets = calculateFrequentItemSets(transactions);
+		
+		// the frequency of the 1-item sets counts duplicate items in the same transaction
+		Map<TItem, Integer> frequencies = new HashMap<>();
 		for(Collection<TItem> transaction : transactions) {
 			Distribution<TItem> itemDistribution = Distribution.fromCollection(transaction);
 			
 			for(TItem item : itemDistribution.getElements()) {
-
-				// create the item set
-				Set<TItem> itemSet = Q.toSet(item);
-					
-				MapUtils.add(itemSets, itemSet, itemDistribution.getFrequency(item));
-				
-				Set<Collection<TItem>> t = MapUtils.getFast(transactionIndex, item, (i) -> new HashSet<>());
-				t.add(transaction);
+				MapUtils.add(frequencies, item, itemDistribution.getFrequency(item));
 			}
 		}
-			
-		// create all i+1 item sets
-		boolean hasChanges = false;
-			
-		// easy access to item sets generated in the last round
-		Set<Set<TItem>> OneItemSets = new HashSet<>(itemSets.keySet());
-		Set<Set<TItem>> lastItemSets = itemSets.keySet();
-		Set<Set<TItem>> currentItemSets = new HashSet<>();
-		
-		// loop until no new item sets are discovered
-		do {
-			
-			// iterate over all item sets created in the last round
-			for(Set<TItem> itemset1 : lastItemSets) {
-				
-				// and combine them with the 1-item sets to create new item sets
-				for(Set<TItem> itemset2 : OneItemSets) { 
-					
-					if(!itemset1.equals(itemset2) && !itemset1.containsAll(itemset2)) {
-					
-						Set<TItem> itemset = new HashSet<>();
-						
-						itemset.addAll(itemset1);
-						itemset.addAll(itemset2);
-
-						currentItemSets.add(itemset);							
-					}
-					
-				}
-			}
-
-			// calculate frequency of new item sets
-			Iterator<Set<TItem>> it = currentItemSets.iterator();
-			while(it.hasNext()) {
-				Set<TItem> itemSet = it.next();
-				
-				Set<Collection<TItem>> commonTransactions = null;
-				
-				for(TItem item : itemSet) {
-					
-					Set<Collection<TItem>> transactionsWithItem = transactionIndex.get(item); 
-					
-					if(commonTransactions==null) {
-						commonTransactions = transactionsWithItem;
-					} else {
-						commonTransactions = Q.intersection(commonTransactions, transactionsWithItem);
-					}
-					
-					if(commonTransactions.size()==0) {
-						break;
-					}
-				}
-				
-				if(commonTransactions.size()==0) {
-					it.remove();
-				} else {
-					itemSets.put(itemSet, commonTransactions.size());
-				}
+		for(Set<TItem> itemSet : itemSets.keySet()) {
+			if(itemSet.size()==1) {
+				itemSets.put(itemSet, frequencies.get(itemSet.iterator().next()));
 			}
-			
-			hasChanges = currentItemSets.size()>0;
-			lastItemSets = currentItemSets;
-			currentItemSets = new HashSet<>();
-			
-		} while(hasChanges);
+		}
 
 		return itemSets;
 	}
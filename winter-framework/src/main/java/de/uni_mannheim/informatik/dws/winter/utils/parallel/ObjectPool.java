@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2017 Data and Web Science Group, University of Mannheim, Germany (http://dws.informatik.uni-mannheim.de/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package de.uni_mannheim.informatik.dws.winter.utils.parallel;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 
+ * A bounded pool of objects that are expensive to create and cannot be used by several threads at the same time.
+ * 
+ * In contrast to {@link ThreadBoundObject}, the number of objects does not depend on the number of threads that used the pool: at most maxSize objects are created (when they are first needed) and shared by all threads. 
+ * If all objects are in use, a thread waits until one is returned.
+ * 
+ * @author Oliver Lehmberg (oli@dwslab.de)
+ *
+ */
+public class ObjectPool<T> {
+
+	private BlockingQueue<T> idle = new LinkedBlockingQueue<>();
+	private AtomicInteger created = new AtomicInteger();
+	private int maxSize;
+	private Supplier<T> createObject;
+
+	/**
+	 * @param maxSize		the maximum number of objects
+	 * @param createObject	creates a new object
+	 */
+	public ObjectPool(int maxSize, Supplier<T> createObject) {
+		this.maxSize = Math.max(1, maxSize);
+		this.createObject = createObject;
+	}
+
+	/**
+	 * Takes an object from the pool, which must be returned with {@link #release(Object)}.
+	 * A new object is created if no object is available and the maximum number of objects is not reached. Otherwise, the thread waits until an object is returned.
+	 * 
+	 * @return the object
+	 */
+	public T borrow() {
+		while(true) {
+			T object = idle.poll();
+			if(object != null) {
+				return object;
+			}
+
+			if(created.incrementAndGet() <= maxSize) {
+				try {
+					return createObject.get();
+				} catch(RuntimeException | Error e) {
+					created.decrementAndGet();
+					throw e;
+				}
+			}
+			created.decrementAndGet();
+
+			try {
+				// wait with a timeout, so an object can be created if the creation by another thread failed
+				object = idle.poll(100, TimeUnit.MILLISECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new RuntimeException(e);
+			}
+			if(object != null) {
+				return object;
+			}
+		}
+	}
+
+	/**
+	 * Returns an object to the pool.
+	 * 
+	 * @param object	the object that was taken with {@link #borrow()}
+	 */
+	public void release(T object) {
+		idle.offer(object);
+	}
+
+	/**
+	 * Applies the function to an object of the pool and returns the object afterwards.
+	 * 
+	 * @param function	the function
+	 * @return the result of the function
+	 */
+	public <R> R apply(Function<T, R> function) {
+		T object = borrow();
+		try {
+			return function.apply(object);
+		} finally {
+			release(object);
+		}
+	}
+
+	/**
+	 * @return the number of objects that were created
+	 */
+	public int size() {
+		return created.get();
+	}
+
+	/**
+	 * @return the maximum number of objects
+	 */
+	public int getMaxSize() {
+		return maxSize;
+	}
+}
@@ -12,21 +12,23 @@
 
 package de.uni_mannheim.informatik.dws.winter.utils.parallel;
 
-import java.util.HashMap;
-import java.util.Iterator;
-import java.util.LinkedList;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
+import java.util.RandomAccess;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinPool.ForkJoinWorkerThreadFactory;
+import java.util.concurrent.ForkJoinWorkerThread;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RecursiveAction;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
-
-import de.uni_mannheim.informatik.dws.winter.utils.query.Func;
-import de.uni_mannheim.informatik.dws.winter.utils.query.Q;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 
 /**
@@ -58,10 +60,12 @@ public class Parallel<T> {
 		void execute() throws Exception;
 	}
 	
-	private static int MAX_FAILED_TASKS = 1;
 	private static int defaultNumProcessors = Runtime.getRuntime().availableProcessors();
 	private static int defaultQueueSize = 10000;
 	private int overrideNumProcessors = 0;
+	private int overrideChunkSize = 0;
+	private static final int CHUNKS_PER_THREAD = 10;
+	private static Map<Integer, ForkJoinPool> forkJoinPools = new ConcurrentHashMap<>();
 	private static Parallel<?> currentTask = null;
 	private static Map<ITask, Thread> runningTasks = new ConcurrentHashMap<ITask, Thread>();
 	private static ThreadPoolExecutor defaultExecutor;
@@ -93,6 +97,15 @@ public class Parallel<T> {
 	    }
 	}
 	
+	/**
+	 * Sets the number of items that are processed by a single task in {@link #foreach(Iterable, Consumer, String)}. If not set, the items are split into 10 chunks per thread.
+	 * 
+	 * @param chunkSize	the number of items per task
+	 */
+	public void setChunkSize(int chunkSize) {
+		overrideChunkSize = chunkSize;
+	}
+	
 	public static ThreadPoolExecutor getExecutor(int numProcessors) {
 		if(numProcessors==defaultNumProcessors)
 		{
@@ -209,7 +222,7 @@ public class Parallel<T> {
 	
 	public static void forLoop(int from, int to, final Consumer<Integer> loopBody, String message) throws Exception
 	{
-		List<Integer> lst = new LinkedList<Integer>();
+		List<Integer> lst = new ArrayList<Integer>(Math.max(0, to - from));
 		
 		for(int i = from; i < to; i++)
 			lst.add(i);
@@ -241,109 +254,142 @@ public class Parallel<T> {
 	public void foreach(Iterable<T> items, final Consumer<T> body, String message) throws Exception
 	{
 		if(startParallelProcess(this) && getNumProcessors(this) > 1) {
-
-    		Iterator<T> it = items.iterator();
-    		
-    		final ThreadPoolExecutor pool = new ThreadPoolExecutor(
-    				getNumProcessors(this), 
-    				getNumProcessors(this), 
-    				0,
-    				TimeUnit.SECONDS,
-    				new java.util.concurrent.LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
-    					
-    					public Thread newThread(Runnable r) {
-    						return new Thread(r, "Parallel.foreach thread");
-    					}
-    				});
-    		
-    		final HashMap<ExtendedRunnable, Integer> failedTasks = new HashMap<>();
-    		
-    		while(it.hasNext())
-    		{
-    			final T value = it.next();
-    			
-    			Runnable r = new ExtendedRunnable() {    				
-    				public void run() {
-
-    				    try {
-                                        
-    				        // try to execute the task for the current item
-    				        body.execute(value);
-    				    } catch(Exception e) {
-    				        // in case of failure, print the exception
-    				        e.printStackTrace();
-    				        
-    				        this.setException(e);
-                                            				        
-    				        synchronized (failedTasks) {
-                                Integer cnt = failedTasks.get(this);
-                                
-                                if(cnt==null) {
-                                    cnt = 0;
-                                }
-                                
-                                // count how often this task failed
-                                cnt++;
-                                
-                                failedTasks.put(this, cnt);
-                                
-                                if(cnt<MAX_FAILED_TASKS) {
-                                    if(!(e instanceof InterruptedException)) {
-                                        // queue the current item again to re-try execution
-                                        pool.execute(this);
-                                    }
-                                } else {
-                                    // and if any item failed more than MAX_FAILED_TASKS times, cancel the whole loop
-                                    pool.shutdownNow();
-                                }
-                            }
-    				    }
-    					
-    				}
-    			};
-                          
-                pool.execute(r);
-    		}
-    		
-    		RunnableProgressReporter p = new RunnableProgressReporter();
-    		p.setPool(pool);
-    		p.setMessage(message);
-    		p.setReportIfStuck(reportIfStuck);
-
-    		p.initialise();
-    		
-    		do {
-    			
-    			p.print();
-
-            } while(pool.getQueue().size()>0 || pool.getActiveCount()>0);
-                
-    		pool.shutdown();
-    		
-    		pool.awaitTermination(1, TimeUnit.DAYS);
-    		p.stop();
-    		
-//    		System.out.println("Parallel.foreach completed");
-    		
-    		// check whether the pool shut down normally or not
-    		Entry<ExtendedRunnable, Integer> maxFailed = Q.max(failedTasks.entrySet(), new Func<Integer, Entry<ExtendedRunnable, Integer>>() {
-                @Override
-                public Integer invoke(Entry<ExtendedRunnable, Integer> in) {
-                    return in.getValue();
-                }
-            });
-    		
-    		// if the max failed count is 3, the execution was cancelled
-    		if(maxFailed!=null && maxFailed.getValue()>=MAX_FAILED_TASKS) {
-    		    // so we re-throw the exception that caused the cancellation
-    		    throw maxFailed.getKey().getException();
-    		}
+			
+			try {
+				// materialise the items so the loop can be split into index ranges
+				List<T> list;
+				if(items instanceof List && items instanceof RandomAccess) {
+					list = (List<T>)items;
+				} else {
+					list = new ArrayList<>();
+					for(T item : items) {
+						list.add(item);
+					}
+				}
+				
+				if(list.size()>0) {
+					ForkJoinPool pool = getForkJoinPool(getNumProcessors(this));
+					
+					// create several chunks per thread, so threads that finish early can steal work from the others
+					int chunkSize = overrideChunkSize;
+					if(chunkSize<=0) {
+						chunkSize = Math.max(1, list.size() / (getNumProcessors(this) * CHUNKS_PER_THREAD));
+					}
+					
+					ForeachTask<T> task = new ForeachTask<>(list, 0, list.size(), chunkSize, body, new ForeachState());
+					
+					RunnableProgressReporter p = new RunnableProgressReporter();
+					p.setForkJoinPool(pool, list.size(), task.state.completed);
+					p.setMessage(message);
+					p.setReportIfStuck(reportIfStuck);
+					p.initialise();
+					
+					pool.execute(task);
+					
+					// wait for the loop to complete and report the progress every now and then
+					boolean done = false;
+					while(!done) {
+						try {
+							task.get(1, TimeUnit.SECONDS);
+							done = true;
+						} catch(TimeoutException e) {
+							p.print();
+						}
+					}
+					p.stop();
+					
+					// if any item failed, the loop was cancelled, so we re-throw the exception that caused the cancellation
+					if(task.state.exception.get()!=null) {
+						throw task.state.exception.get();
+					}
+				}
+			} finally {
+				endParallelProcess(this);
+			}
 		} else {
 		    sequentialFor(items, body, message);
+		    endParallelProcess(this);
 		}
+	}
+	
+	/**
+	 * Returns the shared work-stealing pool with the requested parallelism. Pools are created on first use and are kept alive for all subsequent loops.
+	 * 
+	 * @param parallelism	the number of worker threads
+	 * @return the pool
+	 */
+	public static ForkJoinPool getForkJoinPool(int parallelism) {
+		return forkJoinPools.computeIfAbsent(parallelism, (p) -> new ForkJoinPool(p, new ForkJoinWorkerThreadFactory() {
+			
+			@Override
+			public ForkJoinWorkerThread newThread(ForkJoinPool pool) {
+				ForkJoinWorkerThread t = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+				t.setName("Parallel.foreach thread " + t.getPoolIndex());
+				return t;
+			}
+		}, null, false));
+	}
+	
+	/**
+	 * State which is shared by all sub-tasks of a single foreach loop
+	 */
+	private static class ForeachState {
+		final AtomicLong completed = new AtomicLong();
+		final AtomicReference<Exception> exception = new AtomicReference<>();
+	}
+	
+	/**
+	 * Processes a range of the items of a foreach loop and recursively splits it until it is not larger than the chunk size.
+	 */
+	private static class ForeachTask<T> extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
 		
+		private final List<T> items;
+		private final int from;
+		private final int to;
+		private final int chunkSize;
+		private final Consumer<T> body;
+		private final ForeachState state;
 		
-		endParallelProcess(this); 
+		public ForeachTask(List<T> items, int from, int to, int chunkSize, Consumer<T> body, ForeachState state) {
+			this.items = items;
+			this.from = from;
+			this.to = to;
+			this.chunkSize = chunkSize;
+			this.body = body;
+			this.state = state;
+		}
+		
+		@Override
+		protected void compute() {
+			if(to - from > chunkSize) {
+				int mid = (from + to) >>> 1;
+				invokeAll(
+						new ForeachTask<>(items, from, mid, chunkSize, body, state), 
+						new ForeachTask<>(items, mid, to, chunkSize, body, state));
+			} else {
+				for(int i = from; i < to; i++) {
+					// if any item failed, cancel the whole loop
+					if(state.exception.get()!=null) {
+						return;
+					}
+					
+					try {
+						// try to execute the task for the current item
+						body.execute(items.get(i));
+					} catch(Exception e) {
+						// in case of failure, print the exception
+						e.printStackTrace();
+						
+						state.exception.compareAndSet(null, e);
+						return;
+					}
+					
+					state.completed.incrementAndGet();
+				}
+			}
+		}
 	}
 	
 	protected void sequentialFor(Iterable<T> items, final Consumer<T> body, String message) {
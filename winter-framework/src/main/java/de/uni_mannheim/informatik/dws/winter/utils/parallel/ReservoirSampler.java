@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2017 Data and Web Science Group, University of Mannheim, Germany (http://dws.informatik.uni-mannheim.de/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package de.uni_mannheim.informatik.dws.winter.utils.parallel;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Collects a uniform random sample of a fixed maximum size from items that are added by multiple threads.
+ *
+ * Each thread samples into its own buffer (reservoir sampling), so adding items does not require any synchronisation.
+ * When the sample is requested, the per-thread samples are merged into a single uniform sample.
+ *
+ * To avoid creating items that are not sampled anyway, {@link #sample()} can be called before an item is created. It decides if the next item of the current thread is kept.
+ *
+ * @author Oliver Lehmberg (oli@dwslab.de)
+ *
+ * @param <T>	the type of the sampled items
+ */
+public class ReservoirSampler<T> {
+
+	private static class Reservoir<T> {
+		List<T> items = new ArrayList<>();
+		// the number of items that were offered to this reservoir
+		long seen = 0;
+		// the position for the next item or -1 if the next item is not kept
+		int next = -1;
+		boolean decided = false;
+	}
+
+	private int maxSize;
+	private ThreadBoundObject<Reservoir<T>> reservoirs = new ThreadBoundObject<>((t)->new Reservoir<>());
+
+	/**
+	 * @param maxSize	the maximum size of the sample, or -1 to keep all items
+	 */
+	public ReservoirSampler(int maxSize) {
+		this.maxSize = maxSize;
+	}
+
+	/**
+	 * @return the maximum size of the sample, or -1 if all items are kept
+	 */
+	public int getMaxSize() {
+		return maxSize;
+	}
+
+	/**
+	 * Decides if the next item that the current thread adds will be part of the sample. Every call counts as one offered item.
+	 * If the result is true, the item must be passed to {@link #add(Object)}, otherwise the item is dropped and must not be added.
+	 *
+	 * @return true if the next item will be kept
+	 */
+	public boolean sample() {
+		Reservoir<T> r = reservoirs.get();
+		r.seen++;
+
+		if(maxSize<0 || r.items.size()<maxSize) {
+			r.next = r.items.size();
+		} else {
+			long position = ThreadLocalRandom.current().nextLong(r.seen);
+			r.next = position < maxSize ? (int)position : -1;
+		}
+
+		// a positive decision reserves a position for the next call of add()
+		r.decided = r.next>=0;
+		return r.decided;
+	}
+
+	/**
+	 * Adds an item. If {@link #sample()} was called before, its decision is applied, otherwise the item is offered to the sample.
+	 *
+	 * @param item	the item
+	 */
+	public void add(T item) {
+		Reservoir<T> r = reservoirs.get();
+
+		if(!r.decided) {
+			sample();
+		}
+		r.decided = false;
+
+		if(r.next>=0) {
+			if(r.next==r.items.size()) {
+				r.items.add(item);
+			} else {
+				r.items.set(r.next, item);
+			}
+			r.next = -1;
+		}
+	}
+
+	/**
+	 * @return the number of items that were offered by all threads
+	 */
+	public long getNumberOfSeenItems() {
+		long seen = 0;
+		for(Reservoir<T> r : reservoirs.getAll()) {
+			seen += r.seen;
+		}
+		return seen;
+	}
+
+	/**
+	 * Merges the samples of all threads. Must not be called while items are added.
+	 *
+	 * @return a uniform sample of all added items
+	 */
+	public List<T> getSample() {
+		List<T> result = new ArrayList<>();
+		List<List<T>> remainingItems = new ArrayList<>();
+		List<Long> remainingSeen = new ArrayList<>();
+		long totalSeen = 0;
+
+		for(Reservoir<T> r : reservoirs.getAll()) {
+			remainingItems.add(new ArrayList<>(r.items));
+			remainingSeen.add(r.seen);
+			totalSeen += r.seen;
+			result.addAll(r.items);
+		}
+
+		if(maxSize<0 || result.size()<=maxSize) {
+			// no thread had to drop any items
+			return result;
+		}
+
+		// draw without replacement from the union of all threads: the thread is chosen proportionally to the number of its remaining (unsampled) items
+		// and then a random item of its sample is taken, which is a uniform choice among the thread's items
+		result.clear();
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		while(result.size()<maxSize && totalSeen>0) {
+			long position = random.nextLong(totalSeen);
+			int thread = 0;
+			while(position>=remainingSeen.get(thread)) {
+				position -= remainingSeen.get(thread);
+				thread++;
+			}
+
+			List<T> items = remainingItems.get(thread);
+			int index = random.nextInt(items.size());
+			result.add(items.get(index));
+			items.set(index, items.get(items.size()-1));
+			items.remove(items.size()-1);
+
+			remainingSeen.set(thread, remainingSeen.get(thread)-1);
+			totalSeen--;
+		}
+
+		return result;
+	}
+}
@@ -13,7 +13,9 @@
 package de.uni_mannheim.informatik.dws.winter.utils.parallel;
 
 import java.util.Map.Entry;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.commons.lang.time.DurationFormatUtils;
 import org.slf4j.Logger;
@@ -30,6 +32,9 @@ import de.uni_mannheim.informatik.dws.winter.utils.WinterLogManager;
 public class RunnableProgressReporter implements Runnable {
 
 	private ThreadPoolExecutor pool;
+	private ForkJoinPool forkJoinPool;
+	private long totalTasks;
+	private AtomicLong completedTasks;
 	private Thread thread;
 	private Task userTask;
 	private boolean stop;
@@ -62,6 +67,44 @@ public class RunnableProgressReporter implements Runnable {
 		this.pool = pool;
 	}
 
+	/**
+	 * Reports the progress of tasks running on a {@link ForkJoinPool}. As the
+	 * pool is shared by multiple loops, the number of total and completed tasks
+	 * must be provided by the caller.
+	 * 
+	 * @param forkJoinPool
+	 *            the pool that executes the tasks
+	 * @param totalTasks
+	 *            the total number of tasks
+	 * @param completedTasks
+	 *            the counter for completed tasks
+	 */
+	public void setForkJoinPool(ForkJoinPool forkJoinPool, long totalTasks, AtomicLong completedTasks) {
+		this.forkJoinPool = forkJoinPool;
+		this.totalTasks = totalTasks;
+		this.completedTasks = completedTasks;
+	}
+
+	private long getTaskCount() {
+		return forkJoinPool == null ? pool.getTaskCount() : totalTasks;
+	}
+
+	private long getCompletedTaskCount() {
+		return forkJoinPool == null ? pool.getCompletedTaskCount() : completedTasks.get();
+	}
+
+	private int getActiveCount() {
+		return forkJoinPool == null ? pool.getActiveCount() : forkJoinPool.getActiveThreadCount();
+	}
+
+	private int getPoolSize() {
+		return forkJoinPool == null ? pool.getPoolSize() : forkJoinPool.getPoolSize();
+	}
+
+	private boolean isTerminated() {
+		return forkJoinPool == null ? pool.isTerminated() : forkJoinPool.isTerminated();
+	}
+
 	public void setReportIfStuck(boolean reportIfStuck) {
 		this.reportIfStuck = reportIfStuck;
 	}
@@ -94,8 +137,8 @@ public class RunnableProgressReporter implements Runnable {
 
 	public void initialise() {
 		start = System.currentTimeMillis();
-		tasks = pool.getTaskCount();
-		done = pool.getCompletedTaskCount();
+		tasks = getTaskCount();
+		done = getCompletedTaskCount();
 		stuckIterations = 0;
 		;
 		last = 0;
@@ -106,8 +149,8 @@ public class RunnableProgressReporter implements Runnable {
 
 		if (System.currentTimeMillis() - lastTime >= 10000) {
 
-			tasks = pool.getTaskCount();
-			done = pool.getCompletedTaskCount();
+			tasks = getTaskCount();
+			done = getCompletedTaskCount();
 
 			long soFar = System.currentTimeMillis() - start;
 			long pauseTime = System.currentTimeMillis() - lastTime;
@@ -124,7 +167,7 @@ public class RunnableProgressReporter implements Runnable {
 			String usrMsg = message == null ? "" : message + ": ";
 			logger.info(String.format(
 					"%s%,d of %,d tasks completed after %s (%d/%d active threads). Avg: %.2f items/s, Current: %.2f items/s, %s left.",
-					usrMsg, done, tasks, ttl, pool.getActiveCount(), pool.getPoolSize(), itemsPerSecAvg, itemsPerSecNow,
+					usrMsg, done, tasks, ttl, getActiveCount(), getPoolSize(), itemsPerSecAvg, itemsPerSecNow,
 					remaining));
 
 			if (userTask != null)
@@ -163,7 +206,7 @@ public class RunnableProgressReporter implements Runnable {
 				}
 
 				logger.trace(String.format("%s %d Parallel.X threads (%d parked) --- %d total",
-						pool.isTerminated() ? "[pool terminated]" : "", threadCnt, parkedCnt,
+						isTerminated() ? "[pool terminated]" : "", threadCnt, parkedCnt,
 						Thread.getAllStackTraces().size()));
 
 				if (main != null) {
@@ -0,0 +1,211 @@
+/*
+ * Copyright (c) 2017 Data and Web Science Group, University of Mannheim, Germany (http://dws.informatik.uni-mannheim.de/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package de.uni_mannheim.informatik.dws.winter.utils.rdf;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.rdf.model.RDFNode;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFDataMgr;
+import org.apache.jena.riot.system.StreamRDFBase;
+import org.apache.jena.vocabulary.RDF;
+
+/**
+ * A subject-centric projection of an RDF document, which is evaluated while the document is parsed.
+ * 
+ * Each subject becomes a row with the values of the projected properties as columns. The result is the same as for the SPARQL query
+ * 
+ * <pre>
+ * SELECT ?subject ?variable1 ... WHERE { ?subject a &lt;type&gt; . OPTIONAL { ?subject &lt;property1&gt; ?variable1 } ... }
+ * </pre>
+ * 
+ * but only the values of the projected properties are kept in memory instead of the complete graph.
+ * As the triples of a subject can appear anywhere in the document, the projected values of every subject are kept until the document was parsed completely,
+ * including the values of subjects that turn out not to have the specified type. The memory that is required thus grows with the number of subjects and projected values.
+ * Subjects without a value for any of the projected properties are skipped if no type is specified.
+ * If a subject has several values for a property, a row is created for each combination of values.
+ * 
+ * @author Oliver Lehmberg (oli@dwslab.de)
+ *
+ */
+public class RDFProjection {
+
+	private String subjectVariable;
+	private Node type;
+	private List<String> variables = new ArrayList<>();
+	private Map<Node, Integer> propertyIndices = new HashMap<>();
+
+	/**
+	 * @param subjectVariable
+	 *            the name of the column that contains the subjects or null if the subjects are not part of the result
+	 */
+	public RDFProjection(String subjectVariable) {
+		this.subjectVariable = subjectVariable;
+		if (subjectVariable != null) {
+			variables.add(subjectVariable);
+		}
+	}
+
+	/**
+	 * Restricts the projection to subjects of the specified type (rdf:type).
+	 * 
+	 * @param typeUri
+	 *            the URI of the type or null to project all subjects
+	 */
+	public void setType(String typeUri) {
+		this.type = typeUri == null ? null : NodeFactory.createURI(typeUri);
+	}
+
+	/**
+	 * Adds a column with the values of a property.
+	 * 
+	 * @param variable
+	 *            the name of the column
+	 * @param propertyUri
+	 *            the URI of the property
+	 */
+	public void addProperty(String variable, String propertyUri) {
+		Node property = NodeFactory.createURI(propertyUri);
+		if (propertyIndices.containsKey(property)) {
+			throw new IllegalArgumentException(String.format("Property '%s' is already projected", propertyUri));
+		}
+		propertyIndices.put(property, variables.size());
+		variables.add(variable);
+	}
+
+	/**
+	 * @return the names of the columns in the order of the values in each row
+	 */
+	public List<String> getVariables() {
+		return Collections.unmodifiableList(variables);
+	}
+
+	/**
+	 * Parses the RDF document and passes each row of the projection to the consumer. Values that do not exist are null.
+	 * 
+	 * @param in
+	 *            the RDF document
+	 * @param lang
+	 *            the syntax of the RDF document
+	 * @param rows
+	 *            the consumer for the rows
+	 */
+	public void execute(InputStream in, Lang lang, Consumer<RDFNode[]> rows) {
+		ProjectionStream stream = new ProjectionStream();
+		RDFDataMgr.parse(stream, in, lang);
+		stream.createRows(rows);
+	}
+
+	/**
+	 * The projected values of a single subject
+	 */
+	private static class SubjectValues {
+		boolean hasType = false;
+		List<List<Node>> values;
+
+		SubjectValues(int size) {
+			values = new ArrayList<>(size);
+			for (int i = 0; i < size; i++) {
+				values.add(null);
+			}
+		}
+
+		void add(int index, Node value) {
+			List<Node> list = values.get(index);
+			if (list == null) {
+				list = new ArrayList<>(1);
+				values.set(index, list);
+			}
+			// a graph is a set of triples, so repeated triples do not create additional rows
+			if (!list.contains(value)) {
+				list.add(value);
+			}
+		}
+	}
+
+	/**
+	 * Collects the values of the projected properties for all subjects in the order in which the subjects appear in the document.
+	 */
+	private class ProjectionStream extends StreamRDFBase {
+
+		private Map<Node, SubjectValues> subjects = new LinkedHashMap<>();
+
+		@Override
+		public void triple(Triple triple) {
+			Node predicate = triple.getPredicate();
+			Integer index = propertyIndices.get(predicate);
+
+			if (index != null) {
+				getValues(triple.getSubject()).add(index, triple.getObject());
+			}
+
+			if (type != null && predicate.equals(RDF.type.asNode()) && type.equals(triple.getObject())) {
+				getValues(triple.getSubject()).hasType = true;
+			}
+		}
+
+		private SubjectValues getValues(Node subject) {
+			SubjectValues values = subjects.get(subject);
+			if (values == null) {
+				values = new SubjectValues(variables.size());
+				subjects.put(subject, values);
+			}
+			return values;
+		}
+
+		public void createRows(Consumer<RDFNode[]> rows) {
+			// used to convert the nodes into the same RDFNodes that a query on a model returns
+			Model model = ModelFactory.createDefaultModel();
+
+			for (Map.Entry<Node, SubjectValues> entry : subjects.entrySet()) {
+				SubjectValues values = entry.getValue();
+
+				if (type == null || values.hasType) {
+					RDFNode[] row = new RDFNode[variables.size()];
+					if (subjectVariable != null) {
+						row[0] = model.asRDFNode(entry.getKey());
+					}
+					createRows(row, subjectVariable == null ? 0 : 1, values, model, rows);
+				}
+			}
+		}
+
+		private void createRows(RDFNode[] row, int index, SubjectValues values, Model model, Consumer<RDFNode[]> rows) {
+			if (index == row.length) {
+				rows.accept(row.clone());
+			} else {
+				List<Node> list = values.values.get(index);
+				if (list == null) {
+					row[index] = null;
+					createRows(row, index + 1, values, model, rows);
+				} else {
+					for (Node value : list) {
+						row[index] = model.asRDFNode(value);
+						createRows(row, index + 1, values, model, rows);
+					}
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2017 Data and Web Science Group, University of Mannheim, Germany (http://dws.informatik.uni-mannheim.de/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package de.uni_mannheim.informatik.dws.winter.utils.rdf;
+
+import java.io.File;
+import java.io.InputStream;
+import java.util.function.Consumer;
+
+import org.apache.jena.query.Dataset;
+import org.apache.jena.query.Query;
+import org.apache.jena.query.QueryExecution;
+import org.apache.jena.query.QueryExecutionFactory;
+import org.apache.jena.query.QueryFactory;
+import org.apache.jena.query.ReadWrite;
+import org.apache.jena.query.ResultSet;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFDataMgr;
+import org.apache.jena.riot.RDFLanguages;
+import org.apache.jena.tdb.TDB;
+import org.apache.jena.tdb.TDBFactory;
+import org.apache.jena.tdb.TDBLoader;
+import org.apache.jena.tdb.store.DatasetGraphTDB;
+import org.apache.jena.tdb.sys.TDBInternal;
+
+/**
+ * Executes a SPARQL SELECT query on an RDF document. 
+ * 
+ * By default, the document is loaded into an in-memory model. If a TDB directory is specified, the document is loaded into a disk-backed TDB store instead, which can handle documents that do not fit into memory.
+ * For subject-centric queries, an {@link RDFProjection} only keeps the projected values instead of the complete graph.
+ * 
+ * @author Oliver Lehmberg (oli@dwslab.de)
+ *
+ */
+public class SparqlSelect {
+
+	private Query query;
+	private File tdbDirectory;
+
+	/**
+	 * @param query
+	 *            the SPARQL SELECT query
+	 */
+	public SparqlSelect(String query) {
+		this.query = QueryFactory.create(query);
+	}
+
+	/**
+	 * Specifies the directory of the TDB store into which the documents are loaded. The documents are added to the default graph of the store, so the directory should be empty or only be re-used for the same document.
+	 * The store is not deleted after the query was executed.
+	 * The documents are loaded without a transaction (N-Triples and N-Quads with the TDB bulk loader), so the store must not be used by another process at the same time.
+	 * 
+	 * @param tdbDirectory
+	 *            the directory of the TDB store or null to load the documents into memory
+	 */
+	public void setTdbDirectory(File tdbDirectory) {
+		this.tdbDirectory = tdbDirectory;
+	}
+
+	/**
+	 * @return the directory of the TDB store or null if the documents are loaded into memory
+	 */
+	public File getTdbDirectory() {
+		return tdbDirectory;
+	}
+
+	/**
+	 * Loads the RDF document and executes the query. The result set can only be used while the consumer is running.
+	 * 
+	 * @param in
+	 *            the RDF document
+	 * @param lang
+	 *            the syntax of the RDF document
+	 * @param results
+	 *            the consumer for the results
+	 */
+	public void execute(InputStream in, Lang lang, Consumer<ResultSet> results) {
+		if (tdbDirectory == null) {
+			Model model = ModelFactory.createDefaultModel();
+			RDFDataMgr.read(model, in, lang);
+
+			try (QueryExecution qexec = QueryExecutionFactory.create(query, model)) {
+				results.accept(qexec.execSelect());
+			}
+		} else {
+			tdbDirectory.mkdirs();
+			Dataset dataset = TDBFactory.createDataset(tdbDirectory.getAbsolutePath());
+
+			try {
+				// a TDB write transaction keeps all changes in memory until it is committed, so the document is loaded without a transaction
+				// (TDB only allows this before the store is used in a transaction)
+				DatasetGraphTDB store = TDBInternal.getBaseDatasetGraphTDB(dataset.asDatasetGraph());
+				if (RDFLanguages.sameLang(lang, Lang.NTRIPLES) || RDFLanguages.sameLang(lang, Lang.NQUADS)) {
+					TDBLoader.load(store, in, false);
+				} else {
+					RDFDataMgr.read(store, in, lang);
+				}
+				TDB.sync(store);
+
+				dataset.begin(ReadWrite.READ);
+				try (QueryExecution qexec = QueryExecutionFactory.create(query, dataset)) {
+					results.accept(qexec.execSelect());
+				} finally {
+					dataset.end();
+				}
+			} finally {
+				TDBFactory.release(dataset);
+			}
+		}
+	}
+
+}
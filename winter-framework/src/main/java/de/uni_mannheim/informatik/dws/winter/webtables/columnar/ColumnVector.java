@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2017 Data and Web Science Group, University of Mannheim, Germany (http://dws.informatik.uni-mannheim.de/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package de.uni_mannheim.informatik.dws.winter.webtables.columnar;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * The values of a single column of a {@link ColumnarTable}.
+ *
+ * Implementations store the values in a type-specific representation, so numeric and date values are not boxed per cell.
+ *
+ * @author Oliver Lehmberg (oli@dwslab.de)
+ *
+ */
+public abstract class ColumnVector implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * @return the number of rows
+	 */
+	public abstract int size();
+
+	/**
+	 * @param row	the row index
+	 * @return true if the row has no value
+	 */
+	public abstract boolean isNull(int row);
+
+	/**
+	 * @param row	the row index
+	 * @return the value of the row (boxed)
+	 */
+	public abstract Object get(int row);
+
+	/**
+	 * Sets the value of a row.
+	 *
+	 * @param row	the row index
+	 * @param value	the new value (can be null)
+	 * @return false if the value cannot be represented by this vector. In this case, the vector is not changed.
+	 */
+	public abstract boolean set(int row, Object value);
+
+	/**
+	 * @return the number of distinct non-null values
+	 */
+	public abstract int getNumberOfDistinctValues();
+
+	/**
+	 * @return the number of non-null values
+	 */
+	public int getNumberOfValues() {
+		int values = 0;
+		for(int i = 0; i < size(); i++) {
+			if(!isNull(i)) {
+				values++;
+			}
+		}
+		return values;
+	}
+
+	/**
+	 * @return the distinct non-null values
+	 */
+	public Set<Object> getDomain() {
+		Set<Object> domain = new HashSet<>();
+		for(int i = 0; i < size(); i++) {
+			if(!isNull(i)) {
+				domain.add(get(i));
+			}
+		}
+		return domain;
+	}
+
+	/**
+	 * Creates the most specific vector that can represent all of the given values.
+	 *
+	 * @param values	the values of the column
+	 * @return the vector containing the values
+	 */
+	public static ColumnVector create(Object[] values) {
+		boolean allDouble = true;
+		boolean allDate = true;
+		boolean allString = true;
+
+		for(Object value : values) {
+			if(value!=null) {
+				allDouble &= value instanceof Double;
+				allDate &= DateColumnVector.canRepresent(value);
+				allString &= value instanceof String;
+			}
+		}
+
+		ColumnVector vector;
+		if(allString) {
+			// also covers columns without any values
+			vector = new StringColumnVector(values.length);
+		} else if(allDouble) {
+			vector = new DoubleColumnVector(values.length);
+		} else if(allDate) {
+			vector = new DateColumnVector(values.length);
+		} else {
+			vector = new ObjectColumnVector(values.length);
+		}
+
+		for(int i = 0; i < values.length; i++) {
+			vector.set(i, values[i]);
+		}
+
+		return vector;
+	}
+
+	protected static boolean isDate(Object value) {
+		return value instanceof LocalDateTime;
+	}
+}
@@ -0,0 +1,234 @@
+/*
+ * Copyright (c) 2017 Data and Web Science Group, University of Mannheim, Germany (http://dws.informatik.uni-mannheim.de/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package de.uni_mannheim.informatik.dws.winter.webtables.columnar;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import de.uni_mannheim.informatik.dws.winter.webtables.Table;
+import de.uni_mannheim.informatik.dws.winter.webtables.TableColumn;
+import de.uni_mannheim.informatik.dws.winter.webtables.TableRow;
+
+/**
+ * A column-oriented representation of a {@link Table}.
+ *
+ * The values of each column are stored in a {@link ColumnVector}: numeric and date columns as primitive arrays, string columns dictionary-encoded.
+ * Rows are available as views ({@link ColumnarTableRow}), which are compatible with {@link TableRow}.
+ *
+ * The number of rows is fixed, use {@link #toTable()} to convert the table back to a row-oriented table for structural changes.
+ *
+ * @author Oliver Lehmberg (oli@dwslab.de)
+ *
+ */
+public class ColumnarTable implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private Table table;
+	private ColumnVector[] columns;
+	private int size;
+	private List<String>[] provenance;
+
+	/**
+	 * Creates a columnar copy of the given table.
+	 *
+	 * @param t	the table
+	 */
+	@SuppressWarnings("unchecked")
+	public ColumnarTable(Table t) {
+		// the table without rows holds the schema, so the row views can refer to it
+		table = t.copySchema();
+		table.setTableId(t.getTableId());
+		table.setMapping(t.getMapping());
+		table.setContext(t.getContext());
+
+		size = t.getSize();
+		columns = new ColumnVector[t.getSchema().getSize()];
+		provenance = new List[size];
+
+		List<TableRow> rows = t.getRows();
+		Object[] values = new Object[size];
+		for(int c = 0; c < columns.length; c++) {
+			for(int r = 0; r < size; r++) {
+				values[r] = rows.get(r).get(c);
+			}
+			columns[c] = ColumnVector.create(values);
+		}
+
+		for(int r = 0; r < size; r++) {
+			List<String> prov = rows.get(r).getProvenance();
+			if(prov!=null && prov.size()>0) {
+				provenance[r] = prov;
+			}
+		}
+	}
+
+	/**
+	 * @return the table that contains the schema (and no rows)
+	 */
+	public Table getTable() {
+		return table;
+	}
+
+	public int getSize() {
+		return size;
+	}
+
+	public int getNumberOfColumns() {
+		return columns.length;
+	}
+
+	public ColumnVector getColumn(int columnIndex) {
+		return columns[columnIndex];
+	}
+
+	public Object get(int rowIndex, int columnIndex) {
+		return columns[columnIndex].get(rowIndex);
+	}
+
+	/**
+	 * Sets a value. If the value does not fit the type of the column vector, the column is converted to an {@link ObjectColumnVector}.
+	 */
+	public void set(int rowIndex, int columnIndex, Object value) {
+		if(!columns[columnIndex].set(rowIndex, value)) {
+			columns[columnIndex] = new ObjectColumnVector(columns[columnIndex]);
+			columns[columnIndex].set(rowIndex, value);
+		}
+	}
+
+	/**
+	 * @param rowIndex	the row index
+	 * @return a view on the row
+	 */
+	public TableRow get(int rowIndex) {
+		return new ColumnarTableRow(rowIndex, this);
+	}
+
+	/**
+	 * @return views on all rows
+	 */
+	public List<TableRow> getRows() {
+		return new AbstractList<TableRow>() {
+
+			@Override
+			public TableRow get(int index) {
+				return ColumnarTable.this.get(index);
+			}
+
+			@Override
+			public int size() {
+				return size;
+			}
+		};
+	}
+
+	List<String> getProvenance(int rowIndex) {
+		if(provenance[rowIndex]==null) {
+			provenance[rowIndex] = new LinkedList<>();
+		}
+		return provenance[rowIndex];
+	}
+
+	void setProvenance(int rowIndex, List<String> prov) {
+		provenance[rowIndex] = prov;
+	}
+
+	/**
+	 * Creates a row-oriented table with the same schema and values.
+	 *
+	 * @return the table
+	 */
+	public Table toTable() {
+		Table result = table.copySchema();
+		result.setTableId(table.getTableId());
+		result.setMapping(table.getMapping());
+		result.setContext(table.getContext());
+
+		for(int r = 0; r < size; r++) {
+			TableRow row = new TableRow(r, result);
+			Object[] values = new Object[columns.length];
+			for(int c = 0; c < columns.length; c++) {
+				values[c] = columns[c].get(r);
+			}
+			row.set(values);
+			if(provenance[r]!=null) {
+				row.setProvenance(provenance[r]);
+			}
+			result.addRow(row);
+		}
+
+		return result;
+	}
+
+	/**
+	 * @see Table#getColumnDensities()
+	 */
+	public Map<TableColumn, Double> getColumnDensities() {
+		Map<TableColumn, Double> densities = new HashMap<>();
+
+		for(TableColumn c : table.getColumns()) {
+			densities.put(c, columns[c.getColumnIndex()].getNumberOfValues() / (double)size);
+		}
+
+		return densities;
+	}
+
+	/**
+	 * @see Table#getNumberOfValuesPerColumn()
+	 */
+	public Map<TableColumn, Integer> getNumberOfValuesPerColumn() {
+		Map<TableColumn, Integer> valuesByColumn = new HashMap<>();
+
+		for(TableColumn c : table.getColumns()) {
+			int values = columns[c.getColumnIndex()].getNumberOfValues();
+			if(values>0) {
+				valuesByColumn.put(c, values);
+			}
+		}
+
+		return valuesByColumn;
+	}
+
+	/**
+	 * @see Table#getColumnUniqueness()
+	 */
+	public Map<TableColumn, Double> getColumnUniqueness() {
+		Map<TableColumn, Double> uniqueness = new HashMap<>();
+
+		for(TableColumn c : table.getColumns()) {
+			uniqueness.put(c, columns[c.getColumnIndex()].getNumberOfDistinctValues() / (double)size);
+		}
+
+		return uniqueness;
+	}
+
+	/**
+	 * @see Table#getColumnDomains()
+	 */
+	public Map<TableColumn, Set<Object>> getColumnDomains() {
+		Map<TableColumn, Set<Object>> valuesByColumn = new HashMap<>();
+
+		for(TableColumn c : table.getColumns()) {
+			ColumnVector vector = columns[c.getColumnIndex()];
+			if(vector.getNumberOfValues()>0) {
+				valuesByColumn.put(c, vector.getDomain());
+			}
+		}
+
+		return valuesByColumn;
+	}
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2017 Data and Web Science Group, University of Mannheim, Germany (http://dws.informatik.uni-mannheim.de/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package de.uni_mannheim.informatik.dws.winter.webtables.columnar;
+
+import java.util.List;
+
+import de.uni_mannheim.informatik.dws.winter.webtables.TableRow;
+
+/**
+ * A view on a row of a {@link ColumnarTable}. All values are read from and written to the column vectors of the table.
+ *
+ * @author Oliver Lehmberg (oli@dwslab.de)
+ *
+ */
+public class ColumnarTableRow extends TableRow {
+
+	private static final long serialVersionUID = 1L;
+
+	private ColumnarTable columnarTable;
+
+	public ColumnarTableRow(int rowNumber, ColumnarTable table) {
+		super(rowNumber, table.getTable());
+		this.columnarTable = table;
+	}
+
+	public ColumnarTable getColumnarTable() {
+		return columnarTable;
+	}
+
+	@Override
+	public Object get(int columnIndex) {
+		if(columnIndex>=columnarTable.getNumberOfColumns()) {
+			return null;
+		} else {
+			return columnarTable.get(getRowNumber(), columnIndex);
+		}
+	}
+
+	@Override
+	public void set(int columnIndex, Object value) {
+		columnarTable.set(getRowNumber(), columnIndex, value);
+	}
+
+	/**
+	 * Creates a copy of the values of this row. Changes to the returned array are not reflected in the table.
+	 */
+	@Override
+	public Object[] getValueArray() {
+		Object[] values = new Object[columnarTable.getNumberOfColumns()];
+		for(int i = 0; i < values.length; i++) {
+			values[i] = get(i);
+		}
+		return values;
+	}
+
+	@Override
+	public void set(Object[] values) {
+		for(int i = 0; i < columnarTable.getNumberOfColumns(); i++) {
+			set(i, values!=null && i < values.length ? values[i] : null);
+		}
+	}
+
+	@Override
+	public List<String> getProvenance() {
+		return columnarTable.getProvenance(getRowNumber());
+	}
+
+	@Override
+	public void setProvenance(List<String> provenance) {
+		columnarTable.setProvenance(getRowNumber(), provenance);
+	}
+
+	/**
+	 * The row number of a view is fixed.
+	 */
+	@Override
+	public void invalidateRowNumber() {
+	}
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2017 Data and Web Science Group, University of Mannheim, Germany (http://dws.informatik.uni-mannheim.de/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package de.uni_mannheim.informatik.dws.winter.webtables.columnar;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * A column of date values ({@link LocalDateTime}), stored as primitive longs (milliseconds since the epoch, UTC) with a null bitmap.
+ *
+ * Only dates without sub-millisecond precision can be stored, see {@link #canRepresent(Object)}.
+ *
+ * @author Oliver Lehmberg (oli@dwslab.de)
+ *
+ */
+public class DateColumnVector extends ColumnVector {
+
+	private static final long serialVersionUID = 1L;
+
+	private long[] values;
+	private BitSet nulls;
+
+	public DateColumnVector(int size) {
+		values = new long[size];
+		nulls = new BitSet(size);
+		nulls.set(0, size);
+	}
+
+	/**
+	 * @param value	the value
+	 * @return true if the value is a date that can be stored without loss of precision
+	 */
+	public static boolean canRepresent(Object value) {
+		return isDate(value) && ((LocalDateTime)value).getNano() % 1000000 == 0;
+	}
+
+	@Override
+	public int size() {
+		return values.length;
+	}
+
+	@Override
+	public boolean isNull(int row) {
+		return nulls.get(row);
+	}
+
+	/**
+	 * @param row	the row index
+	 * @return the value of the row in milliseconds since the epoch (UTC), only valid if {@link #isNull(int)} is false
+	 */
+	public long getEpochMillis(int row) {
+		return values[row];
+	}
+
+	@Override
+	public Object get(int row) {
+		if(isNull(row)) {
+			return null;
+		} else {
+			long millis = values[row];
+			return LocalDateTime.ofEpochSecond(Math.floorDiv(millis, 1000L), (int)Math.floorMod(millis, 1000L) * 1000000, ZoneOffset.UTC);
+		}
+	}
+
+	@Override
+	public boolean set(int row, Object value) {
+		if(value==null) {
+			nulls.set(row);
+			values[row] = 0L;
+			return true;
+		} else if(canRepresent(value)) {
+			LocalDateTime date = (LocalDateTime)value;
+			values[row] = date.toEpochSecond(ZoneOffset.UTC) * 1000L + date.getNano() / 1000000;
+			nulls.clear(row);
+			return true;
+		} else {
+			return false;
+		}
+	}
+
+	@Override
+	public int getNumberOfValues() {
+		return size() - nulls.cardinality();
+	}
+
+	@Override
+	public int getNumberOfDistinctValues() {
+		long[] sorted = new long[getNumberOfValues()];
+		int idx = 0;
+		for(int i = nulls.nextClearBit(0); i < values.length; i = nulls.nextClearBit(i+1)) {
+			sorted[idx++] = values[i];
+		}
+
+		Arrays.sort(sorted);
+
+		int distinct = 0;
+		for(int i = 0; i < sorted.length; i++) {
+			if(i==0 || sorted[i]!=sorted[i-1]) {
+				distinct++;
+			}
+		}
+		return distinct;
+	}
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2017 Data and Web Science Group, University of Mannheim, Germany (http://dws.informatik.uni-mannheim.de/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package de.uni_mannheim.informatik.dws.winter.webtables.columnar;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * A column of numeric values, stored as primitive doubles with a null bitmap.
+ *
+ * @author Oliver Lehmberg (oli@dwslab.de)
+ *
+ */
+public class DoubleColumnVector extends ColumnVector {
+
+	private static final long serialVersionUID = 1L;
+
+	private double[] values;
+	private BitSet nulls;
+
+	public DoubleColumnVector(int size) {
+		values = new double[size];
+		nulls = new BitSet(size);
+		nulls.set(0, size);
+	}
+
+	@Override
+	public int size() {
+		return values.length;
+	}
+
+	@Override
+	public boolean isNull(int row) {
+		return nulls.get(row);
+	}
+
+	/**
+	 * @param row	the row index
+	 * @return the value of the row without boxing, only valid if {@link #isNull(int)} is false
+	 */
+	public double getDouble(int row) {
+		return values[row];
+	}
+
+	@Override
+	public Object get(int row) {
+		return isNull(row) ? null : values[row];
+	}
+
+	@Override
+	public boolean set(int row, Object value) {
+		if(value==null) {
+			nulls.set(row);
+			values[row] = 0.0;
+			return true;
+		} else if(value instanceof Double) {
+			setDouble(row, (Double)value);
+			return true;
+		} else {
+			return false;
+		}
+	}
+
+	public void setDouble(int row, double value) {
+		values[row] = value;
+		nulls.clear(row);
+	}
+
+	@Override
+	public int getNumberOfValues() {
+		return size() - nulls.cardinality();
+	}
+
+	@Override
+	public int getNumberOfDistinctValues() {
+		double[] sorted = new double[getNumberOfValues()];
+		int idx = 0;
+		for(int i = nulls.nextClearBit(0); i < values.length; i = nulls.nextClearBit(i+1)) {
+			sorted[idx++] = values[i];
+		}
+
+		// sorting uses the same total order as Double.equals
+		Arrays.sort(sorted);
+
+		int distinct = 0;
+		for(int i = 0; i < sorted.length; i++) {
+			if(i==0 || Double.compare(sorted[i], sorted[i-1])!=0) {
+				distinct++;
+			}
+		}
+		return distinct;
+	}
+}
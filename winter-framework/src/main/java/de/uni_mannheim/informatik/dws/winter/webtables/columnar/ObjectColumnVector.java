@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2017 Data and Web Science Group, University of Mannheim, Germany (http://dws.informatik.uni-mannheim.de/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package de.uni_mannheim.informatik.dws.winter.webtables.columnar;
+
+/**
+ * A column of arbitrary values (i.e., lists or mixed types), which are stored as objects.
+ *
+ * @author Oliver Lehmberg (oli@dwslab.de)
+ *
+ */
+public class ObjectColumnVector extends ColumnVector {
+
+	private static final long serialVersionUID = 1L;
+
+	private Object[] values;
+
+	public ObjectColumnVector(int size) {
+		values = new Object[size];
+	}
+
+	/**
+	 * Creates a vector with the values of another vector.
+	 *
+	 * @param other	the vector to copy
+	 */
+	public ObjectColumnVector(ColumnVector other) {
+		this(other.size());
+		for(int i = 0; i < values.length; i++) {
+			values[i] = other.get(i);
+		}
+	}
+
+	@Override
+	public int size() {
+		return values.length;
+	}
+
+	@Override
+	public boolean isNull(int row) {
+		return values[row]==null;
+	}
+
+	@Override
+	public Object get(int row) {
+		return values[row];
+	}
+
+	@Override
+	public boolean set(int row, Object value) {
+		values[row] = value;
+		return true;
+	}
+
+	@Override
+	public int getNumberOfDistinctValues() {
+		return getDomain().size();
+	}
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2017 Data and Web Science Group, University of Mannheim, Germany (http://dws.informatik.uni-mannheim.de/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package de.uni_mannheim.informatik.dws.winter.webtables.columnar;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A column of string values, which are dictionary-encoded: each distinct string is stored once and each row references it by its code.
+ *
+ * @author Oliver Lehmberg (oli@dwslab.de)
+ *
+ */
+public class StringColumnVector extends ColumnVector {
+
+	private static final long serialVersionUID = 1L;
+
+	private static final int NULL = -1;
+
+	private int[] codes;
+	private List<String> dictionary = new ArrayList<>();
+	private Map<String, Integer> dictionaryIndex = new HashMap<>();
+
+	public StringColumnVector(int size) {
+		codes = new int[size];
+		Arrays.fill(codes, NULL);
+	}
+
+	@Override
+	public int size() {
+		return codes.length;
+	}
+
+	@Override
+	public boolean isNull(int row) {
+		return codes[row]==NULL;
+	}
+
+	/**
+	 * @param row	the row index
+	 * @return the dictionary code of the row's value, or -1 if the row has no value
+	 */
+	public int getCode(int row) {
+		return codes[row];
+	}
+
+	/**
+	 * @return the dictionary, which maps codes to strings (can contain strings that are no longer used by any row)
+	 */
+	public List<String> getDictionary() {
+		return dictionary;
+	}
+
+	@Override
+	public Object get(int row) {
+		int code = codes[row];
+		return code==NULL ? null : dictionary.get(code);
+	}
+
+	@Override
+	public boolean set(int row, Object value) {
+		if(value==null) {
+			codes[row] = NULL;
+			return true;
+		} else if(value instanceof String) {
+			String s = (String)value;
+			Integer code = dictionaryIndex.get(s);
+			if(code==null) {
+				code = dictionary.size();
+				dictionary.add(s);
+				dictionaryIndex.put(s, code);
+			}
+			codes[row] = code;
+			return true;
+		} else {
+			return false;
+		}
+	}
+
+	@Override
+	public int getNumberOfDistinctValues() {
+		BitSet used = new BitSet(dictionary.size());
+		for(int code : codes) {
+			if(code!=NULL) {
+				used.set(code);
+			}
+		}
+		return used.cardinality();
+	}
+}
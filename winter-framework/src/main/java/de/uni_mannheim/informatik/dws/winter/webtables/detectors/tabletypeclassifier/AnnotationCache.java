@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2017 Data and Web Science Group, University of Mannheim, Germany (http://dws.informatik.uni-mannheim.de/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package de.uni_mannheim.informatik.dws.winter.webtables.detectors.tabletypeclassifier;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * A size-bounded, thread-safe cache for the results of the POS tagger and the temporal expression parser, which are keyed by the cell value.
+ * If the cache is full, the least recently used entry is removed.
+ *
+ * The annotation of a value is not synchronised, so two threads can annotate the same value at the same time, but the tagger is never blocked by the cache.
+ *
+ * @author Oliver Lehmberg (oli@dwslab.de)
+ *
+ */
+public class AnnotationCache<T> {
+
+	private int maxSize;
+	private Map<String, T> cache;
+	private AtomicLong hits = new AtomicLong();
+	private AtomicLong misses = new AtomicLong();
+
+	/**
+	 * @param maxSize	the maximum number of cached values, 0 disables the cache
+	 */
+	public AnnotationCache(int maxSize) {
+		this.maxSize = maxSize;
+		this.cache = new LinkedHashMap<String, T>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, T> eldest) {
+				return size() > AnnotationCache.this.maxSize;
+			}
+		};
+	}
+
+	/**
+	 * Returns the cached annotation of the value or annotates the value and adds the result to the cache.
+	 *
+	 * @param value		the cell value
+	 * @param annotate	the function that annotates the value
+	 * @return the annotation
+	 */
+	public T get(String value, Function<String, T> annotate) {
+		String key = value;
+		T result = null;
+		boolean found = false;
+
+		synchronized (cache) {
+			result = cache.get(key);
+			found = result != null || cache.containsKey(key);
+		}
+
+		if(found) {
+			hits.incrementAndGet();
+		} else {
+			misses.incrementAndGet();
+			result = annotate.apply(key);
+
+			if(maxSize>0) {
+				synchronized (cache) {
+					cache.put(key, result);
+				}
+			}
+		}
+
+		return result;
+	}
+
+	/**
+	 * @return the number of cached values
+	 */
+	public int size() {
+		synchronized (cache) {
+			return cache.size();
+		}
+	}
+
+	/**
+	 * @return the number of values that were found in the cache
+	 */
+	public long getHits() {
+		return hits.get();
+	}
+
+	/**
+	 * @return the number of values that had to be annotated
+	 */
+	public long getMisses() {
+		return misses.get();
+	}
+
+	/**
+	 * Removes all values from the cache.
+	 */
+	public void clear() {
+		synchronized (cache) {
+			cache.clear();
+		}
+	}
+}
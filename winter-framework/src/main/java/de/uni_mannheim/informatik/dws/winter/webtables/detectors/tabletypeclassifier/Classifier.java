@@ -12,14 +12,22 @@
 
 package de.uni_mannheim.informatik.dws.winter.webtables.detectors.tabletypeclassifier;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import de.uni_mannheim.informatik.dws.winter.preprocessing.datatypes.DataType;
 
+import static de.uni_mannheim.informatik.dws.winter.webtables.detectors.tabletypeclassifier.ColumnFeatures.*;
+
 /**
  * Holds the decision tree logic to classify a column based on its corresponding
  * features. Therefore the datatypes from normalisation are used.
  * 
+ * The leaves of the decision tree are stored as rules, which are indexed by the cell content pattern (CCP).
+ * The first rule (in the order of the tree) with matching conditions determines the DataType.
+ * 
  * @author Sanikumar Zope
  * @author Alexander Brinkmann
  *
@@ -27,6 +35,267 @@ import de.uni_mannheim.informatik.dws.winter.preprocessing.datatypes.DataType;
 
 public class Classifier {
 
+	/**
+	 * A condition of a rule: feature &gt; threshold or feature &lt;= threshold
+	 */
+	private static class Condition {
+		int feature;
+		double threshold;
+		boolean greater;
+
+		Condition(int feature, double threshold, boolean greater) {
+			this.feature = feature;
+			this.threshold = threshold;
+			this.greater = greater;
+		}
+	}
+
+	/**
+	 * A leaf of the decision tree, stored as conjunction of all conditions on the path to the leaf (except for the cell content pattern)
+	 */
+	private static class Rule {
+		int[] features;
+		double[] thresholds;
+		boolean[] greater;
+		DataType type;
+
+		boolean matches(double[] values) {
+			for (int i = 0; i < features.length; i++) {
+				double value = values[features[i]];
+				if (greater[i] ? value <= thresholds[i] : value > thresholds[i]) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+
+	private static final Map<String, Rule[]> RULES = new HashMap<>();
+
+	private static Condition gt(int feature, double threshold) {
+		return new Condition(feature, threshold, true);
+	}
+
+	private static Condition le(int feature, double threshold) {
+		return new Condition(feature, threshold, false);
+	}
+
+	private static Condition isTrue(int feature) {
+		return gt(feature, 0.5);
+	}
+
+	private static Condition isFalse(int feature) {
+		return le(feature, 0.5);
+	}
+
+	private static void add(String cellContentPattern, DataType type, Condition... conditions) {
+		Rule rule = new Rule();
+		rule.type = type;
+		rule.features = new int[conditions.length];
+		rule.thresholds = new double[conditions.length];
+		rule.greater = new boolean[conditions.length];
+		for (int i = 0; i < conditions.length; i++) {
+			rule.features[i] = conditions[i].feature;
+			rule.thresholds[i] = conditions[i].threshold;
+			rule.greater[i] = conditions[i].greater;
+		}
+
+		Rule[] rules = RULES.get(cellContentPattern);
+		if (rules == null) {
+			rules = new Rule[] { rule };
+		} else {
+			Rule[] extended = new Rule[rules.length + 1];
+			System.arraycopy(rules, 0, extended, 0, rules.length);
+			extended[rules.length] = rule;
+			rules = extended;
+		}
+		RULES.put(cellContentPattern, rules);
+	}
+
+	static {
+		add("a", DataType.string, gt(ACL, 4.500), isFalse(IS_BOOLEAN_VALUE), gt(PAC, 0.685));
+		add("a", DataType.numeric, gt(ACL, 4.500), isFalse(IS_BOOLEAN_VALUE), le(PAC, 0.685));
+		add("a", DataType.bool, gt(ACL, 4.500), isTrue(IS_BOOLEAN_VALUE));
+		add("a", DataType.string, le(ACL, 4.500), isFalse(CPCHC), gt(PAC, 0.700), gt(PAC, 0.805), isFalse(IS_BOOLEAN_VALUE), gt(ACL, 0.500));
+		add("a", DataType.bool, le(ACL, 4.500), isFalse(CPCHC), gt(PAC, 0.700), gt(PAC, 0.805), isFalse(IS_BOOLEAN_VALUE), le(ACL, 0.500));
+		add("a", DataType.bool, le(ACL, 4.500), isFalse(CPCHC), gt(PAC, 0.700), gt(PAC, 0.805), isTrue(IS_BOOLEAN_VALUE));
+		add("a", DataType.string, le(ACL, 4.500), isFalse(CPCHC), gt(PAC, 0.700), le(PAC, 0.805));
+		add("a", DataType.unit, le(ACL, 4.500), isFalse(CPCHC), le(PAC, 0.700));
+		add("a", DataType.string, le(ACL, 4.500), isTrue(CPCHC));
+		add("a_a", DataType.string);
+		add("ad", DataType.numeric, gt(PPC, 0.020));
+		add("ad", DataType.string, le(PPC, 0.020));
+		add("ada", DataType.string);
+		add("adsap", DataType.string);
+		add("apa", DataType.string, isFalse(IS_DATE_OR_TIME), isFalse(CPCHC), gt(ACL, 6));
+		add("apa", DataType.string, isFalse(IS_DATE_OR_TIME), isFalse(CPCHC), le(ACL, 6), gt(PAC, 0.900), gt(PAC, 0.995));
+		add("apa", DataType.date, isFalse(IS_DATE_OR_TIME), isFalse(CPCHC), le(ACL, 6), gt(PAC, 0.900), le(PAC, 0.995));
+		add("apa", DataType.string, isFalse(IS_DATE_OR_TIME), isFalse(CPCHC), le(ACL, 6), le(PAC, 0.900));
+		add("apa", DataType.string, isFalse(IS_DATE_OR_TIME), isTrue(CPCHC));
+		add("apa", DataType.string, isTrue(IS_DATE_OR_TIME));
+		add("apaapdad", DataType.string);
+		add("apap", DataType.string);
+		add("apapa", DataType.string);
+		add("apapad", DataType.string);
+		add("apapap", DataType.string);
+		add("apapapa", DataType.string);
+		add("apapapad", DataType.string);
+		add("apapapap", DataType.string);
+		add("apapapapa", DataType.string);
+		add("apapapapadpdadpa", DataType.string);
+		add("apapapapapad", DataType.string);
+		add("apapapapapapapapapapapa", DataType.string);
+		add("apapapapapapdpdpdpdpdpapapapapapapdpsa", DataType.numeric);
+		add("apapapapapapdpsa", DataType.numeric);
+		add("apapapapapapdspapapap", DataType.string);
+		add("apapapapdpsa", DataType.numeric);
+		add("apapd", DataType.string);
+		add("apapspd", DataType.string);
+		add("apd", DataType.date, gt(PAC, 0.430));
+		add("apd", DataType.unit, le(PAC, 0.430));
+		add("apdapdasapa", DataType.string);
+		add("apdapdpdpdpa", DataType.date);
+		add("apdp", DataType.string);
+		add("apdpd", DataType.string, isFalse(IS_DATE_OR_TIME), isFalse(CPCHC));
+		add("apdpd", DataType.unit, isFalse(IS_DATE_OR_TIME), isTrue(CPCHC));
+		add("apdpd", DataType.date, isTrue(IS_DATE_OR_TIME));
+		add("apdpdpd", DataType.date);
+		add("apsapapapapapapa", DataType.string);
+		add("apsapapapapapapapap", DataType.string);
+		add("apspa", DataType.string);
+		add("as", DataType.numeric);
+		add("asa", DataType.string);
+		add("asap", DataType.string);
+		add("asapa", DataType.string);
+		add("asapapa", DataType.string);
+		add("asapapasa", DataType.string);
+		add("asapdpd", DataType.unit);
+		add("asds", DataType.string);
+		add("d", DataType.numeric, isFalse(IS_DATE_OR_TIME), isFalse(CPCHC), gt(ACL, 0.500));
+		add("d", DataType.date, isFalse(IS_DATE_OR_TIME), isFalse(CPCHC), le(ACL, 0.500), gt(PAC, 0.310));
+		add("d", DataType.numeric, isFalse(IS_DATE_OR_TIME), isFalse(CPCHC), le(ACL, 0.500), le(PAC, 0.310));
+		add("d", DataType.unit, isFalse(IS_DATE_OR_TIME), isTrue(CPCHC), gt(PAC, 0.450), gt(PAC, 0.825));
+		add("d", DataType.numeric, isFalse(IS_DATE_OR_TIME), isTrue(CPCHC), gt(PAC, 0.450), le(PAC, 0.825));
+		add("d", DataType.numeric, isFalse(IS_DATE_OR_TIME), isTrue(CPCHC), le(PAC, 0.450), isFalse(IS_BOOLEAN_VALUE), gt(PAC, -0.500), gt(PPC, 0.085), gt(PAC, 0.070));
+		add("d", DataType.unit, isFalse(IS_DATE_OR_TIME), isTrue(CPCHC), le(PAC, 0.450), isFalse(IS_BOOLEAN_VALUE), gt(PAC, -0.500), gt(PPC, 0.085), le(PAC, 0.070));
+		add("d", DataType.unit, isFalse(IS_DATE_OR_TIME), isTrue(CPCHC), le(PAC, 0.450), isFalse(IS_BOOLEAN_VALUE), gt(PAC, -0.500), le(PPC, 0.085));
+		add("d", DataType.numeric, isFalse(IS_DATE_OR_TIME), isTrue(CPCHC), le(PAC, 0.450), isFalse(IS_BOOLEAN_VALUE), le(PAC, -0.500));
+		add("d", DataType.numeric, isFalse(IS_DATE_OR_TIME), isTrue(CPCHC), le(PAC, 0.450), isTrue(IS_BOOLEAN_VALUE));
+		add("d", DataType.date, isTrue(IS_DATE_OR_TIME), isFalse(CPCHC), gt(PAC, -0.500));
+		add("d", DataType.numeric, isTrue(IS_DATE_OR_TIME), isFalse(CPCHC), le(PAC, -0.500));
+		add("d", DataType.string, isTrue(IS_DATE_OR_TIME), isTrue(CPCHC), gt(PAC, 0.185), gt(PAC, 0.335), gt(PAC, 0.515));
+		add("d", DataType.numeric, isTrue(IS_DATE_OR_TIME), isTrue(CPCHC), gt(PAC, 0.185), gt(PAC, 0.335), le(PAC, 0.515));
+		add("d", DataType.date, isTrue(IS_DATE_OR_TIME), isTrue(CPCHC), gt(PAC, 0.185), le(PAC, 0.335));
+		add("d", DataType.unit, isTrue(IS_DATE_OR_TIME), isTrue(CPCHC), le(PAC, 0.185), gt(ACL, 3.500));
+		add("d", DataType.numeric, isTrue(IS_DATE_OR_TIME), isTrue(CPCHC), le(PAC, 0.185), le(ACL, 3.500));
+		add("da", DataType.unit);
+		add("dapa", DataType.string);
+		add("dp", DataType.numeric);
+		add("dpa", DataType.numeric, gt(PAC, 0.515), gt(PAC, 0.610), gt(PAC, 0.740));
+		add("dpa", DataType.string, gt(PAC, 0.515), gt(PAC, 0.610), le(PAC, 0.740));
+		add("dpa", DataType.numeric, gt(PAC, 0.515), le(PAC, 0.610));
+		add("dpa", DataType.unit, le(PAC, 0.515));
+		add("dpap", DataType.unit);
+		add("dpapa", DataType.numeric, gt(PAC, 0.745));
+		add("dpapa", DataType.unit, le(PAC, 0.745));
+		add("dpapapapapd", DataType.string);
+		add("dpapapd", DataType.string);
+		add("dpapd", DataType.date, isFalse(IS_DATE_OR_TIME));
+		add("dpapd", DataType.string, isTrue(IS_DATE_OR_TIME), gt(PAC, 0.420));
+		add("dpapd", DataType.date, isTrue(IS_DATE_OR_TIME), le(PAC, 0.420));
+		add("dpapdpa", DataType.string, gt(PAC, 0.490));
+		add("dpapdpa", DataType.date, le(PAC, 0.490));
+		add("dpapdpd", DataType.date);
+		add("dpasa", DataType.unit);
+		add("dpd", DataType.numeric, isFalse(CPCHC), isFalse(IS_DATE_OR_TIME), gt(PAC, -0.500), gt(PPC, 0.155));
+		add("dpd", DataType.unit, isFalse(CPCHC), isFalse(IS_DATE_OR_TIME), gt(PAC, -0.500), le(PPC, 0.155), gt(PAC, 0.195), gt(PPC, 0.105));
+		add("dpd", DataType.numeric, isFalse(CPCHC), isFalse(IS_DATE_OR_TIME), gt(PAC, -0.500), le(PPC, 0.155), gt(PAC, 0.195), le(PPC, 0.105));
+		add("dpd", DataType.date, isFalse(CPCHC), isFalse(IS_DATE_OR_TIME), gt(PAC, -0.500), le(PPC, 0.155), le(PAC, 0.195), gt(PPC, 0.140));
+		add("dpd", DataType.numeric, isFalse(CPCHC), isFalse(IS_DATE_OR_TIME), gt(PAC, -0.500), le(PPC, 0.155), le(PAC, 0.195), le(PPC, 0.140), gt(ACL, 5.500));
+		add("dpd", DataType.string, isFalse(CPCHC), isFalse(IS_DATE_OR_TIME), gt(PAC, -0.500), le(PPC, 0.155), le(PAC, 0.195), le(PPC, 0.140), le(ACL, 5.500));
+		add("dpd", DataType.date, isFalse(CPCHC), isFalse(IS_DATE_OR_TIME), le(PAC, -0.500), gt(ACL, 4.500));
+		add("dpd", DataType.unit, isFalse(CPCHC), isFalse(IS_DATE_OR_TIME), le(PAC, -0.500), le(ACL, 4.500));
+		add("dpd", DataType.unit, isFalse(CPCHC), isTrue(IS_DATE_OR_TIME), gt(PPC, 0.125));
+		add("dpd", DataType.numeric, isFalse(CPCHC), isTrue(IS_DATE_OR_TIME), le(PPC, 0.125), gt(ACL, 9));
+		add("dpd", DataType.date, isFalse(CPCHC), isTrue(IS_DATE_OR_TIME), le(PPC, 0.125), le(ACL, 9));
+		add("dpd", DataType.numeric, isTrue(CPCHC), isFalse(IS_DATE_OR_TIME), gt(PPC, 0.325));
+		add("dpd", DataType.numeric, isTrue(CPCHC), isFalse(IS_DATE_OR_TIME), le(PPC, 0.325), gt(PAC, 0.300));
+		add("dpd", DataType.unit, isTrue(CPCHC), isFalse(IS_DATE_OR_TIME), le(PPC, 0.325), le(PAC, 0.300), gt(ACL, 2.500));
+		add("dpd", DataType.numeric, isTrue(CPCHC), isFalse(IS_DATE_OR_TIME), le(PPC, 0.325), le(PAC, 0.300), le(ACL, 2.500));
+		add("dpd", DataType.date, isTrue(CPCHC), isTrue(IS_DATE_OR_TIME));
+		add("dpda", DataType.unit, gt(PAC, 0.320));
+		add("dpda", DataType.numeric, le(PAC, 0.320));
+		add("dpdpa", DataType.numeric, gt(PAC, 0.350));
+		add("dpdpa", DataType.unit, le(PAC, 0.350));
+		add("dpdpapad", DataType.unit);
+		add("dpdpapap", DataType.date);
+		add("dpdpapd", DataType.unit);
+		add("dpdpasapsap", DataType.unit);
+		add("dpdpd", DataType.unit, gt(PPC, 0.235));
+		add("dpdpd", DataType.numeric, le(PPC, 0.235), isFalse(IS_DATE_OR_TIME));
+		add("dpdpd", DataType.date, le(PPC, 0.235), isTrue(IS_DATE_OR_TIME));
+		add("dpdpdapdpd", DataType.date);
+		add("dpdpdpa", DataType.string);
+		add("dpdpdpd", DataType.numeric, isFalse(IS_DATE_OR_TIME));
+		add("dpdpdpd", DataType.string, isTrue(IS_DATE_OR_TIME));
+		add("dpdpdpdpd", DataType.string, isFalse(IS_DATE_OR_TIME));
+		add("dpdpdpdpd", DataType.date, isTrue(IS_DATE_OR_TIME));
+		add("dpdpsapsapsapsap", DataType.unit);
+		add("dpds", DataType.numeric);
+		add("dpdsap", DataType.unit);
+		add("dpdsapa", DataType.unit);
+		add("dpsa", DataType.unit);
+		add("ds", DataType.numeric);
+		add("dsapd", DataType.date);
+		add("dsapdpa", DataType.unit);
+		add("dsd", DataType.numeric, isFalse(IS_DATE_OR_TIME));
+		add("dsd", DataType.date, isTrue(IS_DATE_OR_TIME));
+		add("dsdpapdp", DataType.string);
+		add("dsdpasdpsdpdsdpa", DataType.string);
+		add("dsdsd", DataType.date);
+		add("pd", DataType.numeric);
+		add("pdasap", DataType.unit);
+		add("pdpa", DataType.unit);
+		add("pdpd", DataType.numeric, gt(PPC, 0.345));
+		add("pdpd", DataType.unit, le(PPC, 0.345));
+		add("pdpdpd", DataType.numeric);
+		add("pdpds", DataType.numeric);
+		add("sap", DataType.string, gt(PAC, 0.660), gt(ACL, 5.500));
+		add("sap", DataType.bool, gt(PAC, 0.660), le(ACL, 5.500), gt(PAC, 0.705));
+		add("sap", DataType.string, gt(PAC, 0.660), le(ACL, 5.500), le(PAC, 0.705));
+		add("sap", DataType.date, le(PAC, 0.660));
+		add("sapa", DataType.string);
+		add("sapapasdpapapapapdsdpdpds", DataType.string);
+		add("sapd", DataType.numeric);
+		add("sapdpapasap", DataType.unit);
+		add("sapdpd", DataType.unit);
+		add("sapdpds", DataType.numeric);
+		add("sapdpdspdpap", DataType.numeric);
+		add("sapdsap", DataType.unit);
+		add("sapsapa", DataType.string);
+		add("sapsapdpd", DataType.numeric);
+		add("sapsas", DataType.string);
+		add("sapsd", DataType.unit);
+		add("sasas", DataType.string);
+		add("sd", DataType.numeric, gt(PPC, 0.055));
+		add("sd", DataType.unit, le(PPC, 0.055), isFalse(IS_DATE_OR_TIME), isFalse(CPCHC), gt(PAC, 0.025));
+		add("sd", DataType.numeric, le(PPC, 0.055), isFalse(IS_DATE_OR_TIME), isFalse(CPCHC), le(PAC, 0.025));
+		add("sd", DataType.unit, le(PPC, 0.055), isFalse(IS_DATE_OR_TIME), isTrue(CPCHC));
+		add("sd", DataType.unit, le(PPC, 0.055), isTrue(IS_DATE_OR_TIME));
+		add("sda", DataType.unit);
+		add("sdp", DataType.date);
+		add("sdpa", DataType.unit);
+		add("sdpas", DataType.unit);
+		add("sdpd", DataType.unit);
+		add("sdpda", DataType.numeric);
+		add("sdpdpa", DataType.unit);
+		add("sdpdpd", DataType.numeric);
+		add("sdpdpdpa", DataType.unit);
+		add("sdpdpdsapdpds", DataType.date);
+		add("sdpsdsds", DataType.numeric);
+		add("spdpda", DataType.unit);
+	}
+
 	/**
 	 * Classifies a column based on its features.
 	 * 
@@ -46,651 +315,46 @@ public class Classifier {
 		// columnFeatures.get(6) -> isDate/Time
 		// columnFeatures.get(7) -> isBooleanVAlue
 
-		DataType columnDatatype = null;
+		return classify(ColumnFeatures.fromList(columnFeatures));
+	}
+
+	/**
+	 * Classifies a column based on its features.
+	 * 
+	 * @param columnFeatures
+	 *            Holds features, which were calculated for the corresponding
+	 *            column.
+	 * @return The predicted DataType.
+	 */
+	public DataType classify(ColumnFeatures columnFeatures) {
+		Rule[] rules = RULES.get(columnFeatures.getCellContentPattern());
 
-		if (columnFeatures.get(2).equals("a")
-				&& Double.parseDouble(columnFeatures.get(5)) > 4.500
-				&& Boolean.parseBoolean(columnFeatures.get(7)) == false
-				&& Double.parseDouble(columnFeatures.get(0)) > 0.685)
-			columnDatatype = DataType.string;
-		else if (columnFeatures.get(2).equals("a")
-				&& Double.parseDouble(columnFeatures.get(5)) > 4.500
-				&& Boolean.parseBoolean(columnFeatures.get(7)) == false
-				&& Double.parseDouble(columnFeatures.get(0)) <= 0.685)
-			columnDatatype = DataType.numeric;
-		else if (columnFeatures.get(2).equals("a")
-				&& Double.parseDouble(columnFeatures.get(5)) > 4.500
-				&& Boolean.parseBoolean(columnFeatures.get(7)) == true)
-			columnDatatype = DataType.bool;
-		else if (columnFeatures.get(2).equals("a")
-				&& Double.parseDouble(columnFeatures.get(5)) <= 4.500
-				&& Boolean.parseBoolean(columnFeatures.get(3)) == false
-				&& Double.parseDouble(columnFeatures.get(0)) > 0.700
-				&& Double.parseDouble(columnFeatures.get(0)) > 0.805
-				&& Boolean.parseBoolean(columnFeatures.get(7)) == false
-				&& Double.parseDouble(columnFeatures.get(5)) > 0.500)
-			columnDatatype = DataType.string;
-		else if (columnFeatures.get(2).equals("a")
-				&& Double.parseDouble(columnFeatures.get(5)) <= 4.500
-				&& Boolean.parseBoolean(columnFeatures.get(3)) == false
-				&& Double.parseDouble(columnFeatures.get(0)) > 0.700
-				&& Double.parseDouble(columnFeatures.get(0)) > 0.805
-				&& Boolean.parseBoolean(columnFeatures.get(7)) == false
-				&& Double.parseDouble(columnFeatures.get(5)) <= 0.500)
-			columnDatatype = DataType.bool;
-		else if (columnFeatures.get(2).equals("a")
-				&& Double.parseDouble(columnFeatures.get(5)) <= 4.500
-				&& Boolean.parseBoolean(columnFeatures.get(3)) == false
-				&& Double.parseDouble(columnFeatures.get(0)) > 0.700
-				&& Double.parseDouble(columnFeatures.get(0)) > 0.805
-				&& Boolean.parseBoolean(columnFeatures.get(7)) == true)
-			columnDatatype = DataType.bool;
-		else if (columnFeatures.get(2).equals("a")
-				&& Double.parseDouble(columnFeatures.get(5)) <= 4.500
-				&& Boolean.parseBoolean(columnFeatures.get(3)) == false
-				&& Double.parseDouble(columnFeatures.get(0)) > 0.700
-				&& Double.parseDouble(columnFeatures.get(0)) <= 0.805)
-			columnDatatype = DataType.string;
-		else if (columnFeatures.get(2).equals("a")
-				&& Double.parseDouble(columnFeatures.get(5)) <= 4.500
-				&& Boolean.parseBoolean(columnFeatures.get(3)) == false
-				&& Double.parseDouble(columnFeatures.get(0)) <= 0.700)
-			columnDatatype = DataType.unit;
-		else if (columnFeatures.get(2).equals("a")
-				&& Double.parseDouble(columnFeatures.get(5)) <= 4.500
-				&& Boolean.parseBoolean(columnFeatures.get(3)) == true)
-			columnDatatype = DataType.string;
-		else if (columnFeatures.get(2).equals("a_a"))
-			columnDatatype = DataType.string;
-		else if (columnFeatures.get(2).equals("ad")
-				&& Double.parseDouble(columnFeatures.get(1)) > 0.020)
-			columnDatatype = DataType.numeric;
-		else if (columnFeatures.get(2).equals("ad")
-				&& Double.parseDouble(columnFeatures.get(1)) <= 0.020)
-			columnDatatype = DataType.string;
-		else if (columnFeatures.get(2).equals("ada"))
-			columnDatatype = DataType.string;
-		else if (columnFeatures.get(2).equals("adsap"))
-			columnDatatype = DataType.string;
-		else if (columnFeatures.get(2).equals("apa")
-				&& Boolean.parseBoolean(columnFeatures.get(6)) == false
-				&& Boolean.parseBoolean(columnFeatures.get(3)) == false
-				&& Double.parseDouble(columnFeatures.get(5)) > 6)
-			columnDatatype = DataType.string;
-		else if (columnFeatures.get(2).equals("apa")
-				&& Boolean.parseBoolean(columnFeatures.get(6)) == false
-				&& Boolean.parseBoolean(columnFeatures.get(3)) == false
-				&& Double.parseDouble(columnFeatures.get(5)) <= 6
-				&& Double.parseDouble(columnFeatures.get(0)) > 0.900
-				&& Double.parseDouble(columnFeatures.get(0)) > 0.995)
-			columnDatatype = DataType.string;
-		else if (columnFeatures.get(2).equals("apa")
-				&& Boolean.parseBoolean(columnFeatures.get(6)) == false
-				&& Boolean.parseBoolean(columnFeatures.get(3)) == false
-				&& Double.parseDouble(columnFeatures.get(5)) <= 6
-				&& Double.parseDouble(columnFeatures.get(0)) > 0.900
-				&& Double.parseDouble(columnFeatures.get(0)) <= 0.995)
-			columnDatatype = DataType.date;
-		else if (columnFeatures.get(2).equals("apa")
-				&& Boolean.parseBoolean(columnFeatures.get(6)) == false
-				&& Boolean.parseBoolean(columnFeatures.get(3)) == false
-				&& Double.parseDouble(columnFeatures.get(5)) <= 6
-				&& Double.parseDouble(columnFeatures.get(0)) <= 0.900)
-			columnDatatype = DataType.string;
-		else if (columnFeatures.get(2).equals("apa")
-				&& Boolean.parseBoolean(columnFeatures.get(6)) == false
-				&& Boolean.parseBoolean(columnFeatures.get(3)) == true)
-			columnDatatype = DataType.string;
-		else if (columnFeatures.get(2).equals("apa")
-				&& Boolean.parseBoolean(columnFeatures.get(6)) == true)
-			columnDatatype = DataType.string;
-		else if (columnFeatures.get(2).equals("apaapdad"))
-			columnDatatype = DataType.string;
-		else if (columnFeatures.get(2).equals("apap"))
-			columnDatatype = DataType.string;
-		else if (columnFeatures.get(2).equals("apapa"))
-			columnDatatype = DataType.string;
-		else if (columnFeatures.get(2).equals("apapad"))
-			columnDatatype = DataType.string;
-		else if (columnFeatures.get(2).equals("apapap"))
-			columnDatatype = DataType.string;
-		else if (columnFeatures.get(2).equals("apapapa"))
-			columnDatatype = DataType.string;
-		else if (columnFeatures.get(2).equals("apapapad"))
-			columnDatatype = DataType.string;
-		else if (columnFeatures.get(2).equals("apapapap"))
-			columnDatatype = DataType.string;
-		else if (columnFeatures.get(2).equals("apapapapa"))
-			columnDatatype = DataType.string;
-		else if (columnFeatures.get(2).equals("apapapapadpdadpa"))
-			columnDatatype = DataType.string;
-		else if (columnFeatures.get(2).equals("apapapapapad"))
-			columnDatatype = DataType.string;
-		else if (columnFeatures.get(2).equals("apapapapapapapapapapapa"))
-			columnDatatype = DataType.string;
-		else if (columnFeatures.get(2)
-				.equals("apapapapapapdpdpdpdpdpapapapapapapdpsa"))
-			columnDatatype = DataType.numeric;
-		else if (columnFeatures.get(2).equals("apapapapapapdpsa"))
-			columnDatatype = DataType.numeric;
-		else if (columnFeatures.get(2).equals("apapapapapapdspapapap"))
-			columnDatatype = DataType.string;
-		else if (columnFeatures.get(2).equals("apapapapdpsa"))
-			columnDatatype = DataType.numeric;
-		else if (columnFeatures.get(2).equals("apapd"))
-			columnDatatype = DataType.string;
-		else if (columnFeatures.get(2).equals("apapspd"))
-			columnDatatype = DataType.string;
-		else if (columnFeatures.get(2).equals("apd")
-				&& Double.parseDouble(columnFeatures.get(0)) > 0.430)
-			columnDatatype = DataType.date;
-		else if (columnFeatures.get(2).equals("apd")
-				&& Double.parseDouble(columnFeatures.get(0)) <= 0.430)
-			columnDatatype = DataType.unit;
-		else if (columnFeatures.get(2).equals("apdapdasapa"))
-			columnDatatype = DataType.string;
-		else if (columnFeatures.get(2).equals("apdapdpdpdpa"))
-			columnDatatype = DataType.date;
-		else if (columnFeatures.get(2).equals("apdp"))
-			columnDatatype = DataType.string;
-		else if (columnFeatures.get(2).equals("apdpd")
-				&& Boolean.parseBoolean(columnFeatures.get(6)) == false
-				&& Boolean.parseBoolean(columnFeatures.get(3)) == false)
-			columnDatatype = DataType.string;
-		else if (columnFeatures.get(2).equals("apdpd")
-				&& Boolean.parseBoolean(columnFeatures.get(6)) == false
-				&& Boolean.parseBoolean(columnFeatures.get(3)) == true)
-			columnDatatype = DataType.unit;
-		else if (columnFeatures.get(2).equals("apdpd")
-				&& Boolean.parseBoolean(columnFeatures.get(6)) == true)
-			columnDatatype = DataType.date;
-		else if (columnFeatures.get(2).equals("apdpdpd"))
-			columnDatatype = DataType.date;
-		else if (columnFeatures.get(2).equals("apsapapapapapapa"))
-			columnDatatype = DataType.string;
-		else if (columnFeatures.get(2).equals("apsapapapapapapapap"))
-			columnDatatype = DataType.string;
-		else if (columnFeatures.get(2).equals("apspa"))
-			columnDatatype = DataType.string;
-		else if (columnFeatures.get(2).equals("as"))
-			columnDatatype = DataType.numeric;
-		else if (columnFeatures.get(2).equals("asa"))
-			columnDatatype = DataType.string;
-		else if (columnFeatures.get(2).equals("asap"))
-			columnDatatype = DataType.string;
-		else if (columnFeatures.get(2).equals("asapa"))
-			columnDatatype = DataType.string;
-		else if (columnFeatures.get(2).equals("asapapa"))
-			columnDatatype = DataType.string;
-		else if (columnFeatures.get(2).equals("asapapasa"))
-			columnDatatype = DataType.string;
-		else if (columnFeatures.get(2).equals("asapdpd"))
-			columnDatatype = DataType.unit;
-		else if (columnFeatures.get(2).equals("asds"))
-			columnDatatype = DataType.string;
-		else if (columnFeatures.get(2).equals("d")
-				&& Boolean.parseBoolean(columnFeatures.get(6)) == false
-				&& Boolean.parseBoolean(columnFeatures.get(3)) == false
-				&& Double.parseDouble(columnFeatures.get(5)) > 0.500)
-			columnDatatype = DataType.numeric;
-		else if (columnFeatures.get(2).equals("d")
-				&& Boolean.parseBoolean(columnFeatures.get(6)) == false
-				&& Boolean.parseBoolean(columnFeatures.get(3)) == false
-				&& Double.parseDouble(columnFeatures.get(5)) <= 0.500
-				&& Double.parseDouble(columnFeatures.get(0)) > 0.310)
-			columnDatatype = DataType.date;
-		else if (columnFeatures.get(2).equals("d")
-				&& Boolean.parseBoolean(columnFeatures.get(6)) == false
-				&& Boolean.parseBoolean(columnFeatures.get(3)) == false
-				&& Double.parseDouble(columnFeatures.get(5)) <= 0.500
-				&& Double.parseDouble(columnFeatures.get(0)) <= 0.310)
-			columnDatatype = DataType.numeric;
-		else if (columnFeatures.get(2).equals("d")
-				&& Boolean.parseBoolean(columnFeatures.get(6)) == false
-				&& Boolean.parseBoolean(columnFeatures.get(3)) == true
-				&& Double.parseDouble(columnFeatures.get(0)) > 0.450
-				&& Double.parseDouble(columnFeatures.get(0)) > 0.825)
-			columnDatatype = DataType.unit;
-		else if (columnFeatures.get(2).equals("d")
-				&& Boolean.parseBoolean(columnFeatures.get(6)) == false
-				&& Boolean.parseBoolean(columnFeatures.get(3)) == true
-				&& Double.parseDouble(columnFeatures.get(0)) > 0.450
-				&& Double.parseDouble(columnFeatures.get(0)) <= 0.825)
-			columnDatatype = DataType.numeric;
-		else if (columnFeatures.get(2).equals("d")
-				&& Boolean.parseBoolean(columnFeatures.get(6)) == false
-				&& Boolean.parseBoolean(columnFeatures.get(3)) == true
-				&& Double.parseDouble(columnFeatures.get(0)) <= 0.450
-				&& Boolean.parseBoolean(columnFeatures.get(7)) == false
-				&& Double.parseDouble(columnFeatures.get(0)) > -0.500
-				&& Double.parseDouble(columnFeatures.get(1)) > 0.085
-				&& Double.parseDouble(columnFeatures.get(0)) > 0.070)
-			columnDatatype = DataType.numeric;
-		else if (columnFeatures.get(2).equals("d")
-				&& Boolean.parseBoolean(columnFeatures.get(6)) == false
-				&& Boolean.parseBoolean(columnFeatures.get(3)) == true
-				&& Double.parseDouble(columnFeatures.get(0)) <= 0.450
-				&& Boolean.parseBoolean(columnFeatures.get(7)) == false
-				&& Double.parseDouble(columnFeatures.get(0)) > -0.500
-				&& Double.parseDouble(columnFeatures.get(1)) > 0.085
-				&& Double.parseDouble(columnFeatures.get(0)) <= 0.070)
-			columnDatatype = DataType.unit;
-		else if (columnFeatures.get(2).equals("d")
-				&& Boolean.parseBoolean(columnFeatures.get(6)) == false
-				&& Boolean.parseBoolean(columnFeatures.get(3)) == true
-				&& Double.parseDouble(columnFeatures.get(0)) <= 0.450
-				&& Boolean.parseBoolean(columnFeatures.get(7)) == false
-				&& Double.parseDouble(columnFeatures.get(0)) > -0.500
-				&& Double.parseDouble(columnFeatures.get(1)) <= 0.085)
-			columnDatatype = DataType.unit;
-		else if (columnFeatures.get(2).equals("d")
-				&& Boolean.parseBoolean(columnFeatures.get(6)) == false
-				&& Boolean.parseBoolean(columnFeatures.get(3)) == true
-				&& Double.parseDouble(columnFeatures.get(0)) <= 0.450
-				&& Boolean.parseBoolean(columnFeatures.get(7)) == false
-				&& Double.parseDouble(columnFeatures.get(0)) <= -0.500)
-			columnDatatype = DataType.numeric;
-		else if (columnFeatures.get(2).equals("d")
-				&& Boolean.parseBoolean(columnFeatures.get(6)) == false
-				&& Boolean.parseBoolean(columnFeatures.get(3)) == true
-				&& Double.parseDouble(columnFeatures.get(0)) <= 0.450
-				&& Boolean.parseBoolean(columnFeatures.get(7)) == true)
-			columnDatatype = DataType.numeric;
-		else if (columnFeatures.get(2).equals("d")
-				&& Boolean.parseBoolean(columnFeatures.get(6)) == true
-				&& Boolean.parseBoolean(columnFeatures.get(3)) == false
-				&& Double.parseDouble(columnFeatures.get(0)) > -0.500)
-			columnDatatype = DataType.date;
-		else if (columnFeatures.get(2).equals("d")
-				&& Boolean.parseBoolean(columnFeatures.get(6)) == true
-				&& Boolean.parseBoolean(columnFeatures.get(3)) == false
-				&& Double.parseDouble(columnFeatures.get(0)) <= -0.500)
-			columnDatatype = DataType.numeric;
-		else if (columnFeatures.get(2).equals("d")
-				&& Boolean.parseBoolean(columnFeatures.get(6)) == true
-				&& Boolean.parseBoolean(columnFeatures.get(3)) == true
-				&& Double.parseDouble(columnFeatures.get(0)) > 0.185
-				&& Double.parseDouble(columnFeatures.get(0)) > 0.335
-				&& Double.parseDouble(columnFeatures.get(0)) > 0.515)
-			columnDatatype = DataType.string;
-		else if (columnFeatures.get(2).equals("d")
-				&& Boolean.parseBoolean(columnFeatures.get(6)) == true
-				&& Boolean.parseBoolean(columnFeatures.get(3)) == true
-				&& Double.parseDouble(columnFeatures.get(0)) > 0.185
-				&& Double.parseDouble(columnFeatures.get(0)) > 0.335
-				&& Double.parseDouble(columnFeatures.get(0)) <= 0.515)
-			columnDatatype = DataType.numeric;
-		else if (columnFeatures.get(2).equals("d")
-				&& Boolean.parseBoolean(columnFeatures.get(6)) == true
-				&& Boolean.parseBoolean(columnFeatures.get(3)) == true
-				&& Double.parseDouble(columnFeatures.get(0)) > 0.185
-				&& Double.parseDouble(columnFeatures.get(0)) <= 0.335)
-			columnDatatype = DataType.date;
-		else if (columnFeatures.get(2).equals("d")
-				&& Boolean.parseBoolean(columnFeatures.get(6)) == true
-				&& Boolean.parseBoolean(columnFeatures.get(3)) == true
-				&& Double.parseDouble(columnFeatures.get(0)) <= 0.185
-				&& Double.parseDouble(columnFeatures.get(5)) > 3.500)
-			columnDatatype = DataType.unit;
-		else if (columnFeatures.get(2).equals("d")
-				&& Boolean.parseBoolean(columnFeatures.get(6)) == true
-				&& Boolean.parseBoolean(columnFeatures.get(3)) == true
-				&& Double.parseDouble(columnFeatures.get(0)) <= 0.185
-				&& Double.parseDouble(columnFeatures.get(5)) <= 3.500)
-			columnDatatype = DataType.numeric;
-		else if (columnFeatures.get(2).equals("da"))
-			columnDatatype = DataType.unit;
-		else if (columnFeatures.get(2).equals("dapa"))
-			columnDatatype = DataType.string;
-		else if (columnFeatures.get(2).equals("dp"))
-			columnDatatype = DataType.numeric;
-		else if (columnFeatures.get(2).equals("dpa")
-				&& Double.parseDouble(columnFeatures.get(0)) > 0.515
-				&& Double.parseDouble(columnFeatures.get(0)) > 0.610
-				&& Double.parseDouble(columnFeatures.get(0)) > 0.740)
-			columnDatatype = DataType.numeric;
-		else if (columnFeatures.get(2).equals("dpa")
-				&& Double.parseDouble(columnFeatures.get(0)) > 0.515
-				&& Double.parseDouble(columnFeatures.get(0)) > 0.610
-				&& Double.parseDouble(columnFeatures.get(0)) <= 0.740)
-			columnDatatype = DataType.string;
-		else if (columnFeatures.get(2).equals("dpa")
-				&& Double.parseDouble(columnFeatures.get(0)) > 0.515
-				&& Double.parseDouble(columnFeatures.get(0)) <= 0.610)
-			columnDatatype = DataType.numeric;
-		else if (columnFeatures.get(2).equals("dpa")
-				&& Double.parseDouble(columnFeatures.get(0)) <= 0.515)
-			columnDatatype = DataType.unit;
-		else if (columnFeatures.get(2).equals("dpap"))
-			columnDatatype = DataType.unit;
-		else if (columnFeatures.get(2).equals("dpapa")
-				&& Double.parseDouble(columnFeatures.get(0)) > 0.745)
-			columnDatatype = DataType.numeric;
-		else if (columnFeatures.get(2).equals("dpapa")
-				&& Double.parseDouble(columnFeatures.get(0)) <= 0.745)
-			columnDatatype = DataType.unit;
-		else if (columnFeatures.get(2).equals("dpapapapapd"))
-			columnDatatype = DataType.string;
-		else if (columnFeatures.get(2).equals("dpapapd"))
-			columnDatatype = DataType.string;
-		else if (columnFeatures.get(2).equals("dpapd")
-				&& Boolean.parseBoolean(columnFeatures.get(6)) == false)
-			columnDatatype = DataType.date;
-		else if (columnFeatures.get(2).equals("dpapd")
-				&& Boolean.parseBoolean(columnFeatures.get(6)) == true
-				&& Double.parseDouble(columnFeatures.get(0)) > 0.420)
-			columnDatatype = DataType.string;
-		else if (columnFeatures.get(2).equals("dpapd")
-				&& Boolean.parseBoolean(columnFeatures.get(6)) == true
-				&& Double.parseDouble(columnFeatures.get(0)) <= 0.420)
-			columnDatatype = DataType.date;
-		else if (columnFeatures.get(2).equals("dpapdpa")
-				&& Double.parseDouble(columnFeatures.get(0)) > 0.490)
-			columnDatatype = DataType.string;
-		else if (columnFeatures.get(2).equals("dpapdpa")
-				&& Double.parseDouble(columnFeatures.get(0)) <= 0.490)
-			columnDatatype = DataType.date;
-		else if (columnFeatures.get(2).equals("dpapdpd"))
-			columnDatatype = DataType.date;
-		else if (columnFeatures.get(2).equals("dpasa"))
-			columnDatatype = DataType.unit;
-		else if (columnFeatures.get(2).equals("dpd")
-				&& Boolean.parseBoolean(columnFeatures.get(3)) == false
-				&& Boolean.parseBoolean(columnFeatures.get(6)) == false
-				&& Double.parseDouble(columnFeatures.get(0)) > -0.500
-				&& Double.parseDouble(columnFeatures.get(1)) > 0.155)
-			columnDatatype = DataType.numeric;
-		else if (columnFeatures.get(2).equals("dpd")
-				&& Boolean.parseBoolean(columnFeatures.get(3)) == false
-				&& Boolean.parseBoolean(columnFeatures.get(6)) == false
-				&& Double.parseDouble(columnFeatures.get(0)) > -0.500
-				&& Double.parseDouble(columnFeatures.get(1)) <= 0.155
-				&& Double.parseDouble(columnFeatures.get(0)) > 0.195
-				&& Double.parseDouble(columnFeatures.get(1)) > 0.105)
-			columnDatatype = DataType.unit;
-		else if (columnFeatures.get(2).equals("dpd")
-				&& Boolean.parseBoolean(columnFeatures.get(3)) == false
-				&& Boolean.parseBoolean(columnFeatures.get(6)) == false
-				&& Double.parseDouble(columnFeatures.get(0)) > -0.500
-				&& Double.parseDouble(columnFeatures.get(1)) <= 0.155
-				&& Double.parseDouble(columnFeatures.get(0)) > 0.195
-				&& Double.parseDouble(columnFeatures.get(1)) <= 0.105)
-			columnDatatype = DataType.numeric;
-		else if (columnFeatures.get(2).equals("dpd")
-				&& Boolean.parseBoolean(columnFeatures.get(3)) == false
-				&& Boolean.parseBoolean(columnFeatures.get(6)) == false
-				&& Double.parseDouble(columnFeatures.get(0)) > -0.500
-				&& Double.parseDouble(columnFeatures.get(1)) <= 0.155
-				&& Double.parseDouble(columnFeatures.get(0)) <= 0.195
-				&& Double.parseDouble(columnFeatures.get(1)) > 0.140)
-			columnDatatype = DataType.date;
-		else if (columnFeatures.get(2).equals("dpd")
-				&& Boolean.parseBoolean(columnFeatures.get(3)) == false
-				&& Boolean.parseBoolean(columnFeatures.get(6)) == false
-				&& Double.parseDouble(columnFeatures.get(0)) > -0.500
-				&& Double.parseDouble(columnFeatures.get(1)) <= 0.155
-				&& Double.parseDouble(columnFeatures.get(0)) <= 0.195
-				&& Double.parseDouble(columnFeatures.get(1)) <= 0.140
-				&& Double.parseDouble(columnFeatures.get(5)) > 5.500)
-			columnDatatype = DataType.numeric;
-		else if (columnFeatures.get(2).equals("dpd")
-				&& Boolean.parseBoolean(columnFeatures.get(3)) == false
-				&& Boolean.parseBoolean(columnFeatures.get(6)) == false
-				&& Double.parseDouble(columnFeatures.get(0)) > -0.500
-				&& Double.parseDouble(columnFeatures.get(1)) <= 0.155
-				&& Double.parseDouble(columnFeatures.get(0)) <= 0.195
-				&& Double.parseDouble(columnFeatures.get(1)) <= 0.140
-				&& Double.parseDouble(columnFeatures.get(5)) <= 5.500)
-			columnDatatype = DataType.string;
-		else if (columnFeatures.get(2).equals("dpd")
-				&& Boolean.parseBoolean(columnFeatures.get(3)) == false
-				&& Boolean.parseBoolean(columnFeatures.get(6)) == false
-				&& Double.parseDouble(columnFeatures.get(0)) <= -0.500
-				&& Double.parseDouble(columnFeatures.get(5)) > 4.500)
-			columnDatatype = DataType.date;
-		else if (columnFeatures.get(2).equals("dpd")
-				&& Boolean.parseBoolean(columnFeatures.get(3)) == false
-				&& Boolean.parseBoolean(columnFeatures.get(6)) == false
-				&& Double.parseDouble(columnFeatures.get(0)) <= -0.500
-				&& Double.parseDouble(columnFeatures.get(5)) <= 4.500)
-			columnDatatype = DataType.unit;
-		else if (columnFeatures.get(2).equals("dpd")
-				&& Boolean.parseBoolean(columnFeatures.get(3)) == false
-				&& Boolean.parseBoolean(columnFeatures.get(6)) == true
-				&& Double.parseDouble(columnFeatures.get(1)) > 0.125)
-			columnDatatype = DataType.unit;
-		else if (columnFeatures.get(2).equals("dpd")
-				&& Boolean.parseBoolean(columnFeatures.get(3)) == false
-				&& Boolean.parseBoolean(columnFeatures.get(6)) == true
-				&& Double.parseDouble(columnFeatures.get(1)) <= 0.125
-				&& Double.parseDouble(columnFeatures.get(5)) > 9)
-			columnDatatype = DataType.numeric;
-		else if (columnFeatures.get(2).equals("dpd")
-				&& Boolean.parseBoolean(columnFeatures.get(3)) == false
-				&& Boolean.parseBoolean(columnFeatures.get(6)) == true
-				&& Double.parseDouble(columnFeatures.get(1)) <= 0.125
-				&& Double.parseDouble(columnFeatures.get(5)) <= 9)
-			columnDatatype = DataType.date;
-		else if (columnFeatures.get(2).equals("dpd")
-				&& Boolean.parseBoolean(columnFeatures.get(3)) == true
-				&& Boolean.parseBoolean(columnFeatures.get(6)) == false
-				&& Double.parseDouble(columnFeatures.get(1)) > 0.325)
-			columnDatatype = DataType.numeric;
-		else if (columnFeatures.get(2).equals("dpd")
-				&& Boolean.parseBoolean(columnFeatures.get(3)) == true
-				&& Boolean.parseBoolean(columnFeatures.get(6)) == false
-				&& Double.parseDouble(columnFeatures.get(1)) <= 0.325
-				&& Double.parseDouble(columnFeatures.get(0)) > 0.300)
-			columnDatatype = DataType.numeric;
-		else if (columnFeatures.get(2).equals("dpd")
-				&& Boolean.parseBoolean(columnFeatures.get(3)) == true
-				&& Boolean.parseBoolean(columnFeatures.get(6)) == false
-				&& Double.parseDouble(columnFeatures.get(1)) <= 0.325
-				&& Double.parseDouble(columnFeatures.get(0)) <= 0.300
-				&& Double.parseDouble(columnFeatures.get(5)) > 2.500)
-			columnDatatype = DataType.unit;
-		else if (columnFeatures.get(2).equals("dpd")
-				&& Boolean.parseBoolean(columnFeatures.get(3)) == true
-				&& Boolean.parseBoolean(columnFeatures.get(6)) == false
-				&& Double.parseDouble(columnFeatures.get(1)) <= 0.325
-				&& Double.parseDouble(columnFeatures.get(0)) <= 0.300
-				&& Double.parseDouble(columnFeatures.get(5)) <= 2.500)
-			columnDatatype = DataType.numeric;
-		else if (columnFeatures.get(2).equals("dpd")
-				&& Boolean.parseBoolean(columnFeatures.get(3)) == true
-				&& Boolean.parseBoolean(columnFeatures.get(6)) == true)
-			columnDatatype = DataType.date;
-		else if (columnFeatures.get(2).equals("dpda")
-				&& Double.parseDouble(columnFeatures.get(0)) > 0.320)
-			columnDatatype = DataType.unit;
-		else if (columnFeatures.get(2).equals("dpda")
-				&& Double.parseDouble(columnFeatures.get(0)) <= 0.320)
-			columnDatatype = DataType.numeric;
-		else if (columnFeatures.get(2).equals("dpdpa")
-				&& Double.parseDouble(columnFeatures.get(0)) > 0.350)
-			columnDatatype = DataType.numeric;
-		else if (columnFeatures.get(2).equals("dpdpa")
-				&& Double.parseDouble(columnFeatures.get(0)) <= 0.350)
-			columnDatatype = DataType.unit;
-		else if (columnFeatures.get(2).equals("dpdpapad"))
-			columnDatatype = DataType.unit;
-		else if (columnFeatures.get(2).equals("dpdpapap"))
-			columnDatatype = DataType.date;
-		else if (columnFeatures.get(2).equals("dpdpapd"))
-			columnDatatype = DataType.unit;
-		else if (columnFeatures.get(2).equals("dpdpasapsap"))
-			columnDatatype = DataType.unit;
-		else if (columnFeatures.get(2).equals("dpdpd")
-				&& Double.parseDouble(columnFeatures.get(1)) > 0.235)
-			columnDatatype = DataType.unit;
-		else if (columnFeatures.get(2).equals("dpdpd")
-				&& Double.parseDouble(columnFeatures.get(1)) <= 0.235
-				&& Boolean.parseBoolean(columnFeatures.get(6)) == false)
-			columnDatatype = DataType.numeric;
-		else if (columnFeatures.get(2).equals("dpdpd")
-				&& Double.parseDouble(columnFeatures.get(1)) <= 0.235
-				&& Boolean.parseBoolean(columnFeatures.get(6)) == true)
-			columnDatatype = DataType.date;
-		else if (columnFeatures.get(2).equals("dpdpdapdpd"))
-			columnDatatype = DataType.date;
-		else if (columnFeatures.get(2).equals("dpdpdpa"))
-			columnDatatype = DataType.string;
-		else if (columnFeatures.get(2).equals("dpdpdpd")
-				&& Boolean.parseBoolean(columnFeatures.get(6)) == false)
-			columnDatatype = DataType.numeric;
-		else if (columnFeatures.get(2).equals("dpdpdpd")
-				&& Boolean.parseBoolean(columnFeatures.get(6)) == true)
-			columnDatatype = DataType.string;
-		else if (columnFeatures.get(2).equals("dpdpdpdpd")
-				&& Boolean.parseBoolean(columnFeatures.get(6)) == false)
-			columnDatatype = DataType.string;
-		else if (columnFeatures.get(2).equals("dpdpdpdpd")
-				&& Boolean.parseBoolean(columnFeatures.get(6)) == true)
-			columnDatatype = DataType.date;
-		else if (columnFeatures.get(2).equals("dpdpsapsapsapsap"))
-			columnDatatype = DataType.unit;
-		else if (columnFeatures.get(2).equals("dpds"))
-			columnDatatype = DataType.numeric;
-		else if (columnFeatures.get(2).equals("dpdsap"))
-			columnDatatype = DataType.unit;
-		else if (columnFeatures.get(2).equals("dpdsapa"))
-			columnDatatype = DataType.unit;
-		else if (columnFeatures.get(2).equals("dpsa"))
-			columnDatatype = DataType.unit;
-		else if (columnFeatures.get(2).equals("ds"))
-			columnDatatype = DataType.numeric;
-		else if (columnFeatures.get(2).equals("dsapd"))
-			columnDatatype = DataType.date;
-		else if (columnFeatures.get(2).equals("dsapdpa"))
-			columnDatatype = DataType.unit;
-		else if (columnFeatures.get(2).equals("dsd")
-				&& Boolean.parseBoolean(columnFeatures.get(6)) == false)
-			columnDatatype = DataType.numeric;
-		else if (columnFeatures.get(2).equals("dsd")
-				&& Boolean.parseBoolean(columnFeatures.get(6)) == true)
-			columnDatatype = DataType.date;
-		else if (columnFeatures.get(2).equals("dsdpapdp"))
-			columnDatatype = DataType.string;
-		else if (columnFeatures.get(2).equals("dsdpasdpsdpdsdpa"))
-			columnDatatype = DataType.string;
-		else if (columnFeatures.get(2).equals("dsdsd"))
-			columnDatatype = DataType.date;
-		else if (columnFeatures.get(2).equals("pd"))
-			columnDatatype = DataType.numeric;
-		else if (columnFeatures.get(2).equals("pdasap"))
-			columnDatatype = DataType.unit;
-		else if (columnFeatures.get(2).equals("pdpa"))
-			columnDatatype = DataType.unit;
-		else if (columnFeatures.get(2).equals("pdpd")
-				&& Double.parseDouble(columnFeatures.get(1)) > 0.345)
-			columnDatatype = DataType.numeric;
-		else if (columnFeatures.get(2).equals("pdpd")
-				&& Double.parseDouble(columnFeatures.get(1)) <= 0.345)
-			columnDatatype = DataType.unit;
-		else if (columnFeatures.get(2).equals("pdpdpd"))
-			columnDatatype = DataType.numeric;
-		else if (columnFeatures.get(2).equals("pdpds"))
-			columnDatatype = DataType.numeric;
-		else if (columnFeatures.get(2).equals("sap")
-				&& Double.parseDouble(columnFeatures.get(0)) > 0.660
-				&& Double.parseDouble(columnFeatures.get(5)) > 5.500)
-			columnDatatype = DataType.string;
-		else if (columnFeatures.get(2).equals("sap")
-				&& Double.parseDouble(columnFeatures.get(0)) > 0.660
-				&& Double.parseDouble(columnFeatures.get(5)) <= 5.500
-				&& Double.parseDouble(columnFeatures.get(0)) > 0.705)
-			columnDatatype = DataType.bool;
-		else if (columnFeatures.get(2).equals("sap")
-				&& Double.parseDouble(columnFeatures.get(0)) > 0.660
-				&& Double.parseDouble(columnFeatures.get(5)) <= 5.500
-				&& Double.parseDouble(columnFeatures.get(0)) <= 0.705)
-			columnDatatype = DataType.string;
-		else if (columnFeatures.get(2).equals("sap")
-				&& Double.parseDouble(columnFeatures.get(0)) <= 0.660)
-			columnDatatype = DataType.date;
-		else if (columnFeatures.get(2).equals("sapa"))
-			columnDatatype = DataType.string;
-		else if (columnFeatures.get(2).equals("sapapasdpapapapapdsdpdpds"))
-			columnDatatype = DataType.string;
-		else if (columnFeatures.get(2).equals("sapd"))
-			columnDatatype = DataType.numeric;
-		else if (columnFeatures.get(2).equals("sapdpapasap"))
-			columnDatatype = DataType.unit;
-		else if (columnFeatures.get(2).equals("sapdpd"))
-			columnDatatype = DataType.unit;
-		else if (columnFeatures.get(2).equals("sapdpds"))
-			columnDatatype = DataType.numeric;
-		else if (columnFeatures.get(2).equals("sapdpdspdpap"))
-			columnDatatype = DataType.numeric;
-		else if (columnFeatures.get(2).equals("sapdsap"))
-			columnDatatype = DataType.unit;
-		else if (columnFeatures.get(2).equals("sapsapa"))
-			columnDatatype = DataType.string;
-		else if (columnFeatures.get(2).equals("sapsapdpd"))
-			columnDatatype = DataType.numeric;
-		else if (columnFeatures.get(2).equals("sapsas"))
-			columnDatatype = DataType.string;
-		else if (columnFeatures.get(2).equals("sapsd"))
-			columnDatatype = DataType.unit;
-		else if (columnFeatures.get(2).equals("sasas"))
-			columnDatatype = DataType.string;
-		else if (columnFeatures.get(2).equals("sd")
-				&& Double.parseDouble(columnFeatures.get(1)) > 0.055)
-			columnDatatype = DataType.numeric;
-		else if (columnFeatures.get(2).equals("sd")
-				&& Double.parseDouble(columnFeatures.get(1)) <= 0.055
-				&& Boolean.parseBoolean(columnFeatures.get(6)) == false
-				&& Boolean.parseBoolean(columnFeatures.get(3)) == false
-				&& Double.parseDouble(columnFeatures.get(0)) > 0.025)
-			columnDatatype = DataType.unit;
-		else if (columnFeatures.get(2).equals("sd")
-				&& Double.parseDouble(columnFeatures.get(1)) <= 0.055
-				&& Boolean.parseBoolean(columnFeatures.get(6)) == false
-				&& Boolean.parseBoolean(columnFeatures.get(3)) == false
-				&& Double.parseDouble(columnFeatures.get(0)) <= 0.025)
-			columnDatatype = DataType.numeric;
-		else if (columnFeatures.get(2).equals("sd")
-				&& Double.parseDouble(columnFeatures.get(1)) <= 0.055
-				&& Boolean.parseBoolean(columnFeatures.get(6)) == false
-				&& Boolean.parseBoolean(columnFeatures.get(3)) == true)
-			columnDatatype = DataType.unit;
-		else if (columnFeatures.get(2).equals("sd")
-				&& Double.parseDouble(columnFeatures.get(1)) <= 0.055
-				&& Boolean.parseBoolean(columnFeatures.get(6)) == true)
-			columnDatatype = DataType.unit;
-		else if (columnFeatures.get(2).equals("sda"))
-			columnDatatype = DataType.unit;
-		else if (columnFeatures.get(2).equals("sdp"))
-			columnDatatype = DataType.date;
-		else if (columnFeatures.get(2).equals("sdpa"))
-			columnDatatype = DataType.unit;
-		else if (columnFeatures.get(2).equals("sdpas"))
-			columnDatatype = DataType.unit;
-		else if (columnFeatures.get(2).equals("sdpd"))
-			columnDatatype = DataType.unit;
-		else if (columnFeatures.get(2).equals("sdpda"))
-			columnDatatype = DataType.numeric;
-		else if (columnFeatures.get(2).equals("sdpdpa"))
-			columnDatatype = DataType.unit;
-		else if (columnFeatures.get(2).equals("sdpdpd"))
-			columnDatatype = DataType.numeric;
-		else if (columnFeatures.get(2).equals("sdpdpdpa"))
-			columnDatatype = DataType.unit;
-		else if (columnFeatures.get(2).equals("sdpdpdsapdpds"))
-			columnDatatype = DataType.date;
-		else if (columnFeatures.get(2).equals("sdpsdsds"))
-			columnDatatype = DataType.numeric;
-		else if (columnFeatures.get(2).equals("spdpda"))
-			columnDatatype = DataType.unit;
-		else
-			columnDatatype = DataType.string; // default (if column
-												// doesn`t fit into
-												// above rules)
+		if (rules != null) {
+			double[] values = columnFeatures.getValues();
+			for (Rule rule : rules) {
+				if (rule.matches(values)) {
+					return rule.type;
+				}
+			}
+		}
 
-		return columnDatatype;
+		return DataType.string; // default (if column
+								// doesn`t fit into
+								// above rules)
 	}
 
-	// public static void main(String[] args) {
-	//
-	// }
+	/**
+	 * Classifies all columns of a table.
+	 * 
+	 * @param columnFeatures
+	 *            Holds the features of each column.
+	 * @return The predicted DataTypes in the order of the columns.
+	 */
+	public List<DataType> classifyColumns(Iterable<ColumnFeatures> columnFeatures) {
+		List<DataType> types = new ArrayList<>();
+		for (ColumnFeatures features : columnFeatures) {
+			types.add(classify(features));
+		}
+		return types;
+	}
 }
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2017 Data and Web Science Group, University of Mannheim, Germany (http://dws.informatik.uni-mannheim.de/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package de.uni_mannheim.informatik.dws.winter.webtables.detectors.tabletypeclassifier;
+
+import java.util.List;
+
+/**
+ * The features of a column, which are used by the {@link Classifier}.
+ * The numeric and boolean features are stored as a primitive vector (booleans as 0/1), the patterns are stored as strings.
+ *
+ * @author Oliver Lehmberg (oli@dwslab.de)
+ *
+ */
+public class ColumnFeatures {
+
+	// the positions of the features, which are the same as in the list representation
+	public static final int PAC = 0;
+	public static final int PPC = 1;
+	public static final int CCP = 2;
+	public static final int CPCHC = 3;
+	public static final int POS_HEADER_CELL = 4;
+	public static final int ACL = 5;
+	public static final int IS_DATE_OR_TIME = 6;
+	public static final int IS_BOOLEAN_VALUE = 7;
+
+	public static final int NUMBER_OF_FEATURES = 8;
+
+	private double[] values = new double[NUMBER_OF_FEATURES];
+	private String cellContentPattern;
+	private String posPatternOfHeaderCell;
+
+	/**
+	 * Creates the features from the calculated feature set of a column.
+	 *
+	 * @param featureSet	the feature set
+	 */
+	public ColumnFeatures(FeatureSet featureSet) {
+		this(
+				featureSet.getPercentageofAlphabeticCharacters(),
+				featureSet.getPercentageofPunctuationCharacters(),
+				featureSet.getCellContentPattern(),
+				featureSet.isContainPunctuationCharactersinHeaderCell(),
+				featureSet.getPOSPatternofHeaderCell(),
+				featureSet.getAverageCharacterLenghth(),
+				featureSet.isIsDateorTime(),
+				featureSet.isIsBooleanValue());
+	}
+
+	public ColumnFeatures(double percentageOfAlphabeticCharacters, double percentageOfPunctuationCharacters, String cellContentPattern,
+			boolean containsPunctuationCharactersInHeaderCell, String posPatternOfHeaderCell, double averageCharacterLength,
+			boolean isDateOrTime, boolean isBooleanValue) {
+		values[PAC] = percentageOfAlphabeticCharacters;
+		values[PPC] = percentageOfPunctuationCharacters;
+		values[CPCHC] = containsPunctuationCharactersInHeaderCell ? 1.0 : 0.0;
+		values[ACL] = averageCharacterLength;
+		values[IS_DATE_OR_TIME] = isDateOrTime ? 1.0 : 0.0;
+		values[IS_BOOLEAN_VALUE] = isBooleanValue ? 1.0 : 0.0;
+		this.cellContentPattern = cellContentPattern;
+		this.posPatternOfHeaderCell = posPatternOfHeaderCell;
+	}
+
+	/**
+	 * Parses the list representation of the features, as created by {@link TypeClassifier#calculateFeatures(String[])}.
+	 *
+	 * @param features	the features
+	 * @return the parsed features
+	 */
+	public static ColumnFeatures fromList(List<String> features) {
+		return new ColumnFeatures(
+				Double.parseDouble(features.get(PAC)),
+				Double.parseDouble(features.get(PPC)),
+				features.get(CCP),
+				Boolean.parseBoolean(features.get(CPCHC)),
+				features.get(POS_HEADER_CELL),
+				Double.parseDouble(features.get(ACL)),
+				Boolean.parseBoolean(features.get(IS_DATE_OR_TIME)),
+				Boolean.parseBoolean(features.get(IS_BOOLEAN_VALUE)));
+	}
+
+	/**
+	 * @return the numeric and boolean features, indexed by their positions (the positions of the patterns are not used)
+	 */
+	public double[] getValues() {
+		return values;
+	}
+
+	/**
+	 * @return the cell content pattern (CCP)
+	 */
+	public String getCellContentPattern() {
+		return cellContentPattern;
+	}
+
+	/**
+	 * @return the POS pattern of the header cell
+	 */
+	public String getPosPatternOfHeaderCell() {
+		return posPatternOfHeaderCell;
+	}
+}
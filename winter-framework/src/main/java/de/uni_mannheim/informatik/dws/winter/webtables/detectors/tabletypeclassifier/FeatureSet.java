@@ -37,12 +37,53 @@ public class FeatureSet {
 
 	DecimalFormat df = new DecimalFormat("#.##");
 	private MaxentTagger maxentTagger;
+	private AnnotationCache<String> posPatternCache;
+	private AnnotationCache<Boolean> temporalExpressionCache;
+	private int maxSampleSize = -1;
 
 	public FeatureSet(MaxentTagger maxentTagger) {
 		super();
 		this.maxentTagger = maxentTagger;
 	}
 
+	/**
+	 * @param maxentTagger
+	 *            the POS tagger for the header cells
+	 * @param posPatternCache
+	 *            caches the POS patterns of the header cells, can be shared
+	 *            between multiple feature sets
+	 * @param temporalExpressionCache
+	 *            caches the results of the temporal expression parser, can be
+	 *            shared between multiple feature sets
+	 */
+	public FeatureSet(MaxentTagger maxentTagger,
+			AnnotationCache<String> posPatternCache,
+			AnnotationCache<Boolean> temporalExpressionCache) {
+		this(maxentTagger);
+		this.posPatternCache = posPatternCache;
+		this.temporalExpressionCache = temporalExpressionCache;
+	}
+
+	/**
+	 * @return the maximum number of cells per column that are passed to the
+	 *         temporal expression parser
+	 */
+	public int getMaxSampleSize() {
+		return maxSampleSize;
+	}
+
+	/**
+	 * Limits the number of cells per column that are passed to the temporal
+	 * expression parser. For longer columns, an evenly spaced sample of the
+	 * cells is parsed and the number of temporal expressions is extrapolated.
+	 * 
+	 * @param maxSampleSize
+	 *            the maximum number of cells or -1 to parse all cells
+	 */
+	public void setMaxSampleSize(int maxSampleSize) {
+		this.maxSampleSize = maxSampleSize;
+	}
+
 	// column features
 	private double FractionofCellswithNumnericContent = -1;
 	private double AverageNumberofDataTokensinEachCell = -1;
@@ -254,6 +295,18 @@ public class FeatureSet {
 		int resultSUTParser = 0;
 		int resultBooleanValue = 0;
 
+		// if the column is too long, only every n-th cell is passed to the
+		// temporal expression parser
+		int numberOfCells = 0;
+		for (String cell : column) {
+			if (cell != null)
+				numberOfCells++;
+		}
+		int samplingStep = 1;
+		if (maxSampleSize > 0 && numberOfCells > maxSampleSize)
+			samplingStep = (int) Math.ceil(numberOfCells / (double) maxSampleSize);
+		int sampledCells = 0;
+
 		// Loop once through one column
 		for (String cell : column) {
 
@@ -266,14 +319,23 @@ public class FeatureSet {
 				}
 				ccpList = prepareCellContentPattern(cell, ccpList);
 				length = prepareAvgCharLength(cell, length);
-				resultSUTParser = prepareSUTParser(cell, pipeline,
-						resultSUTParser);
+				if (rowCounter % samplingStep == 0) {
+					resultSUTParser = prepareSUTParser(cell, pipeline,
+							resultSUTParser);
+					sampledCells++;
+				}
 				resultBooleanValue = prepareBooleanValue(cell,
 						resultBooleanValue);
 				rowCounter++;
 			}
 		}
 
+		// extrapolate the number of temporal expressions if only a sample was
+		// parsed
+		if (sampledCells < rowCounter)
+			resultSUTParser = (int) Math.round(resultSUTParser
+					* (rowCounter / (double) sampledCells));
+
 		// Validate loop results
 		validateHasHeaderCell(headerCelltemp);
 		validateCellContentPattern(ccpList);
@@ -497,18 +559,12 @@ public class FeatureSet {
 				&& !cell.trim().equals("??") && !cell.trim().equals(".")
 				&& !cell.trim().equals("null") && !cell.trim().equals("NULL")
 				&& !cell.trim().equals("Null"))) {
-			// The tagged string
-			String tagged = maxentTagger.tagString(cell);
-
-			String[] temp = tagged.split("\\s");
-			String POSPattern = "";
-			for (String pattern : temp) {
-				POSPattern += pattern.substring(pattern.indexOf("_") + 1) + "-";
-			}
-
-			String POSPatternofCell = POSPattern.trim()
-					.substring(0, POSPattern.length() - 1)
-					.replaceAll("--", "-");
+			String POSPatternofCell;
+			if (posPatternCache != null)
+				POSPatternofCell = posPatternCache.get(cell,
+						(c) -> createPOSPattern(c));
+			else
+				POSPatternofCell = createPOSPattern(cell);
 			// if(POSPatternofCell.endsWith("-") && POSPatternofCell.length() >
 			// 3)
 			// POSPatternofCell = POSPatternofCell.substring(0,
@@ -533,6 +589,28 @@ public class FeatureSet {
 		posPatternHD.clear();
 	}
 
+	/**
+	 * Runs the MaxentTagger on a cell and creates its POS pattern.
+	 * 
+	 * @param cell
+	 *            Holds the column´s cell
+	 * @return the POS pattern of the cell
+	 */
+
+	private String createPOSPattern(String cell) {
+		// The tagged string
+		String tagged = maxentTagger.tagString(cell);
+
+		String[] temp = tagged.split("\\s");
+		String POSPattern = "";
+		for (String pattern : temp) {
+			POSPattern += pattern.substring(pattern.indexOf("_") + 1) + "-";
+		}
+
+		return POSPattern.trim().substring(0, POSPattern.length() - 1)
+				.replaceAll("--", "-");
+	}
+
 	/**
 	 * Sums up the total length of all strings in a column.
 	 * 
@@ -580,20 +658,40 @@ public class FeatureSet {
 				&& !cell.trim().equals("??") && !cell.trim().equals(".")
 				&& !cell.trim().equals("null") && !cell.trim().equals("NULL")
 				&& !cell.trim().equals("Null"))) {
-			Annotation annotation = new Annotation(cell);
-			annotation.set(CoreAnnotations.DocDateAnnotation.class,
-					"2013-07-14");
-			pipeline.annotate(annotation);
-
-			List<CoreMap> timexAnnsAll = annotation
-					.get(TimeAnnotations.TimexAnnotations.class);
-			if (timexAnnsAll != null)
-				if (!timexAnnsAll.isEmpty())
-					result++;
+			boolean isTemporalExpression;
+			if (temporalExpressionCache != null)
+				isTemporalExpression = temporalExpressionCache.get(cell,
+						(c) -> isTemporalExpression(c, pipeline));
+			else
+				isTemporalExpression = isTemporalExpression(cell, pipeline);
+
+			if (isTemporalExpression)
+				result++;
 		}
 		return result;
 	}
 
+	/**
+	 * Checks whether a cell contains a temporal expression.
+	 * 
+	 * @param cell
+	 *            Holds the column´s cell
+	 * @param pipeline
+	 *            Used for temporal expressions.
+	 * @return true if the cell contains a temporal expression
+	 */
+
+	private boolean isTemporalExpression(String cell,
+			AnnotationPipeline pipeline) {
+		Annotation annotation = new Annotation(cell);
+		annotation.set(CoreAnnotations.DocDateAnnotation.class, "2013-07-14");
+		pipeline.annotate(annotation);
+
+		List<CoreMap> timexAnnsAll = annotation
+				.get(TimeAnnotations.TimexAnnotations.class);
+		return timexAnnsAll != null && !timexAnnsAll.isEmpty();
+	}
+
 	/**
 	 * Checks for a temporal expression and set the corresponding feature.
 	 * 
@@ -22,6 +22,7 @@ import java.util.Properties;
 
 import de.uni_mannheim.informatik.dws.winter.preprocessing.datatypes.ColumnType;
 import de.uni_mannheim.informatik.dws.winter.preprocessing.datatypes.DataType;
+import de.uni_mannheim.informatik.dws.winter.utils.parallel.ObjectPool;
 import de.uni_mannheim.informatik.dws.winter.webtables.detectors.TypeDetector;
 import edu.stanford.nlp.ling.CoreLabel;
 import edu.stanford.nlp.pipeline.AnnotationPipeline;
@@ -45,22 +46,99 @@ import edu.stanford.nlp.time.TimeAnnotator;
 
 public class TypeClassifier implements TypeDetector {
 
-	private static AnnotationPipeline pipeline;
+	public static final int DEFAULT_CACHE_SIZE = 100000;
+
+	private static final String TAGGER_MODEL = "de.uni_mannheim.informatik.dws.winter.webtables.detectors.tabletypeclassifier\\english-left3words-distsim.tagger";
+
+	/**
+	 * The maximum number of POS taggers and pipelines that are loaded at the
+	 * same time
+	 */
+	public static final int MAX_ANNOTATORS = Runtime.getRuntime().availableProcessors();
+
+	// the models are loaded when they are first needed and are shared by all
+	// instances and threads, a thread that finds no free model waits until
+	// another thread returns one
+	private static ObjectPool<Annotators> annotators = new ObjectPool<>(
+			MAX_ANNOTATORS, () -> new Annotators());
+
+	/**
+	 * A POS tagger and a pipeline, which can only be used by one thread at a
+	 * time.
+	 */
+	private static class Annotators {
+		private MaxentTagger tagger = new MaxentTagger(TAGGER_MODEL);
+		private AnnotationPipeline pipeline = createPipeline();
+	}
+
 	private Classifier classifier;
-	private FeatureSet featureSet;
+	private AnnotationCache<String> posPatternCache;
+	private AnnotationCache<Boolean> temporalExpressionCache;
+	private int maxSampleSize = -1;
 
 	public TypeClassifier() {
-		pipeline = new AnnotationPipeline();
+		this(DEFAULT_CACHE_SIZE);
+	}
+
+	/**
+	 * @param cacheSize
+	 *            the maximum number of cell values for which the results of
+	 *            the POS tagger and the temporal expression parser are cached,
+	 *            0 disables the cache
+	 */
+	public TypeClassifier(int cacheSize) {
 		classifier = new Classifier();
-		featureSet = new FeatureSet(new MaxentTagger(
-				"de.uni_mannheim.informatik.dws.winter.webtables.detectors.tabletypeclassifier\\english-left3words-distsim.tagger"));
-		initialize();
+		posPatternCache = new AnnotationCache<>(cacheSize);
+		temporalExpressionCache = new AnnotationCache<>(cacheSize);
 	}
 
 	/**
-	 * Initializes the tokenizer to detect date columns.
+	 * Limits the number of cells per column that are passed to the temporal
+	 * expression parser.
+	 * 
+	 * @param maxSampleSize
+	 *            the maximum number of cells or -1 to parse all cells
+	 * @see FeatureSet#setMaxSampleSize(int)
+	 */
+	public void setMaxSampleSize(int maxSampleSize) {
+		this.maxSampleSize = maxSampleSize;
+	}
+
+	/**
+	 * @return the maximum number of cells per column that are passed to the
+	 *         temporal expression parser
+	 */
+	public int getMaxSampleSize() {
+		return maxSampleSize;
+	}
+
+	/**
+	 * @return the cache for the POS patterns of header cells
+	 */
+	public AnnotationCache<String> getPosPatternCache() {
+		return posPatternCache;
+	}
+
+	/**
+	 * @return the cache for the results of the temporal expression parser
+	 */
+	public AnnotationCache<Boolean> getTemporalExpressionCache() {
+		return temporalExpressionCache;
+	}
+
+	/**
+	 * Loads a POS tagger and a pipeline. Otherwise, they are loaded when the
+	 * first column is classified.
 	 */
 	public void initialize() {
+		annotators.apply((a) -> a);
+	}
+
+	/**
+	 * Initializes the tokenizer to detect date columns.
+	 */
+	private static AnnotationPipeline createPipeline() {
+		AnnotationPipeline pipeline = new AnnotationPipeline();
 		Properties props = new Properties();
 		pipeline.addAnnotator(new TokenizerAnnotator(false) {
 
@@ -75,6 +153,25 @@ public class TypeClassifier implements TypeDetector {
 		pipeline.addAnnotator(new WordsToSentencesAnnotator(false));
 		pipeline.addAnnotator(new POSTaggerAnnotator(false));
 		pipeline.addAnnotator(new TimeAnnotator("sutime", props));
+		return pipeline;
+	}
+
+	/**
+	 * Calculates the features of a column with a POS tagger and a pipeline
+	 * from the pool.
+	 * 
+	 * @param col
+	 *            holds the column for, which the features will be generated.
+	 * @return returns the feature set of the column
+	 */
+	private FeatureSet createFeatures(String[] col) {
+		return annotators.apply((a) -> {
+			FeatureSet featureSet = new FeatureSet(a.tagger, posPatternCache,
+					temporalExpressionCache);
+			featureSet.setMaxSampleSize(maxSampleSize);
+			featureSet.createFeatures(col, a.pipeline);
+			return featureSet;
+		});
 	}
 
 	/**
@@ -96,15 +193,9 @@ public class TypeClassifier implements TypeDetector {
 		// If you have row based array then you need to call this method,
 		// otherwise not
 		String[][] transposedTableArray = transposeArray(tableArray);
-		int columnCount = 0;
-		for (String[] column : transposedTableArray) {
-			ColumnType columnType = null;
-			String columnLabel = Integer.toString(columnCount);
-
-			columnType = detectTypeForColumn(column, columnLabel);
-			columnANDdatatype.put(columnCount, columnType.getType().toString());
-
-			columnCount++;
+		List<DataType> types = detectTypesForColumns(transposedTableArray);
+		for (int columnCount = 0; columnCount < types.size(); columnCount++) {
+			columnANDdatatype.put(columnCount, types.get(columnCount).toString());
 		}
 
 		return columnANDdatatype;
@@ -123,7 +214,7 @@ public class TypeClassifier implements TypeDetector {
 
 		List<String> features = new ArrayList<String>();
 
-		featureSet.createFeatures(col, pipeline);
+		FeatureSet featureSet = createFeatures(col);
 
 		features.add(String
 				.valueOf(featureSet.getPercentageofAlphabeticCharacters()));
@@ -140,6 +231,36 @@ public class TypeClassifier implements TypeDetector {
 		return features;
 	}
 
+	/**
+	 * Based on the given Column entries. The calculation of the column features
+	 * for the type detection is triggered.
+	 * 
+	 * @param col
+	 *            holds the column for, which the features will be generated.
+	 * @return returns the generated features.
+	 */
+
+	public ColumnFeatures calculateColumnFeatures(String[] col) {
+		return new ColumnFeatures(createFeatures(col));
+	}
+
+	/**
+	 * Detects the datatypes of all columns of a table.
+	 * 
+	 * @param columns
+	 *            holds the table in column based format.
+	 * @return returns the predicted Datatypes in the order of the columns.
+	 */
+
+	public List<DataType> detectTypesForColumns(String[][] columns) {
+		List<ColumnFeatures> features = new ArrayList<ColumnFeatures>(columns.length);
+		for (String[] column : columns) {
+			features.add(calculateColumnFeatures(column));
+		}
+
+		return classifier.classifyColumns(features);
+	}
+
 	/**
 	 * Triggers the prediction of datatypes from the features calculated in
 	 * 'calculateFeatures(String[])'.
@@ -182,15 +303,7 @@ public class TypeClassifier implements TypeDetector {
 	public ColumnType detectTypeForColumn(Object[] attributeValues,
 			String attributeLabel) {
 
-		List<String> features = new ArrayList<String>();
-
-		features = calculateFeatures((String[]) attributeValues);
-		DataType type = null;
-		try {
-			type = predictDatatype(features);
-		} catch (IOException e) {
-			e.printStackTrace();
-		}
+		DataType type = classifier.classify(calculateColumnFeatures((String[]) attributeValues));
 		ColumnType resColumnType = new ColumnType(type, null);
 		return resColumnType;
 	}
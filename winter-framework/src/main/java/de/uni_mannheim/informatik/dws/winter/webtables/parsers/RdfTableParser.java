@@ -14,7 +14,7 @@ package de.uni_mannheim.informatik.dws.winter.webtables.parsers;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
-import java.io.InputStreamReader;
+import java.io.InputStream;
 import java.io.Reader;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -24,22 +24,23 @@ import java.util.List;
 import java.util.Map;
 import java.util.zip.GZIPInputStream;
 
-import org.apache.jena.query.Query;
-import org.apache.jena.query.QueryExecution;
-import org.apache.jena.query.QueryExecutionFactory;
-import org.apache.jena.query.QueryFactory;
 import org.apache.jena.query.QuerySolution;
-import org.apache.jena.query.ResultSet;
-import org.apache.jena.rdf.model.Model;
-import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.rdf.model.RDFNode;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFLanguages;
 
 import de.uni_mannheim.informatik.dws.winter.preprocessing.datatypes.DataType;
+import de.uni_mannheim.informatik.dws.winter.utils.ReaderInputStream;
 import de.uni_mannheim.informatik.dws.winter.utils.query.Q;
+import de.uni_mannheim.informatik.dws.winter.utils.rdf.RDFProjection;
+import de.uni_mannheim.informatik.dws.winter.utils.rdf.SparqlSelect;
 import de.uni_mannheim.informatik.dws.winter.webtables.Table;
 import de.uni_mannheim.informatik.dws.winter.webtables.TableColumn;
 
 /**
- * A parser that loads the result of a SPARQL query executed against an RDF document as table
+ * A parser that loads the result of a SPARQL query executed against an RDF document as table.
+ * The syntax of the document is determined by the file extension (RDF/XML by default), files ending with .gz are decompressed.
+ * Instead of a SPARQL query, an {@link RDFProjection} can be used, which only keeps the projected values instead of the complete graph in memory.
  * 
  * @author Oliver Lehmberg (oli@dwslab.de)
  *
@@ -47,12 +48,34 @@ import de.uni_mannheim.informatik.dws.winter.webtables.TableColumn;
 public class RdfTableParser extends TableParser {
 
 	private String queryString;
+	private RDFProjection projection;
+	private File tdbDirectory;
 
 	public RdfTableParser(String query) {
 		this.queryString = query;
 		setStringNormalizer(new DynamicStringNormalizer());
 	}
 
+	/**
+	 * @param projection
+	 *            the subject-centric projection that is evaluated while the document is parsed
+	 */
+	public RdfTableParser(RDFProjection projection) {
+		this.projection = projection;
+		setStringNormalizer(new DynamicStringNormalizer());
+	}
+
+	/**
+	 * Loads the documents into a disk-backed TDB store instead of memory before the SPARQL query is executed. Has no effect if an {@link RDFProjection} is used.
+	 * 
+	 * @param tdbDirectory
+	 *            the directory of the TDB store or null to load the documents into memory
+	 * @see SparqlSelect#setTdbDirectory(File)
+	 */
+	public void setTdbDirectory(File tdbDirectory) {
+		this.tdbDirectory = tdbDirectory;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * 
@@ -61,19 +84,18 @@ public class RdfTableParser extends TableParser {
 	 */
 	@Override
 	public Table parseTable(File file) {
-		Reader r = null;
+		InputStream in = null;
 		Table t = null;
 		try {
 			if (file.getName().endsWith(".gz")) {
-				GZIPInputStream gzip = new GZIPInputStream(new FileInputStream(file));
-				r = new InputStreamReader(gzip, "UTF-8");
+				in = new GZIPInputStream(new FileInputStream(file));
 			} else {
-				r = new InputStreamReader(new FileInputStream(file), "UTF-8");
+				in = new FileInputStream(file);
 			}
 
-			t = parseTable(r, file.getName());
+			t = parseTable(in, file.getName(), getLang(file.getName()));
 
-			r.close();
+			in.close();
 		} catch (IOException e) {
 			e.printStackTrace();
 		}
@@ -89,67 +111,99 @@ public class RdfTableParser extends TableParser {
 	 */
 	@Override
 	public Table parseTable(Reader reader, String fileName) throws IOException {
+		// the RDF parsers read from byte streams, so the characters are encoded as UTF-8 while they are parsed
+		return parseTable(new ReaderInputStream(reader), fileName, getLang(fileName));
+	}
 
-		// create an empty model
-		Model model = ModelFactory.createDefaultModel();
+	/**
+	 * @param fileName
+	 *            the name of the file
+	 * @return the RDF syntax that corresponds to the file extension, RDF/XML if the extension is unknown
+	 */
+	protected Lang getLang(String fileName) {
+		if (fileName == null) {
+			return Lang.RDFXML;
+		}
+		if (fileName.endsWith(".gz")) {
+			fileName = fileName.substring(0, fileName.length() - 3);
+		}
+		return RDFLanguages.filenameToLang(fileName, Lang.RDFXML);
+	}
 
-		// read the RDF/XML file
-		model.read(reader, null);
+	/**
+	 * Parses an RDF document into a table.
+	 * 
+	 * @param in
+	 *            the RDF document
+	 * @param fileName
+	 *            the name that is used as path of the table
+	 * @param lang
+	 *            the syntax of the RDF document
+	 * @return the table or null if the document does not contain any results
+	 * @throws IOException
+	 */
+	protected Table parseTable(InputStream in, String fileName, Lang lang) throws IOException {
 
 		// create new table
 		Table table = new Table();
 		table.setPath(fileName);
 
-		boolean typesAlreadyDetected = true;
-
 		// read data
 		Map<String, Integer> attributes = new HashMap<>();
 		Map<String, DataType> types = new HashMap<>();
 		List<String[]> tableListContent = new LinkedList<>();
+		boolean[] typesAlreadyDetected = new boolean[] { true };
 		
-		// execute the query
-		Query query = QueryFactory.create(queryString);
-		try (QueryExecution qexec = QueryExecutionFactory.create(query, model)) {
-			ResultSet results = qexec.execSelect();
-			for (; results.hasNext();) {
-				QuerySolution soln = results.nextSolution();
-
-				Iterator<String> attributeNames = soln.varNames();
-				while(attributeNames.hasNext()) {
-					String att = attributeNames.next();
-					if(!attributes.containsKey(att)) {
-						attributes.put(att, attributes.size());
-						
-						if(soln.get(att).isLiteral()) {
-							switch (soln.getLiteral(att).getDatatype().getURI()) {
-							case "http://www.w3.org/2001/XMLSchema#decimal":
-								types.put(att, DataType.numeric);
-								break;
-							case "http://www.w3.org/2001/XMLSchema#date":
-								types.put(att, DataType.date);
-								break;
-							case "http://www.w3.org/2001/XMLSchema#string":
-								types.put(att, DataType.string);
-								break;
-							default:
-								types.put(att, DataType.unknown);
-								typesAlreadyDetected = false;
-								break;
-							}
-						} else {
-							types.put(att, DataType.string);
-						}
+		if (projection != null) {
+			List<String> variables = projection.getVariables();
+			for (String att : variables) {
+				attributes.put(att, attributes.size());
+			}
+
+			projection.execute(in, lang, (row) -> {
+				String[] values = new String[row.length];
+				for (int i = 0; i < row.length; i++) {
+					String att = variables.get(i);
+					// the type is determined by the first value of the column
+					if (row[i] != null && !types.containsKey(att)) {
+						typesAlreadyDetected[0] &= detectType(att, row[i], types);
 					}
-				}
-				
-				String[] values = new String[attributes.size()];
-				for(String att : attributes.keySet()) {
-					values[attributes.get(att)] = soln.get(att).toString();
+					values[i] = row[i] == null ? null : row[i].toString();
 				}
 				tableListContent.add(values);
+			});
+
+			for (String att : variables) {
+				if (!types.containsKey(att)) {
+					types.put(att, DataType.unknown);
+					typesAlreadyDetected[0] = false;
+				}
 			}
-			
-			qexec.close();
+		} else {
+			// execute the query
+			SparqlSelect select = new SparqlSelect(queryString);
+			select.setTdbDirectory(tdbDirectory);
+			select.execute(in, lang, (results) -> {
+				for (; results.hasNext();) {
+					QuerySolution soln = results.nextSolution();
+	
+					Iterator<String> attributeNames = soln.varNames();
+					while(attributeNames.hasNext()) {
+						String att = attributeNames.next();
+						if(!attributes.containsKey(att)) {
+							attributes.put(att, attributes.size());
+							
+							typesAlreadyDetected[0] &= detectType(att, soln.get(att), types);
+						}
+					}
+					
+					String[] values = new String[attributes.size()];
+					for(String att : attributes.keySet()) {
+						values[attributes.get(att)] = soln.get(att).toString();
+					}
+					tableListContent.add(values);
+				}
+			});
 		}
 
 		// check whether table content is not empty!
@@ -195,7 +249,7 @@ public class RdfTableParser extends TableParser {
 		// populate table content
 		populateTable(tableContent, table, new int[0]);
 
-		if (typesAlreadyDetected && isConvertValues()) {
+		if (typesAlreadyDetected[0] && isConvertValues()) {
 			table.convertValues();
 		} else if (isConvertValues()) {
 			table.inferSchemaAndConvertValues(this.getTypeDetector());
@@ -210,4 +264,31 @@ public class RdfTableParser extends TableParser {
 		return table;
 	}
 
+	/**
+	 * Determines the data type of a column from the data type of its value
+	 * 
+	 * @return false if the data type is unknown
+	 */
+	private boolean detectType(String att, RDFNode value, Map<String, DataType> types) {
+		if(value.isLiteral()) {
+			switch (value.asLiteral().getDatatype().getURI()) {
+			case "http://www.w3.org/2001/XMLSchema#decimal":
+				types.put(att, DataType.numeric);
+				return true;
+			case "http://www.w3.org/2001/XMLSchema#date":
+				types.put(att, DataType.date);
+				return true;
+			case "http://www.w3.org/2001/XMLSchema#string":
+				types.put(att, DataType.string);
+				return true;
+			default:
+				types.put(att, DataType.unknown);
+				return false;
+			}
+		} else {
+			types.put(att, DataType.string);
+			return true;
+		}
+	}
+
 }
@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2017 Data and Web Science Group, University of Mannheim, Germany (http://dws.informatik.uni-mannheim.de/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package de.uni_mannheim.informatik.dws.winter.clustering;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Map;
+
+import de.uni_mannheim.informatik.dws.winter.model.Triple;
+import de.uni_mannheim.informatik.dws.winter.utils.query.Q;
+import junit.framework.TestCase;
+
+public class ConnectedComponentClustererTest extends TestCase {
+
+	public void testCluster() {
+		ArrayList<Triple<String, String, Double>> similarityGraph = new ArrayList<>();
+		similarityGraph.add(new Triple<>("a", "b", 1.0));
+		similarityGraph.add(new Triple<>("c", "d", 1.0));
+		similarityGraph.add(new Triple<>("e", "f", 1.0));
+		similarityGraph.add(new Triple<>("b", "c", 1.0));
+		similarityGraph.add(new Triple<>("g", "g", 1.0));
+
+		ConnectedComponentClusterer<String> clusterer = new ConnectedComponentClusterer<>();
+		Map<Collection<String>, String> clustering = clusterer.cluster(similarityGraph);
+
+		assertEquals(3, clustering.size());
+		assertTrue(clustering.containsKey(Q.toSet("a", "b", "c", "d")));
+		assertTrue(clustering.containsKey(Q.toSet("e", "f")));
+		assertTrue(clustering.containsKey(Q.toSet("g")));
+	}
+
+	public void testAddEdge() {
+		ConnectedComponentClusterer<Integer> clusterer = new ConnectedComponentClusterer<>();
+
+		// a chain that is built from both ends, leaving out the node in the middle
+		int n = 10000;
+		for(int i = 0; i < n/2-1; i++) {
+			assertTrue(clusterer.addEdge(i, i+1));
+			assertTrue(clusterer.addEdge(n-i, n-i-1));
+		}
+		assertEquals(2, clusterer.getNumberOfClusters());
+		assertFalse(clusterer.isEdgeAlreadyInCluster(0, n));
+
+		// connect both halves
+		assertTrue(clusterer.addEdge(n/2-1, n/2));
+		assertTrue(clusterer.addEdge(n/2, n/2+1));
+		assertFalse(clusterer.addEdge(0, n));
+		assertTrue(clusterer.isEdgeAlreadyInCluster(0, n));
+		assertFalse(clusterer.isEdgeAlreadyInCluster(0, n+1));
+
+		assertEquals(1, clusterer.getNumberOfClusters());
+		assertEquals(n+1, clusterer.getClusters().get(0).size());
+	}
+
+}
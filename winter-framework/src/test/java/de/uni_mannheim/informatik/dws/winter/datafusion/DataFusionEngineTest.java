@@ -0,0 +1,225 @@
+/*
+ * Copyright (c) 2017 Data and Web Science Group, University of Mannheim, Germany (http://dws.informatik.uni-mannheim.de/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package de.uni_mannheim.informatik.dws.winter.datafusion;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang.StringUtils;
+
+import de.uni_mannheim.informatik.dws.winter.datafusion.conflictresolution.Voting;
+import de.uni_mannheim.informatik.dws.winter.model.Correspondence;
+import de.uni_mannheim.informatik.dws.winter.model.FusedValue;
+import de.uni_mannheim.informatik.dws.winter.model.FusibleDataSet;
+import de.uni_mannheim.informatik.dws.winter.model.FusibleHashedDataSet;
+import de.uni_mannheim.informatik.dws.winter.model.Matchable;
+import de.uni_mannheim.informatik.dws.winter.model.RecordGroup;
+import de.uni_mannheim.informatik.dws.winter.model.defaultmodel.Attribute;
+import de.uni_mannheim.informatik.dws.winter.model.defaultmodel.Record;
+import de.uni_mannheim.informatik.dws.winter.processing.Processable;
+import de.uni_mannheim.informatik.dws.winter.processing.ProcessableCollection;
+import junit.framework.TestCase;
+
+public class DataFusionEngineTest extends TestCase {
+
+	private static final Attribute NAME = new Attribute("name");
+
+	private static class NameFuser extends AttributeValueFuser<String, Record, Attribute> {
+
+		public NameFuser() {
+			super(new Voting<String, Record, Attribute>());
+		}
+
+		@Override
+		public void fuse(RecordGroup<Record, Attribute> group, Record fusedRecord,
+				Processable<Correspondence<Attribute, Matchable>> schemaCorrespondences, Attribute schemaElement) {
+			FusedValue<String, Record, Attribute> fused = getFusedValue(group, schemaCorrespondences, schemaElement);
+			fusedRecord.setValue(NAME, fused.getValue());
+		}
+
+		@Override
+		public boolean hasValue(Record record, Correspondence<Attribute, Matchable> correspondence) {
+			return record.hasValue(NAME);
+		}
+
+		@Override
+		public String getValue(Record record, Correspondence<Attribute, Matchable> correspondence) {
+			return record.getValue(NAME);
+		}
+
+	}
+
+	private static class NameEvaluationRule extends EvaluationRule<Record, Attribute> {
+
+		@Override
+		public boolean isEqual(Record record1, Record record2, Attribute schemaElement) {
+			return record1.getValue(NAME).equals(record2.getValue(NAME));
+		}
+
+		@Override
+		public boolean isEqual(Record record1, Record record2, Correspondence<Attribute, Matchable> schemaCorrespondence) {
+			return isEqual(record1, record2, (Attribute)null);
+		}
+
+	}
+
+	public void testRunParallel() {
+		// a and c are in the same data set, all records are mapped to b
+		FusibleHashedDataSet<Record, Attribute> ds1 = new FusibleHashedDataSet<>();
+		FusibleHashedDataSet<Record, Attribute> ds2 = new FusibleHashedDataSet<>();
+		Processable<Correspondence<Record, Matchable>> correspondences = new ProcessableCollection<>();
+
+		for(int i = 0; i < 1000; i++) {
+			Record a = new Record("a" + i);
+			a.setValue(NAME, "name " + i);
+			ds1.add(a);
+			Record b = new Record("b" + i);
+			b.setValue(NAME, i % 3 == 0 ? "other " + i : "name " + i);
+			ds2.add(b);
+			Record c = new Record("c" + i);
+			c.setValue(NAME, i % 2 == 0 ? "other " + i : "name " + i);
+			ds1.add(c);
+			correspondences.add(new Correspondence<>(a, b, 1.0));
+			correspondences.add(new Correspondence<>(c, b, 1.0));
+		}
+
+		FusibleDataSet<Record, Attribute> sequential = null;
+		FusibleDataSet<Record, Attribute> parallel = null;
+		Map<String, Double> sequentialConsistencies = null;
+		Map<String, Double> parallelConsistencies = null;
+
+		for(boolean runParallel : new boolean[] { false, true }) {
+			CorrespondenceSet<Record, Attribute> groups = new CorrespondenceSet<>();
+			groups.createFromCorrespondences(correspondences, ds1, ds2);
+
+			DataFusionStrategy<Record, Attribute> strategy = new DataFusionStrategy<>(
+					(g) -> new Record(StringUtils.join(g.getRecordIds(), "+")));
+			strategy.addAttributeFuser(NAME, new NameFuser(), new NameEvaluationRule());
+
+			DataFusionEngine<Record, Attribute> engine = new DataFusionEngine<>(strategy);
+			engine.setParallel(runParallel);
+
+			if(runParallel) {
+				parallel = engine.run(groups, null);
+				parallelConsistencies = engine.getAttributeConsistencies(groups, null);
+			} else {
+				sequential = engine.run(groups, null);
+				sequentialConsistencies = engine.getAttributeConsistencies(groups, null);
+			}
+		}
+
+		assertEquals(1000, sequential.size());
+		assertEquals(sequential.size(), parallel.size());
+		for(Record r : sequential.get()) {
+			Record p = parallel.getRecord(r.getIdentifier());
+			assertNotNull(p);
+			assertEquals(r.getValue(NAME), p.getValue(NAME));
+		}
+		assertEquals(sequentialConsistencies, parallelConsistencies);
+	}
+
+	public void testFusionPlan() {
+		Attribute target = new Attribute("target");
+		Attribute other = new Attribute("other");
+		Attribute source1 = new Attribute("source1");
+		Attribute source2 = new Attribute("source2");
+
+		Processable<Correspondence<Attribute, Matchable>> schemaCorrespondences = new ProcessableCollection<>();
+		schemaCorrespondences.add(new Correspondence<>(source1, target, 1.0));
+		schemaCorrespondences.add(new Correspondence<>(source2, target, 1.0));
+		schemaCorrespondences.add(new Correspondence<>(source1, other, 1.0));
+
+		DataFusionStrategy<Record, Attribute> strategy = new DataFusionStrategy<>(
+				(g) -> new Record(StringUtils.join(g.getRecordIds(), "+")));
+		strategy.addAttributeFuser(target, new NameFuser(), new NameEvaluationRule());
+
+		DataFusionPlan<Record, Attribute> plan = strategy.createFusionPlan(schemaCorrespondences);
+		assertEquals(2, plan.getAttributeFusionTasks().size());
+		assertEquals(2, plan.getCorrespondences(target).size());
+		assertNull(plan.getCorrespondences(source1));
+
+		// without schema correspondences, all attribute fusers are used
+		plan = strategy.createFusionPlan(null);
+		assertEquals(1, plan.getAttributeFusionTasks().size());
+		assertSame(target, plan.getAttributeFusionTasks().get(0).getSchemaElement());
+	}
+
+	public void testRunParallelWithDebugReport() throws Exception {
+		FusibleHashedDataSet<Record, Attribute> ds1 = new FusibleHashedDataSet<>();
+		FusibleHashedDataSet<Record, Attribute> ds2 = new FusibleHashedDataSet<>();
+		Processable<Correspondence<Record, Matchable>> correspondences = new ProcessableCollection<>();
+
+		for(int i = 0; i < 1000; i++) {
+			Record a = new Record("a" + i);
+			a.setValue(NAME, "name " + i);
+			ds1.add(a);
+			Record b = new Record("b" + i);
+			b.setValue(NAME, "other " + i);
+			ds2.add(b);
+			correspondences.add(new Correspondence<>(a, b, 1.0));
+		}
+
+		CorrespondenceSet<Record, Attribute> groups = new CorrespondenceSet<>();
+		groups.createFromCorrespondences(correspondences, ds1, ds2);
+
+		File dir = Files.createTempDirectory("fusion").toFile();
+		try {
+			List<String> sequentialLogs = null;
+			for(boolean parallel : new boolean[] { false, true, true, true }) {
+				AtomicInteger createdLogs = new AtomicInteger();
+				DataFusionStrategy<Record, Attribute> strategy = new DataFusionStrategy<Record, Attribute>(
+						(g) -> new Record(StringUtils.join(g.getRecordIds(), "+"))) {
+					@Override
+					protected AttributeFusionLogger createFusionLog(AttributeFusionTask<Record, Attribute> t,
+							RecordGroup<Record, Attribute> group, Processable<Correspondence<Attribute, Matchable>> schemaCorrespondences,
+							Record fusedRecord) {
+						createdLogs.incrementAndGet();
+						return super.createFusionLog(t, group, schemaCorrespondences, fusedRecord);
+					}
+				};
+				strategy.activateDebugReport(new File(dir, "debug.csv").getAbsolutePath(), 10);
+				strategy.addAttributeFuser(NAME, new NameFuser(), new NameEvaluationRule());
+
+				DataFusionEngine<Record, Attribute> engine = new DataFusionEngine<>(strategy);
+				engine.setParallel(parallel);
+				FusibleDataSet<Record, Attribute> fused = engine.run(groups, null);
+
+				assertEquals(1000, fused.size());
+				assertEquals(10, strategy.getDebugFusionResults().size());
+
+				List<String> logs = new ArrayList<>();
+				for(Record log : strategy.getDebugFusionResults().get()) {
+					logs.add(log.getIdentifier());
+				}
+				Collections.sort(logs);
+
+				if(parallel) {
+					// the debug report contains the same record groups as for sequential processing
+					assertEquals(sequentialLogs, logs);
+					// the fusion logs of most groups are not created, as the debug report is already full
+					assertTrue(createdLogs.get() < 1000);
+				} else {
+					sequentialLogs = logs;
+				}
+			}
+		} finally {
+			FileUtils.deleteDirectory(dir);
+		}
+	}
+
+}
@@ -11,6 +11,10 @@
  */
 package de.uni_mannheim.informatik.dws.winter.matching.aggregators;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
 import de.uni_mannheim.informatik.dws.winter.model.Correspondence;
 import de.uni_mannheim.informatik.dws.winter.model.Matchable;
 import de.uni_mannheim.informatik.dws.winter.model.Pair;
@@ -61,5 +65,37 @@ public class TopKAggregatorTest extends TestCase {
 		
 		assertEquals(2, (int)(cor.getSimilarityScore()*10));
 	}
-	
+
+	public void testTopKWithTies() {
+		Attribute a1 = new Attribute("a1");
+		List<Correspondence<Attribute, Matchable>> input = new ArrayList<>();
+		for(int i = 0; i < 100; i++) {
+			// many correspondences with the same score
+			input.add(new Correspondence<Attribute, Matchable>(a1, new Attribute("b" + (i % 50)), (i % 7) / 10.0));
+		}
+		// the expected result: highest score first, ties broken by the identifiers
+		List<Correspondence<Attribute, Matchable>> expected = new ArrayList<>(input);
+		Collections.sort(expected, (c1, c2) -> {
+			int comp = -Double.compare(c1.getSimilarityScore(), c2.getSimilarityScore());
+			return comp == 0 ? c1.getSecondRecord().getIdentifier().compareTo(c2.getSecondRecord().getIdentifier()) : comp;
+		});
+
+		for(boolean parallel : new boolean[] { false, true }) {
+			Processable<Correspondence<Attribute, Matchable>> data = parallel ? new ParallelProcessableCollection<>(input) : new ProcessableCollection<>(input);
+
+			Pair<Object, Processable<Correspondence<Attribute, Matchable>>> p = data.aggregate(new SimpleKeyValueMapper<>((c)->null, (c)->c), new TopKAggregator<Attribute, Matchable, Object>(5)).firstOrNull();
+			List<Correspondence<Attribute, Matchable>> result = new ArrayList<>(p.getSecond().get());
+
+			assertEquals(5, result.size());
+			for(int i = 0; i < 5; i++) {
+				assertEquals(expected.get(i).getSimilarityScore(), result.get(i).getSimilarityScore());
+				assertEquals(expected.get(i).getSecondRecord().getIdentifier(), result.get(i).getSecondRecord().getIdentifier());
+			}
+		}
+
+		// k = 0 keeps all correspondences
+		Pair<Object, Processable<Correspondence<Attribute, Matchable>>> p = new ProcessableCollection<>(input).aggregate(new SimpleKeyValueMapper<>((c)->null, (c)->c), new TopKAggregator<Attribute, Matchable, Object>(0)).firstOrNull();
+		assertEquals(100, p.getSecond().size());
+	}
+
 }
@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2017 Data and Web Science Group, University of Mannheim, Germany (http://dws.informatik.uni-mannheim.de/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package de.uni_mannheim.informatik.dws.winter.matching.algorithms;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import de.uni_mannheim.informatik.dws.winter.model.Correspondence;
+import de.uni_mannheim.informatik.dws.winter.model.Matchable;
+import de.uni_mannheim.informatik.dws.winter.model.defaultmodel.Record;
+import de.uni_mannheim.informatik.dws.winter.processing.Processable;
+import de.uni_mannheim.informatik.dws.winter.processing.ProcessableCollection;
+import de.uni_mannheim.informatik.dws.winter.processing.parallel.ParallelProcessableCollection;
+import junit.framework.TestCase;
+
+/**
+ * @author Oliver Lehmberg (oli@dwslab.de)
+ *
+ */
+public class MaximumBipartiteMatchingAlgorithmTest extends TestCase {
+
+	public void testRun() {
+		// Input: three connected components
+		// a-b (0.9), a-c (0.8), d-b (0.8), d-c (0.1)
+		// e-f (0.5), e-g (0.7)
+		// h-i (0.3)
+		// Output: a-c (0.8), d-b (0.8), e-g (0.7), h-i (0.3)
+
+		ProcessableCollection<Correspondence<Record, Matchable>> cors = new ProcessableCollection<>();
+		cors.add(new Correspondence<Record, Matchable>(new Record("a"), new Record("b"), 0.9));
+		cors.add(new Correspondence<Record, Matchable>(new Record("a"), new Record("c"), 0.8));
+		cors.add(new Correspondence<Record, Matchable>(new Record("d"), new Record("b"), 0.8));
+		cors.add(new Correspondence<Record, Matchable>(new Record("d"), new Record("c"), 0.1));
+		cors.add(new Correspondence<Record, Matchable>(new Record("e"), new Record("f"), 0.5));
+		cors.add(new Correspondence<Record, Matchable>(new Record("e"), new Record("g"), 0.7));
+		cors.add(new Correspondence<Record, Matchable>(new Record("h"), new Record("i"), 0.3));
+
+		// the result must not depend on whether the input is processed in parallel
+		for(Processable<Correspondence<Record, Matchable>> input : Arrays.asList(cors, new ParallelProcessableCollection<>(cors.get()))) {
+			MaximumBipartiteMatchingAlgorithm<Record, Matchable> matching = new MaximumBipartiteMatchingAlgorithm<>(input);
+			matching.run();
+			Processable<Correspondence<Record, Matchable>> result = matching.getResult();
+
+			assertEquals(4, result.size());
+
+			Map<String, String> mapping = new HashMap<>();
+			for(Correspondence<Record, Matchable> cor : result.get()) {
+				mapping.put(cor.getFirstRecord().getIdentifier(), cor.getSecondRecord().getIdentifier());
+			}
+
+			assertEquals("c", mapping.get("a"));
+			assertEquals("b", mapping.get("d"));
+			assertEquals("g", mapping.get("e"));
+			assertEquals("i", mapping.get("h"));
+		}
+	}
+
+}
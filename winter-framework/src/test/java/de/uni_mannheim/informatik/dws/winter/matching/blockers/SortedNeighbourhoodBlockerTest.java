@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2017 Data and Web Science Group, University of Mannheim, Germany (http://dws.informatik.uni-mannheim.de/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package de.uni_mannheim.informatik.dws.winter.matching.blockers;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import de.uni_mannheim.informatik.dws.winter.matching.blockers.generators.BlockingKeyGenerator;
+import de.uni_mannheim.informatik.dws.winter.matching.blockers.generators.RecordBlockingKeyGenerator;
+import de.uni_mannheim.informatik.dws.winter.model.Correspondence;
+import de.uni_mannheim.informatik.dws.winter.model.DataSet;
+import de.uni_mannheim.informatik.dws.winter.model.HashedDataSet;
+import de.uni_mannheim.informatik.dws.winter.model.Matchable;
+import de.uni_mannheim.informatik.dws.winter.model.Pair;
+import de.uni_mannheim.informatik.dws.winter.model.defaultmodel.Attribute;
+import de.uni_mannheim.informatik.dws.winter.model.defaultmodel.Record;
+import de.uni_mannheim.informatik.dws.winter.processing.DataIterator;
+import de.uni_mannheim.informatik.dws.winter.processing.Processable;
+import junit.framework.TestCase;
+
+/**
+ * @author Oliver Lehmberg (oli@dwslab.de)
+ *
+ */
+public class SortedNeighbourhoodBlockerTest extends TestCase {
+
+	private static final Attribute KEY1 = new Attribute("key1");
+	private static final Attribute KEY2 = new Attribute("key2");
+
+	private static class ValueKeyGenerator extends RecordBlockingKeyGenerator<Record, Attribute> {
+		private static final long serialVersionUID = 1L;
+		private Attribute attribute;
+
+		public ValueKeyGenerator(Attribute attribute) {
+			this.attribute = attribute;
+		}
+
+		@Override
+		public void generateBlockingKeys(Record record, Processable<Correspondence<Attribute, Matchable>> correspondences,
+				DataIterator<Pair<String, Record>> resultCollector) {
+			resultCollector.next(new Pair<>(record.getValue(attribute), record));
+		}
+	}
+
+	private DataSet<Record, Attribute> createDataSet(String name, int size, int seed) {
+		DataSet<Record, Attribute> ds = new HashedDataSet<>();
+		for(int i = 0; i < size; i++) {
+			Record r = new Record(name + i, name);
+			r.setValue(KEY1, Integer.toString((i * seed) % 97));
+			r.setValue(KEY2, Integer.toString((i * seed * 7 + 3) % 89));
+			ds.add(r);
+		}
+		return ds;
+	}
+
+	private List<String> getPairs(Processable<Correspondence<Record, Attribute>> result) {
+		List<String> pairs = new ArrayList<>();
+		for(Correspondence<Record, Attribute> cor : result.get()) {
+			pairs.add(cor.getFirstRecord().getIdentifier() + "/" + cor.getSecondRecord().getIdentifier());
+		}
+		Collections.sort(pairs);
+		return pairs;
+	}
+
+	public void testParallelBlocking() {
+		// more records than fit into a single range of the parallel blocking
+		DataSet<Record, Attribute> ds1 = createDataSet("a", 15000, 13);
+		DataSet<Record, Attribute> ds2 = createDataSet("b", 12000, 31);
+
+		SortedNeighbourhoodBlocker<Record, Attribute, Attribute> blocker = new SortedNeighbourhoodBlocker<>(new ValueKeyGenerator(KEY1), 5);
+		List<String> sequential = getPairs(blocker.runBlocking(ds1, ds2, null));
+		List<String> sequentialSingle = getPairs(blocker.runBlocking(ds1, null));
+
+		blocker.setParallel(true);
+		assertEquals(sequential, getPairs(blocker.runBlocking(ds1, ds2, null)));
+		assertEquals(sequentialSingle, getPairs(blocker.runBlocking(ds1, null)));
+	}
+
+	public void testMultiPassBlocking() {
+		DataSet<Record, Attribute> ds1 = createDataSet("a", 300, 13);
+		DataSet<Record, Attribute> ds2 = createDataSet("b", 200, 31);
+
+		Set<String> expected = new HashSet<>();
+		Set<String> expectedSingle = new HashSet<>();
+		for(Attribute key : new Attribute[] { KEY1, KEY2 }) {
+			SortedNeighbourhoodBlocker<Record, Attribute, Attribute> blocker = new SortedNeighbourhoodBlocker<>(new ValueKeyGenerator(key), 4);
+			expected.addAll(getPairs(blocker.runBlocking(ds1, ds2, null)));
+			for(String pair : getPairs(blocker.runBlocking(ds1, null))) {
+				String[] ids = pair.split("/");
+				expectedSingle.add(ids[0].compareTo(ids[1]) < 0 ? pair : ids[1] + "/" + ids[0]);
+			}
+		}
+
+		List<BlockingKeyGenerator<Record, Attribute, Record>> functions = Arrays.asList(new ValueKeyGenerator(KEY1), new ValueKeyGenerator(KEY2));
+		for(boolean parallel : new boolean[] { false, true }) {
+			SortedNeighbourhoodBlocker<Record, Attribute, Attribute> blocker = new SortedNeighbourhoodBlocker<>(functions, 4);
+			blocker.setParallel(parallel);
+
+			// every pair is created once
+			List<String> pairs = getPairs(blocker.runBlocking(ds1, ds2, null));
+			assertEquals(expected.size(), pairs.size());
+			assertEquals(expected, new HashSet<>(pairs));
+
+			Set<String> single = new HashSet<>();
+			for(String pair : getPairs(blocker.runBlocking(ds1, null))) {
+				String[] ids = pair.split("/");
+				assertTrue(single.add(ids[0].compareTo(ids[1]) < 0 ? pair : ids[1] + "/" + ids[0]));
+			}
+			assertEquals(expectedSingle, single);
+		}
+	}
+}
@@ -95,4 +95,38 @@ public class StandardBlockerTest extends TestCase {
 		assertEquals(ds1.size() * ds2.size(), result.size());
 	}
 
+	public void testRunBlockingStreaming() {
+		DataSet<Record, Attribute> ds1 = new ParallelHashedDataSet<>();
+		DataSet<Record, Attribute> ds2 = new ParallelHashedDataSet<>();
+		
+		for(int i=0; i < 100; i++) {
+			ds1.add(new Record("d1" + i));
+			ds2.add(new Record("d2" + i));
+		}
+		
+		StandardRecordBlocker<Record, Attribute> blocker = new StandardRecordBlocker<>(new RecordBlockingKeyGenerator<Record, Attribute>() {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			public void generateBlockingKeys(Record record,
+					Processable<Correspondence<Attribute, Matchable>> correspondences,
+					DataIterator<Pair<String, Record>> resultCollector) {
+				resultCollector.next(new Pair<>("", record));
+			}
+		});
+		
+		// only keep the pairs with the same index
+		Processable<Correspondence<Record, Attribute>> result = blocker.runBlocking(ds1, ds2, null, 
+				(Correspondence<Record, Attribute> record, DataIterator<Correspondence<Record, Attribute>> resultCollector) -> {
+					if(record.getFirstRecord().getIdentifier().substring(2).equals(record.getSecondRecord().getIdentifier().substring(2))) {
+						resultCollector.next(record);
+					}
+				});
+		
+		assertEquals(100, result.size());
+		// the reduction ratio is based on all generated pairs, not only on the returned pairs
+		assertEquals(0.0, blocker.getReductionRatio(), 0.0);
+	}
+
 }
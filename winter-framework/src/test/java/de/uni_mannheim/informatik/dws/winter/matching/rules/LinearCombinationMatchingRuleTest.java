@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2017 Data and Web Science Group, University of Mannheim, Germany (http://dws.informatik.uni-mannheim.de/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package de.uni_mannheim.informatik.dws.winter.matching.rules;
+
+import java.io.File;
+
+import de.uni_mannheim.informatik.dws.winter.matching.rules.comparators.ComparatorLogger;
+import de.uni_mannheim.informatik.dws.winter.model.Correspondence;
+import de.uni_mannheim.informatik.dws.winter.model.FusibleHashedDataSet;
+import de.uni_mannheim.informatik.dws.winter.model.defaultmodel.Attribute;
+import de.uni_mannheim.informatik.dws.winter.model.defaultmodel.Record;
+import de.uni_mannheim.informatik.dws.winter.model.defaultmodel.comparators.RecordComparatorEqual;
+import de.uni_mannheim.informatik.dws.winter.model.defaultmodel.comparators.RecordComparatorLevenshtein;
+import de.uni_mannheim.informatik.dws.winter.processing.Processable;
+import de.uni_mannheim.informatik.dws.winter.processing.ProcessableCollection;
+import de.uni_mannheim.informatik.dws.winter.processing.parallel.ParallelProcessableCollection;
+import junit.framework.TestCase;
+
+/**
+ * @author Oliver Lehmberg (oli@dwslab.de)
+ *
+ */
+public class LinearCombinationMatchingRuleTest extends TestCase {
+
+	public void testPruneComparisons() throws Exception {
+		Attribute id = new Attribute("id");
+		Attribute name = new Attribute("name");
+		
+		Record r1 = new Record("r1");
+		r1.setValue(id, "1");
+		r1.setValue(name, "winter");
+		Record r2 = new Record("r2");
+		r2.setValue(id, "1");
+		r2.setValue(name, "winter");
+		Record r3 = new Record("r3");
+		r3.setValue(id, "2");
+		r3.setValue(name, "winter");
+		
+		LinearCombinationMatchingRule<Record, Attribute> rule = new LinearCombinationMatchingRule<>(0.9);
+		// the more expensive comparator is added first, but evaluated last
+		rule.addComparator(new RecordComparatorLevenshtein(name, name), 0.5);
+		rule.addComparator(new RecordComparatorEqual(id, id), 0.5);
+		rule.setPruneComparisons(true);
+		
+		Processable<Correspondence<Record, Attribute>> pairs = new ProcessableCollection<>();
+		pairs.add(new Correspondence<>(r1, r2, 1.0));
+		pairs.add(new Correspondence<>(r1, r3, 1.0));
+		
+		Processable<Correspondence<Record, Attribute>> result = pairs.map(rule);
+		
+		assertEquals(1, result.size());
+		assertEquals("r2", result.firstOrNull().getSecondRecord().getIdentifier());
+		assertEquals(1.0, result.firstOrNull().getSimilarityScore(), 0.0001);
+		assertEquals(1, rule.getNumberOfPrunedComparisons());
+		
+		// without pruning, the same pairs must be found
+		rule.setPruneComparisons(false);
+		result = pairs.map(rule);
+		assertEquals(1, result.size());
+		assertEquals(1, rule.getNumberOfPrunedComparisons());
+	}
+
+	public void testParallelDebugReport() throws Exception {
+		Attribute id = new Attribute("id");
+		Attribute name = new Attribute("name");
+		
+		File log = File.createTempFile("debug", ".csv");
+		log.deleteOnExit();
+		
+		LinearCombinationMatchingRule<Record, Attribute> rule = new LinearCombinationMatchingRule<>(0.0);
+		// the comparators get their logs when they are added, so the debug report must be activated first
+		rule.activateDebugReport(log.getAbsolutePath(), 100000);
+		rule.addComparator(new RecordComparatorLevenshtein(name, name), 0.5);
+		rule.addComparator(new RecordComparatorEqual(id, id), 0.5);
+		
+		Processable<Correspondence<Record, Attribute>> pairs = new ParallelProcessableCollection<>();
+		for(int i = 0; i < 5000; i++) {
+			Record r1 = new Record("a" + i);
+			r1.setValue(id, Integer.toString(i));
+			r1.setValue(name, "first " + i);
+			Record r2 = new Record("b" + i);
+			r2.setValue(id, Integer.toString(i % 2 == 0 ? i : -i));
+			r2.setValue(name, "second " + i);
+			pairs.add(new Correspondence<>(r1, r2, 1.0));
+		}
+		
+		pairs.map(rule);
+		
+		FusibleHashedDataSet<Record, Attribute> debug = rule.getComparatorLog();
+		assertEquals(5000, debug.size());
+		
+		Attribute name1 = null, name2 = null, id1 = null, id2 = null, idSimilarity = null;
+		for(Attribute att : debug.getSchema().get()) {
+			String identifier = att.getIdentifier();
+			if(identifier.startsWith("[0]") && identifier.endsWith(" " + ComparatorLogger.RECORD1VALUE.getIdentifier())) {
+				name1 = att;
+			} else if(identifier.startsWith("[0]") && identifier.endsWith(" " + ComparatorLogger.RECORD2VALUE.getIdentifier())) {
+				name2 = att;
+			} else if(identifier.startsWith("[1]") && identifier.endsWith(" " + ComparatorLogger.RECORD1VALUE.getIdentifier())) {
+				id1 = att;
+			} else if(identifier.startsWith("[1]") && identifier.endsWith(" " + ComparatorLogger.RECORD2VALUE.getIdentifier())) {
+				id2 = att;
+			} else if(identifier.startsWith("[1]") && identifier.endsWith(" " + ComparatorLogger.SIMILARITY.getIdentifier())) {
+				idSimilarity = att;
+			}
+		}
+		
+		// every debug record must only contain the values of its own candidate pair
+		for(Record r : debug.get()) {
+			int i = Integer.parseInt(r.getValue(rule.RECORD1IDENTIFIER).substring(1));
+			assertEquals("b" + i, r.getValue(rule.RECORD2IDENTIFIER));
+			assertEquals("first " + i, r.getValue(name1));
+			assertEquals("second " + i, r.getValue(name2));
+			assertEquals(Integer.toString(i), r.getValue(id1));
+			assertEquals(Integer.toString(i % 2 == 0 ? i : -i), r.getValue(id2));
+			assertEquals(i % 2 == 0 ? "1.0" : "0.0", r.getValue(idSimilarity));
+		}
+	}
+	
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2017 Data and Web Science Group, University of Mannheim, Germany (http://dws.informatik.uni-mannheim.de/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package de.uni_mannheim.informatik.dws.winter.matching.rules;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import de.uni_mannheim.informatik.dws.winter.model.Correspondence;
+import de.uni_mannheim.informatik.dws.winter.model.defaultmodel.Attribute;
+import de.uni_mannheim.informatik.dws.winter.model.defaultmodel.FeatureVectorDataSet;
+import de.uni_mannheim.informatik.dws.winter.model.defaultmodel.Record;
+import de.uni_mannheim.informatik.dws.winter.model.defaultmodel.comparators.RecordComparatorEqual;
+import de.uni_mannheim.informatik.dws.winter.model.defaultmodel.comparators.RecordComparatorLevenshtein;
+import de.uni_mannheim.informatik.dws.winter.processing.Processable;
+import de.uni_mannheim.informatik.dws.winter.processing.ProcessableCollection;
+import junit.framework.TestCase;
+import weka.classifiers.functions.Logistic;
+
+/**
+ * @author Oliver Lehmberg (oli@dwslab.de)
+ *
+ */
+public class WekaMatchingRuleTest extends TestCase {
+
+	private Record createRecord(String id, Attribute code, String codeValue, Attribute name, String nameValue) {
+		Record r = new Record(id);
+		r.setValue(code, codeValue);
+		r.setValue(name, nameValue);
+		return r;
+	}
+	
+	public void testApply() throws Exception {
+		Attribute code = new Attribute("code");
+		Attribute name = new Attribute("name");
+		
+		WekaMatchingRule<Record, Attribute> rule = new WekaMatchingRule<>(0.5);
+		rule.setClassifier(new Logistic());
+		rule.addComparator(new RecordComparatorEqual(code, code));
+		rule.addComparator(new RecordComparatorLevenshtein(name, name));
+		
+		// create training data: pairs with equal codes are matches
+		List<Correspondence<Record, Attribute>> pairs = new ArrayList<>();
+		for(int i = 0; i < 40; i++) {
+			Record r1 = createRecord("a" + i, code, Integer.toString(i), name, "name " + i);
+			Record r2 = createRecord("b" + i, code, Integer.toString(i % 2 == 0 ? i : i + 1), name, "name " + (i % 3 == 0 ? i : i * 7));
+			pairs.add(new Correspondence<>(r1, r2, 1.0));
+		}
+		
+		FeatureVectorDataSet features = rule.initialiseFeatures(null, null, null);
+		for(Correspondence<Record, Attribute> pair : pairs) {
+			Record feature = rule.generateFeatures(pair.getFirstRecord(), pair.getSecondRecord(), null, features);
+			feature.setValue(FeatureVectorDataSet.ATTRIBUTE_LABEL, pair.getFirstRecord().getValue(code).equals(pair.getSecondRecord().getValue(code)) ? "1" : "0");
+			features.add(feature);
+		}
+		rule.learnParameters(features);
+		
+		// the re-used instances must produce the same scores as the feature vectors
+		for(Correspondence<Record, Attribute> pair : pairs) {
+			double expected = rule.applyWithFeatureVector(pair.getFirstRecord(), pair.getSecondRecord(), null).getSimilarityScore();
+			assertEquals(expected, rule.apply(pair.getFirstRecord(), pair.getSecondRecord(), null).getSimilarityScore(), 0.000001);
+		}
+		
+		List<Correspondence<Record, Attribute>> batch = rule.applyBatch(pairs);
+		assertEquals(pairs.size(), batch.size());
+		for(int i = 0; i < pairs.size(); i++) {
+			Correspondence<Record, Attribute> pair = pairs.get(i);
+			assertEquals(rule.apply(pair.getFirstRecord(), pair.getSecondRecord(), null).getSimilarityScore(), batch.get(i).getSimilarityScore(), 0.000001);
+		}
+		
+		Processable<Correspondence<Record, Attribute>> matches = rule.applyBatch(new ProcessableCollection<>(pairs), 7);
+		assertEquals(new ProcessableCollection<>(pairs).map(rule).size(), matches.size());
+		assertEquals(20, matches.size());
+	}
+	
+}
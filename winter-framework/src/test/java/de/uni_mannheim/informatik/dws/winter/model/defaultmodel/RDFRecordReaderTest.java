@@ -13,15 +13,21 @@ package de.uni_mannheim.informatik.dws.winter.model.defaultmodel;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
+import org.apache.commons.io.FileUtils;
 import org.slf4j.Logger;
 
 import de.uni_mannheim.informatik.dws.winter.model.DataSet;
 import de.uni_mannheim.informatik.dws.winter.model.HashedDataSet;
 import de.uni_mannheim.informatik.dws.winter.utils.WinterLogManager;
 import de.uni_mannheim.informatik.dws.winter.utils.query.Q;
+import de.uni_mannheim.informatik.dws.winter.utils.rdf.RDFProjection;
 import junit.framework.TestCase;
 
 /**
@@ -80,4 +86,66 @@ public class RDFRecordReaderTest extends TestCase {
 		}
 	}
 
+	/**
+	 * Test method for {@link de.uni_mannheim.informatik.dws.winter.model.io.RDFMatchableReader#loadFromRDFStream(File, RDFProjection, DataSet)}.
+	 * @throws IOException 
+	 */
+	public void testLoadFromRDFStream() throws IOException {
+		String ns = "http://www.okkam.org/ontology_restaurant1.owl#";
+		File file = new File("testdata/rdf/restaurant1.rdf");
+		
+		String query = 				
+				"SELECT ?restaurant ?name ?category ?phone "
+				+ "WHERE { "
+				+ "?restaurant a <" + ns + "Restaurant>;  "
+				+ "<" + ns + "name> ?name;"
+				+ "<" + ns + "category> ?category;"
+				+ "<" + ns + "phone_number> ?phone."
+				+ "}";
+		
+		DataSet<Record, Attribute> expected = new HashedDataSet<>();
+		new RDFRecordReader(-1).loadFromRDF(file, query, expected);
+		
+		RDFProjection projection = new RDFProjection("restaurant");
+		projection.setType(ns + "Restaurant");
+		projection.addProperty("name", ns + "name");
+		projection.addProperty("category", ns + "category");
+		projection.addProperty("phone", ns + "phone_number");
+		
+		DataSet<Record, Attribute> stream = new HashedDataSet<>();
+		new RDFRecordReader(-1).loadFromRDFStream(file, projection, stream);
+		
+		assertEquals(113, stream.size());
+		assertEquals(format(expected), format(stream));
+		
+		// the same query executed on a disk-backed TDB store
+		File tdb = Files.createTempDirectory("tdb").toFile();
+		try {
+			DataSet<Record, Attribute> disk = new HashedDataSet<>();
+			new RDFRecordReader(-1).loadFromRDF(file, query, disk, tdb);
+			assertEquals(format(expected), format(disk));
+		} finally {
+			FileUtils.deleteDirectory(tdb);
+		}
+	}
+	
+	private List<String> format(DataSet<Record, Attribute> ds) {
+		List<Attribute> attributes = new ArrayList<>(ds.getSchema().get());
+		Collections.sort(attributes, (a1,a2)->a1.getName().compareTo(a2.getName()));
+		
+		List<String> records = new ArrayList<>();
+		for(Record rec : ds.get()) {
+			StringBuilder sb = new StringBuilder();
+			for(Attribute a : attributes) {
+				if(sb.length()!=0) {
+					sb.append(", ");
+				}
+				sb.append(rec.getValue(a));
+			}
+			records.add(sb.toString());
+		}
+		Collections.sort(records);
+		return records;
+	}
+
 }
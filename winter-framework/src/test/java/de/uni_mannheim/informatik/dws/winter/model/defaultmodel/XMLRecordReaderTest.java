@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2017 Data and Web Science Group, University of Mannheim, Germany (http://dws.informatik.uni-mannheim.de/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package de.uni_mannheim.informatik.dws.winter.model.defaultmodel;
+
+import java.io.File;
+import java.io.PrintWriter;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import de.uni_mannheim.informatik.dws.winter.model.DataSet;
+import de.uni_mannheim.informatik.dws.winter.model.HashedDataSet;
+import de.uni_mannheim.informatik.dws.winter.model.ParallelHashedDataSet;
+import junit.framework.TestCase;
+
+/**
+ * @author Oliver Lehmberg (oli@dwslab.de)
+ *
+ */
+public class XMLRecordReaderTest extends TestCase {
+
+	/**
+	 * Test method for {@link de.uni_mannheim.informatik.dws.winter.model.io.XMLMatchableReader#loadFromXMLStream(File, String, DataSet, int)}.
+	 */
+	public void testLoadFromXMLStream() throws Exception {
+		File f = File.createTempFile("movies", ".xml");
+		f.deleteOnExit();
+
+		try(PrintWriter w = new PrintWriter(f, "UTF-8")) {
+			w.println("<?xml version=\"1.0\" encoding=\"UTF-8\"?>");
+			w.println("<movies xmlns:x=\"http://example.org/\">");
+			w.println("  <!-- a comment -->");
+			for(int i = 0; i < 100; i++) {
+				w.println("  <movie x:rank=\"" + i + "\">");
+				w.println("    <id>m" + i + "</id>");
+				w.println("    <title>Movie &amp; Title " + i + " <![CDATA[<part 2>]]></title>");
+				if(i % 2 == 0) {
+					w.println("    <actors>");
+					w.println("      <actor><name>actor " + i + "</name></actor>");
+					w.println("      <actor><name>actor " + (i + 1) + "</name></actor>");
+					w.println("    </actors>");
+				}
+				w.println("  </movie>");
+			}
+			w.println("  <other><movie><id>nested</id></movie></other>");
+			w.println("</movies>");
+		}
+
+		Map<String, Attribute> mapping = new HashMap<>();
+		Attribute id = new Attribute("id");
+		Attribute title = new Attribute("title");
+		Attribute actors = new Attribute("actors");
+		mapping.put("id", id);
+		mapping.put("title", title);
+		mapping.put("actors", actors);
+
+		DataSet<Record, Attribute> dom = new HashedDataSet<>();
+		new XMLRecordReader("id", mapping).loadFromXML(f, "/movies/movie", dom);
+
+		DataSet<Record, Attribute> stream = new HashedDataSet<>();
+		new XMLRecordReader("id", mapping).loadFromXMLStream(f, "/movies/movie", stream);
+
+		DataSet<Record, Attribute> parallel = new ParallelHashedDataSet<>();
+		new XMLRecordReader("id", mapping).loadFromXMLStream(f, "/movies/movie", parallel, 16);
+
+		DataSet<Record, Attribute> wildcard = new HashedDataSet<>();
+		new XMLRecordReader("id", mapping).loadFromXMLStream(f, "/*/movie", wildcard, 16);
+
+		assertEquals(100, dom.size());
+		// the text and the CDATA section are two nodes, which are read as list
+		assertEquals(Arrays.asList("Movie & Title 1", "<part 2>"), dom.getRecord("m1").getList(title));
+
+		for(DataSet<Record, Attribute> ds : Arrays.asList(stream, parallel, wildcard)) {
+			assertEquals(dom.size(), ds.size());
+			assertEquals(dom.getSchema().size(), ds.getSchema().size());
+
+			for(Record expected : dom.get()) {
+				Record actual = ds.getRecord(expected.getIdentifier());
+				assertNotNull(actual);
+				// the title is read as list of the text and the CDATA section
+				assertNotNull(actual.getList(title));
+				assertEquals(expected.getList(title), actual.getList(title));
+				assertEquals(expected.getList(actors), actual.getList(actors));
+			}
+		}
+
+		try {
+			new XMLRecordReader("id", mapping).loadFromXMLStream(f, "//movie", stream);
+			fail();
+		} catch(IllegalArgumentException e) {
+		}
+	}
+
+}
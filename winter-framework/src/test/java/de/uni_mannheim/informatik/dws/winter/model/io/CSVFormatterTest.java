@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2017 Data and Web Science Group, University of Mannheim, Germany (http://dws.informatik.uni-mannheim.de/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package de.uni_mannheim.informatik.dws.winter.model.io;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import au.com.bytecode.opencsv.CSVReader;
+import de.uni_mannheim.informatik.dws.winter.model.DataSet;
+import de.uni_mannheim.informatik.dws.winter.model.HashedDataSet;
+import de.uni_mannheim.informatik.dws.winter.model.defaultmodel.Attribute;
+import de.uni_mannheim.informatik.dws.winter.model.defaultmodel.Record;
+import de.uni_mannheim.informatik.dws.winter.model.defaultmodel.RecordCSVFormatter;
+import junit.framework.TestCase;
+
+/**
+ * @author Oliver Lehmberg (oli@dwslab.de)
+ *
+ */
+public class CSVFormatterTest extends TestCase {
+
+	/**
+	 * Test method for {@link de.uni_mannheim.informatik.dws.winter.model.io.CSVDataSetFormatter#writeCSV(File, DataSet, List, boolean)}.
+	 */
+	public void testWriteCSV() throws Exception {
+		DataSet<Record, Attribute> data = new HashedDataSet<>();
+		Attribute name = new Attribute("name");
+		Attribute value = new Attribute("value");
+		data.addAttribute(name);
+		data.addAttribute(value);
+
+		for(int i = 0; i < 3500; i++) {
+			Record r = new Record("r" + i);
+			r.setValue(name, "name, \"" + i + "\"");
+			r.setValue(value, "ä" + i);
+			data.add(r);
+		}
+
+		RecordCSVFormatter formatter = new RecordCSVFormatter();
+
+		File sequential = File.createTempFile("records", ".csv");
+		sequential.deleteOnExit();
+		formatter.writeCSV(sequential, data, null);
+
+		formatter.setParallel(true);
+		File parallel = File.createTempFile("records", ".csv");
+		parallel.deleteOnExit();
+		formatter.writeCSV(parallel, data, null);
+
+		File gzip = File.createTempFile("records", ".csv.gz");
+		gzip.deleteOnExit();
+		formatter.writeCSV(gzip, data, null, true);
+
+		// the output does not depend on the number of threads
+		byte[] expected = Files.readAllBytes(sequential.toPath());
+		assertTrue(Arrays.equals(expected, Files.readAllBytes(parallel.toPath())));
+
+		try(CSVReader reader = new CSVReader(new InputStreamReader(new GZIPInputStream(new FileInputStream(gzip)), StandardCharsets.UTF_8))) {
+			List<String[]> lines = reader.readAll();
+			assertEquals(3501, lines.size());
+			assertTrue(Arrays.equals(new String[] { "name", "value" }, lines.get(0)));
+			
+			int i = 0;
+			for(Record r : data.get()) {
+				String[] line = lines.get(++i);
+				assertEquals(r.getValue(name), line[0]);
+				assertEquals(r.getValue(value), line[1]);
+			}
+		}
+	}
+
+}
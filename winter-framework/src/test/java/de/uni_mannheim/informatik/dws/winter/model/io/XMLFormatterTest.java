@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2017 Data and Web Science Group, University of Mannheim, Germany (http://dws.informatik.uni-mannheim.de/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package de.uni_mannheim.informatik.dws.winter.model.io;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+import de.uni_mannheim.informatik.dws.winter.processing.ProcessableCollection;
+import junit.framework.TestCase;
+
+/**
+ * @author Oliver Lehmberg (oli@dwslab.de)
+ *
+ */
+public class XMLFormatterTest extends TestCase {
+
+	private static class MovieFormatter extends XMLFormatter<Integer> {
+
+		@Override
+		public Element createRootElement(Document doc) {
+			Element root = doc.createElement("movies");
+			root.setAttribute("source", "test");
+			return root;
+		}
+
+		@Override
+		public Element createElementFromRecord(Integer record, Document doc) {
+			Element movie = doc.createElement("movie");
+			movie.setAttribute("rank", record.toString());
+			movie.appendChild(createTextElement("id", "m" + record, doc));
+			movie.appendChild(createTextElement("title", "Movie & \"Title\" <" + record + ">", doc));
+			if(record % 3 == 0) {
+				Element actors = doc.createElement("actors");
+				actors.appendChild(createTextElement("actor", "actor " + record, doc));
+				actors.appendChild(createTextElement("actor", null, doc));
+				movie.appendChild(actors);
+			}
+			return movie;
+		}
+
+	}
+
+	/**
+	 * Test method for {@link de.uni_mannheim.informatik.dws.winter.model.io.XMLFormatter#writeXMLStream(File, de.uni_mannheim.informatik.dws.winter.processing.Processable, boolean)}.
+	 */
+	public void testWriteXMLStream() throws Exception {
+		List<Integer> records = new ArrayList<>();
+		for(int i = 0; i < 2500; i++) {
+			records.add(i);
+		}
+		ProcessableCollection<Integer> data = new ProcessableCollection<>(records);
+
+		MovieFormatter formatter = new MovieFormatter();
+
+		File dom = File.createTempFile("movies", ".xml");
+		dom.deleteOnExit();
+		formatter.writeXML(dom, data);
+
+		File stream = File.createTempFile("movies", ".xml");
+		stream.deleteOnExit();
+		formatter.writeXMLStream(stream, data, false);
+
+		formatter.setParallel(true);
+		File parallel = File.createTempFile("movies", ".xml");
+		parallel.deleteOnExit();
+		formatter.writeXMLStream(parallel, data, false);
+
+		File gzip = File.createTempFile("movies", ".xml.gz");
+		gzip.deleteOnExit();
+		formatter.writeXMLStream(gzip, data, true);
+
+		// the output does not depend on the number of threads
+		assertTrue(Arrays.equals(Files.readAllBytes(stream.toPath()), Files.readAllBytes(parallel.toPath())));
+
+		Document expected = parse(new FileInputStream(dom));
+		assertEquals(2500, expected.getDocumentElement().getElementsByTagName("movie").getLength());
+		assertTrue(expected.isEqualNode(parse(new FileInputStream(stream))));
+		assertTrue(expected.isEqualNode(parse(new FileInputStream(parallel))));
+		assertTrue(expected.isEqualNode(parse(new GZIPInputStream(new FileInputStream(gzip)))));
+	}
+
+	private Document parse(InputStream in) throws Exception {
+		try {
+			Document doc = DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(in);
+			removeWhitespace(doc.getDocumentElement());
+			return doc;
+		} finally {
+			in.close();
+		}
+	}
+
+	private void removeWhitespace(Node node) {
+		NodeList children = node.getChildNodes();
+		for(int i = children.getLength() - 1; i >= 0; i--) {
+			Node child = children.item(i);
+			if(child.getNodeType() == Node.TEXT_NODE && child.getNodeValue().trim().isEmpty()) {
+				node.removeChild(child);
+			} else {
+				removeWhitespace(child);
+			}
+		}
+	}
+
+}
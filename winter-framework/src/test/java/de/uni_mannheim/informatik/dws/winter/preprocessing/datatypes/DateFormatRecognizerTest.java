@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2017 Data and Web Science Group, University of Mannheim, Germany (http://dws.informatik.uni-mannheim.de/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package de.uni_mannheim.informatik.dws.winter.preprocessing.datatypes;
+
+import java.text.ParseException;
+import java.time.LocalDateTime;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import de.uni_mannheim.informatik.dws.winter.model.Pair;
+import de.uni_mannheim.informatik.dws.winter.preprocessing.datatypes.DateFormatRecognizer.RecognizedDate;
+import junit.framework.TestCase;
+
+/**
+ * @author Oliver Lehmberg (oli@dwslab.de)
+ *
+ */
+public class DateFormatRecognizerTest extends TestCase {
+
+	public void testRecognize() {
+		List<Pair<Pattern, String>> formats = new LinkedList<>();
+		formats.add(new Pair<>(Pattern.compile("^\\d{1,2}\\.\\d{1,2}\\.\\d{4}$", Pattern.CASE_INSENSITIVE), "dd.MM.yyyy"));
+		formats.add(new Pair<>(Pattern.compile("^\\d{1}-[a-z]{3}-\\d{4}$", Pattern.CASE_INSENSITIVE), "d-MMM-yyyy"));
+		formats.add(new Pair<>(Pattern.compile("^\\d{1,2}-[a-z]{3,}-\\d{4}$", Pattern.CASE_INSENSITIVE), "dd-MMMM-yyyy"));
+		formats.add(new Pair<>(Pattern.compile("^\\d{4}-\\d{2}-\\d{1,2}T\\d{1,2}:\\d{2}:\\d{2}Z$", Pattern.CASE_INSENSITIVE), "yyyy-MM-dd'T'HH:mm:ssXXX"));
+
+		DateFormatRecognizer recognizer = new DateFormatRecognizer(formats);
+
+		for(String value : new String[] { "1.2.2000", "9-feb-1901", "19-feb-1901", "2000-01-02t10:00:00z", "1.2.20", "abc", "", "1-2-3-4-5-6-7-8-9" }) {
+			RecognizedDate recognized = recognizer.recognize(value);
+			String expected = null;
+			for(Pair<Pattern, String> format : formats) {
+				if(format.getFirst().matcher(value).matches()) {
+					expected = format.getSecond();
+					break;
+				}
+			}
+			assertEquals(value, expected, recognized==null ? null : recognized.getFormat());
+		}
+
+		RecognizedDate recognized = recognizer.recognize("13.02.2000");
+		assertEquals(13, recognized.getValue('d'));
+		assertEquals(2, recognized.getValue('M'));
+		assertEquals(2000, recognized.getValue('y'));
+		assertEquals(-1, recognized.getValue('H'));
+
+		recognized = recognizer.recognize("2000-01-02T10:00:00Z");
+		assertEquals(10, recognized.getValue('H'));
+
+		// month names are not numeric
+		assertEquals(-1, recognizer.recognize("9-feb-1901").getValue('M'));
+	}
+
+	public void testParseSwappedMonth() throws ParseException {
+		assertEquals(LocalDateTime.of(2000, 12, 13, 0, 0), DateJavaTime.parse("13/12/2000"));
+		assertEquals(LocalDateTime.of(2000, 12, 13, 0, 0), DateJavaTime.parse("12/13/2000"));
+		assertNull(DateJavaTime.parse("2.0"));
+	}
+}
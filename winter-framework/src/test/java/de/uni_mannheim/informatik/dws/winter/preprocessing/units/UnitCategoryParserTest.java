@@ -12,6 +12,8 @@
 package de.uni_mannheim.informatik.dws.winter.preprocessing.units;
 
 
+import java.text.ParseException;
+
 import org.junit.Test;
 import junit.framework.TestCase;
 
@@ -41,4 +43,32 @@ public class UnitCategoryParserTest extends TestCase {
         assertNull(UnitCategoryParser.checkUnit("$ 50 million", null));
     }
 
-}
\ No newline at end of file
+    @Test
+    public void testNormalizeNumeric() throws ParseException {
+        assertEquals(1.5, UnitCategoryParser.normalizeNumeric("1.5 km"));
+        assertEquals(1000000.25, UnitCategoryParser.normalizeNumeric("1,000,000.25"));
+        assertEquals(-3.0, UnitCategoryParser.normalizeNumeric("-3"));
+        assertEquals(0.5, UnitCategoryParser.normalizeNumeric(".5"));
+        assertEquals(1.2, UnitCategoryParser.normalizeNumeric("1.2.3"));
+        assertEquals(100000.0, UnitCategoryParser.normalizeNumeric("1E5"));
+        assertEquals(0.01, UnitCategoryParser.normalizeNumeric("1E-2"));
+        // a lower case e is not an exponent
+        assertEquals(1.0, UnitCategoryParser.normalizeNumeric("1e5"));
+        assertEquals(50.0, UnitCategoryParser.normalizeNumeric("$ 50"));
+
+        try {
+            UnitCategoryParser.normalizeNumeric("abc");
+            fail();
+        } catch (ParseException e) {
+        }
+    }
+
+    @Test
+    public void testParseUnitFromHeader() {
+        assertEquals("kilometre", UnitCategoryParser.parseUnitFromHeader("Length (km)").getName());
+        assertEquals("kilometre", UnitCategoryParser.parseUnitFromHeader("km").getName());
+        assertNull(UnitCategoryParser.parseUnitFromHeader("Name"));
+        assertNull(UnitCategoryParser.parseUnitFromHeader(""));
+    }
+
+}
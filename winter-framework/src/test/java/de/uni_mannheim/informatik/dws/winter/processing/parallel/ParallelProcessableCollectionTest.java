@@ -78,4 +78,26 @@ public class ParallelProcessableCollectionTest extends TestCase {
 			assertEquals(group.getKey(), element);
 		}
 	}
+	
+	public void testPartitionRecords() {
+		ParallelProcessableCollection<Integer> data = new ParallelProcessableCollection<>();
+		for(int i = 0; i < 1001; i++) {
+			data.add(i);
+		}
+		
+		Collection<Collection<Integer>> partitions = data.partitionRecords();
+		
+		int expected = 0;
+		for(Collection<Integer> partition : partitions) {
+			// partitions are contiguous ranges of the records
+			for(Integer i : partition) {
+				assertEquals(expected++, i.intValue());
+			}
+		}
+		assertEquals(1001, expected);
+		
+		Processable<Integer> mapped = data.map((Integer record, DataIterator<Integer> resultCollector) -> resultCollector.next(record * 2));
+		assertEquals(1001, mapped.size());
+		assertEquals(1001.0 * 1000.0, Q.sum(mapped.get()));
+	}
 }
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2017 Data and Web Science Group, University of Mannheim, Germany (http://dws.informatik.uni-mannheim.de/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package de.uni_mannheim.informatik.dws.winter.similarity.string;
+
+import java.util.Random;
+
+import com.wcohen.ss.Levenstein;
+
+import junit.framework.TestCase;
+
+/**
+ * @author Oliver Lehmberg (oli@dwslab.de)
+ *
+ */
+public class LevenshteinDistanceTest extends TestCase {
+
+	private String randomString(Random r, int maxLength, String alphabet) {
+		int length = r.nextInt(maxLength + 1);
+		StringBuilder sb = new StringBuilder();
+		for(int i = 0; i < length; i++) {
+			sb.append(alphabet.charAt(r.nextInt(alphabet.length())));
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Test method for {@link LevenshteinDistance#distance(String, String)}.
+	 */
+	public void testDistance() {
+		assertEquals(0, LevenshteinDistance.distance("", ""));
+		assertEquals(3, LevenshteinDistance.distance("", "abc"));
+		assertEquals(3, LevenshteinDistance.distance("kitten", "sitting"));
+		assertEquals(3, LevenshteinDistance.distance("sitting", "kitten"));
+		assertEquals(1, LevenshteinDistance.distance("stra\u00dfe", "stra\u00dfen"));
+		assertEquals(2, LevenshteinDistance.distance("\u6771\u4eac\u90fd", "\u4eac\u90fd\u5e9c"));
+
+		// compare to the SecondString implementation for short (bit-parallel) and long (matrix) strings
+		Random r = new Random(1);
+		Levenstein reference = new Levenstein();
+		for(int i = 0; i < 2000; i++) {
+			int maxLength = i % 2 == 0 ? 20 : 150;
+			String alphabet = i % 3 == 0 ? "aAb\u20ac\u6771\u00c4\u00e4" : "abcdABCD ";
+			String s1 = randomString(r, maxLength, alphabet);
+			String s2 = randomString(r, maxLength, alphabet);
+
+			int expected = (int)Math.abs(reference.score(s1, s2));
+			assertEquals(expected, LevenshteinDistance.distance(s1, s2));
+		}
+	}
+
+	/**
+	 * Test method for {@link LevenshteinDistance#distance(String, String, int)}.
+	 */
+	public void testDistanceWithMaximum() {
+		assertEquals(3, LevenshteinDistance.distance("kitten", "sitting", 3));
+		assertEquals(3, LevenshteinDistance.distance("kitten", "sitting", 2));
+		assertEquals(1, LevenshteinDistance.distance("kitten", "sitting", 0));
+		assertEquals(0, LevenshteinDistance.distance("kitten", "kitten", 0));
+
+		Random r = new Random(2);
+		for(int i = 0; i < 2000; i++) {
+			int maxLength = i % 2 == 0 ? 20 : 150;
+			String s1 = randomString(r, maxLength, "abcd");
+			String s2 = randomString(r, maxLength, "abcd");
+			int maxDistance = r.nextInt(maxLength);
+
+			int distance = LevenshteinDistance.distance(s1, s2);
+			int bounded = LevenshteinDistance.distance(s1, s2, maxDistance);
+
+			if(distance <= maxDistance) {
+				assertEquals(distance, bounded);
+			} else {
+				assertEquals(maxDistance + 1, bounded);
+			}
+		}
+	}
+
+	/**
+	 * Test method for {@link LevenshteinDistance#distance(String, String)} with mixed-case strings, which are compared case-insensitively like in the SecondString implementation.
+	 */
+	public void testDistanceIgnoresCase() {
+		Levenstein reference = new Levenstein();
+		String[][] pairs = new String[][] {
+			{ "ABC", "abc" },
+			{ "Hello World", "hello world" },
+			{ "Stra\u00dfe", "STRA\u00dfE" },
+			{ "\u00c4pfel", "\u00e4PFEL" },
+			{ "Kitten", "sITTING" },
+			// long strings use the matrix
+			{ "The Quick Brown Fox Jumps Over The Lazy Dog And Keeps Running Until The End Of The Line", "the quick brown fox jumps over the lazy cat and keeps running until the end of the line" }
+		};
+
+		for(String[] pair : pairs) {
+			int expected = (int)Math.abs(reference.score(pair[0], pair[1]));
+			assertEquals(expected, LevenshteinDistance.distance(pair[0], pair[1]));
+			assertEquals(expected, LevenshteinDistance.distance(pair[1], pair[0], expected));
+		}
+
+		assertEquals(0, LevenshteinDistance.distance("ABC", "abc"));
+		assertEquals(3, LevenshteinDistance.distance("Kitten", "sITTING"));
+		assertEquals(1.0, new LevenshteinSimilarity().calculate("ABC", "abc"));
+		assertEquals(1.0, new LevenshteinSimilarity(0.9).calculate("Hello World", "hello world"));
+		assertEquals(0.0, new LevenshteinEditDistance().calculate("Hello World", "hello world"));
+	}
+
+}
@@ -43,4 +43,23 @@ public class LevenshteinSimilarityTest extends TestCase {
 		assertEquals(0.14, Math.round(sim.calculate(s3, s1) * 100.0)/100.0);
 	}
 
+	/**
+	 * Test method for {@link LevenshteinSimilarity#calculate(String, String)} with a threshold.
+	 */
+	public void testCalculateWithThreshold() {
+		String s1 = "a b";
+		String s2 = "a b c d";
+
+		LevenshteinSimilarity sim = new LevenshteinSimilarity(0.4);
+		assertEquals(0.43, Math.round(sim.calculate(s1, s2) * 100.0)/100.0);
+
+		sim = new LevenshteinSimilarity(0.5);
+		assertEquals(0.0, sim.calculate(s1, s2));
+		assertEquals(1.0, sim.calculate(s1, s1));
+
+		// the threshold is reached exactly
+		sim = new LevenshteinSimilarity(0.75);
+		assertEquals(0.75, sim.calculate("abcd", "abce"));
+	}
+
 }
@@ -103,4 +103,43 @@ public class TFIDFCosineSimilarityTest extends TestCase {
 		assertEquals(0.0, sim.calculate(s1, s6));
 	}
 
+	public void testCalculateRecords() {
+		HashedDataSet<Record, Attribute> ds1 = new HashedDataSet<>();
+		HashedDataSet<Record, Attribute> ds2 = new HashedDataSet<>();
+
+		Attribute a1 = new Attribute("A1");
+		ds1.addAttribute(a1);
+		ds2.addAttribute(a1);
+
+		String[] values = { "a b c", "a a b", "b c d e", "x y", "a", "" };
+		Record[] records = new Record[values.length];
+		for(int i = 0; i < values.length; i++) {
+			records[i] = new Record("r" + i);
+			records[i].setValue(a1, values[i]);
+			if(i % 2 == 0) {
+				ds1.add(records[i]);
+			} else {
+				ds2.add(records[i]);
+			}
+		}
+
+		TFIDFCosineSimilarity<Record, Attribute, Attribute> sim =
+				new TFIDFCosineSimilarity<>(ds1, ds2, new DefaultTokenGenerator(ds1.getSchema()));
+
+		// the vectors must lead to the same scores as the strings
+		for(int i = 0; i < values.length; i++) {
+			for(int j = 0; j < values.length; j++) {
+				if(!values[i].isEmpty() && !values[j].isEmpty()) {
+					assertEquals(sim.calculate(values[i], values[j]),
+							sim.calculate(records[i], values[i], records[j], values[j]), 1e-9);
+				}
+			}
+		}
+		assertEquals(0.0, sim.calculate(records[0], values[0], records[5], values[5]));
+
+		// the vectors are re-used until the value of a record changes
+		assertSame(sim.getVector(records[0], values[0]), sim.getVector(records[0], values[0]));
+		assertEquals(sim.calculate("x y", values[2]), sim.calculate(records[0], "x y", records[2], values[2]), 1e-9);
+	}
+
 }
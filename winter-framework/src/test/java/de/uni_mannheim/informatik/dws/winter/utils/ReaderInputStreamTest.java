@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2017 Data and Web Science Group, University of Mannheim, Germany (http://dws.informatik.uni-mannheim.de/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package de.uni_mannheim.informatik.dws.winter.utils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import junit.framework.TestCase;
+
+/**
+ * @author Oliver Lehmberg (oli@dwslab.de)
+ *
+ */
+public class ReaderInputStreamTest extends TestCase {
+
+	/**
+	 * Test method for {@link de.uni_mannheim.informatik.dws.winter.utils.ReaderInputStream#read(byte[], int, int)}.
+	 */
+	public void testRead() throws IOException {
+		// multi-byte characters and surrogate pairs that cross the boundaries of the internal buffers
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < 20000; i++) {
+			sb.append(i % 3 == 0 ? "a" : i % 3 == 1 ? "ä€" : "😀");
+		}
+		String text = sb.toString();
+		byte[] expected = text.getBytes(StandardCharsets.UTF_8);
+
+		try (InputStream in = new ReaderInputStream(new StringReader(text))) {
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			byte[] buffer = new byte[1000];
+			int length;
+			while ((length = in.read(buffer, 0, buffer.length)) != -1) {
+				out.write(buffer, 0, length);
+			}
+			assertTrue(Arrays.equals(expected, out.toByteArray()));
+		}
+
+		try (InputStream in = new ReaderInputStream(new StringReader(text))) {
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			int b;
+			while ((b = in.read()) != -1) {
+				out.write(b);
+			}
+			assertTrue(Arrays.equals(expected, out.toByteArray()));
+		}
+
+		try (InputStream in = new ReaderInputStream(new StringReader(""))) {
+			assertEquals(-1, in.read());
+		}
+	}
+
+}
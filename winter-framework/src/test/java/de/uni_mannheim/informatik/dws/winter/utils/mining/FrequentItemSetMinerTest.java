@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2017 Data and Web Science Group, University of Mannheim, Germany (http://dws.informatik.uni-mannheim.de/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package de.uni_mannheim.informatik.dws.winter.utils.mining;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import de.uni_mannheim.informatik.dws.winter.model.Pair;
+import de.uni_mannheim.informatik.dws.winter.utils.query.Q;
+import junit.framework.TestCase;
+
+/**
+ * @author Oliver Lehmberg (oli@dwslab.de)
+ *
+ */
+public class FrequentItemSetMinerTest extends TestCase {
+
+	private List<List<String>> getTransactions() {
+		return Arrays.asList(
+				Arrays.asList("a", "b", "c"),
+				Arrays.asList("a", "b"),
+				Arrays.asList("a", "c", "c"),
+				Arrays.asList("a", "b", "d"),
+				Arrays.asList("e"));
+	}
+
+	public void testCalculateFrequentItemSets() {
+		FrequentItemSetMiner<String> miner = new FrequentItemSetMiner<>();
+		miner.setMinSupport(2);
+
+		Map<Set<String>, Integer> itemSets = miner.calculateFrequentItemSets(getTransactions());
+
+		assertEquals(5, itemSets.size());
+		assertEquals(4, (int)itemSets.get(Q.toSet("a")));
+		assertEquals(3, (int)itemSets.get(Q.toSet("b")));
+		assertEquals(2, (int)itemSets.get(Q.toSet("c")));
+		assertEquals(3, (int)itemSets.get(Q.toSet("a", "b")));
+		assertEquals(2, (int)itemSets.get(Q.toSet("a", "c")));
+
+		miner.setParallel(true);
+		assertEquals(itemSets, miner.calculateFrequentItemSets(getTransactions()));
+
+		AssociationRuleMiner<String> ruleMiner = new AssociationRuleMiner<>();
+		Map<Pair<Set<String>, Set<String>>, Double> rules = ruleMiner.calculateAssociationRules(itemSets, 0.7);
+		assertEquals(3, rules.size());
+		assertEquals(1.0, rules.get(new Pair<>(Q.toSet("b"), Q.toSet("a"))));
+		assertEquals(0.75, rules.get(new Pair<>(Q.toSet("a"), Q.toSet("b"))));
+		assertEquals(1.0, rules.get(new Pair<>(Q.toSet("c"), Q.toSet("a"))));
+	}
+
+	public void testCalculateFrequentItemSetsOfColumnPositions() {
+		Set<Collection<String>> transactions = new HashSet<>(getTransactions());
+
+		Map<Set<String>, Integer> itemSets = new FrequentItemSetMiner<String>().calculateFrequentItemSetsOfColumnPositions(null, transactions);
+
+		// all co-occurring item sets, the 1-item sets count duplicate items
+		assertEquals(3, (int)itemSets.get(Q.toSet("c")));
+		assertEquals(1, (int)itemSets.get(Q.toSet("a", "b", "c")));
+		assertEquals(1, (int)itemSets.get(Q.toSet("e")));
+		assertNull(itemSets.get(Q.toSet("a", "e")));
+		assertEquals(12, itemSets.size());
+	}
+}
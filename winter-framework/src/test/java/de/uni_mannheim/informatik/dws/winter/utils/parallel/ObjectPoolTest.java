@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2017 Data and Web Science Group, University of Mannheim, Germany (http://dws.informatik.uni-mannheim.de/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package de.uni_mannheim.informatik.dws.winter.utils.parallel;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import junit.framework.TestCase;
+
+/**
+ * @author Oliver Lehmberg (oli@dwslab.de)
+ *
+ */
+public class ObjectPoolTest extends TestCase {
+
+	public void testApply() throws Exception {
+		AtomicInteger inUse = new AtomicInteger();
+		AtomicInteger maxInUse = new AtomicInteger();
+
+		ObjectPool<StringBuilder> pool = new ObjectPool<>(2, () -> new StringBuilder());
+
+		// more threads than objects, and new threads for every loop
+		for(int run = 0; run < 3; run++) {
+			Parallel.forLoop(0, 200, (i)->{
+				pool.apply((sb) -> {
+					int used = inUse.incrementAndGet();
+					maxInUse.accumulateAndGet(used, Math::max);
+					// an object is never used by two threads at the same time
+					sb.setLength(0);
+					sb.append(i);
+					Thread.yield();
+					assertEquals(Integer.toString(i), sb.toString());
+					inUse.decrementAndGet();
+					return null;
+				});
+			});
+		}
+
+		// objects are only created if all others are in use
+		assertTrue(pool.size() >= 1 && pool.size() <= 2);
+		assertTrue(maxInUse.get() <= pool.size());
+
+		// if the creation fails, the pool can still create the object later
+		AtomicInteger attempts = new AtomicInteger();
+		ObjectPool<String> failing = new ObjectPool<>(1, () -> {
+			if(attempts.incrementAndGet() == 1) {
+				throw new IllegalStateException();
+			}
+			return "ok";
+		});
+		try {
+			failing.borrow();
+			fail();
+		} catch(IllegalStateException e) {
+		}
+		assertEquals(0, failing.size());
+		assertEquals("ok", failing.apply((s) -> s));
+	}
+
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2017 Data and Web Science Group, University of Mannheim, Germany (http://dws.informatik.uni-mannheim.de/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package de.uni_mannheim.informatik.dws.winter.utils.parallel;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import junit.framework.TestCase;
+
+/**
+ * @author Oliver Lehmberg (oli@dwslab.de)
+ *
+ */
+public class ParallelTest extends TestCase {
+
+	public void testForeach() throws Exception {
+		List<Integer> items = new ArrayList<>();
+		long expected = 0;
+		for(int i = 0; i < 10000; i++) {
+			items.add(i);
+			expected += i;
+		}
+		
+		AtomicLong sum = new AtomicLong();
+		
+		new Parallel<Integer>(4).foreach(items, (i)->sum.addAndGet(i));
+		assertEquals(expected, sum.get());
+		
+		// the pool is re-used, so running the loop again must produce the same result
+		sum.set(0);
+		new Parallel<Integer>(4).foreach(items, (i)->sum.addAndGet(i));
+		assertEquals(expected, sum.get());
+	}
+	
+	public void testForeachChunkSize() throws Exception {
+		AtomicInteger cnt = new AtomicInteger();
+		
+		Parallel<Integer> p = new Parallel<>(2);
+		p.setChunkSize(7);
+		p.foreach(() -> java.util.stream.IntStream.range(0, 100).iterator(), (i)->cnt.incrementAndGet());
+		
+		assertEquals(100, cnt.get());
+	}
+	
+	public void testForeachException() {
+		List<Integer> items = new ArrayList<>();
+		for(int i = 0; i < 1000; i++) {
+			items.add(i);
+		}
+		
+		try {
+			new Parallel<Integer>(4).foreach(items, (i)->{
+				if(i==500) {
+					throw new IllegalStateException("failed");
+				}
+			});
+			fail("Exception was not re-thrown");
+		} catch(Exception e) {
+			assertTrue(e instanceof IllegalStateException);
+		}
+		
+		assertFalse(new Parallel<Integer>(4).tryForeach(items, (i)->{ throw new IllegalStateException("failed"); }));
+	}
+	
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2017 Data and Web Science Group, University of Mannheim, Germany (http://dws.informatik.uni-mannheim.de/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package de.uni_mannheim.informatik.dws.winter.utils.parallel;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import junit.framework.TestCase;
+
+/**
+ * @author Oliver Lehmberg (oli@dwslab.de)
+ *
+ */
+public class ReservoirSamplerTest extends TestCase {
+
+	public void testSample() throws Exception {
+		ReservoirSampler<Integer> sampler = new ReservoirSampler<>(100);
+
+		Parallel.forLoop(0, 10, (t)->{
+			for(int i = 0; i < 1000; i++) {
+				int value = t * 1000 + i;
+				if(i % 2 == 0) {
+					sampler.add(value);
+				} else if(sampler.sample()) {
+					sampler.add(value);
+				}
+			}
+		});
+
+		assertEquals(10000, sampler.getNumberOfSeenItems());
+
+		List<Integer> sample = sampler.getSample();
+		assertEquals(100, sample.size());
+		Set<Integer> distinct = new HashSet<>(sample);
+		assertEquals(100, distinct.size());
+		for(Integer value : distinct) {
+			assertTrue(value >= 0 && value < 10000);
+		}
+	}
+
+	public void testSmallSample() {
+		ReservoirSampler<Integer> sampler = new ReservoirSampler<>(100);
+		for(int i = 0; i < 10; i++) {
+			sampler.add(i);
+		}
+		assertEquals(10, sampler.getSample().size());
+
+		ReservoirSampler<Integer> unlimited = new ReservoirSampler<>(-1);
+		for(int i = 0; i < 1000; i++) {
+			assertTrue(unlimited.sample());
+			unlimited.add(i);
+		}
+		assertEquals(1000, unlimited.getSample().size());
+	}
+}
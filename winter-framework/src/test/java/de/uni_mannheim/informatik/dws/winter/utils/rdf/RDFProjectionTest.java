@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2017 Data and Web Science Group, University of Mannheim, Germany (http://dws.informatik.uni-mannheim.de/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package de.uni_mannheim.informatik.dws.winter.utils.rdf;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.jena.query.QuerySolution;
+import org.apache.jena.rdf.model.RDFNode;
+import org.apache.jena.riot.Lang;
+
+import junit.framework.TestCase;
+
+/**
+ * @author Oliver Lehmberg (oli@dwslab.de)
+ *
+ */
+public class RDFProjectionTest extends TestCase {
+
+	private static final String NS = "http://example.org/";
+
+	private static final String DOCUMENT =
+			"<" + NS + "s1> <http://www.w3.org/1999/02/22-rdf-syntax-ns#type> <" + NS + "Person> .\n"
+			+ "<" + NS + "s1> <" + NS + "name> \"a\" .\n"
+			+ "<" + NS + "s1> <" + NS + "age> \"1\" .\n"
+			+ "<" + NS + "s1> <" + NS + "name> \"a\" .\n"
+			+ "<" + NS + "s1> <" + NS + "age> \"1\" .\n"
+			+ "<" + NS + "s1> <" + NS + "name> \"b\" .\n"
+			+ "<" + NS + "s2> <" + NS + "name> \"c\" .\n";
+
+	private InputStream open() {
+		return new ByteArrayInputStream(DOCUMENT.getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Test method for {@link de.uni_mannheim.informatik.dws.winter.utils.rdf.RDFProjection#execute(InputStream, Lang, java.util.function.Consumer)}.
+	 */
+	public void testExecuteRepeatedTriples() {
+		RDFProjection projection = new RDFProjection("s");
+		projection.setType(NS + "Person");
+		projection.addProperty("name", NS + "name");
+		projection.addProperty("age", NS + "age");
+
+		List<List<String>> rows = new ArrayList<>();
+		projection.execute(open(), Lang.NTRIPLES, (row) -> {
+			List<String> values = new ArrayList<>();
+			for (RDFNode value : row) {
+				values.add(value == null ? null : value.toString());
+			}
+			rows.add(values);
+		});
+
+		SparqlSelect select = new SparqlSelect("SELECT ?s ?name ?age WHERE { ?s a <" + NS + "Person> . "
+				+ "OPTIONAL { ?s <" + NS + "name> ?name } OPTIONAL { ?s <" + NS + "age> ?age } }");
+		List<List<String>> expected = new ArrayList<>();
+		select.execute(open(), Lang.NTRIPLES, (results) -> {
+			while (results.hasNext()) {
+				QuerySolution soln = results.nextSolution();
+				expected.add(Arrays.asList(soln.get("s").toString(), soln.get("name").toString(), soln.get("age").toString()));
+			}
+		});
+
+		// the repeated triples must not create additional rows
+		assertEquals(2, expected.size());
+		assertEquals(expected.size(), rows.size());
+		assertTrue(rows.containsAll(expected));
+	}
+
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2017 Data and Web Science Group, University of Mannheim, Germany (http://dws.informatik.uni-mannheim.de/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package de.uni_mannheim.informatik.dws.winter.utils.rdf;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.jena.query.QuerySolution;
+import org.apache.jena.riot.Lang;
+
+import junit.framework.TestCase;
+
+/**
+ * @author Oliver Lehmberg (oli@dwslab.de)
+ *
+ */
+public class SparqlSelectTest extends TestCase {
+
+	private static final String NS = "http://example.org/";
+
+	private Set<String> execute(SparqlSelect select, String document, Lang lang) {
+		Set<String> names = new HashSet<>();
+		InputStream in = new ByteArrayInputStream(document.getBytes(StandardCharsets.UTF_8));
+		select.execute(in, lang, (results) -> {
+			while (results.hasNext()) {
+				QuerySolution soln = results.nextSolution();
+				names.add(soln.get("s").toString() + " " + soln.get("name").toString());
+			}
+		});
+		return names;
+	}
+
+	/**
+	 * Test method for {@link de.uni_mannheim.informatik.dws.winter.utils.rdf.SparqlSelect#execute(InputStream, Lang, java.util.function.Consumer)} with a TDB store.
+	 */
+	public void testExecuteTdb() throws Exception {
+		String ntriples = "<" + NS + "s1> <" + NS + "name> \"a\" .\n"
+				+ "<" + NS + "s2> <" + NS + "name> \"b\" .\n";
+		String turtle = "@prefix ex: <" + NS + "> .\n"
+				+ "ex:s1 ex:name \"a\" .\n"
+				+ "ex:s2 ex:name \"b\" .\n";
+
+		SparqlSelect select = new SparqlSelect("SELECT ?s ?name WHERE { ?s <" + NS + "name> ?name }");
+		Set<String> expected = execute(select, ntriples, Lang.NTRIPLES);
+		assertEquals(2, expected.size());
+
+		File dir = Files.createTempDirectory("tdb").toFile();
+		try {
+			// N-Triples are passed to the bulk loader
+			select.setTdbDirectory(new File(dir, "ntriples"));
+			assertEquals(expected, execute(select, ntriples, Lang.NTRIPLES));
+
+			// other syntaxes are parsed into the store
+			select.setTdbDirectory(new File(dir, "turtle"));
+			assertEquals(expected, execute(select, turtle, Lang.TURTLE));
+		} finally {
+			FileUtils.deleteDirectory(dir);
+		}
+	}
+
+}
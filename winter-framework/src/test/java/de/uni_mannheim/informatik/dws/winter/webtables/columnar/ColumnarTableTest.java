@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2017 Data and Web Science Group, University of Mannheim, Germany (http://dws.informatik.uni-mannheim.de/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package de.uni_mannheim.informatik.dws.winter.webtables.columnar;
+
+import java.time.LocalDateTime;
+
+import de.uni_mannheim.informatik.dws.winter.webtables.Table;
+import de.uni_mannheim.informatik.dws.winter.webtables.TableColumn;
+import de.uni_mannheim.informatik.dws.winter.webtables.TableRow;
+import junit.framework.TestCase;
+
+/**
+ * @author Oliver Lehmberg (oli@dwslab.de)
+ *
+ */
+public class ColumnarTableTest extends TestCase {
+
+	private Table getTestTable() {
+		Table table = new Table();
+		table.setPath("table");
+
+		for(int i = 0; i < 5; i++) {
+			TableColumn c = new TableColumn(i, table);
+			c.setHeader("Column " + i);
+			table.addColumn(c);
+		}
+
+		for(int i = 0; i < 10; i++) {
+			TableRow r = new TableRow(i, table);
+			r.set(new Object[] {
+				i % 4 == 0 ? null : "value " + (i % 3),
+				i % 5 == 0 ? null : (double)(i % 4),
+				i % 3 == 0 ? null : LocalDateTime.of(2000 + i % 2, 1, 1, 12, 0),
+				new Object[] { "a", "b" },
+				i % 2 == 0 ? "text" : 1.0
+			});
+			table.addRow(r);
+		}
+
+		return table;
+	}
+
+	public void testColumnVectors() {
+		Table t = getTestTable();
+		ColumnarTable ct = new ColumnarTable(t);
+
+		assertEquals(10, ct.getSize());
+		assertTrue(ct.getColumn(0) instanceof StringColumnVector);
+		assertTrue(ct.getColumn(1) instanceof DoubleColumnVector);
+		assertTrue(ct.getColumn(2) instanceof DateColumnVector);
+		assertTrue(ct.getColumn(3) instanceof ObjectColumnVector);
+		assertTrue(ct.getColumn(4) instanceof ObjectColumnVector);
+
+		// 'value 0', 'value 1', 'value 2'
+		assertEquals(3, ((StringColumnVector)ct.getColumn(0)).getDictionary().size());
+
+		for(int r = 0; r < t.getSize(); r++) {
+			TableRow row = ct.getRows().get(r);
+			assertEquals(t.get(r).getIdentifier(), row.getIdentifier());
+			for(int c = 0; c < 5; c++) {
+				assertEquals(t.get(r).get(c), row.get(c));
+			}
+		}
+
+		Table converted = ct.toTable();
+		assertEquals(t.getSize(), converted.getSize());
+		for(int r = 0; r < t.getSize(); r++) {
+			for(int c = 0; c < 5; c++) {
+				assertEquals(t.get(r).get(c), converted.get(r).get(c));
+			}
+		}
+	}
+
+	public void testColumnStatistics() {
+		Table t = getTestTable();
+		ColumnarTable ct = new ColumnarTable(t);
+
+		assertEquals(t.getColumnDensities(), ct.getColumnDensities());
+		assertEquals(t.getNumberOfValuesPerColumn(), ct.getNumberOfValuesPerColumn());
+
+		// the list values are compared by identity, so they are excluded from the comparison
+		for(TableColumn c : t.getColumns()) {
+			if(c.getColumnIndex()!=3) {
+				assertEquals(t.getColumnUniqueness().get(c), ct.getColumnUniqueness().get(c));
+				assertEquals(t.getColumnDomains().get(c), ct.getColumnDomains().get(c));
+			}
+		}
+	}
+
+	public void testSet() {
+		ColumnarTable ct = new ColumnarTable(getTestTable());
+
+		TableRow row = ct.get(1);
+		row.set(1, 42.0);
+		assertEquals(42.0, ct.get(1, 1));
+		assertTrue(ct.getColumn(1) instanceof DoubleColumnVector);
+
+		// a value of a different type converts the column
+		row.set(1, "text");
+		assertEquals("text", row.get(1));
+		assertTrue(ct.getColumn(1) instanceof ObjectColumnVector);
+		assertEquals(3.0, ct.get(3, 1));
+
+		row.set(0, null);
+		assertNull(ct.get(1, 0));
+	}
+}
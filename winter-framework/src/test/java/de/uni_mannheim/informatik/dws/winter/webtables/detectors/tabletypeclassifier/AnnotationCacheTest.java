@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2017 Data and Web Science Group, University of Mannheim, Germany (http://dws.informatik.uni-mannheim.de/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package de.uni_mannheim.informatik.dws.winter.webtables.detectors.tabletypeclassifier;
+
+import junit.framework.TestCase;
+
+/**
+ * @author Oliver Lehmberg (oli@dwslab.de)
+ *
+ */
+public class AnnotationCacheTest extends TestCase {
+
+	public void testGet() {
+		AnnotationCache<String> cache = new AnnotationCache<>(2);
+
+		assertEquals("A", cache.get("a", (v) -> v.toUpperCase()));
+		assertEquals("A", cache.get("a", (v) -> "not cached"));
+		assertEquals(1, cache.getHits());
+		assertEquals(1, cache.getMisses());
+		// the annotator gets the original value
+		assertEquals(" A ", cache.get(" a ", (v) -> v.toUpperCase()));
+		assertEquals(2, cache.getMisses());
+		cache.clear();
+
+		cache.get("b", (v) -> v.toUpperCase());
+		// a was used more recently than b, so b is removed
+		cache.get("a", (v) -> v.toUpperCase());
+		cache.get("c", (v) -> v.toUpperCase());
+		assertEquals(2, cache.size());
+		assertEquals("A", cache.get("a", (v) -> "not cached"));
+		assertEquals("b", cache.get("b", (v) -> v));
+
+		// null results are cached, too
+		cache.get("d", (v) -> null);
+		assertNull(cache.get("d", (v) -> "not cached"));
+
+		AnnotationCache<String> disabled = new AnnotationCache<>(0);
+		disabled.get("a", (v) -> v);
+		assertEquals(0, disabled.size());
+		assertEquals(0, disabled.getHits());
+	}
+
+}
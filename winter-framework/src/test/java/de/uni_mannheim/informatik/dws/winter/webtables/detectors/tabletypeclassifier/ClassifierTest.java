@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2017 Data and Web Science Group, University of Mannheim, Germany (http://dws.informatik.uni-mannheim.de/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package de.uni_mannheim.informatik.dws.winter.webtables.detectors.tabletypeclassifier;
+
+import java.util.Arrays;
+import java.util.List;
+
+import de.uni_mannheim.informatik.dws.winter.preprocessing.datatypes.DataType;
+import junit.framework.TestCase;
+
+/**
+ * @author Oliver Lehmberg (oli@dwslab.de)
+ *
+ */
+public class ClassifierTest extends TestCase {
+
+	public void testClassify() {
+		Classifier classifier = new Classifier();
+
+		ColumnFeatures date = new ColumnFeatures(0.1, 0.2, "sdp", false, "NN", 10.0, true, false);
+		ColumnFeatures string = new ColumnFeatures(0.9, 0.0, "a", false, "NN", 12.0, false, false);
+		ColumnFeatures bool = new ColumnFeatures(0.9, 0.0, "a", false, "NN", 12.0, false, true);
+		ColumnFeatures unknown = new ColumnFeatures(0.9, 0.0, "unknown pattern", false, "NN", 12.0, false, false);
+
+		assertEquals(DataType.date, classifier.classify(date));
+		assertEquals(DataType.string, classifier.classify(string));
+		assertEquals(DataType.bool, classifier.classify(bool));
+		assertEquals(DataType.string, classifier.classify(unknown));
+
+		assertEquals(Arrays.asList(DataType.date, DataType.string, DataType.bool),
+				classifier.classifyColumns(Arrays.asList(date, string, bool)));
+
+		// the list representation must lead to the same result
+		List<String> features = Arrays.asList("0.9", "0.0", "a", "false", "NN", "12.0", "false", "true");
+		assertEquals(DataType.bool, classifier.classify(features));
+	}
+
+}
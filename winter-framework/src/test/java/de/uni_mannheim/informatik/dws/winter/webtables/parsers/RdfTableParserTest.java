@@ -12,9 +12,26 @@
 package de.uni_mannheim.informatik.dws.winter.webtables.parsers;
 
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFDataMgr;
+
 import org.slf4j.Logger;
 
 import de.uni_mannheim.informatik.dws.winter.utils.WinterLogManager;
+import de.uni_mannheim.informatik.dws.winter.utils.rdf.RDFProjection;
 import de.uni_mannheim.informatik.dws.winter.webtables.Table;
 import de.uni_mannheim.informatik.dws.winter.webtables.TableRow;
 import junit.framework.TestCase;
@@ -56,4 +73,67 @@ public class RdfTableParserTest extends TestCase {
 		
 	}
 
+	/**
+	 * Test method for {@link de.uni_mannheim.informatik.dws.winter.webtables.parsers.RdfTableParser#parseTable(java.io.File)} with an {@link RDFProjection}.
+	 */
+	public void testParseTableProjection() throws IOException {
+		String ns = "http://www.okkam.org/ontology_restaurant1.owl#";
+		
+		RdfTableParser p = new RdfTableParser(
+				"SELECT ?name ?category ?phone "
+				+ "WHERE { "
+				+ "?restaurant a <" + ns + "Restaurant>;  "
+				+ "<" + ns + "name> ?name;"
+				+ "<" + ns + "category> ?category;"
+				+ "<" + ns + "phone_number> ?phone."
+				+ "}");
+		Table expected = p.parseTable(new File("testdata/rdf/restaurant1.rdf"));
+		
+		RDFProjection projection = new RDFProjection(null);
+		projection.setType(ns + "Restaurant");
+		projection.addProperty("name", ns + "name");
+		projection.addProperty("category", ns + "category");
+		projection.addProperty("phone", ns + "phone_number");
+		
+		p = new RdfTableParser(projection);
+		Table t = p.parseTable(new File("testdata/rdf/restaurant1.rdf"));
+		
+		assertEquals(113, t.getRows().size());
+		assertEquals(expected.getRows().size(), t.getRows().size());
+		assertEquals(expected.getColumns().size(), t.getColumns().size());
+		
+		Set<String> expectedRows = new HashSet<>();
+		for(TableRow r : expected.getRows()) {
+			expectedRows.add(r.format(20));
+		}
+		for(TableRow r : t.getRows()) {
+			assertTrue(expectedRows.contains(r.format(20)));
+		}
+		
+		// the same document passed as characters
+		try (Reader reader = new FileReader("testdata/rdf/restaurant1.rdf")) {
+			t = p.parseTable(reader, "restaurant1.rdf");
+		}
+		assertEquals(expected.getRows().size(), t.getRows().size());
+		for(TableRow r : t.getRows()) {
+			assertTrue(expectedRows.contains(r.format(20)));
+		}
+		
+		// the same document as compressed N-Triples, the syntax is determined by the file extension
+		File nt = File.createTempFile("restaurant1", ".nt.gz");
+		nt.deleteOnExit();
+		Model model = ModelFactory.createDefaultModel();
+		try (InputStream in = new FileInputStream("testdata/rdf/restaurant1.rdf")) {
+			RDFDataMgr.read(model, in, Lang.RDFXML);
+		}
+		try (OutputStream out = new GZIPOutputStream(new FileOutputStream(nt))) {
+			RDFDataMgr.write(out, model, Lang.NTRIPLES);
+		}
+		t = p.parseTable(nt);
+		assertEquals(expected.getRows().size(), t.getRows().size());
+		for(TableRow r : t.getRows()) {
+			assertTrue(expectedRows.contains(r.format(20)));
+		}
+	}
+
 }
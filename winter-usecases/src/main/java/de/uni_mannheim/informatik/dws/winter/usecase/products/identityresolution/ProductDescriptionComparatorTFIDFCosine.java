@@ -56,7 +56,7 @@ public class ProductDescriptionComparatorTFIDFCosine implements Comparator<Produ
 		String s1 = record1.getDescription();
 		String s2 = record2.getDescription();
 
-		double similarity = tfidfCosineSimilarity.calculate(s1, s2);
+		double similarity = tfidfCosineSimilarity.calculate(record1, s1, record2, s2);
     	
 		if(this.comparisonLog != null){
 			this.comparisonLog.setComparatorName(getClass().getName());